@@ -1,12 +1,15 @@
 package de.gsi.chart;
 
+import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import javafx.animation.Animation;
@@ -18,9 +21,11 @@ import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.property.StringPropertyBase;
@@ -81,6 +86,7 @@ import de.gsi.chart.ui.geometry.Side;
 import de.gsi.chart.utils.FXUtils;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.event.EventListener;
+import de.gsi.dataset.event.UpdateEvent;
 import de.gsi.dataset.utils.AssertUtils;
 import de.gsi.dataset.utils.NoDuplicatesList;
 import de.gsi.dataset.utils.ProcessingProfiler;
@@ -150,6 +156,8 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
     protected final Pane plotBackground = new Pane();
     protected final Pane plotForeGround = new Pane();
     protected final Pane canvasForeground = new Pane();
+    // optional cached drawing layers stacked on top of the canvas (see XYChart#layerCachingProperty())
+    protected final Pane canvasLayers = new Pane();
 
     protected final Map<Corner, StackPane> axesCorner = new ConcurrentHashMap<>(4);
     protected final Map<Side, Pane> axesPane = new ConcurrentHashMap<>(4);
@@ -185,7 +193,44 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
     protected final ListChangeListener<Axis> axesChangeListenerLocal = this::axesChangedLocal;
     protected final ListChangeListener<Axis> axesChangeListener = this::axesChanged;
     protected final ListChangeListener<DataSet> datasetChangeListener = this::datasetsChanged;
-    protected final EventListener dataSetDataListener = obs -> FXUtils.runFX(this::dataSetInvalidated);
+    // latest pending update event per DataSet, processed by the RenderScheduler (at most) once per frame
+    private final Map<Object, UpdateEvent> pendingDataSetEvents = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final AtomicBoolean fireInvalidatedPending = new AtomicBoolean();
+    private long lastFrameUpdate; // [ns]
+    private final DoubleProperty maxFrameRate = new SimpleDoubleProperty(this, "maxFrameRate", 60.0) {
+        @Override
+        public void set(final double value) {
+            if (!(value > 0)) {
+                throw new InvalidParameterException("maxFrameRate " + value + " must be greater than zero");
+            }
+            super.set(value);
+        }
+    };
+    private final RenderScheduler.Client schedulerClient = new RenderScheduler.Client() {
+        @Override
+        public boolean isFrameDue(final long now) {
+            return Chart.this.isFrameDue(now);
+        }
+
+        @Override
+        public boolean isTreeVisible() {
+            return RenderScheduler.isTreeVisible(Chart.this);
+        }
+
+        @Override
+        public void processPendingUpdates(final long now) {
+            Chart.this.processPendingUpdates(now);
+        }
+
+        @Override
+        public void watchVisibility(final Runnable onChange) {
+            RenderScheduler.watchTreeVisibility(Chart.this, onChange);
+        }
+    };
+    protected final EventListener dataSetDataListener = obs -> {
+        pendingDataSetEvents.put(obs.getSource(), obs);
+        RenderScheduler.getInstance().schedule(schedulerClient);
+    };
     protected final ListChangeListener<ChartPlugin> pluginsChangedListener = this::pluginsChanged;
     protected final ChangeListener<? super Window> windowPropertyListener = (ch1, oldWindow, newWindow) -> {
         if (oldWindow != null) {
@@ -421,7 +466,7 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
         // hiddenPane.setMouseTransparent(true);
         hiddenPane.setPickOnBounds(false);
 
-        final StackPane stackPane = new StackPane(getCanvas(), getCanvasForeground(), pluginsArea);
+        final StackPane stackPane = new StackPane(getCanvas(), canvasLayers, getCanvasForeground(), pluginsArea);
         hiddenPane.setContent(stackPane);
 
         // alt: canvas resize (default JavaFX Canvas does not automatically
@@ -454,7 +499,9 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
         canvas.heightProperty().addListener(canvasSizeChangeListener);
 
         getCanvasForeground().setMouseTransparent(true);
+        canvasLayers.setMouseTransparent(true);
         getCanvas().toFront();
+        canvasLayers.toFront();
         getCanvasForeground().toFront();
         pluginsArea.toFront();
 
@@ -603,8 +650,12 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
 
         if (Platform.isFxApplicationThread()) {
             executeFireInvalidated();
-        } else {
-            Platform.runLater(this::executeFireInvalidated);
+        } else if (!fireInvalidatedPending.getAndSet(true)) {
+            // coalesce notifications issued before the FX thread got round to process the previous one
+            Platform.runLater(() -> {
+                fireInvalidatedPending.set(false);
+                executeFireInvalidated();
+            });
         }
 
         return this;
@@ -702,6 +753,13 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
         return legendSide.get();
     }
 
+    /**
+     * @return maximum rate [Hz] at which DataSet updates are drawn
+     */
+    public final double getMaxFrameRate() {
+        return maxFrameRateProperty().get();
+    }
+
     public final Pane getMeasurementBar(final Side side) {
         return parameterDisplayPane.get(side);
     }
@@ -849,6 +907,16 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
         return legendVisible;
     }
 
+    /**
+     * DataSet update notifications are collapsed and processed at most once per frame, capped to this rate. Charts that
+     * are not visible (e.g. hidden tabs or minimised windows) are not updated until they are shown again.
+     *
+     * @return maximum rate [Hz] at which DataSet updates are drawn (default: 60 Hz)
+     */
+    public final DoubleProperty maxFrameRateProperty() {
+        return maxFrameRate;
+    }
+
     public final ObjectProperty<Side> measurementBarSideProperty() {
         return measurementBarSide;
     }
@@ -901,6 +969,15 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
         legendVisible.set(value);
     }
 
+    /**
+     * @param rate maximum rate [Hz] at which DataSet updates are drawn
+     * @return itself (fluent design)
+     */
+    public final Chart setMaxFrameRate(final double rate) {
+        maxFrameRateProperty().set(rate);
+        return this;
+    }
+
     public final void setMeasurementBarSide(final Side value) {
         measurementBarSide.set(value);
     }
@@ -1031,6 +1108,14 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
         isAxesUpdate = false;
     }
 
+    /**
+     * function called whenever a DataSet attached to the chart or one of its renderers has been modified. Typically
+     * calls 'requestLayout()' but can be overwritten in derived classes.
+     *
+     * @deprecated override {@link #dataSetInvalidated(UpdateEvent)}, which identifies the modified DataSet. N.B. still
+     *             invoked by the latter for every update so that existing overrides remain effective
+     */
+    @Deprecated
     protected void dataSetInvalidated() {
         // DataSet has notified and invalidate
         if (DEBUG && LOGGER.isDebugEnabled()) {
@@ -1042,6 +1127,16 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
         requestLayout();
     }
 
+    /**
+     * function called whenever a DataSet attached to the chart or one of its renderers has been modified. Delegates to
+     * the (overridable) {@link #dataSetInvalidated()} but can be overwritten in derived classes.
+     *
+     * @param event the update event issued by the DataSet
+     */
+    protected void dataSetInvalidated(final UpdateEvent event) {
+        dataSetInvalidated();
+    }
+
     protected void datasetsChanged(final ListChangeListener.Change<? extends DataSet> change) {
         boolean dataSetChanges = false;
         FXUtils.assertJavaFxThread();
@@ -1080,6 +1175,14 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
         return Chart.getClassCssMetaData();
     }
 
+    /**
+     * @param now time stamp of the current frame [ns]
+     * @return {@code true} if the frame rate limit permits a new update
+     */
+    boolean isFrameDue(final long now) {
+        return RenderScheduler.isFrameDue(now, lastFrameUpdate, getMaxFrameRate());
+    }
+
     protected void layoutPluginsChildren() {
         plugins.forEach(ChartPlugin::layoutChildren);
     }
@@ -1110,6 +1213,22 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
         updatePluginsArea();
     }
 
+    /**
+     * processes the DataSet update events collected since the last frame, called by the RenderScheduler
+     *
+     * @param now time stamp of the current frame [ns]
+     */
+    void processPendingUpdates(final long now) {
+        FXUtils.assertJavaFxThread();
+        lastFrameUpdate = now;
+        final List<UpdateEvent> events;
+        synchronized (pendingDataSetEvents) {
+            events = new ArrayList<>(pendingDataSetEvents.values());
+            pendingDataSetEvents.clear();
+        }
+        events.forEach(this::dataSetInvalidated);
+    }
+
     /**
      * (re-)draw canvas (if necessary). This is supposed to be implemented in derived classes
      */
@@ -1147,7 +1266,11 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
             }
 
             // handle removed renderer
-            change.getRemoved().forEach(renderer -> renderer.getDatasets().removeListener(datasetChangeListener));
+            for (final Renderer renderer : change.getRemoved()) {
+                renderer.getDatasets().removeListener(datasetChangeListener);
+                // N.B. a removed renderer is not rendered anymore -> release its prepared data
+                renderer.cancelPreparation();
+            }
         }
         // reset change to allow derived classes to add additional listeners to renderer changes
         change.reset();
@@ -0,0 +1,56 @@
+package de.gsi.chart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.gsi.chart.renderer.Renderer;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.event.UpdateEvent;
+
+/**
+ * package private policy for the invalidation of the cached drawing layers of the {@link XYChart} on DataSet updates
+ *
+ * @see XYChart#layerCachingProperty()
+ */
+final class LayerInvalidation {
+    private LayerInvalidation() {
+        // static helper class
+    }
+
+    /**
+     * Chart-level data sets are drawn by all renderers, renderer-level data sets only by their renderer. Events without
+     * source (e.g. generic invalidations) affect all layers.
+     *
+     * @param event the update event issued by the DataSet (may be {@code null})
+     * @param chartDataSets the data sets attached to the chart
+     * @param renderers the renderers of the chart
+     * @return the renderers whose layers need to be redrawn
+     */
+    static List<Renderer> getInvalidatedRenderers(final UpdateEvent event, final List<DataSet> chartDataSets,
+            final List<Renderer> renderers) {
+        final Object source = event == null ? null : event.getSource();
+        if (source == null || containsInstance(chartDataSets, source)) {
+            return new ArrayList<>(renderers);
+        }
+        final List<Renderer> invalidated = new ArrayList<>();
+        for (final Renderer renderer : renderers) {
+            if (containsInstance(renderer.getDatasets(), source)) {
+                invalidated.add(renderer);
+            }
+        }
+        return invalidated;
+    }
+
+    /**
+     * N.B. identity rather than (content-based) DataSet equality: data sets with equal content are not interchangeable
+     * and comparing their content would be expensive
+     */
+    private static boolean containsInstance(final List<DataSet> dataSets, final Object dataSet) {
+        for (final DataSet candidate : dataSets) {
+            if (candidate == dataSet) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
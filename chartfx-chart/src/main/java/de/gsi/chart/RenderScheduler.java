@@ -0,0 +1,233 @@
+package de.gsi.chart;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+import de.gsi.chart.utils.FXUtils;
+
+/**
+ * Coalescing, frame-rate-capped scheduler for chart updates triggered by DataSet events.
+ * <p>
+ * DataSet events only register their chart as pending (from any thread). The pending charts are processed once per
+ * JavaFX pulse (via an {@link AnimationTimer}, ie. before the layout pass of the same pulse), so that any number of
+ * events between two pulses collapse into one chart update. A pending chart is processed only if
+ * <ul>
+ * <li>its {@link Chart#maxFrameRateProperty()} permits a new frame, and
+ * <li>it is actually visible, ie. it is attached to a showing window and neither it nor any of its parents is
+ * invisible (e.g. hidden tabs or minimised DataViewWindows).
+ * </ul>
+ * Hidden or detached charts are dropped from the pending set and parked: further events only accumulate in the chart
+ * until a scene, window, parent or visibility change re-schedules it. The timer only runs while there are pending
+ * charts. Starting it is the only FX queue entry per busy period, so the queue no longer grows with the event rate.
+ * <p>
+ * N.B. one scheduler serves all scenes since they share the same JavaFX application thread and pulse.
+ */
+final class RenderScheduler {
+    private static final long FRAME_TOLERANCE = TimeUnit.MILLISECONDS.toNanos(1); // [ns]
+    private final Set<Client> pending = ConcurrentHashMap.newKeySet();
+    // N.B. weak, parked clients are only referenced by their visibility listeners and may be garbage collected
+    private final Set<Client> parked = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final AtomicBoolean active = new AtomicBoolean();
+    private final Runnable startTimer;
+    private final Runnable stopTimer;
+
+    /**
+     * @param startTimer starts the periodic {@link #pulse(long)} calls, N.B. may be called from any thread
+     * @param stopTimer stops the periodic {@link #pulse(long)} calls, called from within {@link #pulse(long)}
+     */
+    RenderScheduler(final Runnable startTimer, final Runnable stopTimer) {
+        this.startTimer = startTimer;
+        this.stopTimer = stopTimer;
+    }
+
+    /**
+     * @return {@code true} if the timer is running, ie. charts are pending
+     */
+    boolean isActive() {
+        return active.get();
+    }
+
+    /**
+     * @param client the client to be checked
+     * @return {@code true} if the client is hidden and waits for a visibility change
+     */
+    boolean isParked(final Client client) {
+        return parked.contains(client);
+    }
+
+    /**
+     * processes the pending clients, called once per JavaFX pulse
+     *
+     * @param now time stamp of the current frame [ns]
+     */
+    void pulse(final long now) {
+        for (final Iterator<Client> iterator = pending.iterator(); iterator.hasNext();) {
+            final Client client = iterator.next();
+            if (!client.isTreeVisible()) {
+                iterator.remove();
+                park(client);
+                continue;
+            }
+            if (!client.isFrameDue(now)) {
+                // keep pending
+                continue;
+            }
+            iterator.remove();
+            client.processPendingUpdates(now);
+        }
+
+        if (pending.isEmpty()) {
+            active.set(false);
+            stopTimer.run();
+            // clients may have been scheduled between the above check and resetting the 'active' flag
+            if (!pending.isEmpty() && !active.getAndSet(true)) {
+                startTimer.run();
+            }
+        }
+    }
+
+    /**
+     * @param client client with pending updates, N.B. may be called from any thread
+     */
+    void schedule(final Client client) {
+        if (parked.contains(client)) {
+            // re-scheduled by its visibility listener
+            return;
+        }
+        pending.add(client);
+        if (!active.getAndSet(true)) {
+            startTimer.run();
+        }
+    }
+
+    private void park(final Client client) {
+        parked.add(client);
+        client.watchVisibility(() -> {
+            parked.remove(client);
+            schedule(client);
+        });
+    }
+
+    /**
+     * @return the scheduler shared by all charts
+     */
+    static RenderScheduler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param now time stamp of the current frame [ns]
+     * @param lastFrameUpdate time stamp of the last processed frame [ns]
+     * @param maxFrameRate maximum frame rate [Hz]
+     * @return {@code true} if the frame rate limit permits a new update
+     */
+    static boolean isFrameDue(final long now, final long lastFrameUpdate, final double maxFrameRate) {
+        // N.B. tolerance for the integer rounding and jitter of the pulse time stamps
+        return now - lastFrameUpdate + FRAME_TOLERANCE >= TimeUnit.SECONDS.toNanos(1) / maxFrameRate;
+    }
+
+    /**
+     * @param node the node to be checked
+     * @return {@code true} if the node is part of a showing window and neither it nor any of its parents is invisible
+     */
+    static boolean isTreeVisible(final Node node) {
+        final Scene scene = node.getScene();
+        if (scene == null || scene.getWindow() == null || !scene.getWindow().isShowing()) {
+            return false;
+        }
+        for (Node parent = node; parent != null; parent = parent.getParent()) {
+            if (!parent.isVisible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Invokes the callback once on the next change that may affect {@link #isTreeVisible(Node)}, ie. a change of the
+     * scene, window, showing state, or of the parent or visibility of the node or any of its parents. N.B. needs to be
+     * called on the JavaFX application thread
+     *
+     * @param node the node to be watched
+     * @param onChange callback invoked (once) on the JavaFX application thread
+     */
+    static void watchTreeVisibility(final Node node, final Runnable onChange) {
+        final List<Observable> observables = new ArrayList<>();
+        observables.add(node.sceneProperty());
+        final Scene scene = node.getScene();
+        if (scene != null) {
+            observables.add(scene.windowProperty());
+            if (scene.getWindow() != null) {
+                observables.add(scene.getWindow().showingProperty());
+            }
+        }
+        for (Node parent = node; parent != null; parent = parent.getParent()) {
+            observables.add(parent.visibleProperty());
+            observables.add(parent.parentProperty());
+        }
+
+        final InvalidationListener listener = new InvalidationListener() {
+            @Override
+            public void invalidated(final Observable observable) {
+                observables.forEach(obs -> obs.removeListener(this));
+                onChange.run();
+            }
+        };
+        observables.forEach(obs -> obs.addListener(listener));
+    }
+
+    /**
+     * the per-chart view of the scheduler, N.B. the scheduler calls these on the JavaFX application thread
+     */
+    interface Client {
+        /**
+         * @param now time stamp of the current frame [ns]
+         * @return {@code true} if the frame rate limit permits a new update
+         */
+        boolean isFrameDue(long now);
+
+        /**
+         * @return {@code true} if the chart is visible
+         * @see RenderScheduler#isTreeVisible(Node)
+         */
+        boolean isTreeVisible();
+
+        /**
+         * @param now time stamp of the current frame [ns]
+         */
+        void processPendingUpdates(long now);
+
+        /**
+         * @param onChange to be invoked (once) on the next change that may make the chart visible
+         * @see RenderScheduler#watchTreeVisibility(Node, Runnable)
+         */
+        void watchVisibility(Runnable onChange);
+    }
+
+    /**
+     * N.B. lazy, the AnimationTimer requires an initialised JavaFX toolkit
+     */
+    private static final class Holder {
+        private static final AnimationTimer TIMER = new AnimationTimer() {
+            @Override
+            public void handle(final long now) {
+                Holder.INSTANCE.pulse(now);
+            }
+        };
+        private static final RenderScheduler INSTANCE = new RenderScheduler(() -> FXUtils.runFX(TIMER::start),
+                TIMER::stop);
+    }
+}
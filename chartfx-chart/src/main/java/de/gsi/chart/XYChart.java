@@ -2,7 +2,10 @@ package de.gsi.chart;
 
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -33,10 +36,12 @@ import de.gsi.chart.renderer.Renderer;
 import de.gsi.chart.renderer.spi.ErrorDataSetRenderer;
 import de.gsi.chart.renderer.spi.GridRenderer;
 import de.gsi.chart.renderer.spi.LabelledMarkerRenderer;
+import de.gsi.chart.ui.ResizableCanvas;
 import de.gsi.chart.ui.geometry.Side;
 import de.gsi.chart.utils.FXUtils;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet3D;
+import de.gsi.dataset.event.UpdateEvent;
 import de.gsi.dataset.utils.AssertUtils;
 
 /**
@@ -56,9 +61,22 @@ public class XYChart extends Chart {
     protected BooleanProperty polarPlot = new SimpleBooleanProperty(this, "polarPlot", false);
     private final ObjectProperty<PolarTickStep> polarStepSize = new SimpleObjectProperty<>(PolarTickStep.THIRTY);
     private final GridRenderer gridRenderer = new GridRenderer();
-    protected final ChangeListener<? super Boolean> gridLineVisibilitychange = (ob, o, n) -> requestLayout();
+    protected final ChangeListener<? super Boolean> gridLineVisibilitychange = (ob, o, n) -> {
+        invalidateLayer(gridRenderer);
+        requestLayout();
+    };
     private long lastCanvasUpdate;
     private boolean callCanvasUpdateLater;
+    private final BooleanProperty layerCaching = new SimpleBooleanProperty(this, "layerCaching", false) {
+        @Override
+        protected void invalidated() {
+            layers.clear();
+            canvasLayers.getChildren().clear();
+            requestLayout();
+        }
+    };
+    private final Map<Renderer, RenderLayer> layers = new HashMap<>();
+    private double[] layerState = new double[0]; // canvas size and axis ranges the cached layers have been drawn for
     private final ChangeListener<Side> axisSideChangeListener = this::axisSideChanged;
 
     public XYChart() {
@@ -164,6 +182,29 @@ public class XYChart extends Chart {
         return gridRenderer.horizontalGridLinesVisibleProperty();
     }
 
+    /**
+     * Forces the cached drawing layer of the given renderer to be redrawn on the next layout pass. Needs to be called
+     * after renderer parameter changes (e.g. marker size, line style) if layer caching is enabled.
+     *
+     * @param renderer the renderer whose layer is to be redrawn
+     * @see #layerCachingProperty()
+     */
+    public void invalidateLayer(final Renderer renderer) {
+        final RenderLayer layer = layers.get(renderer);
+        if (layer != null) {
+            layer.dirty = true;
+        }
+    }
+
+    /**
+     * Forces all cached drawing layers to be redrawn on the next layout pass.
+     *
+     * @see #layerCachingProperty()
+     */
+    public void invalidateLayers() {
+        layers.values().forEach(layer -> layer.dirty = true);
+    }
+
     /**
      * Indicates whether horizontal grid lines are visible.
      *
@@ -173,6 +214,14 @@ public class XYChart extends Chart {
         return horizontalGridLinesVisibleProperty().get();
     }
 
+    /**
+     * @return {@code true} if each renderer draws onto its own cached layer
+     * @see #layerCachingProperty()
+     */
+    public final boolean isLayerCaching() {
+        return layerCachingProperty().get();
+    }
+
     /**
      * whether renderer should use polar coordinates (x -&gt; interpreted as phi, y as radial coordinate)
      *
@@ -191,6 +240,22 @@ public class XYChart extends Chart {
         return verticalGridLinesVisibleProperty().get();
     }
 
+    /**
+     * Enables per-renderer layer caching: the grid and each renderer draw onto their own canvas layer, stacked in
+     * z-order on top of the chart's canvas. A layer is only redrawn if one of the DataSets drawn by the renderer
+     * signalled an update, or if the canvas size, axis ranges, renderers or DataSet lists changed. For example, a
+     * fast-updating trace in one renderer does not cause redrawing static reference traces held by another renderer.
+     * <p>
+     * N.B. DataSets attached to the chart itself are drawn by all renderers and thus invalidate all renderer layers.
+     * Renderer parameter changes are not tracked and need to be signalled via {@link #invalidateLayer(Renderer)}.
+     * Each layer costs one canvas-sized texture.
+     *
+     * @return layerCaching property (default: {@code false})
+     */
+    public final BooleanProperty layerCachingProperty() {
+        return layerCaching;
+    }
+
     /**
      * Sets whether renderer should use polar coordinates (x -&gt; interpreted as phi, y as radial coordinate)
      *
@@ -213,6 +278,16 @@ public class XYChart extends Chart {
         horizontalGridLinesVisibleProperty().set(value);
     }
 
+    /**
+     * @param state {@code true}: each renderer draws onto its own cached layer
+     * @return itself (fluent design)
+     * @see #layerCachingProperty()
+     */
+    public final XYChart setLayerCaching(final boolean state) {
+        layerCachingProperty().set(state);
+        return this;
+    }
+
     /**
      * Sets whether renderer should use polar coordinates (x -&gt; interpreted as phi, y as radial coordinate)
      *
@@ -383,6 +458,22 @@ public class XYChart extends Chart {
         getAxes().addAll(renderer.getAxes().stream().limit(2).filter(a -> (a.getSide() != null && !getAxes().contains(a))).collect(Collectors.toList()));
     }
 
+    @Override
+    protected void dataSetInvalidated(final UpdateEvent event) {
+        if (isLayerCaching()) {
+            LayerInvalidation.getInvalidatedRenderers(event, getDatasets(), getRenderers())
+                    .forEach(this::invalidateLayer);
+        }
+        super.dataSetInvalidated(event);
+    }
+
+    @Override
+    protected void datasetsChanged(final ListChangeListener.Change<? extends DataSet> change) {
+        // N.B. data set offsets (ie. default colours) may have changed
+        invalidateLayers();
+        super.datasetsChanged(change);
+    }
+
     protected List<DataSet> getDataSetForAxis(final Axis axis) {
         final List<DataSet> retVal = new ArrayList<>();
         if (axis == null) {
@@ -426,21 +517,39 @@ public class XYChart extends Chart {
         final GraphicsContext gc = canvas.getGraphicsContext2D();
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
-        if (!gridRenderer.isDrawOnTop()) {
-            gridRenderer.render(gc, this, 0, null);
+        if (isLayerCaching()) {
+            redrawLayers();
+            setAutoNotification(true);
+            return;
         }
 
+        // start the (potentially concurrent) data preparation of all renderers before the first one is drawn
         int dataSetOffset = 0;
         for (final Renderer renderer : getRenderers()) {
             // check for and add required axes
             checkRendererForRequiredAxes(renderer);
 
-            renderer.render(gc, this, dataSetOffset, getDatasets());
+            renderer.prepare(this, dataSetOffset, getDatasets());
             dataSetOffset += getDatasets().size() + renderer.getDatasets().size();
         }
 
-        if (gridRenderer.isDrawOnTop()) {
-            gridRenderer.render(gc, this, 0, null);
+        try {
+            if (!gridRenderer.isDrawOnTop()) {
+                gridRenderer.render(gc, this, 0, null);
+            }
+
+            dataSetOffset = 0;
+            for (final Renderer renderer : getRenderers()) {
+                renderer.render(gc, this, dataSetOffset, getDatasets());
+                dataSetOffset += getDatasets().size() + renderer.getDatasets().size();
+            }
+
+            if (gridRenderer.isDrawOnTop()) {
+                gridRenderer.render(gc, this, 0, null);
+            }
+        } finally {
+            // release the prepared data of renderers that have been skipped due to an exception
+            getRenderers().forEach(Renderer::cancelPreparation);
         }
         setAutoNotification(true);
         if (DEBUG && LOGGER.isDebugEnabled()) {
@@ -451,6 +560,7 @@ public class XYChart extends Chart {
     protected void rendererChanged(final ListChangeListener.Change<? extends Renderer> change) {
         FXUtils.assertJavaFxThread();
         super.rendererChanged(change);
+        invalidateLayers();
 
         // while (change.next()) {
         // // handle added renderer
@@ -465,6 +575,88 @@ public class XYChart extends Chart {
         updateLegend(getDatasets(), getRenderers());
     }
 
+    private double[] getLayerState() {
+        final double[] state = new double[4 + 6 * getAxes().size()];
+        int index = 0;
+        state[index++] = canvas.getWidth();
+        state[index++] = canvas.getHeight();
+        state[index++] = isPolarPlot() ? 1.0 : 0.0;
+        state[index++] = getPolarStepSize() == null ? -1.0 : getPolarStepSize().ordinal();
+        for (final Axis axis : getAxes()) {
+            state[index++] = axis.getMin();
+            state[index++] = axis.getMax();
+            state[index++] = axis.getLength();
+            state[index++] = axis.isInvertedAxis() ? 1.0 : 0.0;
+            state[index++] = axis.isLogAxis() ? 1.0 : 0.0;
+            state[index++] = axis.getSide() == null ? -1.0 : axis.getSide().ordinal();
+        }
+        return state;
+    }
+
+    private void redrawLayers() {
+        final double[] state = getLayerState();
+        if (!Arrays.equals(state, layerState)) {
+            layerState = state;
+            invalidateLayers();
+        }
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+
+        // z-order: grid (if beneath), renderers in list order, grid (if on top)
+        final List<Renderer> order = new ArrayList<>(getRenderers().size() + 1);
+        if (!gridRenderer.isDrawOnTop()) {
+            order.add(gridRenderer);
+        }
+        order.addAll(getRenderers());
+        if (gridRenderer.isDrawOnTop()) {
+            order.add(gridRenderer);
+        }
+        layers.keySet().retainAll(order);
+
+        final List<Node> canvases = new ArrayList<>(order.size());
+        final int[] dataSetOffsets = new int[order.size()];
+        int dataSetOffset = 0;
+        // start the (potentially concurrent) data preparation of all dirty layers before the first one is drawn
+        for (int index = 0; index < order.size(); index++) {
+            final Renderer renderer = order.get(index);
+            final RenderLayer layer = layers.computeIfAbsent(renderer, r -> new RenderLayer());
+            canvases.add(layer.canvas);
+            if (layer.canvas.getWidth() != width || layer.canvas.getHeight() != height) {
+                layer.canvas.resize(width, height);
+                layer.dirty = true;
+            }
+            if (renderer == gridRenderer) {
+                continue;
+            }
+            // check for and add required axes
+            checkRendererForRequiredAxes(renderer);
+            dataSetOffsets[index] = dataSetOffset;
+            if (layer.dirty) {
+                renderer.prepare(this, dataSetOffset, getDatasets());
+            }
+            dataSetOffset += getDatasets().size() + renderer.getDatasets().size();
+        }
+        try {
+            for (int index = 0; index < order.size(); index++) {
+                final Renderer renderer = order.get(index);
+                final RenderLayer layer = layers.get(renderer);
+                if (layer.dirty) {
+                    final boolean isGrid = renderer == gridRenderer;
+                    final GraphicsContext gc = layer.canvas.getGraphicsContext2D();
+                    gc.clearRect(0, 0, width, height);
+                    renderer.render(gc, this, dataSetOffsets[index], isGrid ? null : getDatasets());
+                    layer.dirty = false;
+                }
+            }
+        } finally {
+            // release the prepared data of renderers that have been skipped due to an exception
+            order.forEach(Renderer::cancelPreparation);
+        }
+        if (!canvasLayers.getChildren().equals(canvases)) {
+            canvasLayers.getChildren().setAll(canvases);
+        }
+    }
+
     protected static void updateNumericAxis(final Axis axis, final List<DataSet> dataSets) {
         if (dataSets == null || dataSets.isEmpty()) {
             return;
@@ -538,4 +730,12 @@ public class XYChart extends Chart {
         }
         axis.autoNotification().set(oldAutoState);
     }
+
+    /**
+     * cached drawing layer of one renderer
+     */
+    private static class RenderLayer {
+        private final ResizableCanvas canvas = new ResizableCanvas();
+        private boolean dirty = true;
+    }
 }
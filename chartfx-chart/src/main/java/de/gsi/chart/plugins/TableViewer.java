@@ -16,6 +16,7 @@ import java.util.TimerTask;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -59,6 +60,7 @@ import de.gsi.dataset.EditConstraints;
 import de.gsi.dataset.EditableDataSet;
 import de.gsi.dataset.event.EventListener;
 import de.gsi.dataset.event.UpdateEvent;
+import de.gsi.dataset.utils.CachedDaemonThreadFactory;
 
 /**
  * Displays the all visible data sets inside a table on demand. Implements copy-paste functionality into system
@@ -175,12 +177,15 @@ public class TableViewer extends ChartPlugin {
             return;
         }
         final String data = dsModel.getSelectedData(table.getSelectionModel());
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(save.getPath() + ".csv"),
-                     StandardCharsets.UTF_8)) {
-            writer.write(data);
-        } catch (IOException ex) {
-            LOGGER.error("error while exporting data to csv", ex);
-        }
+        // write outside the UI thread
+        CompletableFuture.runAsync(() -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(save.getPath() + ".csv"),
+                         StandardCharsets.UTF_8)) {
+                writer.write(data);
+            } catch (IOException ex) {
+                LOGGER.error("error while exporting data to csv", ex);
+            }
+        }, CachedDaemonThreadFactory.getCommonPool());
     }
 
     /**
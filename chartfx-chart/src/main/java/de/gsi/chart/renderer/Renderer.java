@@ -16,6 +16,17 @@ import javafx.scene.canvas.GraphicsContext;
  */
 public interface Renderer {
 
+    /**
+     * Optional hook, called on the JavaFX application thread if the {@link #render(GraphicsContext, Chart, int,
+     * ObservableList)} call following {@link #prepare(Chart, int, ObservableList)} has been skipped (e.g. due to an
+     * exception while rendering the chart, or if the renderer has been removed from its chart). Renderers should
+     * cancel their pending preparation and return the resources it holds. N.B. a no-op if there is no pending
+     * preparation.
+     */
+    default void cancelPreparation() {
+        // no preparation by default
+    }
+
     /**
      * @param dataSet the data set for which the representative icon should be generated
      * @param dsIndex index within renderer set
@@ -34,6 +45,20 @@ public interface Renderer {
 
     ObservableList<DataSet> getDatasetsCopy();
 
+    /**
+     * Optional hook, called on the JavaFX application thread for all renderers of a chart before the first of them is
+     * rendered. Renderers may use it to start preparing their data concurrently to the rendering of the other
+     * renderers. The arguments are those of the subsequent {@link #render(GraphicsContext, Chart, int, ObservableList)}
+     * call.
+     *
+     * @param chart the chart to be rendered
+     * @param dataSetOffset global index of the first data set
+     * @param datasets the data sets of the chart
+     */
+    default void prepare(final Chart chart, final int dataSetOffset, final ObservableList<DataSet> datasets) {
+        // no preparation by default
+    }
+
     void render(GraphicsContext gc, Chart chart, int dataSetOffset, ObservableList<DataSet> datasets);
 
     /**
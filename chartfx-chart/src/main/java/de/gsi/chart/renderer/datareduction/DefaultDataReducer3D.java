@@ -1,5 +1,7 @@
 package de.gsi.chart.renderer.datareduction;
 
+import de.gsi.dataset.utils.ArrayPool;
+
 /**
  * @author rstein
  */
@@ -9,6 +11,27 @@ public final class DefaultDataReducer3D { // NOPMD nomen est omen
         // static helper class
     }
 
+    /**
+     * resamples the source image into a target array obtained from the {@link ArrayPool}
+     * <p>
+     * N.B. the returned array may be larger than {@code targetWidth * targetHeight} and should be returned to the
+     * {@link ArrayPool} once it is no longer needed
+     *
+     * @param src source image (row-major)
+     * @param srcWidth source image width
+     * @param srcHeight source image height
+     * @param targetWidth target image width
+     * @param targetHeight target image height
+     * @param reductionType type of reduction
+     * @return pooled array containing the resampled image (row-major)
+     */
+    public static double[] resample(final double[] src, final int srcWidth, final int srcHeight,
+            final int targetWidth, final int targetHeight, final ReductionType reductionType) {
+        final double[] target = ArrayPool.getDoubleArray(targetWidth * targetHeight);
+        resample(src, srcWidth, srcHeight, target, targetWidth, targetHeight, reductionType);
+        return target;
+    }
+
     public static void resample(double[] src, final int srcWidth, final int srcHeight, double[] target,
             final int targetWidth, final int targetHeight, //
             ReductionType reductionType) {
@@ -0,0 +1,292 @@
+package de.gsi.chart.renderer.datareduction;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import de.gsi.chart.renderer.RendererDataReducer;
+import de.gsi.dataset.utils.AssertUtils;
+import de.gsi.dataset.utils.CachedDaemonThreadFactory;
+import de.gsi.dataset.utils.ProcessingProfiler;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
+/**
+ * M4 data reduction algorithm implementation for the ErrorDataSet Renderer <br>
+ * For each run of consecutive points falling into the same (screen) pixel column, only the first, last, minimum and
+ * maximum point are retained (in their original order). Since a polyline through these points covers exactly the same
+ * pixels as the polyline through all points, the plot is pixel-identical while at most 4 x (pixel width) points
+ * remain, independent of the number of input points (see: U. Jugel et al., "M4: A Visualization-Oriented Time Series
+ * Data Aggregation", VLDB 2014).
+ * <p>
+ * The retained points keep their styles, their error bars are extended to the error envelope of their pixel column and
+ * a point is marked as selected if any point of its column was. NaN points are retained as-is (ie. keep separating the
+ * polyline segments). N.B. numerical complexity: average = worst-case = O(n), single pass and in-place. Large ranges
+ * are processed in parallel on column-aligned sub-ranges (see {@link #minParallelSizeProperty()}).
+ */
+public class M4DataReducer implements RendererDataReducer {
+    protected IntegerProperty minParallelSize = new SimpleIntegerProperty(this, "minParallelSize", 100_000) {
+        @Override
+        public void set(final int value) {
+            if (value <= 0) {
+                throw new InvalidParameterException("minParallelSize " + value + " must be greater than zero");
+            }
+            super.set(value);
+        }
+    };
+
+    /**
+     * @return the minimum number of points per worker thread
+     */
+    public final int getMinParallelSize() {
+        return minParallelSizeProperty().get();
+    }
+
+    /**
+     * @return minimum number of points per worker thread: ranges with fewer than twice this number of points are
+     *         reduced sequentially
+     */
+    public final IntegerProperty minParallelSizeProperty() {
+        return minParallelSize;
+    }
+
+    @Override
+    public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        AssertUtils.nonEmptyArray("xValues", xValues);
+        final int defaultDataLength = xValues.length;
+        AssertUtils.checkArrayDimension("yValues", yValues, defaultDataLength);
+        AssertUtils.notNull("styles", styles);
+        if (styles.length != defaultDataLength) {
+            throw new IllegalArgumentException("styles length " + styles.length + " != " + defaultDataLength);
+        }
+        AssertUtils.checkArrayDimension("pointSelected", pointSelected, defaultDataLength);
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        AssertUtils.indexOrder(indexMin, "indexMin", indexMax, "indexMax");
+        final boolean xErrors = xPointErrorsPos != null && xPointErrorsNeg != null;
+        final boolean yErrors = yPointErrorsPos != null && yPointErrorsNeg != null;
+        if (xErrors) {
+            AssertUtils.checkArrayDimension("xPointErrorsPos", xPointErrorsPos, defaultDataLength);
+            AssertUtils.checkArrayDimension("xPointErrorsNeg", xPointErrorsNeg, defaultDataLength);
+        }
+        if (yErrors) {
+            AssertUtils.checkArrayDimension("yPointErrorsPos", yPointErrorsPos, defaultDataLength);
+            AssertUtils.checkArrayDimension("yPointErrorsNeg", yPointErrorsNeg, defaultDataLength);
+        }
+        final long start = ProcessingProfiler.getTimeStamp();
+        final Points points = new Points(xValues, yValues, xErrors ? xPointErrorsPos : null,
+                xErrors ? xPointErrorsNeg : null, yErrors ? yPointErrorsPos : null, yErrors ? yPointErrorsNeg : null,
+                styles, pointSelected);
+
+        final int nChunks = Math.min(CachedDaemonThreadFactory.getNumbersOfThreads(),
+                (indexMax - indexMin) / getMinParallelSize());
+        final int count = nChunks < 2 ? reduce(points, indexMin, indexMax, 0)
+                                      : reduceInParallel(points, indexMin, indexMax, nChunks);
+
+        if (ProcessingProfiler.getDebugState()) {
+            ProcessingProfiler.getTimeDiff(start,
+                    String.format("M4 data reduction (from %d to %d)", indexMax - indexMin, count));
+        }
+        return count;
+    }
+
+    /**
+     * Sets the <code>minParallelSize</code> to the specified value.
+     *
+     * @param size the minimum number of points per worker thread
+     */
+    public final void setMinParallelSize(final int size) {
+        minParallelSizeProperty().setValue(size);
+    }
+
+    private static int column(final double x) {
+        return (int) Math.floor(x);
+    }
+
+    private static void compact(final Points points, final int from, final int to, final int length) {
+        if (from == to) {
+            return;
+        }
+        System.arraycopy(points.x, from, points.x, to, length);
+        System.arraycopy(points.y, from, points.y, to, length);
+        System.arraycopy(points.styles, from, points.styles, to, length);
+        System.arraycopy(points.selected, from, points.selected, to, length);
+        if (points.exp != null) {
+            System.arraycopy(points.exp, from, points.exp, to, length);
+            System.arraycopy(points.exn, from, points.exn, to, length);
+        }
+        if (points.eyp != null) {
+            System.arraycopy(points.eyp, from, points.eyp, to, length);
+            System.arraycopy(points.eyn, from, points.eyn, to, length);
+        }
+    }
+
+    private static void finishEnvelope(final double[] envelope) {
+        // map {low, high} back onto {errorPos, errorNeg} w.r.t. the (screen) axis orientation
+        if (envelope != null && envelope[2] == 0.0) {
+            final double low = envelope[0];
+            envelope[0] = envelope[1];
+            envelope[1] = low;
+        }
+    }
+
+    private static void move(final Points points, final int src, final int dst, final boolean selected,
+            final double[] xEnvelope, final double[] yEnvelope) {
+        points.x[dst] = points.x[src];
+        points.y[dst] = points.y[src];
+        points.styles[dst] = points.styles[src];
+        points.selected[dst] = selected;
+        if (points.exp != null) {
+            points.exp[dst] = xEnvelope == null ? points.exp[src] : xEnvelope[0];
+            points.exn[dst] = xEnvelope == null ? points.exn[src] : xEnvelope[1];
+        }
+        if (points.eyp != null) {
+            points.eyp[dst] = yEnvelope == null ? points.eyp[src] : yEnvelope[0];
+            points.eyn[dst] = yEnvelope == null ? points.eyn[src] : yEnvelope[1];
+        }
+    }
+
+    /**
+     * reduces the points within [from, to[ and stores the result starting at 'dstOffset' (&lt;= from)
+     *
+     * @return number of retained points
+     */
+    private static int reduce(final Points points, final int from, final int to, final int dstOffset) {
+        final double[] x = points.x;
+        final double[] y = points.y;
+        final boolean[] selected = points.selected;
+        // column error envelope: {errorPos, errorNeg, posIsLow ? 1 : 0}, N.B. one per thread
+        final double[] xEnvelope = points.exp == null ? null : new double[3];
+        final double[] yEnvelope = points.eyp == null ? null : new double[3];
+        int count = dstOffset;
+        int index = from;
+        while (index < to) {
+            if (Double.isNaN(y[index])) {
+                // keep gaps
+                move(points, index, count++, selected[index], null, null);
+                index++;
+                continue;
+            }
+            final int column = column(x[index]);
+            final int first = index;
+            int minIndex = index;
+            int maxIndex = index;
+            boolean sel = selected[index];
+            startEnvelope(xEnvelope, points.exp, points.exn, index);
+            startEnvelope(yEnvelope, points.eyp, points.eyn, index);
+            index++;
+            while (index < to && column(x[index]) == column && !Double.isNaN(y[index])) {
+                final double value = y[index];
+                if (value < y[minIndex]) {
+                    minIndex = index;
+                } else if (value > y[maxIndex]) {
+                    maxIndex = index;
+                }
+                sel |= selected[index];
+                updateEnvelope(xEnvelope, points.exp, points.exn, index);
+                updateEnvelope(yEnvelope, points.eyp, points.eyn, index);
+                index++;
+            }
+            final int last = index - 1;
+            finishEnvelope(xEnvelope);
+            finishEnvelope(yEnvelope);
+
+            // emit first, min, max, last in ascending index order (N.B. dst <= src, no overwrite of pending sources)
+            final int lower = Math.min(minIndex, maxIndex);
+            final int upper = Math.max(minIndex, maxIndex);
+            move(points, first, count++, sel, xEnvelope, yEnvelope);
+            if (lower > first) {
+                move(points, lower, count++, sel, xEnvelope, yEnvelope);
+            }
+            if (upper > lower) {
+                move(points, upper, count++, sel, xEnvelope, yEnvelope);
+            }
+            if (last > upper) {
+                move(points, last, count++, sel, xEnvelope, yEnvelope);
+            }
+        }
+        return count - dstOffset;
+    }
+
+    private static int reduceInParallel(final Points points, final int indexMin, final int indexMax,
+            final int nChunks) {
+        // column-aligned chunk boundaries
+        final int[] boundaries = new int[nChunks + 1];
+        boundaries[0] = indexMin;
+        boundaries[nChunks] = indexMax;
+        final int chunkSize = (indexMax - indexMin) / nChunks;
+        for (int chunk = 1; chunk < nChunks; chunk++) {
+            int boundary = Math.max(boundaries[chunk - 1], indexMin + chunk * chunkSize);
+            while (boundary > indexMin && boundary < indexMax
+                    && column(points.x[boundary]) == column(points.x[boundary - 1])) {
+                boundary++;
+            }
+            boundaries[chunk] = boundary;
+        }
+
+        final List<Callable<Integer>> workers = new ArrayList<>(nChunks);
+        for (int chunk = 0; chunk < nChunks; chunk++) {
+            final int from = boundaries[chunk];
+            final int to = boundaries[chunk + 1];
+            workers.add(() -> reduce(points, from, to, from));
+        }
+        try {
+            final List<Future<Integer>> jobs = CachedDaemonThreadFactory.getCommonPool().invokeAll(workers);
+            int count = 0;
+            for (int chunk = 0; chunk < nChunks; chunk++) {
+                final int length = jobs.get(chunk).get();
+                compact(points, boundaries[chunk], count, length);
+                count += length;
+            }
+            return count;
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("one parallel worker thread finished execution with error", e);
+        }
+    }
+
+    private static void startEnvelope(final double[] envelope, final double[] errorPos, final double[] errorNeg,
+            final int index) {
+        if (envelope == null) {
+            return;
+        }
+        envelope[0] = Math.min(errorPos[index], errorNeg[index]);
+        envelope[1] = Math.max(errorPos[index], errorNeg[index]);
+        envelope[2] = errorPos[index] <= errorNeg[index] ? 1.0 : 0.0;
+    }
+
+    private static void updateEnvelope(final double[] envelope, final double[] errorPos, final double[] errorNeg,
+            final int index) {
+        if (envelope == null) {
+            return;
+        }
+        envelope[0] = Math.min(envelope[0], Math.min(errorPos[index], errorNeg[index]));
+        envelope[1] = Math.max(envelope[1], Math.max(errorPos[index], errorNeg[index]));
+    }
+
+    private static class Points {
+        private final double[] x;
+        private final double[] y;
+        private final double[] exp;
+        private final double[] exn;
+        private final double[] eyp;
+        private final double[] eyn;
+        private final String[] styles;
+        private final boolean[] selected;
+
+        private Points(final double[] x, final double[] y, final double[] exp, final double[] exn,
+                final double[] eyp, final double[] eyn, final String[] styles, final boolean[] selected) {
+            this.x = x;
+            this.y = y;
+            this.exp = exp;
+            this.exn = exn;
+            this.eyp = eyp;
+            this.eyn = eyn;
+            this.styles = styles;
+            this.selected = selected;
+        }
+    }
+}
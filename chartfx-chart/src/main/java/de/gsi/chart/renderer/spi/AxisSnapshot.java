@@ -0,0 +1,102 @@
+package de.gsi.chart.renderer.spi;
+
+import de.gsi.chart.axes.Axis;
+
+/**
+ * package private, immutable copy of the axis state required to transform data to screen coordinates.
+ * <p>
+ * Taken on the JavaFX application thread, so that data sets can be prepared by worker threads w/o accessing the
+ * (scene-graph) axis itself. The data-to-display mapping is reconstructed from the display positions of the axis
+ * range limits, which is exact for the linear and logarithmic axes of this library (incl. inverted axes).
+ */
+final class AxisSnapshot {
+    private final double min;
+    private final double max;
+    private final double width;
+    private final boolean invertedAxis;
+    private final boolean logAxis;
+    private final double displayMin;
+    private final double transformedMin;
+    private final double scale;
+
+    /**
+     * N.B. needs to be called on the JavaFX application thread
+     *
+     * @param axis the axis to be copied
+     */
+    AxisSnapshot(final Axis axis) {
+        this(axis.getMin(), axis.getMax(), axis.getDisplayPosition(axis.getMin()),
+                axis.getDisplayPosition(axis.getMax()), axis.getWidth(), axis.isInvertedAxis(), axis.isLogAxis());
+    }
+
+    /**
+     * @param min minimum of the axis range
+     * @param max maximum of the axis range
+     * @param displayMin display position of 'min'
+     * @param displayMax display position of 'max'
+     * @param width axis width
+     * @param invertedAxis {@code true} if the axis is inverted
+     * @param logAxis {@code true} for logarithmic axes
+     */
+    AxisSnapshot(final double min, final double max, final double displayMin, final double displayMax,
+            final double width, final boolean invertedAxis, final boolean logAxis) {
+        this.min = min;
+        this.max = max;
+        this.width = width;
+        this.invertedAxis = invertedAxis;
+        this.logAxis = logAxis;
+        this.displayMin = displayMin;
+        transformedMin = forward(min);
+        final double range = forward(max) - transformedMin;
+        scale = range == 0.0 ? 0.0 : (displayMax - displayMin) / range;
+    }
+
+    /**
+     * @param value data value
+     * @return display position of the value
+     * @see Axis#getDisplayPosition(double)
+     */
+    double getDisplayPosition(final double value) {
+        return displayMin + (forward(value) - transformedMin) * scale;
+    }
+
+    double getMax() {
+        return max;
+    }
+
+    double getMin() {
+        return min;
+    }
+
+    /**
+     * @param displayPosition display position
+     * @return data value for the display position
+     * @see Axis#getValueForDisplay(double)
+     */
+    double getValueForDisplay(final double displayPosition) {
+        if (scale == 0.0) {
+            return min;
+        }
+        return backward(transformedMin + (displayPosition - displayMin) / scale);
+    }
+
+    double getWidth() {
+        return width;
+    }
+
+    boolean isInvertedAxis() {
+        return invertedAxis;
+    }
+
+    boolean isLogAxis() {
+        return logAxis;
+    }
+
+    private double backward(final double value) {
+        return logAxis ? Math.pow(10.0, value) : value;
+    }
+
+    private double forward(final double value) {
+        return logAxis ? Math.log10(value) : value;
+    }
+}
@@ -4,13 +4,13 @@ import static de.gsi.dataset.DataSet.DIM_X;
 import static de.gsi.dataset.DataSet.DIM_Y;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 import de.gsi.chart.XYChartCss;
-import de.gsi.chart.axes.Axis;
 import de.gsi.chart.renderer.ErrorStyle;
 import de.gsi.chart.renderer.RendererDataReducer;
 import de.gsi.chart.utils.StyleParser;
@@ -18,7 +18,10 @@ import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet2D;
 import de.gsi.dataset.DataSetError;
 import de.gsi.dataset.DataSetError.ErrorType;
-import de.gsi.dataset.utils.ArrayCache;
+import de.gsi.dataset.spi.AbstractDataSet;
+import de.gsi.dataset.spi.utils.StringHashMapList;
+import de.gsi.dataset.spi.utils.StyleIdPool;
+import de.gsi.dataset.utils.ArrayPool;
 import de.gsi.dataset.utils.CachedDaemonThreadFactory;
 import de.gsi.dataset.utils.ProcessingProfiler;
 import de.gsi.math.ArrayUtils;
@@ -31,15 +34,18 @@ import de.gsi.math.ArrayUtils;
  */
 @SuppressWarnings({ "PMD.TooManyMethods", "PMD.TooManyFields" }) // designated purpose of this class
 class CachedDataPoints {
-    private static final String STYLES2 = "styles";
-    private static final String SELECTED2 = "selected";
-    private static final String ERROR_X_POS = "errorXPos";
-    private static final String ERROR_X_NEG = "errorXNeg";
-    private static final String ERROR_Y_POS = "errorYPos";
-    private static final String ERROR_Y_NEG = "errorYNeg";
-    private static final String Y_VALUES = "yValues";
-    private static final String X_VALUES = "xValues";
     private static final double DEG_TO_RAD = Math.PI / 180.0;
+    // whether a data set class overrides 'getStyle(int)', i.e. its styles are not (only) held by the data style map
+    private static final ClassValue<Boolean> OVERRIDES_STYLE = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("getStyle", int.class).getDeclaringClass() != AbstractDataSet.class;
+            } catch (final NoSuchMethodException e) {
+                return Boolean.TRUE;
+            }
+        }
+    };
 
     protected double[] xValues;
     protected double[] yValues;
@@ -49,6 +55,7 @@ class CachedDataPoints {
     protected double[] errorYPos;
     protected boolean[] selected;
     protected String[] styles;
+    protected int[] styleIds; // IDs of the (remaining) point styles, see 'computeStyleIds(..)'
     protected boolean xAxisInverted;
     protected boolean yAxisInverted;
     protected String defaultStyle;
@@ -76,22 +83,23 @@ class CachedDataPoints {
 
     public CachedDataPoints(final int indexMin, final int indexMax, final int dataLength, final boolean full) {
         maxDataCount = dataLength;
-        xValues = ArrayCache.getCachedDoubleArray(X_VALUES, maxDataCount);
-        yValues = ArrayCache.getCachedDoubleArray(Y_VALUES, maxDataCount);
-        styles = ArrayCache.getCachedStringArray(STYLES2, dataLength);
+        xValues = ArrayPool.getDoubleArray(maxDataCount);
+        yValues = ArrayPool.getDoubleArray(maxDataCount);
+        styles = ArrayPool.getStringArray(dataLength);
+        styleIds = ArrayPool.getIntArray(dataLength);
         this.indexMin = indexMin;
         this.indexMax = indexMax;
-        errorYNeg = ArrayCache.getCachedDoubleArray(ERROR_Y_NEG, maxDataCount);
-        errorYPos = ArrayCache.getCachedDoubleArray(ERROR_Y_POS, maxDataCount);
+        errorYNeg = ArrayPool.getDoubleArray(maxDataCount);
+        errorYPos = ArrayPool.getDoubleArray(maxDataCount);
         if (full) {
-            errorXNeg = ArrayCache.getCachedDoubleArray(ERROR_X_NEG, maxDataCount);
-            errorXPos = ArrayCache.getCachedDoubleArray(ERROR_X_POS, maxDataCount);
+            errorXNeg = ArrayPool.getDoubleArray(maxDataCount);
+            errorXPos = ArrayPool.getDoubleArray(maxDataCount);
         }
-        selected = ArrayCache.getCachedBooleanArray(SELECTED2, dataLength);
+        selected = ArrayPool.getBooleanArray(dataLength);
         ArrayUtils.fillArray(styles, null);
     }
 
-    protected void computeBoundaryVariables(final Axis xAxis, final Axis yAxis) {
+    protected void computeBoundaryVariables(final AxisSnapshot xAxis, final AxisSnapshot yAxis) {
         xAxisInverted = xAxis.isInvertedAxis();
         yAxisInverted = yAxis.isInvertedAxis();
 
@@ -124,8 +132,14 @@ class CachedDataPoints {
         }
     }
 
-    private void computeErrorStyles(final DataSet dataSet, final int min, final int max) {
-        // no error attached
+    void computeErrorStyles(final DataSet dataSet, final int min, final int max) {
+        if (dataSet instanceof AbstractDataSet && !OVERRIDES_STYLE.get(dataSet.getClass())) {
+            // bulk, run-wise copy of the (interned) styles
+            final StringHashMapList styleMap = ((AbstractDataSet<?>) dataSet).getDataStyleMap();
+            // N.B. full read lock: the style map is not safe for optimistic (concurrently modified) reads
+            dataSet.lock().readLockGuard(() -> styleMap.getValues(min, max, styles, min));
+            return;
+        }
         dataSet.lock().readLockGuardOptimistic(() -> {
             for (int index = min; index < max; index++) {
                 styles[index] = dataSet.getStyle(index);
@@ -133,11 +147,37 @@ class CachedDataPoints {
         });
     }
 
-    private void computeFullPolar(final Axis yAxis, final DataSetError dataSet, final int min, final int max) {
+    /**
+     * Resolves the IDs of the point styles that remain after the data reduction within the style pool of the data set
+     * (N.B. {@link StyleIdPool#UNKNOWN_STYLE} for data sets w/o style pool, or styles removed in the meantime).
+     *
+     * @param dataSet the data set the styles were copied from
+     */
+    void computeStyleIds(final DataSet dataSet) {
+        Arrays.fill(styleIds, 0, actualDataCount, StyleIdPool.UNKNOWN_STYLE);
+        if (!(dataSet instanceof AbstractDataSet) || OVERRIDES_STYLE.get(dataSet.getClass())) {
+            return;
+        }
+        final StringHashMapList styleMap = ((AbstractDataSet<?>) dataSet).getDataStyleMap();
+        final StyleIdPool pool = styleMap.getStylePool();
+        if (pool == null || pool.size() == 0) {
+            return;
+        }
+        dataSet.lock().readLockGuard(() -> {
+            for (int i = 0; i < actualDataCount; i++) {
+                styleIds[i] = pool.getId(styles[i]);
+            }
+        });
+    }
+
+    private void computeFullPolar(final AxisSnapshot yAxis, final DataSetError dataSet, final int min, final int max) {
         dataSet.lock().readLockGuardOptimistic(() -> {
+            // bulk copy raw values, transformed in-place below
+            dataSet.getValues(DIM_X, min, max, xValues, min);
+            dataSet.getValues(DIM_Y, min, max, yValues, min);
             for (int index = min; index < max; index++) {
-                final double x = dataSet.get(DIM_X, index);
-                final double y = dataSet.get(DIM_Y, index);
+                final double x = xValues[index];
+                final double y = yValues[index];
                 // check if error should be surrounded by Math.abs(..)
                 // to ensure that they are always positive
                 final double phi = x * DEG_TO_RAD;
@@ -155,17 +195,19 @@ class CachedDataPoints {
                 if (!Double.isFinite(yValues[index])) {
                     yValues[index] = yZero;
                 }
-                styles[index] = dataSet.getStyle(index);
             }
         });
     }
 
-    private void computeNoErrorPolar(final Axis yAxis, final DataSet2D dataSet, final int min, final int max) {
+    private void computeNoErrorPolar(final AxisSnapshot yAxis, final DataSet2D dataSet, final int min, final int max) {
         // experimental transform euclidean to polar coordinates
         dataSet.lock().readLockGuardOptimistic(() -> {
+            // bulk copy raw values, transformed in-place below
+            dataSet.getValues(DIM_X, min, max, xValues, min);
+            dataSet.getValues(DIM_Y, min, max, yValues, min);
             for (int index = min; index < max; index++) {
-                final double x = dataSet.get(DIM_X, index);
-                final double y = dataSet.get(DIM_Y, index);
+                final double x = xValues[index];
+                final double y = yValues[index];
                 // check if error should be surrounded by Math.abs(..)
                 // to ensure that they are always positive
                 final double phi = x * DEG_TO_RAD;
@@ -176,14 +218,13 @@ class CachedDataPoints {
                 if (!Double.isFinite(yValues[index])) {
                     yValues[index] = yZero;
                 }
-                styles[index] = dataSet.getStyle(index);
             }
         });
     }
 
-    protected void computeScreenCoordinates(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
-            final int dsIndex, final int min, final int max, final ErrorStyle localRendErrorStyle,
-            final boolean isPolarPlot, final boolean doAllowForNaNs) {
+    protected void computeScreenCoordinates(final AxisSnapshot xAxis, final AxisSnapshot yAxis,
+            final DataSet dataSet, final int dsIndex, final int min, final int max,
+            final ErrorStyle localRendErrorStyle, final boolean isPolarPlot, final boolean doAllowForNaNs) {
         setBoundaryConditions(xAxis, yAxis, dataSet, dsIndex, min, max, localRendErrorStyle, isPolarPlot,
                 doAllowForNaNs);
 
@@ -191,8 +232,8 @@ class CachedDataPoints {
         computeScreenCoordinatesNonThreaded(xAxis, yAxis, dataSet, min, max);
     }
 
-    private void computeScreenCoordinatesEuclidean(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
-            final int min, final int max) {
+    private void computeScreenCoordinatesEuclidean(final AxisSnapshot xAxis, final AxisSnapshot yAxis,
+            final DataSet dataSet, final int min, final int max) {
         for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
             switch (errorType[dimIndex]) {
             case NO_ERROR:
@@ -217,9 +258,9 @@ class CachedDataPoints {
         computeErrorStyles(dataSet, min, max);
     }
 
-    protected void computeScreenCoordinatesInParallel(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
-            final int dsIndex, final int min, final int max, final ErrorStyle localRendErrorStyle,
-            final boolean isPolarPlot, final boolean doAllowForNaNs) {
+    protected void computeScreenCoordinatesInParallel(final AxisSnapshot xAxis, final AxisSnapshot yAxis,
+            final DataSet dataSet, final int dsIndex, final int min, final int max,
+            final ErrorStyle localRendErrorStyle, final boolean isPolarPlot, final boolean doAllowForNaNs) {
         setBoundaryConditions(xAxis, yAxis, dataSet, dsIndex, min, max, localRendErrorStyle, isPolarPlot,
                 doAllowForNaNs);
 
@@ -227,8 +268,8 @@ class CachedDataPoints {
         computeScreenCoordinatesParallel(xAxis, yAxis, dataSet, min, max);
     }
 
-    protected void computeScreenCoordinatesNonThreaded(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
-            final int min, final int max) {
+    protected void computeScreenCoordinatesNonThreaded(final AxisSnapshot xAxis, final AxisSnapshot yAxis,
+            final DataSet dataSet, final int min, final int max) {
         if (polarPlot) {
             computeScreenCoordinatesPolar(yAxis, dataSet, min, max);
         } else {
@@ -236,8 +277,8 @@ class CachedDataPoints {
         }
     }
 
-    protected void computeScreenCoordinatesParallel(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
-            final int min, final int max) {
+    protected void computeScreenCoordinatesParallel(final AxisSnapshot xAxis, final AxisSnapshot yAxis,
+            final DataSet dataSet, final int min, final int max) {
         final int minthreshold = 1000;
         final int divThread = (int) Math
                                       .ceil(Math.abs(max - min) / (double) CachedDaemonThreadFactory.getNumbersOfThreads());
@@ -268,7 +309,8 @@ class CachedDataPoints {
         }
     }
 
-    private void computeScreenCoordinatesPolar(final Axis yAxis, final DataSet dataSet, final int min, final int max) {
+    private void computeScreenCoordinatesPolar(final AxisSnapshot yAxis, final DataSet dataSet, final int min,
+            final int max) {
         if (!(dataSet instanceof DataSet2D)) {
             throw new IllegalStateException("non-DataSet2D implementation not yet propagated");
         }
@@ -282,9 +324,11 @@ class CachedDataPoints {
             final DataSetError ds = (DataSetError) dataSet;
             computeFullPolar(yAxis, ds, min, max);
         }
+
+        computeErrorStyles(dataSet, min, max);
     }
 
-    private void computeWithError(final Axis yAxis, final DataSet dataSet, final int dimIndex, final int min,
+    private void computeWithError(final AxisSnapshot yAxis, final DataSet dataSet, final int dimIndex, final int min,
             final int max) {
         if (dataSet instanceof DataSetError) {
             dataSet.lock().readLockGuardOptimistic(() -> {
@@ -293,15 +337,19 @@ class CachedDataPoints {
                 final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
                 final double minValue = dimIndex == DIM_X ? xMin : yMin;
                 final DataSetError ds = (DataSetError) dataSet;
+                // bulk copy raw values and errors, transformed in-place below
+                ds.getValues(dimIndex, min, max, values, min);
+                ds.getErrorsNegative(dimIndex, min, max, valuesEN, min);
+                ds.getErrorsPositive(dimIndex, min, max, valuesEP, min);
                 for (int index = min; index < max; index++) {
-                    final double value = dataSet.get(dimIndex, index);
+                    final double value = values[index];
 
                     values[index] = yAxis.getDisplayPosition(value);
 
                     if (!Double.isNaN(values[index])) {
                         // if (Double.isFinite(values[index])) {
-                        valuesEN[index] = yAxis.getDisplayPosition(value - ds.getErrorNegative(dimIndex, index));
-                        valuesEP[index] = yAxis.getDisplayPosition(value + ds.getErrorPositive(dimIndex, index));
+                        valuesEN[index] = yAxis.getDisplayPosition(value - valuesEN[index]);
+                        valuesEP[index] = yAxis.getDisplayPosition(value + valuesEP[index]);
                         continue;
                     }
                     values[index] = minValue;
@@ -319,8 +367,9 @@ class CachedDataPoints {
             final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
             final double minValue = dimIndex == DIM_X ? xMin : yMin;
 
+            dataSet.getValues(dimIndex, min, max, values, min);
             for (int index = min; index < max; index++) {
-                values[index] = yAxis.getDisplayPosition(dataSet.get(dimIndex, index));
+                values[index] = yAxis.getDisplayPosition(values[index]);
                 if (Double.isFinite(values[index])) {
                     valuesEN[index] = values[index];
                     valuesEP[index] = values[index];
@@ -333,7 +382,7 @@ class CachedDataPoints {
         });
     }
 
-    private void computeWithErrorAllowingNaNs(final Axis yAxis, final DataSet dataSet, final int dimIndex,
+    private void computeWithErrorAllowingNaNs(final AxisSnapshot yAxis, final DataSet dataSet, final int dimIndex,
             final int min, final int max) {
         if (dataSet instanceof DataSetError) {
             dataSet.lock().readLockGuardOptimistic(() -> {
@@ -341,8 +390,12 @@ class CachedDataPoints {
                 final double[] valuesEN = dimIndex == DIM_X ? errorXNeg : errorYNeg;
                 final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
                 final DataSetError ds = (DataSetError) dataSet;
+                // bulk copy raw values and errors, transformed in-place below
+                ds.getValues(dimIndex, min, max, values, min);
+                ds.getErrorsNegative(dimIndex, min, max, valuesEN, min);
+                ds.getErrorsPositive(dimIndex, min, max, valuesEP, min);
                 for (int index = min; index < max; index++) {
-                    final double value = dataSet.get(dimIndex, index);
+                    final double value = values[index];
 
                     if (!Double.isFinite(value)) {
                         values[index] = Double.NaN;
@@ -352,8 +405,8 @@ class CachedDataPoints {
                     }
 
                     values[index] = yAxis.getDisplayPosition(value);
-                    valuesEN[index] = yAxis.getDisplayPosition(value - ds.getErrorNegative(dimIndex, index));
-                    valuesEP[index] = yAxis.getDisplayPosition(value + ds.getErrorPositive(dimIndex, index));
+                    valuesEN[index] = yAxis.getDisplayPosition(value - valuesEN[index]);
+                    valuesEP[index] = yAxis.getDisplayPosition(value + valuesEP[index]);
                 }
             });
             return;
@@ -365,8 +418,9 @@ class CachedDataPoints {
             final double[] valuesEN = dimIndex == DIM_X ? errorXNeg : errorYNeg;
             final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
 
+            dataSet.getValues(dimIndex, min, max, values, min);
             for (int index = min; index < max; index++) {
-                values[index] = yAxis.getDisplayPosition(dataSet.get(dimIndex, index));
+                values[index] = yAxis.getDisplayPosition(values[index]);
 
                 if (Double.isFinite(values[index])) {
                     valuesEN[index] = values[index];
@@ -380,16 +434,15 @@ class CachedDataPoints {
         });
     }
 
-    private void computeWithNoError(final Axis axis, final DataSet dataSet, final int dimIndex, final int min,
+    private void computeWithNoError(final AxisSnapshot axis, final DataSet dataSet, final int dimIndex, final int min,
             final int max) {
         // no error attached
         dataSet.lock().readLockGuardOptimistic(() -> {
             final double[] values = dimIndex == DIM_X ? xValues : yValues;
             final double minValue = dimIndex == DIM_X ? xMin : yMin;
+            dataSet.getValues(dimIndex, min, max, values, min);
             for (int index = min; index < max; index++) {
-                final double value = dataSet.get(dimIndex, index);
-
-                values[index] = axis.getDisplayPosition(value);
+                values[index] = axis.getDisplayPosition(values[index]);
 
                 // if (!Double.isFinite(values[index])) {
                 if (Double.isNaN(values[index])) {
@@ -404,13 +457,14 @@ class CachedDataPoints {
         });
     }
 
-    private void computeWithNoErrorAllowingNaNs(final Axis axis, final DataSet dataSet, final int dimIndex,
+    private void computeWithNoErrorAllowingNaNs(final AxisSnapshot axis, final DataSet dataSet, final int dimIndex,
             final int min, final int max) {
         // no error attached
         dataSet.lock().readLockGuardOptimistic(() -> {
             final double[] values = dimIndex == DIM_X ? xValues : yValues;
+            dataSet.getValues(dimIndex, min, max, values, min);
             for (int index = min; index < max; index++) {
-                final double value = dataSet.get(dimIndex, index);
+                final double value = values[index];
 
                 if (Double.isFinite(value)) {
                     values[index] = axis.getDisplayPosition(value);
@@ -426,11 +480,14 @@ class CachedDataPoints {
         });
     }
 
-    private void computeYonlyPolar(final Axis yAxis, final DataSet2D dataSet, final int min, final int max) {
+    private void computeYonlyPolar(final AxisSnapshot yAxis, final DataSet2D dataSet, final int min, final int max) {
         dataSet.lock().readLockGuardOptimistic(() -> {
+            // bulk copy raw values, transformed in-place below
+            dataSet.getValues(DIM_X, min, max, xValues, min);
+            dataSet.getValues(DIM_Y, min, max, yValues, min);
             for (int index = min; index < max; index++) {
-                final double x = dataSet.get(DIM_X, index);
-                final double y = dataSet.get(DIM_Y, index);
+                final double x = xValues[index];
+                final double y = yValues[index];
                 // check if error should be surrounded by Math.abs(..)
                 // to ensure that they are always positive
                 final double phi = x * DEG_TO_RAD;
@@ -447,7 +504,6 @@ class CachedDataPoints {
                 if (!Double.isFinite(yValues[index])) {
                     yValues[index] = yZero;
                 }
-                styles[index] = dataSet.getStyle(index);
             }
         });
     }
@@ -529,19 +585,20 @@ class CachedDataPoints {
     }
 
     public void release() {
-        ArrayCache.release(X_VALUES, xValues);
-        ArrayCache.release(Y_VALUES, yValues);
-        ArrayCache.release(ERROR_Y_NEG, errorYNeg);
-        ArrayCache.release(ERROR_Y_POS, errorYPos);
-        ArrayCache.release(ERROR_X_NEG, errorXNeg);
-        ArrayCache.release(ERROR_X_POS, errorXPos);
-        ArrayCache.release(SELECTED2, selected);
-        ArrayCache.release(STYLES2, styles);
+        ArrayPool.release(xValues);
+        ArrayPool.release(yValues);
+        ArrayPool.release(errorYNeg);
+        ArrayPool.release(errorYPos);
+        ArrayPool.release(errorXNeg);
+        ArrayPool.release(errorXPos);
+        ArrayPool.release(selected);
+        ArrayPool.release(styles);
+        ArrayPool.release(styleIds);
     }
 
-    private void setBoundaryConditions(final Axis xAxis, final Axis yAxis, final DataSet dataSet, final int dsIndex,
-            final int min, final int max, final ErrorStyle rendererErrorStyle, final boolean isPolarPlot,
-            final boolean doAllowForNaNs) {
+    private void setBoundaryConditions(final AxisSnapshot xAxis, final AxisSnapshot yAxis, final DataSet dataSet,
+            final int dsIndex, final int min, final int max, final ErrorStyle rendererErrorStyle,
+            final boolean isPolarPlot, final boolean doAllowForNaNs) {
         indexMin = min;
         indexMax = max;
         polarPlot = isPolarPlot;
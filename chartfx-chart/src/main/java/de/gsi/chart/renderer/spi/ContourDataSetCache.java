@@ -28,7 +28,7 @@ import de.gsi.chart.renderer.spi.utils.ColorGradient;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet3D;
 import de.gsi.dataset.spi.DataRange;
-import de.gsi.dataset.utils.ArrayCache;
+import de.gsi.dataset.utils.ArrayPool;
 import de.gsi.dataset.utils.CachedDaemonThreadFactory;
 import de.gsi.dataset.utils.ProcessingProfiler;
 
@@ -38,10 +38,6 @@ import de.gsi.dataset.utils.ProcessingProfiler;
 class ContourDataSetCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(ContourDataSetCache.class);
     private static final String PARALLEL_WORKER_ERROR = "one parallel worker thread finished execution with error";
-    private static final String CLASS_NAME = ContourDataSetCache.class.getSimpleName() + System.currentTimeMillis();
-    private static final String DATA_COPY_BUFFER_NAME = CLASS_NAME + ":dataBuffer";
-    private static final String TEMP_DATA_COPY_BUFFER_NAME = CLASS_NAME + ":tempDataBuffer";
-    private static final String BGRA_BYTE_BUFFER_NAME = CLASS_NAME + ":bgraByteBuffer";
     private static final int BGRA_BYTE_SIZE = 4;
     private static final int REF_WIDTH_PARALLEL = 1024;
     private static final int REF_HEIGHT_PARALLEL = 1000;
@@ -139,7 +135,7 @@ class ContourDataSetCache {
         this.ySize = Math.abs(this.indexYMax - this.indexYMin) + 1;
 
         // copy- transform data
-        dataBuffer = ArrayCache.getCachedDoubleArray(DATA_COPY_BUFFER_NAME, this.xSize * this.ySize);
+        dataBuffer = ArrayPool.getDoubleArray(this.xSize * this.ySize);
         // TODO: tune this limit
         final int minSizeThreshold = REF_WIDTH_PARALLEL * REF_HEIGHT_PARALLEL;
         final boolean sufficientlyLarge = xSize * ySize < minSizeThreshold;
@@ -186,8 +182,8 @@ class ContourDataSetCache {
     }
 
     public void releaseCachedVariables() {
-        ArrayCache.release(DATA_COPY_BUFFER_NAME, dataBuffer);
-        ArrayCache.release(TEMP_DATA_COPY_BUFFER_NAME, tempDataBuffer);
+        ArrayPool.release(dataBuffer);
+        ArrayPool.release(tempDataBuffer);
     }
 
     protected double[] reduceDataArray(final double[] input, final int srcWidth, final int srcHeight,
@@ -217,9 +213,7 @@ class ContourDataSetCache {
 
             //            System.err.printf("image width = %d x %d - reduced from %d x %d\n", targetWidth, targetHeight, xSize, ySize);
 
-            tempDataBuffer = ArrayCache.getCachedDoubleArray(TEMP_DATA_COPY_BUFFER_NAME, targetWidth * targetHeight);
-
-            DefaultDataReducer3D.resample(input, srcWidth, srcHeight, tempDataBuffer, targetWidth, targetHeight,
+            tempDataBuffer = DefaultDataReducer3D.resample(input, srcWidth, srcHeight, targetWidth, targetHeight,
                     reductionType);
 
             xSize = targetWidth;
@@ -351,7 +345,7 @@ class ContourDataSetCache {
             final ColorGradient colorGradient) {
         final int length = dataWidth * dataHeight;
 
-        final byte[] byteBuffer = ArrayCache.getCachedByteArray(BGRA_BYTE_BUFFER_NAME, length * BGRA_BYTE_SIZE);
+        final byte[] byteBuffer = ArrayPool.getByteArray(length * BGRA_BYTE_SIZE);
         final int rowSizeInBytes = BGRA_BYTE_SIZE * dataWidth;
         final WritableImage image = new WritableImage(dataWidth, dataHeight);
         final PixelWriter pixelWriter = image.getPixelWriter();
@@ -380,7 +374,7 @@ class ContourDataSetCache {
 
         pixelWriter.setPixels(0, 0, dataWidth, dataHeight, PixelFormat.getByteBgraPreInstance(), byteBuffer, 0,
                 rowSizeInBytes);
-        ArrayCache.release(BGRA_BYTE_BUFFER_NAME, byteBuffer);
+        ArrayPool.release(byteBuffer);
         return image;
     }
 
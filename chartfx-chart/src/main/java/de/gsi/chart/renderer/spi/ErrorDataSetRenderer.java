@@ -2,10 +2,18 @@ package de.gsi.chart.renderer.spi;
 
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
@@ -26,13 +34,19 @@ import de.gsi.chart.marker.DefaultMarker;
 import de.gsi.chart.marker.Marker;
 import de.gsi.chart.renderer.ErrorStyle;
 import de.gsi.chart.renderer.Renderer;
+import de.gsi.chart.renderer.RendererDataReducer;
 import de.gsi.chart.renderer.spi.utils.BezierCurve;
 import de.gsi.chart.renderer.spi.utils.DefaultRenderColorScheme;
 import de.gsi.chart.utils.StyleParser;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSetError.ErrorType;
+import de.gsi.dataset.MultiResolutionDataSet;
+import de.gsi.dataset.spi.DataSetView;
+import de.gsi.dataset.spi.utils.StyleIdPool;
 import de.gsi.dataset.spi.utils.Triple;
-import de.gsi.dataset.utils.ArrayCache;
+import de.gsi.dataset.utils.ArrayPool;
+import de.gsi.dataset.utils.CachedDaemonThreadFactory;
+import de.gsi.dataset.utils.MinMaxPyramid;
 import de.gsi.dataset.utils.ProcessingProfiler;
 
 /**
@@ -51,20 +65,22 @@ import de.gsi.dataset.utils.ProcessingProfiler;
 public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<ErrorDataSetRenderer>
         implements Renderer {
     private static final Logger LOGGER = LoggerFactory.getLogger(ErrorDataSetRenderer.class);
-    private static final String Y_BEZIER_SECOND_CONTROL_POINT = "yBezierSecondControlPoint";
-    private static final String X_BEZIER_SECOND_CONTROL_POINT = "xBezierSecondControlPoint";
-    private static final String Y_BEZIER_FIRST_CONTROL_POINT = "yBezierFirstControlPoint";
-    private static final String X_BEZIER_FIRST_CONTROL_POINT = "xBezierFirstControlPoint";
-    private static final String Y_DRAW_POLY_LINE_STAIR_CASE = "yDrawPolyLineStairCase";
-    private static final String X_DRAW_POLY_LINE_STAIR_CASE = "xDrawPolyLineStairCase";
-    private static final String Y_DRAW_POLY_LINE_AREA = "yDrawPolyLineArea";
-    private static final String X_DRAW_POLY_LINE_AREA = "xDrawPolyLineArea";
-    private static final String Y_VALUES_SURFACE = "yValuesSurface";
-    private static final String X_VALUES_SURFACE = "xValuesSurface";
-    private static final String Y_DRAW_POLY_LINE_HISTOGRAM = "yDrawPolyLineHistogram";
-    private static final String X_DRAW_POLY_LINE_HISTOGRAM = "xDrawPolyLineHistogram";
+    private static final int MAX_CACHED_DATASET_STYLES = 64;
+    private static final int MAX_CACHED_POINT_STYLES = 1024;
+    // minimum number of samples per pixel column above which the min/max envelope is used (if available)
+    private static final int MIN_ENVELOPE_SAMPLES_PER_PIXEL = 8;
+    // N.B. separate from the common pool, since the data set preparation itself may fork jobs to the latter
+    private static final ExecutorService PREPARATION_POOL = Executors.newFixedThreadPool(
+            CachedDaemonThreadFactory.getNumbersOfThreads(), CachedDaemonThreadFactory.getInstance());
     private Marker marker = DefaultMarker.RECTANGLE; // default: rectangle
-    private long stopStamp;
+    // data set preparation started by 'prepare(..)' and consumed by the subsequent 'render(..)'
+    private List<CompletableFuture<Optional<CachedDataPoints>>> preparedJobs;
+    private PreparationContext preparedContext;
+    private int preparedDataSetOffset;
+    // parsed per-point markers: data set style -> point style (ID) -> marker (bounded, renderer-local)
+    private final Map<String, PointMarkers> pointMarkerCache = new HashMap<>();
+    private Marker pointMarkerCacheMarker;
+    private double pointMarkerCacheSize;
 
     /**
      * Creates new <code>ErrorDataSetRenderer</code>.
@@ -83,6 +99,38 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         setDashSize(dashSize);
     }
 
+    /**
+     * Cancels the data set preparation started by {@link #prepare(Chart, int, ObservableList)}. N.B. does not block:
+     * jobs that have not yet started are skipped, running jobs return their arrays to the {@link ArrayPool} once
+     * finished.
+     */
+    @Override
+    public void cancelPreparation() {
+        final PreparationContext context = preparedContext;
+        final List<CompletableFuture<Optional<CachedDataPoints>>> jobs = preparedJobs;
+        preparedContext = null;
+        preparedJobs = null;
+        if (jobs == null) {
+            return;
+        }
+        context.cancelled.set(true);
+        for (final CompletableFuture<Optional<CachedDataPoints>> job : jobs) {
+            job.whenComplete((cachedPoints, exception) -> {
+                if (cachedPoints != null) {
+                    cachedPoints.ifPresent(CachedDataPoints::release);
+                } else if (LOGGER.isWarnEnabled()) {
+                    LOGGER.atWarn().setCause(exception).log("cancelled data set preparation finished with error");
+                }
+            });
+        }
+    }
+
+    private void drawAndRelease(final GraphicsContext gc, final CachedDataPoints localCachedPoints) {
+        // draw individual plot components
+        drawChartCompontents(gc, localCachedPoints);
+        localCachedPoints.release();
+    }
+
     /**
      * @param gc the graphics context from the Canvas parent
      * @param localCachedPoints reference to local cached data point object
@@ -328,8 +376,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
 
         final int nDataCount = localCachedPoints.actualDataCount;
         final int nPolygoneEdges = 2 * nDataCount;
-        final double[] xValuesSurface = ArrayCache.getCachedDoubleArray(X_VALUES_SURFACE, nPolygoneEdges);
-        final double[] yValuesSurface = ArrayCache.getCachedDoubleArray(Y_VALUES_SURFACE, nPolygoneEdges);
+        final double[] xValuesSurface = ArrayPool.getDoubleArray(nPolygoneEdges);
+        final double[] yValuesSurface = ArrayPool.getDoubleArray(nPolygoneEdges);
 
         final int xend = nPolygoneEdges - 1;
         for (int i = 0; i < nDataCount; i++) {
@@ -353,8 +401,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         drawMarker(gc, localCachedPoints);
         drawBubbles(gc, localCachedPoints);
 
-        ArrayCache.release(X_VALUES_SURFACE, xValuesSurface);
-        ArrayCache.release(Y_VALUES_SURFACE, yValuesSurface);
+        ArrayPool.release(xValuesSurface);
+        ArrayPool.release(yValuesSurface);
 
         ProcessingProfiler.getTimeDiff(start);
     }
@@ -375,8 +423,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
 
         final int nDataCount = localCachedPoints.actualDataCount;
         final int nPolygoneEdges = 2 * nDataCount;
-        final double[] xValuesSurface = ArrayCache.getCachedDoubleArray(X_VALUES_SURFACE, nPolygoneEdges);
-        final double[] yValuesSurface = ArrayCache.getCachedDoubleArray(Y_VALUES_SURFACE, nPolygoneEdges);
+        final double[] xValuesSurface = ArrayPool.getDoubleArray(nPolygoneEdges);
+        final double[] yValuesSurface = ArrayPool.getDoubleArray(nPolygoneEdges);
 
         final int xend = nPolygoneEdges - 1;
         int count = 0;
@@ -419,8 +467,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         drawMarker(gc, localCachedPoints);
         drawBubbles(gc, localCachedPoints);
 
-        ArrayCache.release(X_VALUES_SURFACE, xValuesSurface);
-        ArrayCache.release(Y_VALUES_SURFACE, yValuesSurface);
+        ArrayPool.release(xValuesSurface);
+        ArrayPool.release(yValuesSurface);
 
         ProcessingProfiler.getTimeDiff(start);
     }
@@ -497,14 +545,15 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         if (defaultMarkerColor != null) {
             gc.setFill(defaultMarkerColor);
         }
+        final PointMarkers pointMarkers = getPointMarkers(localCachedPoints.defaultStyle);
         for (int i = 0; i < localCachedPoints.actualDataCount; i++) {
             final double x = localCachedPoints.xValues[i];
             final double y = localCachedPoints.yValues[i];
             if (localCachedPoints.styles[i] == null) {
                 defaultMarker.draw(gc, x, y, defaultMarkerSize);
             } else {
-                final Triple<Marker, Color, Double> markerForPoint = getDefaultMarker(
-                        localCachedPoints.defaultStyle + localCachedPoints.styles[i]);
+                final Triple<Marker, Color, Double> markerForPoint = pointMarkers.get(localCachedPoints.styleIds[i],
+                        localCachedPoints.styles[i]);
                 gc.save();
                 if (markerForPoint.getSecond() != null) {
                     gc.setFill(markerForPoint.getSecond());
@@ -550,6 +599,42 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
     }
 
+    /**
+     * Cached variant of {@link #getDefaultMarker(String)} for data point specific styles: the parsed results are kept
+     * per data set style and point style ID (see {@link StyleIdPool}), and are invalidated whenever the default marker
+     * or marker size changes. The cache is local to this renderer and bounded: it is cleared once it exceeds
+     * {@value #MAX_CACHED_DATASET_STYLES} data set or {@value #MAX_CACHED_POINT_STYLES} point styles.
+     *
+     * @param dataSetStyle the data set style
+     * @param styleId the ID of the data point specific style ({@link StyleIdPool#UNKNOWN_STYLE} if not known)
+     * @param pointStyle the data point specific style
+     * @return marker type, colour and size for the given style combination
+     */
+    protected Triple<Marker, Color, Double> getPointMarker(final String dataSetStyle, final int styleId,
+            final String pointStyle) {
+        return getPointMarkers(dataSetStyle).get(styleId, pointStyle);
+    }
+
+    /**
+     * @param dataSetStyle the data set style
+     * @param pointStyle the data point specific style
+     * @return marker type, colour and size for the given style combination
+     * @see #getPointMarker(String, int, String)
+     */
+    protected Triple<Marker, Color, Double> getPointMarker(final String dataSetStyle, final String pointStyle) {
+        return getPointMarker(dataSetStyle, StyleIdPool.UNKNOWN_STYLE, pointStyle);
+    }
+
+    private PointMarkers getPointMarkers(final String dataSetStyle) {
+        if (pointMarkerCacheMarker != getMarker() || pointMarkerCacheSize != getMarkerSize()
+                || pointMarkerCache.size() > MAX_CACHED_DATASET_STYLES) {
+            pointMarkerCache.clear();
+            pointMarkerCacheMarker = getMarker();
+            pointMarkerCacheSize = getMarkerSize();
+        }
+        return pointMarkerCache.computeIfAbsent(dataSetStyle, PointMarkers::new);
+    }
+
     protected Triple<Marker, Color, Double> getDefaultMarker(final String dataSetStyle) {
         Marker defaultMarker = getMarker();
         // N.B. the markers are drawn in the same colour
@@ -618,141 +703,284 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
     }
 
     /**
-     * @return the instance of this ErrorDataSetRenderer.
+     * Copies the axis and renderer state required for the data set preparation. N.B. needs to be executed on the
+     * JavaFX application thread.
+     *
+     * @param chart the chart to be rendered
+     * @param dataSets the data sets to be prepared
+     * @return the preparation context
      */
-    @Override
-    protected ErrorDataSetRenderer getThis() {
-        return this;
-    }
+    private PreparationContext createPreparationContext(final XYChart chart, final List<DataSet> dataSets) {
+        Axis xAxis = getFirstAxis(Orientation.HORIZONTAL);
+        if (xAxis == null) {
+            xAxis = chart.getFirstAxis(Orientation.HORIZONTAL);
+        }
+        Axis yAxis = getFirstAxis(Orientation.VERTICAL);
+        if (yAxis == null) {
+            yAxis = chart.getFirstAxis(Orientation.VERTICAL);
+        }
 
-    @Override
-    public void render(final GraphicsContext gc, final Chart chart, final int dataSetOffset,
-            final ObservableList<DataSet> datasets) {
-        if (!(chart instanceof XYChart)) {
-            throw new InvalidParameterException(
-                    "must be derivative of XYChart for renderer - " + this.getClass().getSimpleName());
+        // update categories in case of category axes for the first (index == '0') indexed data set
+        // N.B. modifies the scene graph -> needs to be executed before the (parallel) data set preparation
+        final DataSet firstDataSet = dataSets.get(0);
+        if (getFirstAxis(Orientation.HORIZONTAL) instanceof CategoryAxis) {
+            final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.HORIZONTAL);
+            firstDataSet.lock().readLockGuard(() -> axis.updateCategories(firstDataSet));
+        }
+        if (getFirstAxis(Orientation.VERTICAL) instanceof CategoryAxis) {
+            final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.VERTICAL);
+            firstDataSet.lock().readLockGuard(() -> axis.updateCategories(firstDataSet));
         }
 
-        // make local copy and add renderer specific data sets
+        return new PreparationContext(this, dataSets, new AxisSnapshot(xAxis), new AxisSnapshot(yAxis),
+                chart.isPolarPlot());
+    }
+
+    private List<DataSet> getLocalDataSets(final List<DataSet> datasets) {
         final List<DataSet> localDataSetList = new ArrayList<>(datasets);
         localDataSetList.addAll(super.getDatasets());
+        return localDataSetList;
+    }
 
-        // If there are no data sets
-        if (localDataSetList.isEmpty()) {
-            return;
-        }
+    /**
+     * @return the instance of this ErrorDataSetRenderer.
+     */
+    @Override
+    protected ErrorDataSetRenderer getThis() {
+        return this;
+    }
 
-        Axis xAxisTemp = getFirstAxis(Orientation.HORIZONTAL);
-        if (xAxisTemp == null) {
-            xAxisTemp = chart.getFirstAxis(Orientation.HORIZONTAL);
-        }
-        final Axis xAxis = xAxisTemp;
-        Axis yAxisTemp = getFirstAxis(Orientation.VERTICAL);
-        if (yAxisTemp == null) {
-            yAxisTemp = chart.getFirstAxis(Orientation.VERTICAL);
-        }
-        final Axis yAxis = yAxisTemp;
-        final long start = ProcessingProfiler.getTimeStamp();
+    /**
+     * Prepares the screen coordinates of one data set for drawing: locking, index range and envelope selection,
+     * coordinate transform and data reduction. N.B. does not touch the scene graph and may thus be executed off the
+     * JavaFX application thread.
+     *
+     * @param context axis and renderer state (copied on the JavaFX application thread)
+     * @param dataSet the data set to be prepared
+     * @param dataSetIndex global index of the data set
+     * @return reduced screen coordinates or empty if there is nothing to be drawn
+     */
+    static Optional<CachedDataPoints> prepareDataSet(final PreparationContext context, final DataSet dataSet,
+            final int dataSetIndex) {
+        final AxisSnapshot xAxis = context.xAxis;
+        final AxisSnapshot yAxis = context.yAxis;
         final double xAxisWidth = xAxis.getWidth();
         final double xMin = xAxis.getValueForDisplay(0);
         final double xMax = xAxis.getValueForDisplay(xAxisWidth);
+        // check for potentially reduced data range we are supposed to plot
+        final Optional<CachedDataPoints> cachedPoints = dataSet.lock().readLockGuard(() -> {
+            long stopStamp = ProcessingProfiler.getTimeStamp();
+            int indexMin;
+            int indexMax; /* indexMax is excluded in the drawing */
+            if (context.assumeSortedData) {
+                indexMin = Math.max(0, dataSet.getIndex(DataSet.DIM_X, xMin));
+                indexMax = Math.min(dataSet.getIndex(DataSet.DIM_X, xMax) + 1, dataSet.getDataCount(DataSet.DIM_X));
+            } else {
+                indexMin = 0;
+                indexMax = dataSet.getDataCount(DataSet.DIM_X);
+            }
+            if (xAxis.isInvertedAxis()) {
+                final int temp = indexMin;
+                indexMin = indexMax - 1;
+                indexMax = temp + 1;
+            }
 
-        if (ProcessingProfiler.getDebugState()) {
-            ProcessingProfiler.getTimeDiff(start, "init");
-        }
+            if (indexMax - indexMin <= 0) {
+                // zero length/range data set -> nothing to be drawn
+                return Optional.empty();
+            }
 
-        for (int dataSetIndex = localDataSetList.size() - 1; dataSetIndex >= 0; dataSetIndex--) {
-            final int ldataSetIndex = dataSetIndex;
-            stopStamp = ProcessingProfiler.getTimeStamp();
-            final DataSet dataSet = localDataSetList.get(dataSetIndex);
-
-            // N.B. print out for debugging purposes, please keep (used for
-            // detecting redundant or too frequent render updates)
-            // System.err.println(
-            // String.format("render for range [%f,%f] and dataset = '%s'",
-            // xMin, xMax, dataSet.getName()));
-
-            // update categories in case of category axes for the first (index
-            // == '0') indexed data set
-            if (dataSetIndex == 0) {
-                if (getFirstAxis(Orientation.HORIZONTAL) instanceof CategoryAxis) {
-                    final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.HORIZONTAL);
-                    dataSet.lock().readLockGuard(() -> axis.updateCategories(dataSet));
-                }
+            if (ProcessingProfiler.getDebugState()) {
+                stopStamp = ProcessingProfiler.getTimeDiff(stopStamp,
+                        "get min/max" + String.format(" from:%d to:%d", indexMin, indexMax));
+            }
 
-                if (getFirstAxis(Orientation.VERTICAL) instanceof CategoryAxis) {
-                    final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.VERTICAL);
-                    dataSet.lock().readLockGuard(() -> axis.updateCategories(dataSet));
+            // use the pixel-resolution min/max envelope for large ranges if the data set provides an index
+            final boolean isPolarPlot = context.polarPlot;
+            final int nColumns = (int) Math.ceil(xAxisWidth);
+            final boolean useEnvelope = context.reducePoints && context.assumeSortedData && !isPolarPlot
+                                        && !xAxis.isInvertedAxis() && dataSet instanceof MultiResolutionDataSet;
+            final MinMaxPyramid pyramid = useEnvelope ? ((MultiResolutionDataSet) dataSet).getMinMaxPyramid() : null;
+            int[] envelope = null;
+            DataSet renderDataSet = dataSet;
+            if (pyramid != null && nColumns > 0 && indexMax - indexMin > MIN_ENVELOPE_SAMPLES_PER_PIXEL * nColumns) {
+                envelope = ArrayPool.getIntArray(4 * nColumns);
+                final int count = getEnvelopeIndices(dataSet, pyramid, xAxis, indexMin, indexMax, nColumns, envelope);
+                renderDataSet = DataSetView.subset(dataSet, envelope, count);
+                indexMin = 0;
+                indexMax = count;
+                if (ProcessingProfiler.getDebugState()) {
+                    stopStamp = ProcessingProfiler.getTimeDiff(stopStamp, "get envelope");
                 }
             }
 
-            // check for potentially reduced data range we are supposed to plot
-            final Optional<CachedDataPoints> cachedPoints = dataSet.lock().readLockGuard(() -> {
-                int indexMin;
-                int indexMax; /* indexMax is excluded in the drawing */
-                if (isAssumeSortedData()) {
-                    indexMin = Math.max(0, dataSet.getIndex(DataSet.DIM_X, xMin));
-                    indexMax = Math.min(dataSet.getIndex(DataSet.DIM_X, xMax) + 1, dataSet.getDataCount(DataSet.DIM_X));
-                } else {
-                    indexMin = 0;
-                    indexMax = dataSet.getDataCount(DataSet.DIM_X);
-                }
-                if (xAxis.isInvertedAxis()) {
-                    final int temp = indexMin;
-                    indexMin = indexMax - 1;
-                    indexMax = temp + 1;
-                }
+            final CachedDataPoints localCachedPoints = new CachedDataPoints(indexMin, indexMax,
+                    renderDataSet.getDataCount(DataSet.DIM_X), true);
+            if (ProcessingProfiler.getDebugState()) {
+                stopStamp = ProcessingProfiler.getTimeDiff(stopStamp, "get CachedPoints");
+            }
 
-                if (indexMax - indexMin <= 0) {
-                    // zero length/range data set -> nothing to be drawn
-                    return Optional.empty();
-                }
+            // compute local screen coordinates
+            if (context.parallelImplementation) {
+                localCachedPoints.computeScreenCoordinatesInParallel(xAxis, yAxis, renderDataSet, dataSetIndex,
+                        indexMin, indexMax, context.errorStyle, isPolarPlot, context.allowNaNs);
+            } else {
+                localCachedPoints.computeScreenCoordinates(xAxis, yAxis, renderDataSet, dataSetIndex, indexMin,
+                        indexMax, context.errorStyle, isPolarPlot, context.allowNaNs);
+            }
+            if (envelope != null) {
+                ArrayPool.release(envelope);
+            }
+            if (ProcessingProfiler.getDebugState()) {
+                ProcessingProfiler.getTimeDiff(stopStamp, "computeScreenCoordinates()");
+            }
+            return Optional.of(localCachedPoints);
+        });
+
+        // invoke data reduction algorithm (N.B. operates on the local copy, no lock needed)
+        cachedPoints.ifPresent(points -> {
+            points.reduce(context.reducer, context.reducePoints, context.minRequiredReductionSize);
+            points.computeStyleIds(dataSet);
+        });
+        return cachedPoints;
+    }
 
-                if (ProcessingProfiler.getDebugState()) {
-                    stopStamp = ProcessingProfiler.getTimeDiff(stopStamp,
-                            "get min/max" + String.format(" from:%d to:%d", indexMin, indexMax));
-                }
+    /**
+     * Starts the preparation of the data sets on the worker threads (if 'parallelImplementation' is enabled), so that
+     * it overlaps with the rendering of the chart's other renderers. The prepared data is consumed by the subsequent
+     * {@link #render(GraphicsContext, Chart, int, ObservableList)} call with the same arguments.
+     */
+    @Override
+    public void prepare(final Chart chart, final int dataSetOffset, final ObservableList<DataSet> datasets) {
+        cancelPreparation();
+        if (!isParallelImplementation() || !(chart instanceof XYChart)) {
+            return;
+        }
+        final List<DataSet> localDataSetList = getLocalDataSets(datasets);
+        if (localDataSetList.isEmpty()) {
+            return;
+        }
+        startPreparation(createPreparationContext((XYChart) chart, localDataSetList), dataSetOffset);
+    }
 
-                final CachedDataPoints localCachedPoints = new CachedDataPoints(indexMin, indexMax,
-                        dataSet.getDataCount(DataSet.DIM_X), true);
-                if (ProcessingProfiler.getDebugState()) {
-                    stopStamp = ProcessingProfiler.getTimeDiff(stopStamp, "get CachedPoints");
+    @Override
+    public void render(final GraphicsContext gc, final Chart chart, final int dataSetOffset,
+            final ObservableList<DataSet> datasets) {
+        if (!(chart instanceof XYChart)) {
+            throw new InvalidParameterException(
+                    "must be derivative of XYChart for renderer - " + this.getClass().getSimpleName());
+        }
+        final long start = ProcessingProfiler.getTimeStamp();
+
+        // make local copy and add renderer specific data sets
+        final List<DataSet> localDataSetList = getLocalDataSets(datasets);
+        List<CompletableFuture<Optional<CachedDataPoints>>> jobs = takePreparedJobs(dataSetOffset, localDataSetList);
+        if (jobs == null) {
+            // If there are no data sets
+            if (localDataSetList.isEmpty()) {
+                return;
+            }
+            final PreparationContext context = createPreparationContext((XYChart) chart, localDataSetList);
+            if (ProcessingProfiler.getDebugState()) {
+                ProcessingProfiler.getTimeDiff(start, "init");
+            }
+
+            if (!context.parallelImplementation || localDataSetList.size() < 2) {
+                for (int dataSetIndex = localDataSetList.size() - 1; dataSetIndex >= 0; dataSetIndex--) {
+                    final DataSet dataSet = localDataSetList.get(dataSetIndex);
+                    prepareDataSet(context, dataSet, dataSetOffset + dataSetIndex)
+                            .ifPresent(points -> drawAndRelease(gc, points));
                 }
+                ProcessingProfiler.getTimeDiff(start);
+                return;
+            }
+            jobs = submitPreparation(context, dataSetOffset);
+        }
 
-                // compute local screen coordinates
-                final boolean isPolarPlot = ((XYChart) chart).isPolarPlot();
-                if (isParallelImplementation()) {
-                    localCachedPoints.computeScreenCoordinatesInParallel(xAxis, yAxis, dataSet,
-                            dataSetOffset + ldataSetIndex, indexMin, indexMax, getErrorType(), isPolarPlot,
-                            isallowNaNs());
+        // the FX thread draws the first prepared data sets while the remaining ones are still being prepared by the
+        // worker threads. N.B. draw in the same (reverse) order as the sequential implementation
+        IllegalStateException exception = null;
+        for (final Future<Optional<CachedDataPoints>> job : jobs) {
+            try {
+                final Optional<CachedDataPoints> cachedPoints = job.get();
+                if (exception == null) {
+                    cachedPoints.ifPresent(points -> drawAndRelease(gc, points));
                 } else {
-                    localCachedPoints.computeScreenCoordinates(xAxis, yAxis, dataSet, dataSetOffset + ldataSetIndex,
-                            indexMin, indexMax, getErrorType(), isPolarPlot, isallowNaNs());
+                    cachedPoints.ifPresent(CachedDataPoints::release);
                 }
-                if (ProcessingProfiler.getDebugState()) {
-                    stopStamp = ProcessingProfiler.getTimeDiff(stopStamp, "computeScreenCoordinates()");
+            } catch (final InterruptedException | ExecutionException e) {
+                if (exception == null) {
+                    exception = new IllegalStateException("one parallel worker thread finished execution with error",
+                            e);
                 }
-                return Optional.of(localCachedPoints);
-            });
-
-            if (cachedPoints.isPresent()) {
-                // invoke data reduction algorithm
-                cachedPoints.get().reduce(rendererDataReducerProperty().get(), isReducePoints(),
-                        getMinRequiredReductionSize());
-
-                // draw individual plot components
-                drawChartCompontents(gc, cachedPoints.get());
-
-                cachedPoints.get().release();
             }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+        ProcessingProfiler.getTimeDiff(start);
+    }
+
+    /**
+     * @param context axis and renderer state (copied on the JavaFX application thread)
+     * @param dataSetOffset global index of the first data set
+     * @return the preparation jobs in drawing (ie. reverse) order
+     */
+    private static List<CompletableFuture<Optional<CachedDataPoints>>> submitPreparation(
+            final PreparationContext context, final int dataSetOffset) {
+        final List<DataSet> dataSets = context.dataSets;
+        final List<CompletableFuture<Optional<CachedDataPoints>>> jobs = new ArrayList<>(dataSets.size());
+        for (int dataSetIndex = dataSets.size() - 1; dataSetIndex >= 0; dataSetIndex--) {
+            final DataSet dataSet = dataSets.get(dataSetIndex);
+            final int index = dataSetOffset + dataSetIndex;
+            jobs.add(CompletableFuture.supplyAsync(() -> {
+                if (context.cancelled.get()) {
+                    return Optional.empty();
+                }
+                return prepareDataSet(context, dataSet, index);
+            }, PREPARATION_POOL));
+        }
+        return jobs;
+    }
 
-            stopStamp = ProcessingProfiler.getTimeStamp();
+    /**
+     * Starts the preparation of the data sets on the worker threads, to be consumed by the subsequent render call
+     * (or cancelled by {@link #cancelPreparation()}). N.B. package-private for testing
+     *
+     * @param context axis and renderer state (copied on the JavaFX application thread)
+     * @param dataSetOffset global index of the first data set
+     */
+    void startPreparation(final PreparationContext context, final int dataSetOffset) {
+        cancelPreparation();
+        preparedJobs = submitPreparation(context, dataSetOffset);
+        preparedContext = context;
+        preparedDataSetOffset = dataSetOffset;
+    }
 
-            if (ProcessingProfiler.getDebugState()) {
-                ProcessingProfiler.getTimeDiff(stopStamp, "localCachedPoints.release()");
+    /**
+     * @param dataSetOffset global index of the first data set
+     * @param dataSets the data sets to be rendered
+     * @return the jobs started by {@link #prepare(Chart, int, ObservableList)} if they match the given data sets,
+     *         {@code null} otherwise
+     */
+    private List<CompletableFuture<Optional<CachedDataPoints>>> takePreparedJobs(final int dataSetOffset,
+            final List<DataSet> dataSets) {
+        final List<CompletableFuture<Optional<CachedDataPoints>>> jobs = preparedJobs;
+        final List<DataSet> prepared = preparedContext == null ? null : preparedContext.dataSets;
+        if (jobs == null || preparedDataSetOffset != dataSetOffset || prepared.size() != dataSets.size()) {
+            cancelPreparation();
+            return null;
+        }
+        for (int index = 0; index < dataSets.size(); index++) {
+            // N.B. identity rather than (content-based) equality
+            if (prepared.get(index) != dataSets.get(index)) {
+                cancelPreparation();
+                return null;
             }
-        } // end of 'dataSetIndex' loop
-        ProcessingProfiler.getTimeDiff(start);
+        }
+        preparedJobs = null;
+        preparedContext = null;
+        return jobs;
     }
 
     /**
@@ -778,8 +1006,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] newX = ArrayCache.getCachedDoubleArray(X_DRAW_POLY_LINE_AREA, n + 2);
-        final double[] newY = ArrayCache.getCachedDoubleArray(Y_DRAW_POLY_LINE_AREA, n + 2);
+        final double[] newX = ArrayPool.getDoubleArray(n + 2);
+        final double[] newY = ArrayPool.getDoubleArray(n + 2);
 
         final double zero = localCachedPoints.yZero;
         System.arraycopy(localCachedPoints.xValues, 0, newX, 0, n);
@@ -799,8 +1027,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to cache
-        ArrayCache.release(X_DRAW_POLY_LINE_AREA, newX);
-        ArrayCache.release(Y_DRAW_POLY_LINE_AREA, newY);
+        ArrayPool.release(newX);
+        ArrayPool.release(newY);
     }
 
     protected static void drawPolyLineHistogram(final GraphicsContext gc, final CachedDataPoints localCachedPoints) {
@@ -810,8 +1038,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] newX = ArrayCache.getCachedDoubleArray(X_DRAW_POLY_LINE_HISTOGRAM, 2 * (n + 1));
-        final double[] newY = ArrayCache.getCachedDoubleArray(Y_DRAW_POLY_LINE_HISTOGRAM, 2 * (n + 1));
+        final double[] newX = ArrayPool.getDoubleArray(2 * (n + 1));
+        final double[] newY = ArrayPool.getDoubleArray(2 * (n + 1));
 
         final double xRange = localCachedPoints.xMax - localCachedPoints.xMin;
         double diffLeft;
@@ -850,8 +1078,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to cache
-        ArrayCache.release(X_DRAW_POLY_LINE_HISTOGRAM, newX);
-        ArrayCache.release(Y_DRAW_POLY_LINE_HISTOGRAM, newY);
+        ArrayPool.release(newX);
+        ArrayPool.release(newY);
     }
 
     protected static void drawPolyLineHistogramBezier(final GraphicsContext gc,
@@ -863,10 +1091,10 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] xCp1 = ArrayCache.getCachedDoubleArray(X_BEZIER_FIRST_CONTROL_POINT, n);
-        final double[] yCp1 = ArrayCache.getCachedDoubleArray(Y_BEZIER_FIRST_CONTROL_POINT, n);
-        final double[] xCp2 = ArrayCache.getCachedDoubleArray(X_BEZIER_SECOND_CONTROL_POINT, n);
-        final double[] yCp2 = ArrayCache.getCachedDoubleArray(Y_BEZIER_SECOND_CONTROL_POINT, n);
+        final double[] xCp1 = ArrayPool.getDoubleArray(n);
+        final double[] yCp1 = ArrayPool.getDoubleArray(n);
+        final double[] xCp2 = ArrayPool.getDoubleArray(n);
+        final double[] yCp2 = ArrayPool.getDoubleArray(n);
 
         BezierCurve.calcCurveControlPoints(localCachedPoints.xValues, localCachedPoints.yValues, xCp1, yCp1, xCp2, yCp2,
                 localCachedPoints.actualDataCount);
@@ -900,10 +1128,10 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to Cache
-        ArrayCache.release(X_BEZIER_FIRST_CONTROL_POINT, xCp1);
-        ArrayCache.release(Y_BEZIER_FIRST_CONTROL_POINT, yCp1);
-        ArrayCache.release(X_BEZIER_SECOND_CONTROL_POINT, xCp2);
-        ArrayCache.release(Y_BEZIER_SECOND_CONTROL_POINT, yCp2);
+        ArrayPool.release(xCp1);
+        ArrayPool.release(yCp1);
+        ArrayPool.release(xCp2);
+        ArrayPool.release(yCp2);
     }
 
     protected static void drawPolyLineHistogramFilled(final GraphicsContext gc,
@@ -914,8 +1142,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] newX = ArrayCache.getCachedDoubleArray(X_DRAW_POLY_LINE_HISTOGRAM, 2 * (n + 1));
-        final double[] newY = ArrayCache.getCachedDoubleArray(Y_DRAW_POLY_LINE_HISTOGRAM, 2 * (n + 1));
+        final double[] newX = ArrayPool.getDoubleArray(2 * (n + 1));
+        final double[] newY = ArrayPool.getDoubleArray(2 * (n + 1));
 
         final double xRange = localCachedPoints.xMax - localCachedPoints.xMin;
         double diffLeft;
@@ -948,8 +1176,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to cache
-        ArrayCache.release(X_DRAW_POLY_LINE_HISTOGRAM, newX);
-        ArrayCache.release(Y_DRAW_POLY_LINE_HISTOGRAM, newY);
+        ArrayPool.release(newX);
+        ArrayPool.release(newY);
     }
 
     protected static void drawPolyLineLine(final GraphicsContext gc, final CachedDataPoints localCachedPoints) {
@@ -1010,8 +1238,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] newX = ArrayCache.getCachedDoubleArray(X_DRAW_POLY_LINE_STAIR_CASE, 2 * n);
-        final double[] newY = ArrayCache.getCachedDoubleArray(Y_DRAW_POLY_LINE_STAIR_CASE, 2 * n);
+        final double[] newX = ArrayPool.getDoubleArray(2 * n);
+        final double[] newY = ArrayPool.getDoubleArray(2 * n);
 
         for (int i = 0; i < n - 1; i++) {
             newX[2 * i] = localCachedPoints.xValues[i];
@@ -1042,7 +1270,121 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to cache
-        ArrayCache.release(X_DRAW_POLY_LINE_STAIR_CASE, newX);
-        ArrayCache.release(Y_DRAW_POLY_LINE_STAIR_CASE, newY);
+        ArrayPool.release(newX);
+        ArrayPool.release(newY);
+    }
+
+    /**
+     * computes the first/min/max/last envelope of the data range [indexMin, indexMax[ with one bin per pixel column
+     *
+     * @param dataSet the x-sorted source data set
+     * @param pyramid the min/max index of the data set
+     * @param xAxis the abscissa used to map pixel columns to x-coordinates
+     * @param indexMin first index of the visible data range (inclusive)
+     * @param indexMax last index of the visible data range (exclusive)
+     * @param nColumns number of pixel columns
+     * @param dst storage for the envelope indices (length &gt;= 4 * nColumns)
+     * @return number of envelope indices
+     */
+    static int getEnvelopeIndices(final DataSet dataSet, final MinMaxPyramid pyramid, final AxisSnapshot xAxis,
+            final int indexMin, final int indexMax, final int nColumns, final int[] dst) {
+        final int[] boundaries = ArrayPool.getIntArray(nColumns + 1);
+        try {
+            boundaries[0] = indexMin;
+            boundaries[nColumns] = indexMax;
+            for (int column = 1; column < nColumns; column++) {
+                // first index with x >= column start
+                final double x = xAxis.getValueForDisplay(column);
+                int index = dataSet.getIndex(DataSet.DIM_X, x);
+                if (index < indexMax && dataSet.get(DataSet.DIM_X, index) < x) {
+                    index++;
+                }
+                boundaries[column] = Math.max(boundaries[column - 1], Math.min(index, indexMax));
+            }
+            return pyramid.getEnvelopeIndices(boundaries, nColumns, dst);
+        } finally {
+            ArrayPool.release(boundaries);
+        }
+    }
+
+    /**
+     * parsed point markers of one data set style, indexed by the point style ID
+     */
+    private final class PointMarkers {
+        private final String dataSetStyle;
+        // N.B. the IDs are specific to the style pool of each data set and recycled -> verified via the cached style
+        private String[] styles = new String[16];
+        private Object[] markers = new Object[16];
+        // styles w/o (cacheable) ID, e.g. of data sets overriding 'getStyle(int)'
+        private final Map<String, Triple<Marker, Color, Double>> markersByStyle = new HashMap<>();
+
+        private PointMarkers(final String dataSetStyle) {
+            this.dataSetStyle = dataSetStyle;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Triple<Marker, Color, Double> get(final int styleId, final String pointStyle) {
+            if (styleId <= StyleIdPool.NO_STYLE || styleId >= MAX_CACHED_POINT_STYLES) {
+                if (markersByStyle.size() > MAX_CACHED_POINT_STYLES) {
+                    markersByStyle.clear();
+                }
+                return markersByStyle.computeIfAbsent(pointStyle, key -> getDefaultMarker(dataSetStyle + key));
+            }
+            if (styleId >= styles.length) {
+                final int capacity = Math.min(MAX_CACHED_POINT_STYLES, Math.max(2 * styles.length, styleId + 1));
+                styles = Arrays.copyOf(styles, capacity);
+                markers = Arrays.copyOf(markers, capacity);
+            }
+            // N.B. identical (interned) instance for unchanged IDs of the same data set
+            if (!pointStyle.equals(styles[styleId])) {
+                styles[styleId] = pointStyle;
+                markers[styleId] = getDefaultMarker(dataSetStyle + pointStyle);
+            }
+            return (Triple<Marker, Color, Double>) markers[styleId];
+        }
+    }
+
+    /**
+     * package private, immutable copy of the axis and renderer state required to prepare the data sets off the
+     * JavaFX application thread
+     */
+    static final class PreparationContext {
+        // set if the prepared data is no longer needed -> jobs that have not yet started are skipped
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final List<DataSet> dataSets;
+        private final AxisSnapshot xAxis;
+        private final AxisSnapshot yAxis;
+        private final boolean polarPlot;
+        private final boolean assumeSortedData;
+        private final boolean reducePoints;
+        private final boolean parallelImplementation;
+        private final boolean allowNaNs;
+        private final ErrorStyle errorStyle;
+        private final RendererDataReducer reducer;
+        private final int minRequiredReductionSize;
+
+        /**
+         * N.B. needs to be called on the JavaFX application thread
+         *
+         * @param renderer the renderer whose settings are copied
+         * @param dataSets the data sets to be prepared
+         * @param xAxis the abscissa
+         * @param yAxis the ordinate
+         * @param polarPlot {@code true} for polar plots
+         */
+        PreparationContext(final ErrorDataSetRenderer renderer, final List<DataSet> dataSets,
+                final AxisSnapshot xAxis, final AxisSnapshot yAxis, final boolean polarPlot) {
+            this.dataSets = dataSets;
+            this.xAxis = xAxis;
+            this.yAxis = yAxis;
+            this.polarPlot = polarPlot;
+            assumeSortedData = renderer.isAssumeSortedData();
+            reducePoints = renderer.isReducePoints();
+            parallelImplementation = renderer.isParallelImplementation();
+            allowNaNs = renderer.isallowNaNs();
+            errorStyle = renderer.getErrorType();
+            reducer = renderer.rendererDataReducerProperty().get();
+            minRequiredReductionSize = renderer.getMinRequiredReductionSize();
+        }
     }
 }
@@ -152,6 +152,11 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
 
     }
 
+    @Override
+    public void prepare(final Chart chart, final int dataSetOffset, final ObservableList<DataSet> datasets) {
+        // N.B. no preparation ahead of 'render(..)': the history data sets and styles are updated while rendering
+    }
+
     @Override
     public void render(final GraphicsContext gc, final Chart chart, final int dataSetOffset,
             final ObservableList<DataSet> datasets) {
@@ -97,6 +97,11 @@ public class MountainRangeRenderer extends ErrorDataSetRenderer implements Rende
         return mountainRangeOffset;
     }
 
+    @Override
+    public void prepare(final Chart chart, final int dataSetOffset, final ObservableList<DataSet> datasets) {
+        // N.B. no preparation ahead of 'render(..)': y-axis range and demultiplexed data sets change while rendering
+    }
+
     @Override
     public void render(final GraphicsContext gc, final Chart chart, final int dataSetOffset,
             final ObservableList<DataSet> datasets) {
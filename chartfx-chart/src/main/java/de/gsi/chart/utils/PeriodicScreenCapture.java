@@ -17,6 +17,7 @@ import java.util.TimeZone;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.imageio.ImageIO;
 
@@ -58,6 +59,7 @@ public class PeriodicScreenCapture implements Observable {
     private final boolean addDateTime;
     protected final List<InvalidationListener> listeners = new LinkedList<>();
     private final Timer timer = new Timer("sample-update-timer", true); // for non-JavaFX tasks
+    private final AtomicBoolean writePending = new AtomicBoolean(false);
 
     public PeriodicScreenCapture(final Path path, final String fileName, final Scene scene, final double delay,
             final double period) {
@@ -106,19 +108,29 @@ public class PeriodicScreenCapture implements Observable {
     }
 
     public void performScreenCapture() {
+        if (writePending.getAndSet(true)) {
+            // back-pressure: do not pile up snapshots (and block the UI thread) while the previous one is being written
+            LOGGER.debug("previous screen capture is still being written - skipping");
+            return;
+        }
         try {
             final WritableImage image = primaryScene.snapshot(null);
             // open save in separate thread
             timer.schedule(new TimerTask() {
                 @Override
                 public void run() {
-                    writeImage(image);
+                    try {
+                        writeImage(image);
+                    } finally {
+                        writePending.set(false);
+                    }
                 }
             }, 0);
 
             LOGGER.debug("this is called periodic on UI thread");
         } catch (final Exception e) {
             // continue at all costs
+            writePending.set(false);
             LOGGER.error("error while writing screen captured image to file", e);
         }
     }
@@ -0,0 +1,48 @@
+package de.gsi.chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.chart.renderer.Renderer;
+import de.gsi.chart.renderer.spi.ErrorDataSetRenderer;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.event.UpdatedDataEvent;
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Checks which cached layers of the XYChart are redrawn on DataSet updates
+ */
+public class LayerInvalidationTests {
+    @Test
+    public void invalidatedRendererTests() {
+        final DoubleDataSet chartDataSet = new DoubleDataSet("chart");
+        // N.B. equal content, but different data sets
+        final DoubleDataSet dataSet1 = new DoubleDataSet("data");
+        final DoubleDataSet dataSet2 = new DoubleDataSet("data");
+        final DoubleDataSet unknown = new DoubleDataSet("unknown");
+        assertEquals(dataSet1, dataSet2);
+
+        final ErrorDataSetRenderer renderer1 = new ErrorDataSetRenderer();
+        renderer1.getDatasets().add(dataSet1);
+        final ErrorDataSetRenderer renderer2 = new ErrorDataSetRenderer();
+        renderer2.getDatasets().add(dataSet2);
+        final List<DataSet> chartDataSets = List.of(chartDataSet);
+        final List<Renderer> renderers = List.of(renderer1, renderer2);
+
+        assertEquals(renderers, LayerInvalidation.getInvalidatedRenderers(null, chartDataSets, renderers));
+        assertEquals(renderers, LayerInvalidation.getInvalidatedRenderers(new UpdatedDataEvent(chartDataSet),
+                                        chartDataSets, renderers));
+        assertEquals(List.of(renderer1), LayerInvalidation.getInvalidatedRenderers(new UpdatedDataEvent(dataSet1),
+                                                 chartDataSets, renderers));
+        assertEquals(List.of(renderer2), LayerInvalidation.getInvalidatedRenderers(new UpdatedDataEvent(dataSet2),
+                                                 chartDataSets, renderers));
+        assertTrue(LayerInvalidation.getInvalidatedRenderers(new UpdatedDataEvent(unknown), chartDataSets, renderers)
+                           .isEmpty());
+        assertTrue(LayerInvalidation.getInvalidatedRenderers(null, chartDataSets, Collections.emptyList()).isEmpty());
+    }
+}
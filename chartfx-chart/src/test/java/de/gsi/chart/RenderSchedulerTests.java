@@ -0,0 +1,145 @@
+package de.gsi.chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the frame-rate limiting and the handling of hidden charts of the RenderScheduler with synthetic time stamps
+ */
+public class RenderSchedulerTests {
+    private static final long FRAME_60HZ = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    @Test
+    public void frameDueTests() {
+        assertTrue(RenderScheduler.isFrameDue(FRAME_60HZ, 0, 60.0));
+        assertFalse(RenderScheduler.isFrameDue(FRAME_60HZ / 2, 0, 60.0));
+        // a 60 Hz pulse is slightly shorter than the 60 Hz frame period due to rounding
+        assertTrue(RenderScheduler.isFrameDue(FRAME_60HZ - 1, 0, 60.0));
+        assertFalse(RenderScheduler.isFrameDue(FRAME_60HZ, 0, 30.0));
+        assertTrue(RenderScheduler.isFrameDue(TimeUnit.SECONDS.toNanos(1), 0, 1.0));
+        assertFalse(RenderScheduler.isFrameDue(TimeUnit.MILLISECONDS.toNanos(990), 0, 1.0));
+    }
+
+    @Test
+    public void frameRateLimitTests() {
+        final TestTimer timer = new TestTimer();
+        final RenderScheduler scheduler = new RenderScheduler(timer::start, timer::stop);
+        final TestClient client = new TestClient(30.0); // ie. every second 60 Hz pulse
+
+        scheduler.schedule(client);
+        scheduler.schedule(client);
+        assertEquals(1, timer.starts, "timer started once per busy period");
+        assertTrue(scheduler.isActive());
+
+        long now = 0;
+        scheduler.pulse(now); // ie. 1/30 s after 'lastFrameUpdate = -1 s'
+        assertEquals(List.of(now), client.processed, "coalesced into one update");
+        assertEquals(1, timer.stops);
+        assertFalse(scheduler.isActive());
+
+        scheduler.schedule(client);
+        now += FRAME_60HZ;
+        scheduler.pulse(now);
+        assertEquals(1, client.processed.size(), "frame rate limit");
+        assertTrue(scheduler.isActive(), "kept pending");
+        now += FRAME_60HZ;
+        scheduler.pulse(now);
+        assertEquals(List.of(0L, now), client.processed);
+        assertFalse(scheduler.isActive());
+        assertEquals(2, timer.starts);
+        assertEquals(2, timer.stops);
+    }
+
+    @Test
+    public void hiddenClientTests() {
+        final TestTimer timer = new TestTimer();
+        final RenderScheduler scheduler = new RenderScheduler(timer::start, timer::stop);
+        final TestClient hidden = new TestClient(60.0);
+        hidden.visible = false;
+        final TestClient visible = new TestClient(60.0);
+
+        scheduler.schedule(hidden);
+        scheduler.schedule(visible);
+        long now = 0;
+        scheduler.pulse(now);
+        assertTrue(hidden.processed.isEmpty());
+        assertEquals(List.of(now), visible.processed);
+        assertTrue(scheduler.isParked(hidden));
+        assertNotNull(hidden.onVisibilityChange);
+        assertFalse(scheduler.isActive(), "timer stops despite the hidden client");
+
+        // further events of hidden clients do not restart the timer
+        scheduler.schedule(hidden);
+        assertFalse(scheduler.isActive());
+        assertEquals(1, timer.starts);
+
+        // visibility change re-schedules the client
+        hidden.visible = true;
+        final Runnable onVisibilityChange = hidden.onVisibilityChange;
+        hidden.onVisibilityChange = null;
+        onVisibilityChange.run();
+        assertFalse(scheduler.isParked(hidden));
+        assertTrue(scheduler.isActive());
+        now += FRAME_60HZ;
+        scheduler.pulse(now);
+        assertEquals(List.of(now), hidden.processed);
+        assertNull(hidden.onVisibilityChange);
+        assertFalse(scheduler.isActive());
+        assertEquals(2, timer.starts);
+    }
+
+    private static class TestClient implements RenderScheduler.Client {
+        private final double maxFrameRate;
+        private final List<Long> processed = new ArrayList<>();
+        private long lastFrameUpdate = -TimeUnit.SECONDS.toNanos(1);
+        private boolean visible = true;
+        private Runnable onVisibilityChange;
+
+        TestClient(final double maxFrameRate) {
+            this.maxFrameRate = maxFrameRate;
+        }
+
+        @Override
+        public boolean isFrameDue(final long now) {
+            return RenderScheduler.isFrameDue(now, lastFrameUpdate, maxFrameRate);
+        }
+
+        @Override
+        public boolean isTreeVisible() {
+            return visible;
+        }
+
+        @Override
+        public void processPendingUpdates(final long now) {
+            lastFrameUpdate = now;
+            processed.add(now);
+        }
+
+        @Override
+        public void watchVisibility(final Runnable onChange) {
+            onVisibilityChange = onChange;
+        }
+    }
+
+    private static class TestTimer {
+        private int starts;
+        private int stops;
+
+        void start() {
+            starts++;
+        }
+
+        void stop() {
+            stops++;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package de.gsi.chart.renderer.datareduction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class M4DataReducerTests {
+    private static final int N_SAMPLES = 100_000;
+    private static final int N_COLUMNS = 800;
+
+    @Test
+    public void basicTests() {
+        final M4DataReducer reducer = new M4DataReducer();
+        assertThrows(InvalidParameterException.class, () -> reducer.setMinParallelSize(0));
+        reducer.setMinParallelSize(42);
+        assertEquals(42, reducer.getMinParallelSize());
+
+        // two columns: [0, 1[ -> indices 0..4, [1, 2[ -> indices 5, 6; a NaN gap at index 7; column [2, 3[ -> index 8
+        final double[] x = { 0.0, 0.2, 0.4, 0.6, 0.8, 1.0, 1.5, 1.7, 2.1 };
+        final double[] y = { 3.0, 5.0, 1.0, 4.0, 2.0, 7.0, 6.0, Double.NaN, 8.0 };
+        final double[] eyPos = { 2.0, 4.0, 0.0, 3.5, 1.5, 6.0, 5.0, 0.0, 7.0 }; // N.B. screen coordinates
+        final double[] eyNeg = { 4.0, 6.0, 2.0, 4.5, 2.5, 8.0, 7.0, 0.0, 9.0 };
+        final String[] styles = { "a", "b", "c", "d", "e", "f", "g", "h", "i" };
+        final boolean[] selected = new boolean[x.length];
+        selected[3] = true;
+
+        final int count = reducer.reducePoints(x, y, null, null, eyPos, eyNeg, styles, selected, 0, x.length);
+        assertEquals(8, count);
+        assertArrayEquals(new double[] { 0.0, 0.2, 0.4, 0.8, 1.0, 1.5, 1.7, 2.1 }, Arrays.copyOf(x, count));
+        assertArrayEquals(new double[] { 3.0, 5.0, 1.0, 2.0, 7.0, 6.0, Double.NaN, 8.0 }, Arrays.copyOf(y, count));
+        assertArrayEquals(new String[] { "a", "b", "c", "e", "f", "g", "h", "i" }, Arrays.copyOf(styles, count));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(selected[i], "column selection at " + i);
+            assertEquals(0.0, eyPos[i], "column envelope (pos) at " + i);
+            assertEquals(6.0, eyNeg[i], "column envelope (neg) at " + i);
+        }
+        assertFalse(selected[4]);
+        assertEquals(5.0, eyPos[4]);
+        assertEquals(8.0, eyNeg[4]);
+        assertEquals(7.0, eyPos[7]);
+        assertEquals(9.0, eyNeg[7]);
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> reducer.reducePoints(x, y, null, null, null, null, styles, selected, 5, 2));
+    }
+
+    @Test
+    public void parallelTests() {
+        final M4DataReducer reducer = new M4DataReducer();
+        final Random random = new Random(42);
+        final double[] x = new double[N_SAMPLES];
+        final double[] y = new double[N_SAMPLES];
+        final double[] eyPos = new double[N_SAMPLES];
+        final double[] eyNeg = new double[N_SAMPLES];
+        final String[] styles = new String[N_SAMPLES];
+        final boolean[] selected = new boolean[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            x[i] = (double) i * N_COLUMNS / N_SAMPLES;
+            y[i] = i % 5000 == 0 ? Double.NaN : random.nextGaussian();
+            eyPos[i] = y[i] - random.nextDouble();
+            eyNeg[i] = y[i] + random.nextDouble();
+            styles[i] = i % 3 == 0 ? null : "style" + i;
+            selected[i] = random.nextInt(1000) == 0;
+        }
+
+        final double[][] sequential = { x.clone(), y.clone(), eyPos.clone(), eyNeg.clone() };
+        final String[] sequentialStyles = styles.clone();
+        final boolean[] sequentialSelected = selected.clone();
+        reducer.setMinParallelSize(10 * N_SAMPLES);
+        final int sequentialCount = reducer.reducePoints(sequential[0], sequential[1], null, null, sequential[2],
+                sequential[3], sequentialStyles, sequentialSelected, 10, N_SAMPLES);
+        assertTrue(sequentialCount <= 4 * N_COLUMNS + 5 * (N_SAMPLES / 5000), "M4 upper bound: " + sequentialCount);
+
+        reducer.setMinParallelSize(N_SAMPLES / 10);
+        final int parallelCount = reducer.reducePoints(x, y, null, null, eyPos, eyNeg, styles, selected, 10,
+                N_SAMPLES);
+        assertEquals(sequentialCount, parallelCount);
+        assertArrayEquals(Arrays.copyOf(sequential[0], sequentialCount), Arrays.copyOf(x, parallelCount));
+        assertArrayEquals(Arrays.copyOf(sequential[1], sequentialCount), Arrays.copyOf(y, parallelCount));
+        assertArrayEquals(Arrays.copyOf(sequential[2], sequentialCount), Arrays.copyOf(eyPos, parallelCount));
+        assertArrayEquals(Arrays.copyOf(sequential[3], sequentialCount), Arrays.copyOf(eyNeg, parallelCount));
+        assertArrayEquals(Arrays.copyOf(sequentialStyles, sequentialCount), Arrays.copyOf(styles, parallelCount));
+        assertArrayEquals(Arrays.copyOf(sequentialSelected, sequentialCount),
+                Arrays.copyOf(selected, parallelCount));
+        for (int i = 1; i < parallelCount; i++) {
+            assertTrue(x[i] > x[i - 1], "retained points are in original order");
+        }
+    }
+}
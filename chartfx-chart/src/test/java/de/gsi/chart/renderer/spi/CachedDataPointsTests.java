@@ -0,0 +1,72 @@
+package de.gsi.chart.renderer.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import static de.gsi.dataset.spi.utils.StyleIdPool.NO_STYLE;
+import static de.gsi.dataset.spi.utils.StyleIdPool.UNKNOWN_STYLE;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.spi.CircularDoubleErrorDataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.spi.utils.StyleIdPool;
+
+/**
+ * Checks for the data point style caching of the ErrorDataSetRenderer
+ */
+public class CachedDataPointsTests {
+    private static final int N_SAMPLES = 8;
+
+    @Test
+    public void defaultStyleMapTests() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, i);
+        }
+        dataSet.addDataStyle(2, "markerType=circle;");
+        dataSet.addDataStyle(3, "markerType=circle;");
+        dataSet.addDataStyle(6, "markerColor=red;");
+
+        final CachedDataPoints points = new CachedDataPoints(0, N_SAMPLES, N_SAMPLES, false);
+        points.computeErrorStyles(dataSet, 1, 7);
+        assertArrayEquals(new String[] { null, null, "markerType=circle;", "markerType=circle;", null, null,
+                                  "markerColor=red;", null },
+                Arrays.copyOf(points.styles, N_SAMPLES));
+
+        points.actualDataCount = N_SAMPLES;
+        points.computeStyleIds(dataSet);
+        final StyleIdPool pool = dataSet.getDataStyleMap().getStylePool();
+        final int circle = pool.getId("markerType=circle;");
+        final int red = pool.getId("markerColor=red;");
+        assertNotEquals(circle, red);
+        assertArrayEquals(new int[] { NO_STYLE, NO_STYLE, circle, circle, NO_STYLE, NO_STYLE, red, NO_STYLE },
+                Arrays.copyOf(points.styleIds, N_SAMPLES));
+    }
+
+    @Test
+    public void overriddenStyleTests() {
+        // N.B. styles are kept in the circular buffer, ie. outside of the data style map of AbstractDataSet
+        final CircularDoubleErrorDataSet dataSet = new CircularDoubleErrorDataSet("test", 4);
+        for (int i = 0; i < 6; i++) {
+            dataSet.add(i, i, 0.1, 0.1, "label" + i, i % 2 == 0 ? "markerColor=red;" : null);
+        }
+
+        final CachedDataPoints points = new CachedDataPoints(0, 4, 4, false);
+        points.computeErrorStyles(dataSet, 0, 4);
+        final String[] expected = new String[4];
+        for (int i = 0; i < 4; i++) {
+            expected[i] = dataSet.getStyle(i);
+        }
+        assertArrayEquals(new String[] { "markerColor=red;", null, "markerColor=red;", null }, expected);
+        assertArrayEquals(expected, Arrays.copyOf(points.styles, 4));
+
+        // no style pool -> styles w/o ID
+        points.actualDataCount = 4;
+        points.computeStyleIds(dataSet);
+        assertArrayEquals(new int[] { UNKNOWN_STYLE, UNKNOWN_STYLE, UNKNOWN_STYLE, UNKNOWN_STYLE },
+                Arrays.copyOf(points.styleIds, 4));
+    }
+}
@@ -0,0 +1,133 @@
+package de.gsi.chart.renderer.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.chart.renderer.ErrorStyle;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.dataset.utils.ArrayPool;
+
+/**
+ * Checks for the off-FX-thread data set preparation of the ErrorDataSetRenderer
+ */
+public class ErrorDataSetRendererTests {
+    private static final int N_SAMPLES = 100;
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void axisSnapshotTests() {
+        final AxisSnapshot linear = new AxisSnapshot(0.0, 100.0, 0.0, 1000.0, 1000.0, false, false);
+        assertEquals(250.0, linear.getDisplayPosition(25.0), DELTA);
+        assertEquals(25.0, linear.getValueForDisplay(250.0), DELTA);
+        assertEquals(1000.0, linear.getWidth());
+
+        // vertical or inverted axes: display positions decrease with increasing values
+        final AxisSnapshot inverted = new AxisSnapshot(-10.0, 10.0, 400.0, 0.0, 50.0, true, false);
+        assertEquals(200.0, inverted.getDisplayPosition(0.0), DELTA);
+        assertEquals(5.0, inverted.getValueForDisplay(100.0), DELTA);
+        assertTrue(inverted.isInvertedAxis());
+
+        final AxisSnapshot log = new AxisSnapshot(1.0, 1000.0, 0.0, 300.0, 300.0, false, true);
+        assertEquals(100.0, log.getDisplayPosition(10.0), DELTA);
+        assertEquals(100.0, log.getValueForDisplay(200.0), 1e-6);
+        assertTrue(log.isLogAxis());
+
+        final AxisSnapshot empty = new AxisSnapshot(5.0, 5.0, 0.0, 0.0, 0.0, false, false);
+        assertEquals(5.0, empty.getValueForDisplay(42.0));
+    }
+
+    @Test
+    public void cancelPreparationTests() throws InterruptedException {
+        final int nSamples = 10_000; // N.B. large enough for the arrays to be shared (and accounted) by the pool
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final AtomicBoolean armed = new AtomicBoolean();
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", nSamples) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int getDataCount(final int dimIndex) {
+                if (armed.getAndSet(false)) {
+                    // blocks the preparation job until the preparation has been cancelled
+                    started.countDown();
+                    try {
+                        proceed.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getDataCount(dimIndex);
+            }
+        };
+        ArrayPool.clear();
+        dataSet.add(new double[nSamples], new double[nSamples], new double[nSamples], new double[nSamples]);
+        armed.set(true);
+
+        final ErrorDataSetRenderer renderer = new ErrorDataSetRenderer();
+        renderer.setPointReduction(false);
+        final AxisSnapshot xAxis = new AxisSnapshot(-1.0, 1.0, 0.0, 1000.0, 1000.0, false, false);
+        final AxisSnapshot yAxis = new AxisSnapshot(-1.0, 1.0, 500.0, 0.0, 50.0, false, false);
+        final ErrorDataSetRenderer.PreparationContext context = new ErrorDataSetRenderer.PreparationContext(renderer,
+                List.of(dataSet), xAxis, yAxis, false);
+        renderer.startPreparation(context, 0);
+        assertTrue(started.await(10, TimeUnit.SECONDS), "preparation started");
+        assertEquals(0, ArrayPool.getRetainedBytes());
+
+        // the render call is skipped -> the arrays of the running preparation are returned once it has finished
+        renderer.cancelPreparation();
+        proceed.countDown();
+        final long timeOut = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (ArrayPool.getRetainedBytes() == 0 && System.nanoTime() < timeOut) {
+            Thread.sleep(10);
+        }
+        assertTrue(ArrayPool.getRetainedBytes() > 0, "prepared arrays have been returned to the pool");
+        renderer.cancelPreparation(); // no-op without pending preparation
+    }
+
+    @Test
+    public void prepareOffFxThreadTests() throws InterruptedException, ExecutionException {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, i % 10, 0.5, 0.5);
+        }
+        final ErrorDataSetRenderer renderer = new ErrorDataSetRenderer();
+        renderer.setPointReduction(false);
+        renderer.setErrorType(ErrorStyle.ERRORBARS);
+        final AxisSnapshot xAxis = new AxisSnapshot(0.0, 2.0 * N_SAMPLES, 0.0, 1000.0, 1000.0, false, false);
+        final AxisSnapshot yAxis = new AxisSnapshot(0.0, 10.0, 500.0, 0.0, 50.0, false, false);
+        final ErrorDataSetRenderer.PreparationContext context = new ErrorDataSetRenderer.PreparationContext(renderer,
+                List.of(dataSet), xAxis, yAxis, false);
+        // later changes of the renderer settings do not affect the snapshot
+        renderer.setPointReduction(true);
+        renderer.setErrorType(ErrorStyle.NONE);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Optional<CachedDataPoints> result = executor.submit(
+                    () -> ErrorDataSetRenderer.prepareDataSet(context, dataSet, 0)).get();
+            assertTrue(result.isPresent());
+            final CachedDataPoints points = result.get();
+            assertEquals(N_SAMPLES, points.actualDataCount, "no point reduction");
+            for (int i = 0; i < N_SAMPLES; i++) {
+                assertEquals(xAxis.getDisplayPosition(i), points.xValues[i], DELTA);
+                assertEquals(yAxis.getDisplayPosition(i % 10), points.yValues[i], DELTA);
+                assertEquals(yAxis.getDisplayPosition(i % 10 - 0.5), points.errorYNeg[i], DELTA);
+                assertEquals(yAxis.getDisplayPosition(i % 10 + 0.5), points.errorYPos[i], DELTA);
+            }
+            points.release();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -133,6 +133,29 @@ public interface DataSet extends EventSource, Serializable {
         return retValues;
     }
 
+    /**
+     * Bulk copy of the data point coordinates in the index range [fromIndex, toIndex[ into a user-supplied storage
+     * array. Derived classes that are backed by primitive arrays should override this with a (loop-free)
+     * {@link System#arraycopy} implementation.
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param fromIndex first data point index (inclusive)
+     * @param toIndex last data point index (exclusive)
+     * @param dst storage container (N.B. a new array is allocated if {@code null} or too small)
+     * @param dstOffset offset within 'dst' at which the first value is written
+     * @return either 'dst' or newly allocated array containing the result
+     */
+    default double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        for (int i = 0; i < length; i++) {
+            retValues[dstOffset + i] = get(dimIndex, fromIndex + i);
+        }
+        return retValues;
+    }
+
     /**
      * @return Read-Write Lock to guard the DataSet
      * @see de.gsi.dataset.locks.DataSetLock
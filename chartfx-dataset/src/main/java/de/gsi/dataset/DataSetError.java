@@ -106,6 +106,28 @@ public interface DataSetError extends DataSet {
         return retValues;
     }
 
+    /**
+     * Bulk copy of the negative errors along the 'dimIndex' axis in the index range [fromIndex, toIndex[ into a
+     * user-supplied storage array. Please note that errors are assumed to be always positive!
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param fromIndex first data point index (inclusive)
+     * @param toIndex last data point index (exclusive)
+     * @param dst storage container (N.B. a new array is allocated if {@code null} or too small)
+     * @param dstOffset offset within 'dst' at which the first error is written
+     * @return either 'dst' or newly allocated array containing the negative 'dimIndex' errors
+     */
+    default double[] getErrorsNegative(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        for (int i = 0; i < length; i++) {
+            retValues[dstOffset + i] = getErrorNegative(dimIndex, fromIndex + i);
+        }
+        return retValues;
+    }
+
     /**
      * Returns the positive error along the 'dimIndex' axis for all available data points. Please note that errors are
      * assumed to be always positive!
@@ -122,6 +144,28 @@ public interface DataSetError extends DataSet {
         return retValues;
     }
 
+    /**
+     * Bulk copy of the positive errors along the 'dimIndex' axis in the index range [fromIndex, toIndex[ into a
+     * user-supplied storage array. Please note that errors are assumed to be always positive!
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param fromIndex first data point index (inclusive)
+     * @param toIndex last data point index (exclusive)
+     * @param dst storage container (N.B. a new array is allocated if {@code null} or too small)
+     * @param dstOffset offset within 'dst' at which the first error is written
+     * @return either 'dst' or newly allocated array containing the positive 'dimIndex' errors
+     */
+    default double[] getErrorsPositive(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        for (int i = 0; i < length; i++) {
+            retValues[dstOffset + i] = getErrorPositive(dimIndex, fromIndex + i);
+        }
+        return retValues;
+    }
+
     /**
      * Returns the given error type for a specific dimension that may be used to drive given simplifications and
      * optimisation in derived classes.
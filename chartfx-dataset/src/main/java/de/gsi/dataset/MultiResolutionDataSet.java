@@ -0,0 +1,24 @@
+package de.gsi.dataset;
+
+import de.gsi.dataset.utils.MinMaxPyramid;
+
+/**
+ * Interface for data sets that (optionally) maintain a multi-resolution minimum/maximum index of their y-coordinates.
+ * Renderers may use it to fetch a pixel-resolution envelope of large, x-sorted data sets without visiting every
+ * sample.
+ */
+public interface MultiResolutionDataSet extends DataSet {
+    /**
+     * N.B. to be accessed while holding the data set's read lock
+     *
+     * @return min/max index of the y-coordinates or {@code null} if not enabled
+     */
+    MinMaxPyramid getMinMaxPyramid();
+
+    /**
+     * @param state {@code true}: maintain a min/max index of the y-coordinates (N.B. costs about 1.5 bytes per sample
+     *            for the default bin size)
+     * @return itself (fluent design)
+     */
+    MultiResolutionDataSet setMinMaxPyramidEnabled(final boolean state);
+}
@@ -0,0 +1,263 @@
+package de.gsi.dataset.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * <p>
+ * Optional per-{@link EventSource} event dispatcher that coalesces bursts of {@link UpdateEvent}s. Pending events are
+ * merged 'latest-wins' per event type, with all {@link UpdatedDataEvent} derivatives (ie. added, removed, updated data)
+ * being treated as the same type. The index ranges of coalesced data events (see
+ * {@link UpdatedDataEvent#hasIndexRange()}) are merged conservatively, ie. the merged event covers all samples affected
+ * by any of the coalesced events.
+ * </p>
+ * Two (combinable) modes are supported:
+ * <ul>
+ * <li>batching: events issued between {@link #beginBatch()} and the matching {@link #endBatch()} are coalesced and
+ * dispatched once the outermost batch has been closed,
+ * <li>asynchronous: events are coalesced and dispatched on the {@link EventThreadHelper#getScheduledExecutorService()
+ * event threads}, optionally limited to a maximum rate. The producer (ie. the thread issuing the event) never blocks on
+ * the listeners.
+ * </ul>
+ * By default (not batching, synchronous) events are passed through unmodified. N.B. in asynchronous mode the listeners
+ * of a given source are notified sequentially and never concurrently.
+ */
+public class CoalescingEventDispatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingEventDispatcher.class);
+    private final EventSource source;
+    // guarded by 'this'
+    private final Map<Class<? extends UpdateEvent>, UpdateEvent> pendingEvents = new LinkedHashMap<>();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private volatile boolean async;
+    private volatile int batchDepth; // modified while holding 'this'
+    private volatile long minPeriod; // [ns]
+    private boolean scheduled; // guarded by 'this'
+    private long lastDispatch; // [ns], guarded by 'this'
+
+    /**
+     * @param source the event source the events are dispatched for
+     */
+    public CoalescingEventDispatcher(final EventSource source) {
+        AssertUtils.notNull("source", source);
+        this.source = source;
+    }
+
+    /**
+     * starts a batch: events are coalesced until the matching {@link #endBatch()}. Batches may be nested.
+     */
+    public void beginBatch() {
+        synchronized (this) {
+            batchDepth++;
+        }
+    }
+
+    private long computeDelay() {
+        return Math.max(0, lastDispatch + minPeriod - System.nanoTime());
+    }
+
+    private void deliver(final List<UpdateEvent> events) {
+        final List<EventListener> listeners;
+        synchronized (source.updateEventListener()) {
+            listeners = new ArrayList<>(source.updateEventListener());
+        }
+        for (final UpdateEvent event : events) {
+            dispatchedCount.incrementAndGet();
+            for (final EventListener listener : listeners) {
+                try {
+                    listener.handle(event);
+                } catch (final RuntimeException e) {
+                    LOGGER.atError().setCause(e).addArgument(listener).addArgument(event) //
+                            .log("listener '{}' failed to handle '{}'");
+                }
+            }
+        }
+    }
+
+    private void dispatch() {
+        final List<UpdateEvent> events;
+        synchronized (this) {
+            if (batchDepth > 0 || pendingEvents.isEmpty()) {
+                scheduled = false;
+                return;
+            }
+            events = drain();
+            lastDispatch = System.nanoTime();
+        }
+        try {
+            deliver(events);
+        } finally {
+            final long delay;
+            synchronized (this) {
+                if (batchDepth > 0 || pendingEvents.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+                delay = computeDelay();
+            }
+            schedule(delay);
+        }
+    }
+
+    private List<UpdateEvent> drain() {
+        final List<UpdateEvent> events = new ArrayList<>(pendingEvents.values());
+        pendingEvents.clear();
+        return events;
+    }
+
+    /**
+     * closes a batch -- dispatches the coalesced events if this closes the outermost batch
+     *
+     * @throws IllegalStateException if there is no matching {@link #beginBatch()}
+     */
+    public void endBatch() {
+        final List<UpdateEvent> events;
+        synchronized (this) {
+            if (batchDepth == 0) {
+                throw new IllegalStateException("endBatch() without matching beginBatch()");
+            }
+            batchDepth--;
+            if (batchDepth > 0 || pendingEvents.isEmpty()) {
+                return;
+            }
+            if (async) {
+                if (!scheduled) {
+                    scheduled = true;
+                    schedule(computeDelay());
+                }
+                return;
+            }
+            events = drain();
+        }
+        // N.B. synchronous mode: dispatched via the source's default (synchronous) notification
+        for (final UpdateEvent event : events) {
+            dispatchedCount.incrementAndGet();
+            source.invokeListener(event);
+        }
+    }
+
+    /**
+     * @return number of (coalesced) events dispatched by this dispatcher
+     */
+    public long getDispatchedCount() {
+        return dispatchedCount.get();
+    }
+
+    /**
+     * @return maximum dispatch rate in asynchronous mode [Hz], {@code Double.POSITIVE_INFINITY} if not limited
+     */
+    public double getMaxRate() {
+        final long period = minPeriod;
+        return period == 0 ? Double.POSITIVE_INFINITY : TimeUnit.SECONDS.toNanos(1) / (double) period;
+    }
+
+    /**
+     * @return number of events submitted to this dispatcher (ie. prior to coalescing)
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * @return {@code true} if events are dispatched asynchronously
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * @return {@code true} if at least one batch is open
+     */
+    public boolean isBatching() {
+        return batchDepth > 0;
+    }
+
+    private void schedule(final long delay) {
+        EventThreadHelper.getScheduledExecutorService().schedule(this::dispatch, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param async {@code true}: events are coalesced and dispatched asynchronously, {@code false}: synchronous
+     *            dispatch (default)
+     * @return itself (fluent design)
+     */
+    public CoalescingEventDispatcher setAsync(final boolean async) {
+        this.async = async;
+        return this;
+    }
+
+    /**
+     * @param maxRate maximum dispatch rate in asynchronous mode [Hz], non-finite or non-positive values: no limit
+     * @return itself (fluent design)
+     */
+    public CoalescingEventDispatcher setMaxRate(final double maxRate) {
+        minPeriod = Double.isFinite(maxRate) && maxRate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxRate) : 0;
+        return this;
+    }
+
+    /**
+     * @param event the event to be dispatched
+     * @return {@code true} if the event has been taken over (batched or queued for asynchronous dispatch),
+     *         {@code false} if the caller needs to dispatch the event synchronously
+     */
+    public boolean submit(final UpdateEvent event) {
+        if (!async && batchDepth == 0) {
+            return false;
+        }
+        final long delay;
+        synchronized (this) {
+            if (!async && batchDepth == 0) {
+                return false;
+            }
+            submittedCount.incrementAndGet();
+            // latest-wins per event type
+            final UpdateEvent pending = pendingEvents.remove(getKey(event));
+            pendingEvents.put(getKey(event), pending == null ? event : merge(pending, event));
+            if (batchDepth > 0 || scheduled) {
+                return true;
+            }
+            scheduled = true;
+            delay = computeDelay();
+        }
+        schedule(delay);
+        return true;
+    }
+
+    private UpdateEvent merge(final UpdateEvent pending, final UpdateEvent event) {
+        if (!(event instanceof UpdatedDataEvent) || !((UpdatedDataEvent) event).hasIndexRange()) {
+            return event;
+        }
+        final UpdatedDataEvent next = (UpdatedDataEvent) event;
+        final UpdatedDataEvent previous = (UpdatedDataEvent) pending;
+        if (!previous.hasIndexRange()) {
+            // any sample of the previous change may have been affected
+            return new UpdatedDataEvent(source, next.getMessage(), next.getPayLoad());
+        }
+        final int removedFront = next.getRemovedFront();
+        final int dataCount = next.getDataCount();
+        final int previousFrom = Math.min(Math.max(0, previous.getFromIndex() - removedFront), dataCount);
+        final int previousTo = Math.min(Math.max(0, previous.getToIndex() - removedFront), dataCount);
+        if (previousFrom == previousTo) {
+            return new UpdatedDataEvent(source, next.getMessage(), previous.getRemovedFront() + removedFront,
+                    next.getFromIndex(), next.getToIndex(), dataCount);
+        }
+        final boolean nextEmpty = next.getFromIndex() == next.getToIndex();
+        final int fromIndex = nextEmpty ? previousFrom : Math.min(previousFrom, next.getFromIndex());
+        final int toIndex = nextEmpty ? previousTo : Math.max(previousTo, next.getToIndex());
+        return new UpdatedDataEvent(source, next.getMessage(), previous.getRemovedFront() + removedFront, fromIndex,
+                toIndex, dataCount);
+    }
+
+    private static Class<? extends UpdateEvent> getKey(final UpdateEvent event) {
+        return event instanceof UpdatedDataEvent ? UpdatedDataEvent.class : event.getClass();
+    }
+}
@@ -49,6 +49,40 @@ public interface EventSource {
      */
     AtomicBoolean autoNotification();
 
+    /**
+     * Starts a batch of updates: events issued until the matching {@link #endBatch()} are coalesced and dispatched
+     * once. Batches may be nested.
+     * <p>
+     * N.B. no-op for sources that do not provide an {@link #eventDispatcher()}
+     */
+    default void beginBatch() {
+        final CoalescingEventDispatcher dispatcher = eventDispatcher();
+        if (dispatcher != null) {
+            dispatcher.beginBatch();
+        }
+    }
+
+    /**
+     * Closes a batch of updates started with {@link #beginBatch()} and dispatches the coalesced events if this closes
+     * the outermost batch.
+     * <p>
+     * N.B. no-op for sources that do not provide an {@link #eventDispatcher()}
+     */
+    default void endBatch() {
+        final CoalescingEventDispatcher dispatcher = eventDispatcher();
+        if (dispatcher != null) {
+            dispatcher.endBatch();
+        }
+    }
+
+    /**
+     * @return the optional dispatcher used for batched and/or asynchronous (coalesced) event notification,
+     *         {@code null} (default) if the source supports only the synchronous notification
+     */
+    default CoalescingEventDispatcher eventDispatcher() {
+        return null;
+    }
+
     /**
      * invoke object within update listener list
      */
@@ -77,6 +111,11 @@ public interface EventSource {
                 return;
             }
         }
+        final CoalescingEventDispatcher dispatcher = eventDispatcher();
+        if (dispatcher != null && dispatcher.submit(updateEvent == null ? new UpdateEvent(this) : updateEvent)) {
+            // event is batched or dispatched asynchronously
+            return;
+        }
         synchronized (updateEventListener()) {
             if (!executeParallel) {
                 // alt implementation:
@@ -2,6 +2,7 @@ package de.gsi.dataset.event;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import de.gsi.dataset.utils.CachedDaemonThreadFactory;
 
@@ -12,6 +13,8 @@ public class EventThreadHelper {
     private static final int MAX_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
     private static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(2 * MAX_THREADS,
             CachedDaemonThreadFactory.getInstance());
+    private static final ScheduledExecutorService SCHEDULED_EXECUTOR_SERVICE = Executors.newScheduledThreadPool(
+            MAX_THREADS, CachedDaemonThreadFactory.getInstance());
 
     /**
      * @return event update executor service
@@ -20,6 +23,14 @@ public class EventThreadHelper {
         return EXECUTOR_SERVICE;
     }
 
+    /**
+     * @return executor service used for asynchronous (coalesced and rate-limited) event dispatch
+     * @see CoalescingEventDispatcher
+     */
+    public static ScheduledExecutorService getScheduledExecutorService() {
+        return SCHEDULED_EXECUTOR_SERVICE;
+    }
+
     /**
      * @return maximum number of threads used for event notification
      */
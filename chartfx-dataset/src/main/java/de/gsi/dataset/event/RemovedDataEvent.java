@@ -42,4 +42,18 @@ public class RemovedDataEvent extends UpdatedDataEvent {
         super(source, msg, payload);
     }
 
-}
\ No newline at end of file
+    /**
+     * generates new update event with the range of affected samples
+     * 
+     * @param source the class issuing the event
+     * @param msg a customised message to be passed along (e.g. for debugging)
+     * @param removedFront number of samples that have been dropped from the front
+     * @param fromIndex first new or modified sample (inclusive, after dropping the front)
+     * @param toIndex last new or modified sample (exclusive, after dropping the front)
+     * @param dataCount number of samples after the change
+     */
+    public RemovedDataEvent(final EventSource source, final String msg, final int removedFront, final int fromIndex,
+            final int toIndex, final int dataCount) {
+        super(source, msg, removedFront, fromIndex, toIndex, dataCount);
+    }
+}
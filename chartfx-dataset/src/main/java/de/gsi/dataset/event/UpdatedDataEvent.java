@@ -3,6 +3,11 @@ package de.gsi.dataset.event;
 /**
  * UpdatedDataEvent class that is passed along the notification performed by the {@code EventSource} class. The class is
  * intended to be further extended by named derivatives to allow for context-based event filters.
+ * <p>
+ * Optionally, the event describes which samples changed (see {@link #hasIndexRange()}): the first
+ * {@link #getRemovedFront()} samples have been dropped, the samples in [{@link #getFromIndex()}, {@link #getToIndex()}[
+ * (in the new indexing) are new or modified, the data set now contains {@link #getDataCount()} samples and all other
+ * samples are unchanged. Events without this information mean that any sample may have changed.
  * 
  * @see EventSource for details
  * 
@@ -11,6 +16,10 @@ package de.gsi.dataset.event;
  */
 public class UpdatedDataEvent extends UpdateEvent {
     private static final long serialVersionUID = 2906468013676213645L;
+    private final int removedFront;
+    private final int fromIndex;
+    private final int toIndex;
+    private final int dataCount;
 
     /**
      * generates new update event
@@ -18,7 +27,7 @@ public class UpdatedDataEvent extends UpdateEvent {
      * @param source the class issuing the event
      */
     public UpdatedDataEvent(final EventSource source) {
-        super(source, null, null);
+        this(source, null, null);
     }
 
     /**
@@ -28,7 +37,7 @@ public class UpdatedDataEvent extends UpdateEvent {
      * @param msg a customised message to be passed along (e.g. for debugging)
      */
     public UpdatedDataEvent(final EventSource source, final String msg) {
-        super(source, msg, null);
+        this(source, msg, null);
     }
 
     /**
@@ -40,5 +49,68 @@ public class UpdatedDataEvent extends UpdateEvent {
      */
     public UpdatedDataEvent(final EventSource source, final String msg, final Object payload) {
         super(source, msg, payload);
+        this.removedFront = 0;
+        this.fromIndex = 0;
+        this.toIndex = 0;
+        this.dataCount = -1;
+    }
+
+    /**
+     * generates new update event with the range of affected samples
+     * 
+     * @param source the class issuing the event
+     * @param msg a customised message to be passed along (e.g. for debugging)
+     * @param removedFront number of samples that have been dropped from the front
+     * @param fromIndex first new or modified sample (inclusive, after dropping the front)
+     * @param toIndex last new or modified sample (exclusive, after dropping the front)
+     * @param dataCount number of samples after the change
+     */
+    public UpdatedDataEvent(final EventSource source, final String msg, final int removedFront, final int fromIndex,
+            final int toIndex, final int dataCount) {
+        super(source, msg, null);
+        if (removedFront < 0 || fromIndex < 0 || fromIndex > toIndex || toIndex > dataCount) {
+            throw new IllegalArgumentException("invalid range: removedFront = " + removedFront + " [" + fromIndex
+                                               + ", " + toIndex + "[ dataCount = " + dataCount);
+        }
+        this.removedFront = removedFront;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+        this.dataCount = dataCount;
+    }
+
+    /**
+     * @return number of samples after the change, or '-1' if the range of affected samples is unknown
+     */
+    public int getDataCount() {
+        return dataCount;
+    }
+
+    /**
+     * @return first new or modified sample (inclusive, after dropping the front)
+     */
+    public int getFromIndex() {
+        return fromIndex;
+    }
+
+    /**
+     * @return number of samples that have been dropped from the front
+     */
+    public int getRemovedFront() {
+        return removedFront;
+    }
+
+    /**
+     * @return last new or modified sample (exclusive, after dropping the front)
+     */
+    public int getToIndex() {
+        return toIndex;
+    }
+
+    /**
+     * @return {@code true} if the event describes the range of affected samples, {@code false}: any sample may have
+     *         changed
+     */
+    public boolean hasIndexRange() {
+        return dataCount >= 0;
     }
 }
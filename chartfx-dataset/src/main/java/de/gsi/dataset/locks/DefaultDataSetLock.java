@@ -19,6 +19,9 @@ import de.gsi.dataset.DataSet;
  *  lock.writeUnLock(); // restores isAutoNotification state
  * </pre>
  *
+ * Read locks acquired by the thread that holds the write lock are granted immediately (ie. reads within a write lock
+ * guard do not deadlock).
+ *
  * However, the recommended usage is using the lock guard primitives, e.g.
  *
  * <pre>
@@ -54,7 +57,9 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
     private transient Thread writeLockedByThread; // NOPMD
     private final transient AtomicInteger readerCount = new AtomicInteger(0);
     private final transient AtomicInteger writerCount = new AtomicInteger(0);
+    private final transient AtomicInteger nestedReaderCount = new AtomicInteger(0); // read locks held by the writer
     private final transient AtomicBoolean autoNotifyState = new AtomicBoolean(true);
+    private transient boolean notificationMuted; // guarded by 'stampedLock'
     private final transient D dataSet;
 
     /**
@@ -141,6 +146,11 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
 
     @Override
     public D readLock() {
+        if (isWriteLockedByCurrentThread()) {
+            // N.B. the writer implicitly holds the read lock, acquiring the (non-reentrant) StampedLock would deadlock
+            nestedReaderCount.incrementAndGet();
+            return dataSet;
+        }
         if (readerCount.getAndIncrement() == 0) {
             lastReadStamp = stampedLock.readLock();
         }
@@ -203,6 +213,10 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
 
     @Override
     public D readUnLock() {
+        if (nestedReaderCount.get() > 0 && isWriteLockedByCurrentThread()) {
+            nestedReaderCount.decrementAndGet();
+            return dataSet;
+        }
         if (readerCount.decrementAndGet() == 0) {
             stampedLock.unlockRead(lastReadStamp);
             lastReadStamp = 0l;
@@ -215,18 +229,7 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
 
     @Override
     public D writeLock() {
-        final Thread callingThread = Thread.currentThread();
-        while (threadsAreUnequal(callingThread, writeLockedByThread)) {
-            lastWriteStamp = stampedLock.writeLock();
-            synchronized (stampedLock) {
-                // copy threadID
-                writeLockedByThread = callingThread;
-                // store present auto-notify state
-                autoNotifyState.set(dataSet.autoNotification().getAndSet(false));
-            }
-        }
-        writerCount.incrementAndGet();
-        return dataSet;
+        return writeLock(true);
     }
 
     @Override
@@ -264,8 +267,11 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
             synchronized (stampedLock) {
                 final long temp = lastWriteStamp;
                 lastWriteStamp = 0;
-                // restore present auto-notify state
-                dataSet.autoNotification().set(autoNotifyState.get());
+                if (notificationMuted) {
+                    // restore present auto-notify state
+                    dataSet.autoNotification().set(autoNotifyState.get());
+                    notificationMuted = false;
+                }
                 writeLockedByThread = null; // NOPMD
                 stampedLock.unlockWrite(temp);
             }
@@ -275,6 +281,48 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
         return dataSet;
     }
 
+    /**
+     * Exclusive access like {@link #writeLockGuard(Supplier)}, but w/o muting the DataSet's auto-notification. Intended
+     * for updates of internal (e.g. reader-side cached) state by data sets whose data is modified outside of this lock,
+     * so that the notifications issued concurrently by the modifying thread are not dropped.
+     *
+     * @param writing the exclusive code section
+     * @param <R> generic return type
+     * @return the supplied value
+     */
+    protected <R> R writeLockGuardUnmuted(final Supplier<R> writing) {
+        writeLock(false);
+        try {
+            return writing.get();
+        } finally {
+            writeUnLock();
+        }
+    }
+
+    private D writeLock(final boolean muteNotification) {
+        final Thread callingThread = Thread.currentThread();
+        while (threadsAreUnequal(callingThread, writeLockedByThread)) {
+            lastWriteStamp = stampedLock.writeLock();
+            synchronized (stampedLock) {
+                // copy threadID
+                writeLockedByThread = callingThread;
+                notificationMuted = muteNotification;
+                if (muteNotification) {
+                    // store present auto-notify state
+                    autoNotifyState.set(dataSet.autoNotification().getAndSet(false));
+                }
+            }
+        }
+        writerCount.incrementAndGet();
+        return dataSet;
+    }
+
+    protected boolean isWriteLockedByCurrentThread() {
+        synchronized (stampedLock) {
+            return writeLockedByThread == Thread.currentThread();
+        }
+    }
+
     protected boolean threadsAreUnequal(final Thread thread1, final Thread thread2) {
         synchronized (stampedLock) {
             return thread1 != thread2;
@@ -0,0 +1,33 @@
+package de.gsi.dataset.serializer;
+
+/**
+ * Compression codec for numeric arrays as used by the {@link de.gsi.dataset.serializer.spi.BinarySerialiser}.
+ * <p>
+ * The codec used for a given field is identified by its {@link #getId()} in the field header. Decoders are looked-up
+ * via this id (see {@link de.gsi.dataset.serializer.spi.BinarySerialiser#registerCodec(ArrayCodec)}), thus codec
+ * parameters (e.g. quantisation steps) need to be stored within the encoded byte stream.
+ */
+public interface ArrayCodec {
+    /**
+     * @param data encoded byte array as returned by {@link #encode(double[], int)}
+     * @return decoded values
+     */
+    double[] decode(byte[] data);
+
+    /**
+     * @param values values to be encoded
+     * @param length number of values to be encoded (N.B. {@code <= values.length})
+     * @return encoded byte array
+     */
+    byte[] encode(double[] values, int length);
+
+    /**
+     * @return unique codec identifier [1, 127]
+     */
+    byte getId();
+
+    /**
+     * @return {@code true} if the decoded values are bit-identical to the encoded values
+     */
+    boolean isLossless();
+}
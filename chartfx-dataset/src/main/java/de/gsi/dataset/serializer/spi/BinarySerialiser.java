@@ -15,18 +15,32 @@ import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.gsi.dataset.serializer.ArrayCodec;
 import de.gsi.dataset.serializer.DataType;
 import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.serializer.spi.codec.DeltaOfDeltaCodec;
+import de.gsi.dataset.serializer.spi.codec.QuantisationCodec;
+import de.gsi.dataset.serializer.spi.codec.ShuffleLzCodec;
+import de.gsi.dataset.serializer.spi.codec.XorCodec;
 import de.gsi.dataset.utils.AssertUtils;
 
 /**
  * Generic binary serialiser aimed at efficiently transferring data between server/client and in particular between
  * Java/C++/web-based programs.
+ * <p>
+ * Numeric arrays may optionally be compressed using an {@link ArrayCodec} (see
+ * {@link #put(IoBuffer, String, double[], int[], ArrayCodec)}): the codec is identified in the array header by a
+ * negative codec id preceding the array dimensions and is exposed via {@link FieldHeader#getCodec()} on the receiving
+ * side. Uncompressed arrays are encoded as before. Streams containing compressed arrays need to be declared as such via
+ * {@link #putHeaderInfo(IoBuffer, boolean)}, which bumps the major format version to
+ * {@link #VERSION_MAJOR_COMPRESSION} so that readers not supporting compression reject the stream rather than
+ * misinterpreting it.
  *
  * @author rstein
  */
@@ -36,10 +50,19 @@ public class BinarySerialiser { // NOPMD - omen est omen
     public static final byte VERSION_MAJOR = 1;
     public static final byte VERSION_MINOR = 0;
     public static final byte VERSION_MICRO = 0;
+    public static final byte VERSION_MAJOR_COMPRESSION = 2; // streams that may contain compressed arrays
     protected static final BinarySerialiser SELF = new BinarySerialiser();
     protected static HeaderInfo headerThis = SELF.new HeaderInfo(BinarySerialiser.class.getSimpleName(), VERSION_MAJOR,
             VERSION_MINOR, VERSION_MICRO);
     private static int bufferIncrements;
+    private static final AtomicReferenceArray<ArrayCodec> CODECS = new AtomicReferenceArray<>(Byte.MAX_VALUE + 1);
+
+    static {
+        registerCodec(new DeltaOfDeltaCodec());
+        registerCodec(new XorCodec());
+        registerCodec(new ShuffleLzCodec());
+        registerCodec(new QuantisationCodec());
+    }
 
     protected BinarySerialiser() {
         super();
@@ -142,6 +165,19 @@ public class BinarySerialiser { // NOPMD - omen est omen
         return retCollection;
     }
 
+    /**
+     * @param codecId unique codec identifier
+     * @return registered codec for the given identifier
+     * @throws IllegalStateException if the codec is unknown
+     */
+    public static ArrayCodec getCodec(final int codecId) {
+        final ArrayCodec codec = codecId <= 0 || codecId >= CODECS.length() ? null : CODECS.get(codecId);
+        if (codec == null) {
+            throw new IllegalStateException("unsupported array codec id '" + codecId + "'");
+        }
+        return codec;
+    }
+
     public static double getDouble(final IoBuffer readBuffer) {
         if (readBuffer.hasRemaining()) {
             return readBuffer.getDouble();
@@ -153,6 +189,20 @@ public class BinarySerialiser { // NOPMD - omen est omen
         return readBuffer.getDoubleArray();
     }
 
+    /**
+     * reads (and if needed decompresses) the array described by the field header
+     *
+     * @param readBuffer buffer positioned at the start of the array data
+     * @param fieldHeader the array's field header
+     * @return array values converted to doubles
+     */
+    public static double[] getDoubleArray(final IoBuffer readBuffer, final FieldHeader fieldHeader) {
+        if (fieldHeader.getCodec() != null) {
+            return fieldHeader.getCodec().decode(readBuffer.getByteArray());
+        }
+        return getDoubleArray(readBuffer, fieldHeader.getDataType());
+    }
+
     public static double[] getDoubleArray(final IoBuffer readBuffer, final DataType dataType) {
         switch (dataType) {
         case BOOL_ARRAY:
@@ -246,7 +296,13 @@ public class BinarySerialiser { // NOPMD - omen est omen
         final long temp = readBuffer.position();
         final int expectedNumberOfBytes = readBuffer.getInt();
 
-        final int arrayDims = readBuffer.getInt();
+        int arrayDims = readBuffer.getInt();
+        ArrayCodec codec = null;
+        if (arrayDims < 0) {
+            // compressed array: codec id followed by the actual array dimensions
+            codec = getCodec(-arrayDims);
+            arrayDims = readBuffer.getInt();
+        }
         final int[] dims = new int[arrayDims];
         for (int i = 0; i < arrayDims; ++i) {
             dims[i] = readBuffer.getInt();
@@ -254,7 +310,7 @@ public class BinarySerialiser { // NOPMD - omen est omen
         final long readDataPosition = readBuffer.position();
         readBuffer.position(temp);
 
-        return new FieldHeader(fieldName, dataType, dims, readDataPosition, expectedNumberOfBytes);
+        return new FieldHeader(null, fieldName, dataType, dims, readDataPosition, expectedNumberOfBytes, codec);
     }
 
     public static float getFloat(final IoBuffer readBuffer) {
@@ -371,6 +427,21 @@ public class BinarySerialiser { // NOPMD - omen est omen
         return ret;
     }
 
+    /**
+     * N.B. the string payload is not covered by the array header's primitive-size based capacity estimate
+     *
+     * @param values the strings to be written
+     * @param nToCopy number of strings to be written
+     * @return number of bytes needed for the array size, and the (one byte per character) zero-terminated strings
+     */
+    private static long getStringArrayByteSize(final String[] values, final int nToCopy) {
+        long byteSize = SIZE_OF_INT;
+        for (int i = 0; i < nToCopy; i++) {
+            byteSize += SIZE_OF_INT + (values[i] == null ? 0 : values[i].length()) + 1L;
+        }
+        return byteSize;
+    }
+
     public static <E> Queue<E> getQueue(final IoBuffer readBuffer, final Queue<E> collection) {
         final DataType valueDataType = DataType.fromByte(readBuffer.getByte());
 
@@ -551,6 +622,39 @@ public class BinarySerialiser { // NOPMD - omen est omen
         adjustDataByteSizeBlock(buffer, sizeMarkerStart);
     }
 
+    /**
+     * writes a compressed double array
+     * <p>
+     * N.B. the stream header needs to be written via {@link #putHeaderInfo(IoBuffer, boolean)} with compression enabled
+     *
+     * @param buffer output buffer
+     * @param fieldName the field name
+     * @param arrayValue the values to be written
+     * @param dims array dimensions
+     * @param codec compression codec, {@code null}: uncompressed
+     */
+    public static void put(final IoBuffer buffer, final String fieldName, final double[] arrayValue, final int[] dims,
+            final ArrayCodec codec) {
+        if (codec == null) {
+            put(buffer, fieldName, arrayValue, dims);
+            return;
+        }
+        final int nElements = getNumberOfElements(dims);
+        final byte[] encoded = codec.encode(arrayValue, Math.min(nElements, arrayValue.length));
+        final int addBufferSize = ((dims.length + 7) * (int) SIZE_OF_INT) + encoded.length;
+        putFieldHeader(buffer, fieldName, DataType.DOUBLE_ARRAY, addBufferSize);
+
+        final long sizeMarkerStart = buffer.position();
+        buffer.putInt(-1); // default size
+        buffer.putInt(-codec.getId()); // compression marker
+        buffer.putInt(dims.length); // number of dimensions
+        for (final int dim : dims) {
+            buffer.putInt(dim); // vector size for each dimension
+        }
+        buffer.putByteArray(encoded);
+        adjustDataByteSizeBlock(buffer, sizeMarkerStart);
+    }
+
     public static void put(final IoBuffer buffer, final String fieldName, final Enum<?> enumeration) {
         if (enumeration == null) {
             return;
@@ -685,8 +789,10 @@ public class BinarySerialiser { // NOPMD - omen est omen
             return;
         }
         final int nElements = getNumberOfElements(dims);
+        final int nToCopy = Math.min(nElements, arrayValue.length);
         final long sizeMarkerStart = putArrayHeader(buffer, fieldName, DataType.STRING_ARRAY, dims, nElements);
-        buffer.putStringArray(arrayValue, Math.min(nElements, arrayValue.length));
+        buffer.ensureAdditionalCapacity(getStringArrayByteSize(arrayValue, nToCopy));
+        buffer.putStringArray(arrayValue, nToCopy);
         adjustDataByteSizeBlock(buffer, sizeMarkerStart);
     }
 
@@ -757,7 +863,9 @@ public class BinarySerialiser { // NOPMD - omen est omen
             buffer.putDoubleArray(GenericsHelper.toDoublePrimitive(data), nToCopy);
             break;
         case STRING:
-            buffer.putStringArray(GenericsHelper.toStringPrimitive(data), nToCopy);
+            final String[] strings = GenericsHelper.toStringPrimitive(data);
+            buffer.ensureAdditionalCapacity(getStringArrayByteSize(strings, strings.length));
+            buffer.putStringArray(strings, nToCopy);
             break;
         default:
             throw new IllegalArgumentException("type not implemented - " + data[0].getClass().getSimpleName());
@@ -770,6 +878,17 @@ public class BinarySerialiser { // NOPMD - omen est omen
      * @param buffer to use for serialisation
      */
     public static void putHeaderInfo(final IoBuffer buffer) {
+        putHeaderInfo(buffer, false);
+    }
+
+    /**
+     * Adds header and version information
+     *
+     * @param buffer to use for serialisation
+     * @param compressed {@code true}: the stream may contain compressed arrays (major version
+     *        {@link #VERSION_MAJOR_COMPRESSION}), {@code false}: uncompressed stream readable by all version 1 readers
+     */
+    public static void putHeaderInfo(final IoBuffer buffer, final boolean compressed) {
         AssertUtils.notNull("buffer", buffer);
         final long addCapacity = 20 + "OBJ_ROOT_START".length() + "#file producer : ".length()
                 + BinarySerialiser.class.getCanonicalName().length();
@@ -778,7 +897,7 @@ public class BinarySerialiser { // NOPMD - omen est omen
         buffer.putString("#file producer : ");
         buffer.putString(BinarySerialiser.class.getCanonicalName());
         buffer.putString("\n");
-        buffer.putByte(VERSION_MAJOR);
+        buffer.putByte(compressed ? VERSION_MAJOR_COMPRESSION : VERSION_MAJOR);
         buffer.putByte(VERSION_MINOR);
         buffer.putByte(VERSION_MICRO);
     }
@@ -788,6 +907,20 @@ public class BinarySerialiser { // NOPMD - omen est omen
         buffer.putByte(DataType.START_MARKER.getAsByte());
     }
 
+    /**
+     * registers a (user-defined) array codec to be used for decoding
+     *
+     * @param codec the codec, replaces previously registered codecs with the same identifier
+     */
+    public static void registerCodec(final ArrayCodec codec) {
+        AssertUtils.notNull("codec", codec);
+        final int codecId = codec.getId();
+        if (codecId <= 0) {
+            throw new IllegalArgumentException("codec id must be within [1, 127]: " + codecId);
+        }
+        CODECS.set(codecId, codec);
+    }
+
     public static void setBufferIncrements(final int bufferIncrements) {
         AssertUtils.gtEqThanZero("bufferIncrements", bufferIncrements);
         BinarySerialiser.bufferIncrements = bufferIncrements;
@@ -991,7 +1124,14 @@ public class BinarySerialiser { // NOPMD - omen est omen
         }
 
         public boolean isCompatible() {
-            return getVersionMajor() <= VERSION_MAJOR;
+            return getVersionMajor() <= VERSION_MAJOR_COMPRESSION;
+        }
+
+        /**
+         * @return {@code true} if the stream may contain compressed arrays
+         */
+        public boolean isCompressed() {
+            return getVersionMajor() >= VERSION_MAJOR_COMPRESSION;
         }
 
         @Override
@@ -4,6 +4,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.utils.AssertUtils;
 
 /**
  * @author rstein
@@ -39,6 +40,18 @@ public class ByteBuffer implements IoBuffer {
 
     }
 
+    /**
+     * construct new ByteBuffer wrapping an existing java.nio.ByteBuffer (e.g. a memory-mapped file region). N.B. the
+     * wrapped buffer's byte order is used as is and its current position marks the {@link #reset()} position.
+     *
+     * @param nioByteBuffer the buffer to be wrapped
+     */
+    public ByteBuffer(final java.nio.ByteBuffer nioByteBuffer) {
+        AssertUtils.notNull("nioByteBuffer", nioByteBuffer);
+        this.nioByteBuffer = nioByteBuffer;
+        this.nioByteBuffer.mark();
+    }
+
     @Override
     public int capacity() {
         return nioByteBuffer.capacity();
@@ -34,6 +34,7 @@ public class ClassFieldDescription implements Iterable<ClassFieldDescription> {
     private String toStringName; // computed on demand and cached
     private final int hierarchyDepth;
     private final Field field; // since we cannot derive from 'final class Field'
+    private FieldAccessor fieldAccessor; // non-reflective accessor, only defined for serialisable fields
     private final String fieldName;
     private final String fieldNameRelative;
     private final Optional<ClassFieldDescription> parent;
@@ -169,6 +170,7 @@ public class ClassFieldDescription implements Iterable<ClassFieldDescription> {
         if (serializable) {
             // enable access by default (saves performance later on)
             field.setAccessible(true);
+            fieldAccessor = new FieldAccessor(field);
         }
 
         // add child to parent if it serializable or if a full scan is requested
@@ -253,6 +255,13 @@ public class ClassFieldDescription implements Iterable<ClassFieldDescription> {
         return field;
     }
 
+    /**
+     * @return non-reflective accessor for this field (N.B. {@code null} for the root class and non-serialisable fields)
+     */
+    public FieldAccessor getFieldAccessor() {
+        return fieldAccessor;
+    }
+
     /**
      * @return the hashMap containing the child references by field name
      */
@@ -326,14 +335,15 @@ public class ClassFieldDescription implements Iterable<ClassFieldDescription> {
             final ClassFieldDescription localParent = getParent(this, depth - i);
 
             try {
-                if (localParent.getField() == null) {
+                final FieldAccessor accessor = localParent.getFieldAccessor();
+                if (accessor == null) {
                     return rootObject;
                 }
-                temp = localParent.getField().get(parent1);
+                temp = accessor.get(parent1);
                 if (temp == null) {
                     temp = allocateMemberClassField(parent1, localParent);
                 }
-                if ((temp = localParent.getField().get(parent1)) == null) {
+                if ((temp = accessor.get(parent1)) == null) {
                     throw new IllegalStateException(
                             "could not allocate inner class object field = " + field.toString());
                 }
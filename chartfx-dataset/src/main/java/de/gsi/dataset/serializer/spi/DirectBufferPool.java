@@ -0,0 +1,102 @@
+package de.gsi.dataset.serializer.spi;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe recycling pool of fixed-size, native-order direct {@link ByteBuffer} segments as used by
+ * {@link SegmentedByteBuffer}.
+ * <p>
+ * Allocating direct memory is expensive (zeroing, reference cleaner registration) and it is only reclaimed after the
+ * owning {@link ByteBuffer} has been garbage-collected. Released segments are thus kept up to a configurable maximum
+ * and handed out again on the next {@link #acquire()}.
+ */
+public class DirectBufferPool {
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 20; // 1 MiB
+    public static final long DEFAULT_MAX_POOLED_BYTES = 256L << 20; // 256 MiB
+    private static final DirectBufferPool DEFAULT_POOL = new DirectBufferPool(DEFAULT_SEGMENT_SIZE,
+            DEFAULT_MAX_POOLED_BYTES);
+    private final int segmentSize;
+    private final int maxPooledSegments;
+    private final Deque<ByteBuffer> segments = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pooledSegments = new AtomicInteger();
+    private final AtomicLong allocatedSegments = new AtomicLong();
+
+    /**
+     * @param segmentSize size of the individual segments in bytes (N.B. needs to be a power of two)
+     * @param maxPooledBytes maximum number of bytes that are retained for re-use
+     */
+    public DirectBufferPool(final int segmentSize, final long maxPooledBytes) {
+        if (segmentSize < Long.BYTES || Integer.bitCount(segmentSize) != 1) {
+            throw new IllegalArgumentException("segmentSize must be a power of two >= 8: " + segmentSize);
+        }
+        if (maxPooledBytes < 0) {
+            throw new IllegalArgumentException("maxPooledBytes must not be negative: " + maxPooledBytes);
+        }
+        this.segmentSize = segmentSize;
+        maxPooledSegments = (int) Math.min(Integer.MAX_VALUE, maxPooledBytes / segmentSize);
+    }
+
+    /**
+     * @return a cleared native-order direct segment of {@link #getSegmentSize()} bytes, either recycled or newly
+     *         allocated
+     */
+    public ByteBuffer acquire() {
+        final ByteBuffer segment = segments.pollFirst();
+        if (segment == null) {
+            allocatedSegments.incrementAndGet();
+            return ByteBuffer.allocateDirect(segmentSize).order(ByteOrder.nativeOrder());
+        }
+        pooledSegments.decrementAndGet();
+        segment.clear();
+        return segment;
+    }
+
+    /**
+     * @return total number of segments that had to be newly allocated by this pool
+     */
+    public long getAllocatedSegmentCount() {
+        return allocatedSegments.get();
+    }
+
+    /**
+     * @return number of segments currently available for re-use
+     */
+    public int getPooledSegmentCount() {
+        return pooledSegments.get();
+    }
+
+    /**
+     * @return size of the individual segments in bytes
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * returns a segment to the pool. Segments that exceed the pool limit are left to the garbage collector.
+     *
+     * @param segment segment previously obtained through {@link #acquire()}
+     */
+    public void release(final ByteBuffer segment) {
+        if (segment == null || !segment.isDirect() || segment.capacity() != segmentSize) {
+            throw new IllegalArgumentException("segment has not been acquired from this pool: " + segment);
+        }
+        if (pooledSegments.incrementAndGet() > maxPooledSegments) {
+            pooledSegments.decrementAndGet();
+            return;
+        }
+        segments.offerFirst(segment);
+    }
+
+    /**
+     * @return the shared default pool with {@link #DEFAULT_SEGMENT_SIZE} segments
+     */
+    public static DirectBufferPool getDefault() {
+        return DEFAULT_POOL;
+    }
+}
@@ -379,7 +379,7 @@ public class FastByteBuffer implements IoBuffer {
 
     @Override
     public IoBuffer position(final long newPosition) {
-        if ((newPosition > limit) || (newPosition < 0) || (newPosition >= capacity())) {
+        if ((newPosition > limit) || (newPosition < 0)) { // N.B. limit <= capacity
             throw new IllegalArgumentException(String.format("invalid newPosition: [0, newPosition=%d, limit:%d, %d]",
                     newPosition, limit, capacity()));
         }
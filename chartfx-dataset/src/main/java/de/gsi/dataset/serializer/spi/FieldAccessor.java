@@ -0,0 +1,336 @@
+package de.gsi.dataset.serializer.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Non-reflective accessor for a given class field.
+ * <p>
+ * The getter/setter {@link MethodHandle}s are resolved once (N.B. the {@link ClassFieldDescription} holding this
+ * accessor is cached in {@link ClassDescriptions}) and are adapted to the exact field type so that primitive fields
+ * are read and written without boxing, contrary to {@link Field#get(Object)}/{@link Field#set(Object, Object)}.
+ * The typed getter/setter must match the field type exactly (ie. no widening conversions), the generic
+ * {@link #get(Object)} and {@link #set(Object, Object)} accept any field type.
+ * <p>
+ * Fields for which no direct method handle can be obtained (e.g. non-accessible fields) fall back to reflective
+ * {@link Field#get(Object)}/{@link Field#set(Object, Object)} access, ie. the access checks are performed (and
+ * {@link IllegalAccessException}s thrown) on use rather than on construction.
+ */
+public final class FieldAccessor {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle REFLECTIVE_GET;
+    private static final MethodHandle REFLECTIVE_SET;
+    private final Field field;
+    private final MethodHandle getter; // (Object) -> field type
+    private final MethodHandle setter; // (Object, field type) -> void
+    private final MethodHandle genericGetter; // (Object) -> Object
+    private final MethodHandle genericSetter; // (Object, Object) -> void
+
+    static {
+        try {
+            REFLECTIVE_GET = LOOKUP.findVirtual(Field.class, "get",
+                    MethodType.methodType(Object.class, Object.class));
+            REFLECTIVE_SET = LOOKUP.findVirtual(Field.class, "set",
+                    MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * @param field the class field (N.B. non-public fields should be made accessible beforehand, otherwise the
+     *        accessor falls back to reflective access)
+     */
+    public FieldAccessor(final Field field) {
+        if (field == null) {
+            throw new IllegalArgumentException("field must not be null");
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            throw new IllegalArgumentException("static fields are not supported: " + field);
+        }
+        this.field = field;
+        final Class<?> type = field.getType();
+        final Class<?> exactType = type.isPrimitive() ? type : Object.class;
+        // N.B. no further access checks for fields that have been made accessible
+        MethodHandle rawGetter;
+        try {
+            rawGetter = LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException e) { // NOPMD - fall back to reflective access, checked on use
+            rawGetter = REFLECTIVE_GET.bindTo(field);
+        }
+        getter = rawGetter.asType(MethodType.methodType(exactType, Object.class));
+        genericGetter = rawGetter.asType(MethodType.methodType(Object.class, Object.class));
+
+        MethodHandle rawSetter;
+        try {
+            rawSetter = LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException e) { // NOPMD - e.g. final fields that are not accessible are read-only
+            rawSetter = Modifier.isFinal(field.getModifiers()) ? null : REFLECTIVE_SET.bindTo(field);
+        }
+        if (rawSetter == null) {
+            setter = null;
+            genericSetter = null;
+        } else {
+            setter = rawSetter.asType(MethodType.methodType(void.class, Object.class, exactType));
+            genericSetter = rawSetter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @return the field value (N.B. primitive values are boxed)
+     * @throws IllegalAccessException in case the field cannot be accessed
+     */
+    public Object get(final Object obj) throws IllegalAccessException {
+        try {
+            return genericGetter.invokeExact(obj);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @return the boolean field value
+     * @throws IllegalAccessException in case the field cannot be accessed
+     */
+    public boolean getBoolean(final Object obj) throws IllegalAccessException {
+        try {
+            return (boolean) getter.invokeExact(obj);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @return the byte field value
+     * @throws IllegalAccessException in case the field cannot be accessed
+     */
+    public byte getByte(final Object obj) throws IllegalAccessException {
+        try {
+            return (byte) getter.invokeExact(obj);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @return the short field value
+     * @throws IllegalAccessException in case the field cannot be accessed
+     */
+    public short getShort(final Object obj) throws IllegalAccessException {
+        try {
+            return (short) getter.invokeExact(obj);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @return the int field value
+     * @throws IllegalAccessException in case the field cannot be accessed
+     */
+    public int getInt(final Object obj) throws IllegalAccessException {
+        try {
+            return (int) getter.invokeExact(obj);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @return the long field value
+     * @throws IllegalAccessException in case the field cannot be accessed
+     */
+    public long getLong(final Object obj) throws IllegalAccessException {
+        try {
+            return (long) getter.invokeExact(obj);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @return the float field value
+     * @throws IllegalAccessException in case the field cannot be accessed
+     */
+    public float getFloat(final Object obj) throws IllegalAccessException {
+        try {
+            return (float) getter.invokeExact(obj);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @return the double field value
+     * @throws IllegalAccessException in case the field cannot be accessed
+     */
+    public double getDouble(final Object obj) throws IllegalAccessException {
+        try {
+            return (double) getter.invokeExact(obj);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @return the underlying class field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return {@code true} if the field can be written, {@code false} otherwise (e.g. non-accessible final fields)
+     */
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @param value new field value (N.B. primitive fields need a matching boxed value)
+     * @throws IllegalAccessException in case the field cannot be accessed or is read-only
+     */
+    public void set(final Object obj, final Object value) throws IllegalAccessException {
+        checkSetter();
+        try {
+            genericSetter.invokeExact(obj, value);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @param value new boolean field value
+     * @throws IllegalAccessException in case the field cannot be accessed or is read-only
+     */
+    public void setBoolean(final Object obj, final boolean value) throws IllegalAccessException {
+        final MethodHandle handle = checkSetter();
+        try {
+            handle.invokeExact(obj, value);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @param value new byte field value
+     * @throws IllegalAccessException in case the field cannot be accessed or is read-only
+     */
+    public void setByte(final Object obj, final byte value) throws IllegalAccessException {
+        final MethodHandle handle = checkSetter();
+        try {
+            handle.invokeExact(obj, value);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @param value new short field value
+     * @throws IllegalAccessException in case the field cannot be accessed or is read-only
+     */
+    public void setShort(final Object obj, final short value) throws IllegalAccessException {
+        final MethodHandle handle = checkSetter();
+        try {
+            handle.invokeExact(obj, value);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @param value new int field value
+     * @throws IllegalAccessException in case the field cannot be accessed or is read-only
+     */
+    public void setInt(final Object obj, final int value) throws IllegalAccessException {
+        final MethodHandle handle = checkSetter();
+        try {
+            handle.invokeExact(obj, value);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @param value new long field value
+     * @throws IllegalAccessException in case the field cannot be accessed or is read-only
+     */
+    public void setLong(final Object obj, final long value) throws IllegalAccessException {
+        final MethodHandle handle = checkSetter();
+        try {
+            handle.invokeExact(obj, value);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @param value new float field value
+     * @throws IllegalAccessException in case the field cannot be accessed or is read-only
+     */
+    public void setFloat(final Object obj, final float value) throws IllegalAccessException {
+        final MethodHandle handle = checkSetter();
+        try {
+            handle.invokeExact(obj, value);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @param obj the object containing the field
+     * @param value new double field value
+     * @throws IllegalAccessException in case the field cannot be accessed or is read-only
+     */
+    public void setDouble(final Object obj, final double value) throws IllegalAccessException {
+        final MethodHandle handle = checkSetter();
+        try {
+            handle.invokeExact(obj, value);
+        } catch (Throwable t) { // NOPMD - MethodHandle API
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FieldAccessor for " + field;
+    }
+
+    private MethodHandle checkSetter() throws IllegalAccessException {
+        if (setter == null) {
+            throw new IllegalAccessException("field is read-only: " + field);
+        }
+        return setter;
+    }
+
+    private static IllegalAccessException rethrow(final Throwable t) {
+        if (t instanceof IllegalAccessException) {
+            return (IllegalAccessException) t;
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalAccessException("could not access field " + t.getMessage()); // NOPMD - checked cause
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import de.gsi.dataset.serializer.ArrayCodec;
 import de.gsi.dataset.serializer.DataType;
 
 /**
@@ -18,6 +19,7 @@ public class FieldHeader {
     private final int[] dimensions;
     private final long positionBuffer;
     private final long expectedNumberOfBytes;
+    private final ArrayCodec codec;
 
     private final Optional<FieldHeader> parent;
 
@@ -35,6 +37,23 @@ public class FieldHeader {
      */
     public FieldHeader(final FieldHeader parent, final String fieldName, final DataType dataType, final int[] dims,
             final long positionBuffer, final long expectedNumberOfBytes) {
+        this(parent, fieldName, dataType, dims, positionBuffer, expectedNumberOfBytes, null);
+    }
+
+    /**
+     * Constructs new serializer field header
+     * 
+     * @param parent the optional parent field header (for cascaded objects)
+     * @param fieldName the clear text field name description
+     * @param dataType the data type of that field
+     * @param dims array with length indicating the number-of-dimensions and indices the length of each dimension
+     * @param positionBuffer the position from which the actual data can be parsed onwards
+     * @param expectedNumberOfBytes the expected number of bytes to skip the data block
+     * @param codec the compression codec of the array data, {@code null} if uncompressed
+     */
+    public FieldHeader(final FieldHeader parent, final String fieldName, final DataType dataType, final int[] dims,
+            final long positionBuffer, final long expectedNumberOfBytes, final ArrayCodec codec) {
+        this.codec = codec;
         this.parent = parent == null ? Optional.empty() : Optional.of(parent);
         this.fieldName = fieldName;
         this.dataType = dataType;
@@ -61,6 +80,13 @@ public class FieldHeader {
         return children;
     }
 
+    /**
+     * @return the compression codec of the array data, {@code null} if uncompressed
+     */
+    public ArrayCodec getCodec() {
+        return codec;
+    }
+
     public long getDataBufferPosition() {
         return positionBuffer;
     }
@@ -0,0 +1,199 @@
+package de.gsi.dataset.serializer.spi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Optional table-of-contents for serialised streams allowing to locate individual top-level fields without walking
+ * and decoding the whole stream.
+ * <p>
+ * The index is written in a backward-compatible way: a {@link #FIELD_INDEX} long field directly following the header
+ * info points to the {@link #FIELD_INDEX_NAMES} and {@link #FIELD_INDEX_POSITIONS} arrays that are appended before the
+ * final end marker. Positions are stored relative to the start of the stream (ie. the header info). Readers unaware of
+ * the index treat these as ordinary (unused) fields.
+ * <p>
+ * On the read side, {@link #read(IoBuffer, long)} resolves the field headers lazily from the index or, for streams
+ * without index, falls back to a single sequential {@link BinarySerialiser#parseIoStream(IoBuffer)} pass. In both cases
+ * only the field headers are parsed, the field data is decoded by the caller on access. For duplicate field names, the
+ * first occurrence in stream order is returned in either case.
+ */
+public final class FieldIndex {
+    public static final String FIELD_INDEX = "fieldIndex";
+    public static final String FIELD_INDEX_NAMES = "fieldIndex.names";
+    public static final String FIELD_INDEX_POSITIONS = "fieldIndex.positions";
+    private final IoBuffer buffer;
+    private final long streamStart;
+    private final boolean indexed;
+    private final Map<String, Long> positions = new LinkedHashMap<>();
+    private final Map<String, FieldHeader> headers = new LinkedHashMap<>();
+
+    private FieldIndex(final IoBuffer buffer, final long streamStart, final boolean indexed) {
+        this.buffer = buffer;
+        this.streamStart = streamStart;
+        this.indexed = indexed;
+    }
+
+    /**
+     * @param fieldName the field name
+     * @return the field header (N.B. parsed on first access for indexed streams) or empty optional if not present
+     */
+    public Optional<FieldHeader> getFieldHeader(final String fieldName) {
+        final FieldHeader header = headers.get(fieldName);
+        if (header != null || !indexed) {
+            return Optional.ofNullable(header);
+        }
+        final Long position = positions.get(fieldName);
+        if (position == null) {
+            return Optional.empty();
+        }
+        buffer.position(streamStart + position);
+        final FieldHeader parsed = BinarySerialiser.getFieldHeader(buffer);
+        headers.put(fieldName, parsed);
+        return Optional.of(parsed);
+    }
+
+    /**
+     * @return all top-level field headers in stream order (N.B. parses all outstanding headers for indexed streams)
+     */
+    public List<FieldHeader> getFieldHeaders() {
+        if (!indexed) {
+            return new ArrayList<>(headers.values());
+        }
+        final List<FieldHeader> list = new ArrayList<>(positions.size());
+        for (final String fieldName : positions.keySet()) {
+            getFieldHeader(fieldName).ifPresent(list::add);
+        }
+        return list;
+    }
+
+    /**
+     * @return names of all top-level fields in stream order
+     */
+    public List<String> getFieldNames() {
+        return Collections.unmodifiableList(new ArrayList<>(indexed ? positions.keySet() : headers.keySet()));
+    }
+
+    /**
+     * @return {@code true} if the stream contained a field index, {@code false} if the headers have been obtained by a
+     *         sequential scan
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Appends the field index for all top-level fields written after the placeholder and back-patches the placeholder
+     * with the index location. Needs to be called before writing the final end marker.
+     *
+     * @param buffer the buffer the stream has been written to
+     * @param streamStart start position of the stream (ie. of the header info)
+     * @param placeholderPosition return value of {@link #putPlaceholder(IoBuffer)}
+     */
+    public static void put(final IoBuffer buffer, final long streamStart, final long placeholderPosition) {
+        AssertUtils.notNull("buffer", buffer);
+        final long indexPosition = buffer.position();
+
+        // scan the headers of the fields written so far (N.B. no data is decoded)
+        final List<String> names = new ArrayList<>();
+        final List<Long> offsets = new ArrayList<>();
+        buffer.position(placeholderPosition + Long.BYTES);
+        while (buffer.position() < indexPosition) {
+            final long headerPosition = buffer.position();
+            final FieldHeader fieldHeader = BinarySerialiser.getFieldHeader(buffer);
+            names.add(fieldHeader.getFieldName());
+            offsets.add(headerPosition - streamStart);
+            skipField(buffer, fieldHeader);
+        }
+
+        buffer.position(indexPosition);
+        BinarySerialiser.put(buffer, FIELD_INDEX_NAMES, names.toArray(new String[0]));
+        final long[] offsetArray = new long[offsets.size()];
+        for (int i = 0; i < offsetArray.length; i++) {
+            offsetArray[i] = offsets.get(i);
+        }
+        BinarySerialiser.put(buffer, FIELD_INDEX_POSITIONS, offsetArray);
+
+        // back-patch index location
+        final long endPosition = buffer.position();
+        buffer.position(placeholderPosition);
+        buffer.putLong(indexPosition - streamStart);
+        buffer.position(endPosition);
+    }
+
+    /**
+     * Writes the index placeholder field. Needs to be called directly after
+     * {@link BinarySerialiser#putHeaderInfo(IoBuffer)}.
+     *
+     * @param buffer the buffer to write to
+     * @return buffer position of the placeholder value, to be passed to {@link #put(IoBuffer, long, long)}
+     */
+    public static long putPlaceholder(final IoBuffer buffer) {
+        AssertUtils.notNull("buffer", buffer);
+        BinarySerialiser.put(buffer, FIELD_INDEX, -1L);
+        return buffer.position() - Long.BYTES;
+    }
+
+    /**
+     * Reads the field index (or scans the field headers if the stream has not been written with an index).
+     *
+     * @param buffer the buffer positioned directly after the header info
+     * @param streamStart start position of the stream (ie. of the header info)
+     * @return the field index
+     */
+    public static FieldIndex read(final IoBuffer buffer, final long streamStart) {
+        AssertUtils.notNull("buffer", buffer);
+        final long firstField = buffer.position();
+        final FieldHeader first = BinarySerialiser.getFieldHeader(buffer);
+        if (FIELD_INDEX.equals(first.getFieldName()) && first.getDataType().equals(DataType.LONG)) {
+            final long indexPosition = buffer.getLong();
+            if (indexPosition >= 0) {
+                final FieldIndex index = new FieldIndex(buffer, streamStart, true);
+                buffer.position(streamStart + indexPosition);
+                final FieldHeader namesHeader = BinarySerialiser.getFieldHeader(buffer);
+                buffer.position(namesHeader.getDataBufferPosition());
+                final String[] names = buffer.getStringArray();
+                final FieldHeader positionsHeader = BinarySerialiser.getFieldHeader(buffer);
+                buffer.position(positionsHeader.getDataBufferPosition());
+                final long[] offsets = buffer.getLongArray();
+                if (!FIELD_INDEX_NAMES.equals(namesHeader.getFieldName())
+                        || !FIELD_INDEX_POSITIONS.equals(positionsHeader.getFieldName())
+                        || names.length != offsets.length) {
+                    throw new IllegalStateException("corrupt field index at position " + indexPosition);
+                }
+                for (int i = 0; i < names.length; i++) {
+                    index.positions.putIfAbsent(names[i], offsets[i]);
+                }
+                return index;
+            }
+        }
+
+        // no (valid) index: sequential scan of the field headers
+        buffer.position(firstField);
+        final FieldIndex index = new FieldIndex(buffer, streamStart, false);
+        for (final FieldHeader fieldHeader : BinarySerialiser.parseIoStream(buffer).getChildren()) {
+            index.headers.putIfAbsent(fieldHeader.getFieldName(), fieldHeader);
+        }
+        return index;
+    }
+
+    private static void skipField(final IoBuffer buffer, final FieldHeader fieldHeader) {
+        final long bytesToSkip = fieldHeader.getExpectedNumberOfDataBytes();
+        if (bytesToSkip < 0) {
+            throw new IllegalStateException("cannot index field '" + fieldHeader.getFieldName() + "' of type "
+                                            + fieldHeader.getDataType() + " with unknown size");
+        }
+        buffer.position(buffer.position() + bytesToSkip);
+        if (fieldHeader.getDataType().equals(DataType.START_MARKER)) {
+            // skip nested structure
+            BinarySerialiser.parseIoStream(buffer, fieldHeader, 1);
+        }
+    }
+}
@@ -0,0 +1,922 @@
+package de.gsi.dataset.serializer.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Off-heap {@link IoBuffer} implementation based on a chain of fixed-size direct {@link ByteBuffer} segments.
+ * <p>
+ * Contrary to {@link FastByteBuffer}, the buffer grows by appending further segments rather than re-allocating and
+ * copying a contiguous array, ie. serialising large data sets neither requires a contiguous heap array nor a copy per
+ * growth step. The segments are obtained from and returned to a {@link DirectBufferPool} and the content can be handed
+ * to NIO channels without intermediate copies (see {@link #writeTo(WritableByteChannel)} and
+ * {@link #readFrom(ReadableByteChannel, long)}).
+ * <p>
+ * The data is stored in native byte order and the binary layout is identical to the one of {@link FastByteBuffer}.
+ * Primitives or array elements that straddle two segments are transparently split. Contrary to {@link FastByteBuffer},
+ * put operations grow the buffer automatically. Call {@link #close()} to return the segments to the pool once the
+ * buffer is no longer needed.
+ */
+@SuppressWarnings("PMD.TooManyMethods") // NOPMD - IoBuffer interface implementation
+public class SegmentedByteBuffer implements IoBuffer, AutoCloseable {
+    public static final long SIZE_OF_BOOLEAN = 1;
+    public static final long SIZE_OF_BYTE = 1;
+    public static final long SIZE_OF_SHORT = 2;
+    public static final long SIZE_OF_CHAR = 2;
+    public static final long SIZE_OF_INT = 4;
+    public static final long SIZE_OF_LONG = 8;
+    public static final long SIZE_OF_FLOAT = 4;
+    public static final long SIZE_OF_DOUBLE = 8;
+    private static final ByteOrder NATIVE_ORDER = ByteOrder.nativeOrder();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES).order(NATIVE_ORDER); // straddling primitives
+    private final DirectBufferPool pool;
+    private final int segmentSize;
+    private final int segmentShift;
+    private final int segmentMask;
+    private ByteBuffer[] segments = new ByteBuffer[4];
+    private int nSegments;
+    private long position;
+    private long limit;
+
+    /**
+     * construct new SegmentedByteBuffer using the {@link DirectBufferPool#getDefault() default pool}
+     */
+    public SegmentedByteBuffer() {
+        this(DirectBufferPool.getDefault(), 0);
+    }
+
+    /**
+     * construct new SegmentedByteBuffer
+     *
+     * @param pool the pool to obtain the segments from and return them to
+     * @param initialCapacity initial capacity in bytes
+     */
+    public SegmentedByteBuffer(final DirectBufferPool pool, final long initialCapacity) {
+        AssertUtils.notNull("pool", pool);
+        AssertUtils.gtEqThanZero("initialCapacity", initialCapacity);
+        this.pool = pool;
+        segmentSize = pool.getSegmentSize();
+        segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        segmentMask = segmentSize - 1;
+        ensureCapacity(initialCapacity);
+        limit = capacityBytes();
+    }
+
+    /**
+     * Returns the segments views of the given byte range without copying, e.g. to be used for gathering writes. The
+     * views share the content but have independent positions and limits.
+     *
+     * @param from first byte (inclusive)
+     * @param to last byte (exclusive)
+     * @return array of native-order buffer views covering the requested range
+     */
+    public ByteBuffer[] asByteBuffers(final long from, final long to) {
+        if (from < 0 || from > to || to > capacityBytes()) {
+            throw new IllegalArgumentException(String.format("invalid range: [from=%d, to=%d, capacity=%d]", from, to,
+                    capacityBytes()));
+        }
+        if (from == to) {
+            return new ByteBuffer[0];
+        }
+        final int first = (int) (from >>> segmentShift);
+        final int last = (int) ((to - 1) >>> segmentShift);
+        final ByteBuffer[] views = new ByteBuffer[last - first + 1];
+        for (int i = first; i <= last; i++) {
+            final int start = i == first ? (int) (from & segmentMask) : 0;
+            final int end = i == last ? (int) ((to - 1) & segmentMask) + 1 : segmentSize;
+            final ByteBuffer view = segments[i].duplicate();
+            view.limit(end).position(start);
+            views[i - first] = view.slice().order(NATIVE_ORDER);
+        }
+        return views;
+    }
+
+    @Override
+    public int capacity() {
+        return (int) Math.min(Integer.MAX_VALUE, capacityBytes());
+    }
+
+    @Override
+    public IoBuffer clear() {
+        position = 0;
+        limit = capacityBytes();
+        return this;
+    }
+
+    /**
+     * returns all segments to the pool. The buffer may be used again afterwards (with zero initial capacity).
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < nSegments; i++) {
+            pool.release(segments[i]);
+            segments[i] = null;
+        }
+        nSegments = 0;
+        position = 0;
+        limit = 0;
+    }
+
+    @Override
+    public IoBuffer ensureAdditionalCapacity(final long capacity) {
+        return ensureCapacity(position + capacity);
+    }
+
+    @Override
+    public IoBuffer ensureCapacity(final long capacity) {
+        if (capacity <= capacityBytes()) {
+            return this;
+        }
+        // N.B. an explicitly set (read) limit is preserved, only a limit at the old capacity grows with the buffer
+        final boolean limitAtCapacity = limit == capacityBytes();
+        final int required = (int) ((capacity + segmentMask) >>> segmentShift);
+        if (required > segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(required, 2 * segments.length));
+        }
+        while (nSegments < required) {
+            segments[nSegments++] = pool.acquire();
+        }
+        if (limitAtCapacity) {
+            limit = capacityBytes();
+        }
+        return this;
+    }
+
+    /**
+     * Forces the buffer to contain the given number of bytes. Since the content is never moved, all data within the
+     * retained segments is preserved independent of {@code preserve}.
+     */
+    @Override
+    public IoBuffer forceCapacity(final long length, final long preserve) {
+        if (length > capacityBytes()) {
+            return ensureCapacity(length);
+        }
+        releaseSegmentsAbove(length);
+        return this;
+    }
+
+    /**
+     * @return the pool the segments are obtained from
+     */
+    public DirectBufferPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @return number of currently held segments
+     */
+    public int getSegmentCount() {
+        return nSegments;
+    }
+
+    @Override
+    public boolean getBoolean() {
+        return getByte() != 0;
+    }
+
+    @Override
+    public boolean[] getBooleanArray(final boolean[] dst, final long offset, final int length) {
+        final int arraySize = getInt();
+        final boolean[] values = dst == null ? new boolean[arraySize + (int) offset] : dst;
+        final int nElements = dst == null ? arraySize : Math.min(arraySize, length);
+        final int end = (int) offset + nElements;
+        for (int i = (int) offset; i < end; i++) {
+            values[i] = getByte() != 0;
+        }
+        position += (arraySize - nElements) * SIZE_OF_BOOLEAN; // skip elements that do not fit into 'dst'
+        return values;
+    }
+
+    @Override
+    public byte getByte() {
+        final byte value = segments[(int) (position >>> segmentShift)].get((int) (position & segmentMask));
+        position += SIZE_OF_BYTE;
+        return value;
+    }
+
+    @Override
+    public byte[] getByteArray(final byte[] dst, final long offset, final int length) {
+        final int arraySize = getInt();
+        final byte[] values = dst == null ? new byte[arraySize + (int) offset] : dst;
+        final int nElements = dst == null ? arraySize : Math.min(arraySize, length);
+        getBytes(values, (int) offset, nElements);
+        position += (arraySize - nElements) * SIZE_OF_BYTE; // skip elements that do not fit into 'dst'
+        return values;
+    }
+
+    @Override
+    public char getChar() {
+        final int offset = (int) (position & segmentMask);
+        final char value = offset + SIZE_OF_CHAR <= segmentSize
+                                   ? segments[(int) (position >>> segmentShift)].getChar(offset)
+                                   : readStraddling(SIZE_OF_CHAR).getChar(0);
+        position += SIZE_OF_CHAR;
+        return value;
+    }
+
+    @Override
+    public char[] getCharArray(final char[] dst, final long offset, final int length) {
+        final int arraySize = getInt();
+        final char[] values = dst == null ? new char[arraySize + (int) offset] : dst;
+        final int nElements = dst == null ? arraySize : Math.min(arraySize, length);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_CHAR);
+            final int count = chunk.remaining() / (int) SIZE_OF_CHAR;
+            if (count == 0) {
+                values[index++] = getChar(); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asCharBuffer().get(values, index, count);
+            position += count * SIZE_OF_CHAR;
+            index += count;
+            remaining -= count;
+        }
+        position += (arraySize - nElements) * SIZE_OF_CHAR; // skip elements that do not fit into 'dst'
+        return values;
+    }
+
+    @Override
+    public double getDouble() {
+        final int offset = (int) (position & segmentMask);
+        final double value = offset + SIZE_OF_DOUBLE <= segmentSize
+                                   ? segments[(int) (position >>> segmentShift)].getDouble(offset)
+                                   : readStraddling(SIZE_OF_DOUBLE).getDouble(0);
+        position += SIZE_OF_DOUBLE;
+        return value;
+    }
+
+    @Override
+    public double[] getDoubleArray(final double[] dst, final long offset, final int length) {
+        final int arraySize = getInt();
+        final double[] values = dst == null ? new double[arraySize + (int) offset] : dst;
+        final int nElements = dst == null ? arraySize : Math.min(arraySize, length);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_DOUBLE);
+            final int count = chunk.remaining() / (int) SIZE_OF_DOUBLE;
+            if (count == 0) {
+                values[index++] = getDouble(); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asDoubleBuffer().get(values, index, count);
+            position += count * SIZE_OF_DOUBLE;
+            index += count;
+            remaining -= count;
+        }
+        position += (arraySize - nElements) * SIZE_OF_DOUBLE; // skip elements that do not fit into 'dst'
+        return values;
+    }
+
+    @Override
+    public float getFloat() {
+        final int offset = (int) (position & segmentMask);
+        final float value = offset + SIZE_OF_FLOAT <= segmentSize
+                                   ? segments[(int) (position >>> segmentShift)].getFloat(offset)
+                                   : readStraddling(SIZE_OF_FLOAT).getFloat(0);
+        position += SIZE_OF_FLOAT;
+        return value;
+    }
+
+    @Override
+    public float[] getFloatArray(final float[] dst, final long offset, final int length) {
+        final int arraySize = getInt();
+        final float[] values = dst == null ? new float[arraySize + (int) offset] : dst;
+        final int nElements = dst == null ? arraySize : Math.min(arraySize, length);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_FLOAT);
+            final int count = chunk.remaining() / (int) SIZE_OF_FLOAT;
+            if (count == 0) {
+                values[index++] = getFloat(); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asFloatBuffer().get(values, index, count);
+            position += count * SIZE_OF_FLOAT;
+            index += count;
+            remaining -= count;
+        }
+        position += (arraySize - nElements) * SIZE_OF_FLOAT; // skip elements that do not fit into 'dst'
+        return values;
+    }
+
+    @Override
+    public int getInt() {
+        final int offset = (int) (position & segmentMask);
+        final int value = offset + SIZE_OF_INT <= segmentSize
+                                   ? segments[(int) (position >>> segmentShift)].getInt(offset)
+                                   : readStraddling(SIZE_OF_INT).getInt(0);
+        position += SIZE_OF_INT;
+        return value;
+    }
+
+    @Override
+    public int[] getIntArray(final int[] dst, final long offset, final int length) {
+        final int arraySize = getInt();
+        final int[] values = dst == null ? new int[arraySize + (int) offset] : dst;
+        final int nElements = dst == null ? arraySize : Math.min(arraySize, length);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_INT);
+            final int count = chunk.remaining() / (int) SIZE_OF_INT;
+            if (count == 0) {
+                values[index++] = getInt(); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asIntBuffer().get(values, index, count);
+            position += count * SIZE_OF_INT;
+            index += count;
+            remaining -= count;
+        }
+        position += (arraySize - nElements) * SIZE_OF_INT; // skip elements that do not fit into 'dst'
+        return values;
+    }
+
+    @Override
+    public long getLong() {
+        final int offset = (int) (position & segmentMask);
+        final long value = offset + SIZE_OF_LONG <= segmentSize
+                                   ? segments[(int) (position >>> segmentShift)].getLong(offset)
+                                   : readStraddling(SIZE_OF_LONG).getLong(0);
+        position += SIZE_OF_LONG;
+        return value;
+    }
+
+    @Override
+    public long[] getLongArray(final long[] dst, final long offset, final int length) {
+        final int arraySize = getInt();
+        final long[] values = dst == null ? new long[arraySize + (int) offset] : dst;
+        final int nElements = dst == null ? arraySize : Math.min(arraySize, length);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_LONG);
+            final int count = chunk.remaining() / (int) SIZE_OF_LONG;
+            if (count == 0) {
+                values[index++] = getLong(); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asLongBuffer().get(values, index, count);
+            position += count * SIZE_OF_LONG;
+            index += count;
+            remaining -= count;
+        }
+        position += (arraySize - nElements) * SIZE_OF_LONG; // skip elements that do not fit into 'dst'
+        return values;
+    }
+
+    @Override
+    public short getShort() {
+        final int offset = (int) (position & segmentMask);
+        final short value = offset + SIZE_OF_SHORT <= segmentSize
+                                   ? segments[(int) (position >>> segmentShift)].getShort(offset)
+                                   : readStraddling(SIZE_OF_SHORT).getShort(0);
+        position += SIZE_OF_SHORT;
+        return value;
+    }
+
+    @Override
+    public short[] getShortArray(final short[] dst, final long offset, final int length) {
+        final int arraySize = getInt();
+        final short[] values = dst == null ? new short[arraySize + (int) offset] : dst;
+        final int nElements = dst == null ? arraySize : Math.min(arraySize, length);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_SHORT);
+            final int count = chunk.remaining() / (int) SIZE_OF_SHORT;
+            if (count == 0) {
+                values[index++] = getShort(); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asShortBuffer().get(values, index, count);
+            position += count * SIZE_OF_SHORT;
+            index += count;
+            remaining -= count;
+        }
+        position += (arraySize - nElements) * SIZE_OF_SHORT; // skip elements that do not fit into 'dst'
+        return values;
+    }
+
+    @Override
+    public String getString() {
+        final int arraySize = getInt() - 1; // for C++ zero terminated string
+        final byte[] values = new byte[arraySize];
+        getBytes(values, 0, arraySize);
+        position += SIZE_OF_BYTE; // For C++ zero terminated string
+        return new String(values); // NOPMD - same encoding as FastByteBuffer
+    }
+
+    @Override
+    public String[] getStringArray(final String[] dst, final long offset, final int length) {
+        final int arraySize = getInt();
+        final String[] values = dst == null ? new String[arraySize] : dst;
+        final int size = dst == null ? arraySize : Math.min(arraySize, length);
+        for (int k = 0; k < size; k++) {
+            values[k + (int) offset] = getString();
+        }
+        for (int k = size; k < arraySize; k++) {
+            getString(); // skip elements that do not fit into 'dst'
+        }
+        return values;
+    }
+
+    @Override
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    @Override
+    public long limit() {
+        return limit;
+    }
+
+    @Override
+    public IoBuffer limit(final int newLimit) {
+        if ((newLimit > capacityBytes()) || (newLimit < 0)) {
+            throw new IllegalArgumentException(String.format("invalid newLimit: [0, position: %d, newLimit:%d, %d]",
+                    position, newLimit, capacityBytes()));
+        }
+        limit = newLimit;
+        if (position > limit) {
+            position = limit;
+        }
+        return this;
+    }
+
+    @Override
+    public ReadWriteLock lock() {
+        return lock;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public IoBuffer position(final long newPosition) {
+        if ((newPosition > limit) || (newPosition < 0)) {
+            throw new IllegalArgumentException(
+                    String.format("invalid newPosition: [0, newPosition=%d, limit:%d]", newPosition, limit));
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public IoBuffer putBoolean(final boolean value) {
+        return putByte((byte) (value ? 1 : 0));
+    }
+
+    @Override
+    public IoBuffer putBooleanArray(final boolean[] values, final long offset, final int nToCopy) {
+        final int nElements = nToCopy > 0 ? Math.min(nToCopy, values.length) : values.length;
+        ensureAdditionalCapacity(SIZE_OF_INT + nElements * SIZE_OF_BOOLEAN);
+        putInt(nElements);
+        final int end = (int) offset + nElements;
+        for (int i = (int) offset; i < end; i++) {
+            putByte((byte) (values[i] ? 1 : 0));
+        }
+        return this;
+    }
+
+    @Override
+    public IoBuffer putByte(final byte value) {
+        ensureAdditionalCapacity(SIZE_OF_BYTE);
+        segments[(int) (position >>> segmentShift)].put((int) (position & segmentMask), value);
+        position += SIZE_OF_BYTE;
+        return this;
+    }
+
+    @Override
+    public IoBuffer putByteArray(final byte[] values, final long offset, final int nToCopy) {
+        final int nElements = nToCopy > 0 ? Math.min(nToCopy, values.length) : values.length;
+        ensureAdditionalCapacity(SIZE_OF_INT + nElements * SIZE_OF_BYTE);
+        putInt(nElements);
+        putBytes(values, (int) offset, nElements);
+        return this;
+    }
+
+    @Override
+    public IoBuffer putChar(final char value) {
+        ensureAdditionalCapacity(SIZE_OF_CHAR);
+        final int offset = (int) (position & segmentMask);
+        if (offset + SIZE_OF_CHAR <= segmentSize) {
+            segments[(int) (position >>> segmentShift)].putChar(offset, value);
+        } else {
+            scratch.putChar(0, value);
+            writeStraddling(SIZE_OF_CHAR);
+        }
+        position += SIZE_OF_CHAR;
+        return this;
+    }
+
+    @Override
+    public IoBuffer putCharArray(final char[] values, final long offset, final int nToCopy) {
+        final int nElements = nToCopy > 0 ? Math.min(nToCopy, values.length) : values.length;
+        ensureAdditionalCapacity(SIZE_OF_INT + nElements * SIZE_OF_CHAR);
+        putInt(nElements);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_CHAR);
+            final int count = chunk.remaining() / (int) SIZE_OF_CHAR;
+            if (count == 0) {
+                putChar(values[index++]); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asCharBuffer().put(values, index, count);
+            position += count * SIZE_OF_CHAR;
+            index += count;
+            remaining -= count;
+        }
+        return this;
+    }
+
+    @Override
+    public IoBuffer putDouble(final double value) {
+        ensureAdditionalCapacity(SIZE_OF_DOUBLE);
+        final int offset = (int) (position & segmentMask);
+        if (offset + SIZE_OF_DOUBLE <= segmentSize) {
+            segments[(int) (position >>> segmentShift)].putDouble(offset, value);
+        } else {
+            scratch.putDouble(0, value);
+            writeStraddling(SIZE_OF_DOUBLE);
+        }
+        position += SIZE_OF_DOUBLE;
+        return this;
+    }
+
+    @Override
+    public IoBuffer putDoubleArray(final double[] values, final long offset, final int nToCopy) {
+        final int nElements = nToCopy > 0 ? Math.min(nToCopy, values.length) : values.length;
+        ensureAdditionalCapacity(SIZE_OF_INT + nElements * SIZE_OF_DOUBLE);
+        putInt(nElements);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_DOUBLE);
+            final int count = chunk.remaining() / (int) SIZE_OF_DOUBLE;
+            if (count == 0) {
+                putDouble(values[index++]); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asDoubleBuffer().put(values, index, count);
+            position += count * SIZE_OF_DOUBLE;
+            index += count;
+            remaining -= count;
+        }
+        return this;
+    }
+
+    @Override
+    public IoBuffer putFloat(final float value) {
+        ensureAdditionalCapacity(SIZE_OF_FLOAT);
+        final int offset = (int) (position & segmentMask);
+        if (offset + SIZE_OF_FLOAT <= segmentSize) {
+            segments[(int) (position >>> segmentShift)].putFloat(offset, value);
+        } else {
+            scratch.putFloat(0, value);
+            writeStraddling(SIZE_OF_FLOAT);
+        }
+        position += SIZE_OF_FLOAT;
+        return this;
+    }
+
+    @Override
+    public IoBuffer putFloatArray(final float[] values, final long offset, final int nToCopy) {
+        final int nElements = nToCopy > 0 ? Math.min(nToCopy, values.length) : values.length;
+        ensureAdditionalCapacity(SIZE_OF_INT + nElements * SIZE_OF_FLOAT);
+        putInt(nElements);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_FLOAT);
+            final int count = chunk.remaining() / (int) SIZE_OF_FLOAT;
+            if (count == 0) {
+                putFloat(values[index++]); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asFloatBuffer().put(values, index, count);
+            position += count * SIZE_OF_FLOAT;
+            index += count;
+            remaining -= count;
+        }
+        return this;
+    }
+
+    @Override
+    public IoBuffer putInt(final int value) {
+        ensureAdditionalCapacity(SIZE_OF_INT);
+        final int offset = (int) (position & segmentMask);
+        if (offset + SIZE_OF_INT <= segmentSize) {
+            segments[(int) (position >>> segmentShift)].putInt(offset, value);
+        } else {
+            scratch.putInt(0, value);
+            writeStraddling(SIZE_OF_INT);
+        }
+        position += SIZE_OF_INT;
+        return this;
+    }
+
+    @Override
+    public IoBuffer putIntArray(final int[] values, final long offset, final int nToCopy) {
+        final int nElements = nToCopy > 0 ? Math.min(nToCopy, values.length) : values.length;
+        ensureAdditionalCapacity(SIZE_OF_INT + nElements * SIZE_OF_INT);
+        putInt(nElements);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_INT);
+            final int count = chunk.remaining() / (int) SIZE_OF_INT;
+            if (count == 0) {
+                putInt(values[index++]); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asIntBuffer().put(values, index, count);
+            position += count * SIZE_OF_INT;
+            index += count;
+            remaining -= count;
+        }
+        return this;
+    }
+
+    @Override
+    public IoBuffer putLong(final long value) {
+        ensureAdditionalCapacity(SIZE_OF_LONG);
+        final int offset = (int) (position & segmentMask);
+        if (offset + SIZE_OF_LONG <= segmentSize) {
+            segments[(int) (position >>> segmentShift)].putLong(offset, value);
+        } else {
+            scratch.putLong(0, value);
+            writeStraddling(SIZE_OF_LONG);
+        }
+        position += SIZE_OF_LONG;
+        return this;
+    }
+
+    @Override
+    public IoBuffer putLongArray(final long[] values, final long offset, final int nToCopy) {
+        final int nElements = nToCopy > 0 ? Math.min(nToCopy, values.length) : values.length;
+        ensureAdditionalCapacity(SIZE_OF_INT + nElements * SIZE_OF_LONG);
+        putInt(nElements);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_LONG);
+            final int count = chunk.remaining() / (int) SIZE_OF_LONG;
+            if (count == 0) {
+                putLong(values[index++]); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asLongBuffer().put(values, index, count);
+            position += count * SIZE_OF_LONG;
+            index += count;
+            remaining -= count;
+        }
+        return this;
+    }
+
+    @Override
+    public IoBuffer putShort(final short value) {
+        ensureAdditionalCapacity(SIZE_OF_SHORT);
+        final int offset = (int) (position & segmentMask);
+        if (offset + SIZE_OF_SHORT <= segmentSize) {
+            segments[(int) (position >>> segmentShift)].putShort(offset, value);
+        } else {
+            scratch.putShort(0, value);
+            writeStraddling(SIZE_OF_SHORT);
+        }
+        position += SIZE_OF_SHORT;
+        return this;
+    }
+
+    @Override
+    public IoBuffer putShortArray(final short[] values, final long offset, final int nToCopy) {
+        final int nElements = nToCopy > 0 ? Math.min(nToCopy, values.length) : values.length;
+        ensureAdditionalCapacity(SIZE_OF_INT + nElements * SIZE_OF_SHORT);
+        putInt(nElements);
+        int index = (int) offset;
+        int remaining = nElements;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining * SIZE_OF_SHORT);
+            final int count = chunk.remaining() / (int) SIZE_OF_SHORT;
+            if (count == 0) {
+                putShort(values[index++]); // element straddles two segments
+                remaining--;
+                continue;
+            }
+            chunk.asShortBuffer().put(values, index, count);
+            position += count * SIZE_OF_SHORT;
+            index += count;
+            remaining -= count;
+        }
+        return this;
+    }
+
+    @Override
+    public IoBuffer putString(final String string) {
+        final int strLength = string == null ? 0 : string.length();
+        ensureAdditionalCapacity(SIZE_OF_INT + strLength + SIZE_OF_BYTE);
+        putInt(strLength + 1); // for C++ zero terminated string
+        for (int i = 0; i < strLength; ++i) {
+            putByte((byte) string.charAt(i));
+        }
+        putByte((byte) 0); // For C++ zero terminated string
+        return this;
+    }
+
+    @Override
+    public IoBuffer putStringArray(final String[] values, final long offset, final int nToCopy) {
+        final int nElements = nToCopy > 0 ? Math.min(nToCopy, values.length) : values.length;
+        putInt(nElements);
+        for (int k = 0; k < nElements; k++) {
+            putString(values[k + (int) offset]);
+        }
+        return this;
+    }
+
+    /**
+     * Reads exactly {@code nBytes} from the channel into the start of this buffer (growing it if necessary) without
+     * intermediate copies. Afterwards, the position is set to zero and the limit to the number of bytes read.
+     *
+     * @param channel the source channel
+     * @param nBytes number of bytes to read
+     * @return number of bytes read (N.B. less than {@code nBytes} if the end-of-stream has been reached)
+     * @throws IOException in case of channel read errors
+     */
+    public long readFrom(final ReadableByteChannel channel, final long nBytes) throws IOException {
+        AssertUtils.notNull("channel", channel);
+        AssertUtils.gtEqThanZero("nBytes", nBytes);
+        clear();
+        ensureCapacity(nBytes);
+        long nRead = 0;
+        for (final ByteBuffer view : asByteBuffers(0, nBytes)) {
+            while (view.hasRemaining()) {
+                final int n = channel.read(view);
+                if (n < 0) {
+                    limit = nRead;
+                    return nRead;
+                }
+                nRead += n;
+            }
+        }
+        limit = nRead;
+        return nRead;
+    }
+
+    @Override
+    public long remaining() {
+        return limit - position;
+    }
+
+    @Override
+    public IoBuffer reset() {
+        position = 0;
+        limit = capacityBytes();
+        return this;
+    }
+
+    /**
+     * Returns unused segments (ie. beyond the current position) to the pool.
+     */
+    @Override
+    public IoBuffer trim() {
+        releaseSegmentsAbove(position);
+        return this;
+    }
+
+    /**
+     * Returns segments beyond {@code max(requestedCapacity, position())} to the pool.
+     */
+    @Override
+    public IoBuffer trim(final int requestedCapacity) {
+        releaseSegmentsAbove(Math.max(requestedCapacity, position));
+        return this;
+    }
+
+    /**
+     * Writes the content between zero and the current position to the channel without intermediate copies (using a
+     * gathering write if supported by the channel).
+     *
+     * @param channel the destination channel
+     * @return number of bytes written
+     * @throws IOException in case of channel write errors
+     */
+    public long writeTo(final WritableByteChannel channel) throws IOException {
+        AssertUtils.notNull("channel", channel);
+        final ByteBuffer[] views = asByteBuffers(0, position);
+        long nWritten = 0;
+        if (channel instanceof GatheringByteChannel) {
+            final GatheringByteChannel gatheringChannel = (GatheringByteChannel) channel;
+            while (nWritten < position) {
+                nWritten += gatheringChannel.write(views);
+            }
+            return nWritten;
+        }
+        for (final ByteBuffer view : views) {
+            while (view.hasRemaining()) {
+                nWritten += channel.write(view);
+            }
+        }
+        return nWritten;
+    }
+
+    private long capacityBytes() {
+        return (long) nSegments << segmentShift;
+    }
+
+    /**
+     * @param nBytes maximum number of bytes
+     * @return native-order view of the segment at the current position covering at most {@code nBytes}
+     */
+    private ByteBuffer chunk(final long nBytes) {
+        final int offset = (int) (position & segmentMask);
+        final ByteBuffer view = segments[(int) (position >>> segmentShift)].duplicate();
+        view.limit((int) Math.min(segmentSize, offset + nBytes)).position(offset);
+        return view.slice().order(NATIVE_ORDER);
+    }
+
+    private void getBytes(final byte[] values, final int offset, final int nBytes) {
+        int index = offset;
+        int remaining = nBytes;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining);
+            final int count = chunk.remaining();
+            chunk.get(values, index, count);
+            position += count;
+            index += count;
+            remaining -= count;
+        }
+    }
+
+    private void putBytes(final byte[] values, final int offset, final int nBytes) {
+        int index = offset;
+        int remaining = nBytes;
+        while (remaining > 0) {
+            final ByteBuffer chunk = chunk(remaining);
+            final int count = chunk.remaining();
+            chunk.put(values, index, count);
+            position += count;
+            index += count;
+            remaining -= count;
+        }
+    }
+
+    private ByteBuffer readStraddling(final long nBytes) {
+        for (int i = 0; i < nBytes; i++) {
+            final long pos = position + i;
+            scratch.put(i, segments[(int) (pos >>> segmentShift)].get((int) (pos & segmentMask)));
+        }
+        return scratch;
+    }
+
+    private void releaseSegmentsAbove(final long length) {
+        final int required = (int) ((length + segmentMask) >>> segmentShift);
+        while (nSegments > required) {
+            pool.release(segments[--nSegments]);
+            segments[nSegments] = null;
+        }
+        limit = Math.min(limit, capacityBytes());
+        position = Math.min(position, limit);
+    }
+
+    private void writeStraddling(final long nBytes) {
+        for (int i = 0; i < nBytes; i++) {
+            final long pos = position + i;
+            segments[(int) (pos >>> segmentShift)].put((int) (pos & segmentMask), scratch.get(i));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package de.gsi.dataset.serializer.spi.archive;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Descriptor and statistics of a single chunk within a {@link DataSetArchiveWriter DataSet archive}.
+ * <p>
+ * Each chunk is stored as a prefix (in native byte-order) of the 4-byte stream length and the 4-byte CRC-32 checksum of
+ * the stream, followed by a complete
+ * {@link de.gsi.dataset.serializer.spi.BinarySerialiser BinarySerialiser} stream containing the chunk statistics
+ * ({@link #CHUNK_COUNT}, {@link #CHUNK_COLUMNS}, {@link #CHUNK_MIN}, {@link #CHUNK_MAX}) followed by one array field
+ * per column (e.g. {@link #COLUMN_X}, {@link #COLUMN_Y}, ...).
+ */
+public final class ArchiveChunk {
+    public static final String DATA_SET_NAME = "dataSetName";
+    public static final String CHUNK_COUNT = "chunk.count";
+    public static final String CHUNK_COLUMNS = "chunk.columns";
+    public static final String CHUNK_MIN = "chunk.min";
+    public static final String CHUNK_MAX = "chunk.max";
+    public static final String COLUMN_X = "x";
+    public static final String COLUMN_Y = "y";
+    public static final String COLUMN_EYN = "yen";
+    public static final String COLUMN_EYP = "yep";
+    /** size of the chunk prefix (stream length and CRC-32 checksum) in bytes */
+    public static final int PREFIX_SIZE = 2 * Integer.BYTES;
+    /** offset of the CRC-32 checksum within the chunk prefix */
+    public static final int CHECKSUM_OFFSET = Integer.BYTES;
+    private final long offset;
+    private final int byteLength;
+    private final int dataCount;
+    private final List<String> columnNames;
+    private final double[] min;
+    private final double[] max;
+
+    ArchiveChunk(final long offset, final int byteLength, final int dataCount, final String[] columnNames,
+            final double[] min, final double[] max) {
+        if (columnNames.length != min.length || columnNames.length != max.length) {
+            throw new IllegalStateException("inconsistent chunk statistics at offset " + offset);
+        }
+        this.offset = offset;
+        this.byteLength = byteLength;
+        this.dataCount = dataCount;
+        this.columnNames = Collections.unmodifiableList(Arrays.asList(columnNames));
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @return length of the serialised chunk stream in bytes (excluding the prefix)
+     */
+    public int getByteLength() {
+        return byteLength;
+    }
+
+    /**
+     * @return names of the stored columns
+     */
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * @return number of samples stored in this chunk
+     */
+    public int getDataCount() {
+        return dataCount;
+    }
+
+    /**
+     * @param columnName the column name
+     * @return maximum (finite) value of the given column, NaN if none
+     */
+    public double getMax(final String columnName) {
+        return max[getColumnIndex(columnName)];
+    }
+
+    /**
+     * @param columnName the column name
+     * @return minimum (finite) value of the given column, NaN if none
+     */
+    public double getMin(final String columnName) {
+        return min[getColumnIndex(columnName)];
+    }
+
+    /**
+     * @return file offset of the chunk (ie. of its prefix)
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return largest (ie. last) x coordinate of this chunk
+     */
+    public double getXMax() {
+        return getMax(COLUMN_X);
+    }
+
+    /**
+     * @return smallest (ie. first) x coordinate of this chunk
+     */
+    public double getXMin() {
+        return getMin(COLUMN_X);
+    }
+
+    /**
+     * @param xMin lower range limit (inclusive)
+     * @param xMax upper range limit (inclusive)
+     * @return {@code true} if the chunk contains samples within [xMin, xMax]
+     */
+    public boolean overlaps(final double xMin, final double xMax) {
+        return getXMax() >= xMin && getXMin() <= xMax;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchiveChunk [offset=" + offset + ", byteLength=" + byteLength + ", dataCount=" + dataCount
+                + ", x=[" + getXMin() + ", " + getXMax() + "]]";
+    }
+
+    private int getColumnIndex(final String columnName) {
+        final int index = columnNames.indexOf(columnName);
+        if (index < 0) {
+            throw new IllegalArgumentException("unknown column '" + columnName + "' - available: " + columnNames);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,321 @@
+package de.gsi.dataset.serializer.spi.archive;
+
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.CHECKSUM_OFFSET;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.CHUNK_COLUMNS;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.CHUNK_COUNT;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.CHUNK_MAX;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.CHUNK_MIN;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.COLUMN_EYN;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.COLUMN_EYP;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.COLUMN_X;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.COLUMN_Y;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.DATA_SET_NAME;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.PREFIX_SIZE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.ByteBuffer;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.FieldIndex;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Random-access reader for DataSet archives written by {@link DataSetArchiveWriter}.
+ * <p>
+ * On opening (and {@link #refresh()}), only the chunk statistics are read to build the in-memory chunk index. The
+ * chunks themselves are memory-mapped and decoded on demand, ie. {@link #readRange(double, double)} touches only the
+ * chunks whose x-range overlaps the requested interval (located via binary search on the chunk index). Each chunk is
+ * verified against its CRC-32 checksum: a corrupt trailing chunk is treated as torn (ie. still being written or
+ * interrupted by a crash) and ignored, while corrupt chunks followed by further data are reported as error.
+ */
+public class DataSetArchiveReader implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetArchiveReader.class);
+    private final Path file;
+    private final FileChannel channel;
+    private final List<ArchiveChunk> chunks = new ArrayList<>();
+    private final java.nio.ByteBuffer prefixBuffer = java.nio.ByteBuffer.allocate(PREFIX_SIZE)
+                                                             .order(ByteOrder.nativeOrder());
+    private long validByteLength;
+    private long dataCount;
+    private String name;
+
+    /**
+     * @param file the archive file
+     * @throws IOException in case the file cannot be opened or read
+     */
+    public DataSetArchiveReader(final Path file) throws IOException {
+        AssertUtils.notNull("file", file);
+        this.file = file;
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        refresh();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @return all complete chunks in x-order
+     */
+    public List<ArchiveChunk> getChunks() {
+        return Collections.unmodifiableList(chunks);
+    }
+
+    /**
+     * @param xMin lower range limit (inclusive)
+     * @param xMax upper range limit (inclusive)
+     * @return chunks overlapping the range [xMin, xMax]
+     */
+    public List<ArchiveChunk> getChunks(final double xMin, final double xMax) {
+        if (!(xMin <= xMax)) {
+            throw new IllegalArgumentException("invalid range [" + xMin + ", " + xMax + "]");
+        }
+        // first chunk with xMax >= requested xMin
+        int low = 0;
+        int high = chunks.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (chunks.get(mid).getXMax() < xMin) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int end = low;
+        while (end < chunks.size() && chunks.get(end).getXMin() <= xMax) {
+            end++;
+        }
+        return Collections.unmodifiableList(chunks.subList(low, end));
+    }
+
+    /**
+     * @return total number of archived samples
+     */
+    public long getDataCount() {
+        return dataCount;
+    }
+
+    /**
+     * @return name of the archived DataSet or {@code null} if the archive is empty
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of bytes covered by complete chunks
+     */
+    public long getValidByteLength() {
+        return validByteLength;
+    }
+
+    /**
+     * reads all samples with xMin &lt;= x &lt;= xMax
+     *
+     * @param xMin lower range limit (inclusive)
+     * @param xMax upper range limit (inclusive)
+     * @return new DataSet containing the samples within the range ({@link DoubleErrorDataSet} if the archive contains
+     *         error columns, {@link DoubleDataSet} otherwise)
+     * @throws IOException in case the archive cannot be read
+     */
+    public DataSet readRange(final double xMin, final double xMax) throws IOException {
+        final List<ArchiveChunk> selected = getChunks(xMin, xMax);
+        long maxSamples = 0;
+        for (final ArchiveChunk chunk : selected) {
+            maxSamples += chunk.getDataCount();
+        }
+        if (maxSamples > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("range [" + xMin + ", " + xMax + "] exceeds maximum DataSet size");
+        }
+        final boolean hasErrors = !selected.isEmpty() && selected.get(0).getColumnNames().contains(COLUMN_EYN);
+        final String[] columnNames = hasErrors ? new String[] { COLUMN_X, COLUMN_Y, COLUMN_EYN, COLUMN_EYP }
+                                               : new String[] { COLUMN_X, COLUMN_Y };
+        final double[][] columns = new double[columnNames.length][(int) maxSamples];
+
+        int nSamples = 0;
+        for (final ArchiveChunk chunk : selected) {
+            final IoBuffer buffer = new ByteBuffer(map(chunk.getOffset(), chunk.getByteLength()));
+            BinarySerialiser.checkHeaderInfo(buffer);
+            final FieldIndex index = FieldIndex.read(buffer, 0);
+            final double[] xValues = getDoubleArray(buffer, index, COLUMN_X);
+            final int from = lowerBound(xValues, xMin);
+            final int to = upperBound(xValues, xMax);
+            if (from >= to) {
+                continue;
+            }
+            System.arraycopy(xValues, from, columns[0], nSamples, to - from);
+            for (int column = 1; column < columnNames.length; column++) {
+                final double[] values = getDoubleArray(buffer, index, columnNames[column]);
+                System.arraycopy(values, from, columns[column], nSamples, to - from);
+            }
+            nSamples += to - from;
+        }
+
+        if (hasErrors) {
+            return new DoubleErrorDataSet(name, columns[0], columns[1], columns[2], columns[3], nSamples, false);
+        }
+        return new DoubleDataSet(name, columns[0], columns[1], nSamples, false);
+    }
+
+    /**
+     * scans the archive for chunks that have been appended since the last call
+     *
+     * @return number of newly found chunks
+     * @throws IOException in case the archive cannot be read
+     */
+    public int refresh() throws IOException {
+        int nNewChunks = 0;
+        final long fileSize = channel.size();
+        while (validByteLength + PREFIX_SIZE <= fileSize) {
+            prefixBuffer.clear();
+            while (prefixBuffer.hasRemaining()) {
+                if (channel.read(prefixBuffer, validByteLength + prefixBuffer.position()) < 0) {
+                    return nNewChunks;
+                }
+            }
+            final int byteLength = prefixBuffer.getInt(0);
+            if (byteLength <= 0 || validByteLength + PREFIX_SIZE + byteLength > fileSize) {
+                // incomplete (or still being written) trailing chunk
+                if (byteLength <= 0 && LOGGER.isWarnEnabled()) {
+                    LOGGER.atWarn().addArgument(file).addArgument(validByteLength)
+                            .log("archive '{}' - invalid chunk length at offset {}");
+                }
+                break;
+            }
+            final ArchiveChunk chunk = readChunk(validByteLength, byteLength, prefixBuffer.getInt(CHECKSUM_OFFSET));
+            if (chunk == null) {
+                if (validByteLength + PREFIX_SIZE + byteLength < fileSize) {
+                    throw new IllegalStateException("archive '" + file + "' - corrupt chunk at offset "
+                                                    + validByteLength);
+                }
+                // torn (or still being written) trailing chunk
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.atWarn().addArgument(file).addArgument(validByteLength)
+                            .log("archive '{}' - ignoring corrupt trailing chunk at offset {}");
+                }
+                break;
+            }
+            if (!chunks.isEmpty() && chunk.getXMin() < chunks.get(chunks.size() - 1).getXMax()) {
+                throw new IllegalStateException("archive '" + file + "' - chunk x-ranges are not ordered at offset "
+                                                + validByteLength);
+            }
+            chunks.add(chunk);
+            dataCount += chunk.getDataCount();
+            validByteLength += PREFIX_SIZE + byteLength;
+            nNewChunks++;
+        }
+        return nNewChunks;
+    }
+
+    private java.nio.ByteBuffer map(final long offset, final int byteLength) throws IOException {
+        final java.nio.ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset + PREFIX_SIZE, byteLength);
+        return mapped.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * @param offset file offset of the chunk
+     * @param byteLength length of the chunk stream
+     * @param checksum CRC-32 checksum of the chunk stream as stored in the chunk prefix
+     * @return the chunk descriptor or {@code null} if the chunk is corrupt
+     * @throws IOException in case the archive cannot be read
+     */
+    private ArchiveChunk readChunk(final long offset, final int byteLength, final int checksum) throws IOException {
+        final java.nio.ByteBuffer mapped = map(offset, byteLength);
+        final CRC32 crc = new CRC32();
+        crc.update(mapped.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        try {
+            return readChunk(new ByteBuffer(mapped), offset, byteLength);
+        } catch (final RuntimeException e) { // NOPMD - decoding errors of a chunk with valid checksum
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.atWarn().setCause(e).addArgument(file).addArgument(offset)
+                        .log("archive '{}' - cannot decode chunk at offset {}");
+            }
+            return null;
+        }
+    }
+
+    private ArchiveChunk readChunk(final IoBuffer buffer, final long offset, final int byteLength) {
+        BinarySerialiser.checkHeaderInfo(buffer);
+        final FieldIndex index = FieldIndex.read(buffer, 0);
+        if (name == null) {
+            getField(buffer, index, DATA_SET_NAME, DataType.STRING);
+            name = buffer.getString();
+        }
+        getField(buffer, index, CHUNK_COUNT, DataType.INT);
+        final int count = buffer.getInt();
+        getField(buffer, index, CHUNK_COLUMNS, DataType.STRING_ARRAY);
+        final String[] columnNames = buffer.getStringArray();
+        final double[] min = getDoubleArray(buffer, index, CHUNK_MIN);
+        final double[] max = getDoubleArray(buffer, index, CHUNK_MAX);
+        return new ArchiveChunk(offset, byteLength, count, columnNames, min, max);
+    }
+
+    private static double[] getDoubleArray(final IoBuffer buffer, final FieldIndex index, final String fieldName) {
+        final FieldHeader header = getField(buffer, index, fieldName, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
+        return BinarySerialiser.getDoubleArray(buffer, header);
+    }
+
+    private static FieldHeader getField(final IoBuffer buffer, final FieldIndex index, final String fieldName,
+            final DataType... dataTypes) {
+        final FieldHeader header = index.getFieldHeader(fieldName).orElseThrow(
+                () -> new IllegalStateException("corrupt archive chunk - missing field '" + fieldName + "'"));
+        for (final DataType dataType : dataTypes) {
+            if (header.getDataType().equals(dataType)) {
+                buffer.position(header.getDataBufferPosition());
+                return header;
+            }
+        }
+        throw new IllegalStateException("corrupt archive chunk - field '" + fieldName + "' has type "
+                                        + header.getDataType());
+    }
+
+    private static int lowerBound(final double[] values, final double value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(final double[] values, final double value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,276 @@
+package de.gsi.dataset.serializer.spi.archive;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.CHUNK_COLUMNS;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.CHUNK_COUNT;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.CHUNK_MAX;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.CHUNK_MIN;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.COLUMN_EYN;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.COLUMN_EYP;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.COLUMN_X;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.COLUMN_Y;
+import static de.gsi.dataset.serializer.spi.archive.ArchiveChunk.DATA_SET_NAME;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.DataSetError.ErrorType;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Append-only writer for columnar, chunked DataSet archives.
+ * <p>
+ * Appended samples are buffered and written in chunks of (at most) {@code chunkSize} samples. Each chunk stores its
+ * columns (x, y and -- if available -- the negative/positive y errors) as separate
+ * {@link de.gsi.dataset.serializer.spi.BinarySerialiser BinarySerialiser} array fields together with the per-column
+ * count and min/max statistics, see {@link ArchiveChunk}. The x coordinates need to be monotonically increasing across
+ * all appended data so that the chunk x-ranges form an index that allows {@link DataSetArchiveReader#readRange(double,
+ * double)} to read only the chunks that are needed.
+ * <p>
+ * Re-opening an existing archive continues appending after the last complete chunk (an incomplete or corrupt trailing
+ * chunk, e.g. due to a crash while writing, is discarded). N.B. like {@link FastByteBuffer} streams, archives are
+ * written in native byte-order.
+ */
+public class DataSetArchiveWriter implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetArchiveWriter.class);
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final boolean asFloat;
+    private final FastByteBuffer buffer = new FastByteBuffer();
+    private String name;
+    private String[] columnNames;
+    private double[][] pending;
+    private int nPending;
+    private double lastX = Double.NEGATIVE_INFINITY;
+
+    /**
+     * opens or creates an archive with {@link #DEFAULT_CHUNK_SIZE} samples per chunk and stored as doubles
+     *
+     * @param file the archive file
+     * @throws IOException in case the file cannot be opened
+     */
+    public DataSetArchiveWriter(final Path file) throws IOException {
+        this(file, DEFAULT_CHUNK_SIZE, false);
+    }
+
+    /**
+     * @param file the archive file
+     * @param chunkSize maximum number of samples per chunk
+     * @param asFloat {@code true}: store the columns as 32-bit floats (smaller size), or {@code false} as 64-bit doubles
+     * @throws IOException in case the file cannot be opened
+     */
+    public DataSetArchiveWriter(final Path file, final int chunkSize, final boolean asFloat) throws IOException {
+        AssertUtils.notNull("file", file);
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.asFloat = asFloat;
+
+        long validByteLength = 0;
+        if (Files.exists(file) && Files.size(file) > 0) {
+            try (DataSetArchiveReader reader = new DataSetArchiveReader(file)) {
+                validByteLength = reader.getValidByteLength();
+                if (!reader.getChunks().isEmpty()) {
+                    final ArchiveChunk last = reader.getChunks().get(reader.getChunks().size() - 1);
+                    name = reader.getName();
+                    columnNames = last.getColumnNames().toArray(new String[0]);
+                    lastX = last.getXMax();
+                }
+            }
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > validByteLength) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.atWarn().addArgument(file).addArgument(channel.size() - validByteLength)
+                        .log("archive '{}' - discarding {} bytes of incomplete trailing chunk");
+            }
+            channel.truncate(validByteLength);
+        }
+        channel.position(validByteLength);
+    }
+
+    /**
+     * appends all samples of the given DataSet. N.B. the first appended DataSet defines the name and stored columns of
+     * the archive.
+     *
+     * @param dataSet the data to be appended
+     * @return itself (fluent design)
+     * @throws IOException in case a chunk cannot be written
+     * @throws IllegalArgumentException if the x coordinates are not monotonically increasing w.r.t. the already
+     *             archived data or the available columns differ from the archive
+     */
+    public DataSetArchiveWriter append(final DataSet dataSet) throws IOException {
+        AssertUtils.notNull("dataSet", dataSet);
+        if (dataSet.getDimension() != 2) {
+            throw new IllegalArgumentException("only two-dimensional DataSets are supported: " + dataSet.getName());
+        }
+        final double[][] columns = dataSet.lock().readLockGuard(() -> {
+            final int nSamples = dataSet.getDataCount();
+            if (hasErrors(dataSet)) {
+                final DataSetError errorDataSet = (DataSetError) dataSet;
+                return new double[][] { Arrays.copyOf(dataSet.getValues(DIM_X), nSamples),
+                    Arrays.copyOf(dataSet.getValues(DIM_Y), nSamples),
+                    Arrays.copyOf(errorDataSet.getErrorsNegative(DIM_Y), nSamples),
+                    Arrays.copyOf(errorDataSet.getErrorsPositive(DIM_Y), nSamples) };
+            }
+            return new double[][] { Arrays.copyOf(dataSet.getValues(DIM_X), nSamples),
+                Arrays.copyOf(dataSet.getValues(DIM_Y), nSamples) };
+        });
+        final String[] dataSetColumns = columns.length == 4
+                ? new String[] { COLUMN_X, COLUMN_Y, COLUMN_EYN, COLUMN_EYP }
+                : new String[] { COLUMN_X, COLUMN_Y };
+        if (columnNames != null && !Arrays.equals(columnNames, dataSetColumns)) {
+            throw new IllegalArgumentException("DataSet columns " + Arrays.toString(dataSetColumns)
+                                               + " differ from archive columns " + Arrays.toString(columnNames));
+        }
+
+        // verify x-ordering before modifying any state
+        final double[] xValues = columns[0];
+        double previous = lastX;
+        for (int i = 0; i < xValues.length; i++) {
+            if (!(xValues[i] >= previous)) { // N.B. also rejects NaN
+                throw new IllegalArgumentException("x coordinates must be monotonically increasing - x[" + i
+                                                   + "] = " + xValues[i] + " < " + previous);
+            }
+            previous = xValues[i];
+        }
+        lastX = previous;
+        if (columnNames == null) {
+            name = dataSet.getName();
+            columnNames = dataSetColumns;
+        }
+
+        if (pending == null) {
+            pending = new double[columnNames.length][chunkSize];
+        }
+        int index = 0;
+        while (index < xValues.length) {
+            final int nCopy = Math.min(chunkSize - nPending, xValues.length - index);
+            for (int column = 0; column < columns.length; column++) {
+                System.arraycopy(columns[column], index, pending[column], nPending, nCopy);
+            }
+            nPending += nCopy;
+            index += nCopy;
+            if (nPending == chunkSize) {
+                writeChunk();
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * writes the pending samples as a (possibly partially filled) chunk and forces the file content to the storage
+     * device
+     *
+     * @return itself (fluent design)
+     * @throws IOException in case the chunk cannot be written
+     */
+    public DataSetArchiveWriter flush() throws IOException {
+        if (nPending > 0) {
+            writeChunk();
+        }
+        channel.force(false);
+        return this;
+    }
+
+    /**
+     * @return number of samples that have been appended but not yet been written to the archive
+     */
+    public int getPendingCount() {
+        return nPending;
+    }
+
+    private void writeChunk() throws IOException {
+        final double[] min = new double[columnNames.length];
+        final double[] max = new double[columnNames.length];
+        for (int column = 0; column < columnNames.length; column++) {
+            min[column] = Double.NaN;
+            max[column] = Double.NaN;
+            final double[] values = pending[column];
+            for (int i = 0; i < nPending; i++) {
+                if (asFloat) {
+                    values[i] = (float) values[i]; // statistics need to match the stored values
+                }
+                final double value = values[i];
+                if (Double.isFinite(value)) {
+                    min[column] = Double.isNaN(min[column]) ? value : Math.min(min[column], value);
+                    max[column] = Double.isNaN(max[column]) ? value : Math.max(max[column], value);
+                }
+            }
+        }
+
+        buffer.reset();
+        buffer.ensureAdditionalCapacity(ArchiveChunk.PREFIX_SIZE);
+        buffer.putInt(-1); // chunk length placeholder
+        buffer.putInt(0); // checksum placeholder
+        BinarySerialiser.putHeaderInfo(buffer);
+        BinarySerialiser.put(buffer, DATA_SET_NAME, name);
+        BinarySerialiser.put(buffer, CHUNK_COUNT, nPending);
+        BinarySerialiser.put(buffer, CHUNK_COLUMNS, columnNames);
+        BinarySerialiser.put(buffer, CHUNK_MIN, min);
+        BinarySerialiser.put(buffer, CHUNK_MAX, max);
+        final int[] dims = { nPending };
+        for (int column = 0; column < columnNames.length; column++) {
+            if (asFloat) {
+                BinarySerialiser.put(buffer, columnNames[column], toFloats(pending[column], nPending), dims);
+            } else {
+                BinarySerialiser.put(buffer, columnNames[column], pending[column], dims);
+            }
+        }
+        BinarySerialiser.putEndMarker(buffer, "OBJ_ROOT_END");
+
+        final int chunkEnd = (int) buffer.position();
+        final CRC32 checksum = new CRC32();
+        checksum.update(buffer.elements(), ArchiveChunk.PREFIX_SIZE, chunkEnd - ArchiveChunk.PREFIX_SIZE);
+        buffer.position(0);
+        buffer.putInt(chunkEnd - ArchiveChunk.PREFIX_SIZE);
+        buffer.putInt((int) checksum.getValue());
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer.elements(), 0, chunkEnd);
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+        nPending = 0;
+    }
+
+    private static boolean hasErrors(final DataSet dataSet) {
+        return dataSet instanceof DataSetError
+                && ((DataSetError) dataSet).getErrorType(DIM_Y) != ErrorType.NO_ERROR;
+    }
+
+    private static float[] toFloats(final double[] input, final int length) {
+        final float[] floats = new float[length];
+        for (int i = 0; i < length; i++) {
+            floats[i] = (float) input[i];
+        }
+        return floats;
+    }
+}
@@ -0,0 +1,58 @@
+package de.gsi.dataset.serializer.spi.codec;
+
+/**
+ * bit-granular, big-endian input stream from a byte array (counterpart of {@link BitWriter})
+ */
+final class BitReader {
+    private final byte[] data;
+    private long bitPosition;
+
+    BitReader(final byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * @param nBits number of bits [0, 64]
+     * @return the next {@code nBits} as the lowest bits of the returned value
+     */
+    long read(final int nBits) {
+        if (bitPosition + nBits > 8L * data.length) {
+            throw new IllegalStateException("read beyond end of encoded data");
+        }
+        long value = 0;
+        int remaining = nBits;
+        while (remaining > 0) {
+            final int byteIndex = (int) (bitPosition >>> 3);
+            final int available = 8 - (int) (bitPosition & 7);
+            final int n = Math.min(available, remaining);
+            final int bits = (data[byteIndex] >>> (available - n)) & ((1 << n) - 1);
+            value = (value << n) | bits;
+            bitPosition += n;
+            remaining -= n;
+        }
+        return value;
+    }
+
+    boolean readBit() {
+        return read(1) != 0;
+    }
+
+    /**
+     * @return value encoded via {@link BitWriter#writeVariable(long)}
+     */
+    long readVariable() {
+        final long zigZag;
+        if (!readBit()) {
+            return 0;
+        } else if (!readBit()) {
+            zigZag = read(7);
+        } else if (!readBit()) {
+            zigZag = read(12);
+        } else if (!readBit()) {
+            zigZag = read(20);
+        } else {
+            zigZag = read(64);
+        }
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+}
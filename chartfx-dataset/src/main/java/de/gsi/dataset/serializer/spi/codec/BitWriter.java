@@ -0,0 +1,75 @@
+package de.gsi.dataset.serializer.spi.codec;
+
+import java.util.Arrays;
+
+/**
+ * bit-granular, big-endian output stream into a growing byte array
+ */
+final class BitWriter {
+    private byte[] data;
+    private long bitPosition;
+
+    BitWriter(final int initialCapacity) {
+        data = new byte[Math.max(16, initialCapacity)];
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(data, (int) ((bitPosition + 7) >>> 3));
+    }
+
+    /**
+     * writes the lowest {@code nBits} of {@code value} (most-significant bit first)
+     *
+     * @param value value to be written
+     * @param nBits number of bits [0, 64]
+     */
+    void write(final long value, final int nBits) {
+        ensureCapacity(nBits);
+        int remaining = nBits;
+        while (remaining > 0) {
+            final int byteIndex = (int) (bitPosition >>> 3);
+            final int free = 8 - (int) (bitPosition & 7);
+            final int n = Math.min(free, remaining);
+            final int bits = (int) (value >>> (remaining - n)) & ((1 << n) - 1);
+            data[byteIndex] |= bits << (free - n);
+            bitPosition += n;
+            remaining -= n;
+        }
+    }
+
+    void writeBit(final boolean bit) {
+        write(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * writes a signed value using a variable-length bucket encoding favouring small magnitudes: '0' for zero,
+     * '10'+7 bits, '110'+12 bits, '1110'+20 bits, or '1111'+64 bits (zig-zag encoded)
+     *
+     * @param value value to be written
+     */
+    void writeVariable(final long value) {
+        final long zigZag = (value << 1) ^ (value >> 63);
+        if (zigZag == 0) {
+            write(0b0, 1);
+        } else if (zigZag >>> 7 == 0) {
+            write(0b10, 2);
+            write(zigZag, 7);
+        } else if (zigZag >>> 12 == 0) {
+            write(0b110, 3);
+            write(zigZag, 12);
+        } else if (zigZag >>> 20 == 0) {
+            write(0b1110, 4);
+            write(zigZag, 20);
+        } else {
+            write(0b1111, 4);
+            write(zigZag, 64);
+        }
+    }
+
+    private void ensureCapacity(final int nBits) {
+        final long required = (bitPosition + nBits + 7) >>> 3;
+        if (required > data.length) {
+            data = Arrays.copyOf(data, (int) Math.max(required, 2L * data.length));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.gsi.dataset.serializer.spi.codec;
+
+import de.gsi.dataset.serializer.ArrayCodec;
+
+/**
+ * Lossless delta-of-delta codec for monotonic (e.g. time or sample index) axes.
+ * <p>
+ * The second-order differences are computed on the raw IEEE754 bit patterns: these are linear in the value within a
+ * given binary exponent, thus equidistant axes are encoded with one bit per sample (plus the occasional exponent
+ * transition or rounding step), irrespective of the axis' numeric scale.
+ */
+public class DeltaOfDeltaCodec implements ArrayCodec {
+    public static final byte ID = 1;
+
+    @Override
+    public double[] decode(final byte[] data) {
+        final BitReader reader = new BitReader(data);
+        final double[] values = new double[(int) reader.read(Integer.SIZE)];
+        long previous = 0;
+        long delta = 0;
+        for (int i = 0; i < values.length; i++) {
+            delta += reader.readVariable();
+            previous += delta;
+            values[i] = Double.longBitsToDouble(previous);
+        }
+        return values;
+    }
+
+    @Override
+    public byte[] encode(final double[] values, final int length) {
+        final BitWriter writer = new BitWriter(length / 4 + 16);
+        writer.write(length, Integer.SIZE);
+        long previous = 0;
+        long delta = 0;
+        for (int i = 0; i < length; i++) {
+            final long bits = Double.doubleToRawLongBits(values[i]);
+            final long newDelta = bits - previous;
+            writer.writeVariable(newDelta - delta);
+            previous = bits;
+            delta = newDelta;
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public boolean isLossless() {
+        return true;
+    }
+}
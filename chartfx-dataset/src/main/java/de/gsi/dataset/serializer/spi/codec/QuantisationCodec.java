@@ -0,0 +1,115 @@
+package de.gsi.dataset.serializer.spi.codec;
+
+import de.gsi.dataset.serializer.ArrayCodec;
+
+/**
+ * Lossy codec quantising values to a fixed step size with a user-defined bounded absolute error (N.B. up to the
+ * floating-point rounding of the reconstructed values).
+ * <p>
+ * The values are mapped onto the integer grid {@code min + q * 2 * maxError} and the differences between consecutive
+ * grid indices are stored with a variable-length encoding, ie. smooth signals need only a few bits per sample.
+ * Non-finite values (NaN, infinities) are transmitted separately and are reproduced exactly.
+ */
+public class QuantisationCodec implements ArrayCodec {
+    public static final byte ID = 4;
+    public static final double DEFAULT_MAX_ERROR = 1e-6;
+    private static final double MAX_GRID_INDEX = 0x1p62;
+    private final double maxError;
+
+    /**
+     * quantisation codec with {@link #DEFAULT_MAX_ERROR}
+     */
+    public QuantisationCodec() {
+        this(DEFAULT_MAX_ERROR);
+    }
+
+    /**
+     * @param maxError maximum absolute error between the original and decoded values
+     */
+    public QuantisationCodec(final double maxError) {
+        if (!(maxError > 0.0) || !Double.isFinite(maxError)) {
+            throw new IllegalArgumentException("maxError must be positive and finite: " + maxError);
+        }
+        this.maxError = maxError;
+    }
+
+    @Override
+    public double[] decode(final byte[] data) {
+        final BitReader reader = new BitReader(data);
+        final double[] values = new double[(int) reader.read(Integer.SIZE)];
+        final double min = Double.longBitsToDouble(reader.read(Long.SIZE));
+        final double step = Double.longBitsToDouble(reader.read(Long.SIZE));
+        long gridIndex = 0;
+        for (int i = 0; i < values.length; i++) {
+            gridIndex += reader.readVariable();
+            values[i] = min + gridIndex * step;
+        }
+        final int nSpecial = (int) reader.read(Integer.SIZE);
+        for (int i = 0; i < nSpecial; i++) {
+            final int index = (int) reader.read(Integer.SIZE);
+            values[index] = Double.longBitsToDouble(reader.read(Long.SIZE));
+        }
+        return values;
+    }
+
+    @Override
+    public byte[] encode(final double[] values, final int length) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        int nSpecial = 0;
+        for (int i = 0; i < length; i++) {
+            final double value = values[i];
+            if (Double.isFinite(value)) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            } else {
+                nSpecial++;
+            }
+        }
+        if (nSpecial == length) {
+            min = 0.0;
+            max = 0.0;
+        }
+        final double step = 2.0 * maxError;
+        if ((max - min) / step > MAX_GRID_INDEX) {
+            throw new IllegalArgumentException("maxError = " + maxError + " too small for value range [" + min + ", "
+                                               + max + "]");
+        }
+
+        final BitWriter writer = new BitWriter(length / 2 + 32);
+        writer.write(length, Integer.SIZE);
+        writer.write(Double.doubleToRawLongBits(min), Long.SIZE);
+        writer.write(Double.doubleToRawLongBits(step), Long.SIZE);
+        long previous = 0;
+        for (int i = 0; i < length; i++) {
+            final long gridIndex = Double.isFinite(values[i]) ? Math.round((values[i] - min) / step) : previous;
+            writer.writeVariable(gridIndex - previous);
+            previous = gridIndex;
+        }
+        writer.write(nSpecial, Integer.SIZE);
+        for (int i = 0; i < length && nSpecial > 0; i++) {
+            if (!Double.isFinite(values[i])) {
+                writer.write(i, Integer.SIZE);
+                writer.write(Double.doubleToRawLongBits(values[i]), Long.SIZE);
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    /**
+     * @return maximum absolute error between the original and decoded values
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+
+    @Override
+    public boolean isLossless() {
+        return false;
+    }
+}
@@ -0,0 +1,195 @@
+package de.gsi.dataset.serializer.spi.codec;
+
+import java.util.Arrays;
+
+import de.gsi.dataset.serializer.ArrayCodec;
+
+/**
+ * Lossless general-purpose codec for bulk arrays: byte-shuffle followed by a fast LZ77-type block compression (token
+ * and sequence layout following the LZ4 block format).
+ * <p>
+ * The shuffle transposes the array into eight byte-planes (all sign/exponent bytes first, ..., all least-significant
+ * mantissa bytes last) so that the highly redundant upper bytes of numeric signals form long repeated sequences.
+ */
+public class ShuffleLzCodec implements ArrayCodec {
+    public static final byte ID = 3;
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_OFFSET = 0xFFFF;
+    private static final int HASH_BITS = 14;
+    private static final int LAST_LITERALS = 5;
+
+    @Override
+    public double[] decode(final byte[] data) {
+        final int length = readInt(data, 0);
+        final byte[] shuffled = decompress(data, Integer.BYTES, Double.BYTES * length);
+        final double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            long bits = 0;
+            for (int plane = 0; plane < Double.BYTES; plane++) {
+                bits = (bits << 8) | (shuffled[plane * length + i] & 0xFF);
+            }
+            values[i] = Double.longBitsToDouble(bits);
+        }
+        return values;
+    }
+
+    @Override
+    public byte[] encode(final double[] values, final int length) {
+        final byte[] shuffled = new byte[Double.BYTES * length];
+        for (int i = 0; i < length; i++) {
+            final long bits = Double.doubleToRawLongBits(values[i]);
+            for (int plane = 0; plane < Double.BYTES; plane++) {
+                shuffled[plane * length + i] = (byte) (bits >>> (Long.SIZE - Byte.SIZE * (plane + 1)));
+            }
+        }
+        final byte[] output = new byte[Integer.BYTES + maxCompressedLength(shuffled.length)];
+        writeInt(output, 0, length);
+        final int outputLength = compress(shuffled, output, Integer.BYTES);
+        return Arrays.copyOf(output, outputLength);
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public boolean isLossless() {
+        return true;
+    }
+
+    /**
+     * @param src uncompressed data
+     * @param dst output array (N.B. needs to have at least {@link #maxCompressedLength(int)} capacity)
+     * @param dstOffset write offset
+     * @return end position of the compressed data in {@code dst}
+     */
+    protected static int compress(final byte[] src, final byte[] dst, final int dstOffset) {
+        final int[] hashTable = new int[1 << HASH_BITS];
+        Arrays.fill(hashTable, -1);
+        final int matchLimit = src.length - LAST_LITERALS;
+        int out = dstOffset;
+        int anchor = 0;
+        int pos = 0;
+        while (pos < matchLimit - MIN_MATCH) {
+            final int sequence = readInt(src, pos);
+            final int hash = (sequence * -1640531535) >>> (Integer.SIZE - HASH_BITS);
+            final int candidate = hashTable[hash];
+            hashTable[hash] = pos;
+            if (candidate < 0 || pos - candidate > MAX_OFFSET || readInt(src, candidate) != sequence) {
+                pos++;
+                continue;
+            }
+            int matchLength = MIN_MATCH;
+            while (pos + matchLength < matchLimit && src[candidate + matchLength] == src[pos + matchLength]) {
+                matchLength++;
+            }
+            out = writeSequence(src, anchor, pos - anchor, dst, out, pos - candidate, matchLength);
+            pos += matchLength;
+            anchor = pos;
+        }
+        // trailing literals
+        return writeSequence(src, anchor, src.length - anchor, dst, out, 0, 0);
+    }
+
+    /**
+     * @param src compressed data
+     * @param srcOffset start of the compressed data
+     * @param length uncompressed length
+     * @return decompressed data
+     */
+    protected static byte[] decompress(final byte[] src, final int srcOffset, final int length) {
+        final byte[] dst = new byte[length];
+        int in = srcOffset;
+        int out = 0;
+        while (in < src.length) {
+            final int token = src[in++] & 0xFF;
+            int literalLength = token >>> 4;
+            if (literalLength == 0xF) {
+                int next;
+                do {
+                    next = src[in++] & 0xFF;
+                    literalLength += next;
+                } while (next == 0xFF);
+            }
+            System.arraycopy(src, in, dst, out, literalLength);
+            in += literalLength;
+            out += literalLength;
+            if (in >= src.length) {
+                break; // last sequence consists of literals only
+            }
+            final int offset = (src[in] & 0xFF) | (src[in + 1] & 0xFF) << 8;
+            in += 2;
+            int matchLength = token & 0xF;
+            if (matchLength == 0xF) {
+                int next;
+                do {
+                    next = src[in++] & 0xFF;
+                    matchLength += next;
+                } while (next == 0xFF);
+            }
+            matchLength += MIN_MATCH;
+            if (offset == 0 || offset > out || out + matchLength > length) {
+                throw new IllegalStateException("corrupt compressed data at input position " + in);
+            }
+            // N.B. overlapping matches need to be copied byte-wise
+            for (int i = 0; i < matchLength; i++, out++) {
+                dst[out] = dst[out - offset];
+            }
+        }
+        if (out != length) {
+            throw new IllegalStateException("decompressed length " + out + " vs. expected " + length);
+        }
+        return dst;
+    }
+
+    protected static int maxCompressedLength(final int length) {
+        return length + length / 255 + 16;
+    }
+
+    private static int readInt(final byte[] data, final int offset) {
+        return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8 | (data[offset + 2] & 0xFF) << 16
+                | (data[offset + 3] & 0xFF) << 24;
+    }
+
+    private static void writeInt(final byte[] data, final int offset, final int value) {
+        data[offset] = (byte) value;
+        data[offset + 1] = (byte) (value >>> 8);
+        data[offset + 2] = (byte) (value >>> 16);
+        data[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static int writeLength(final byte[] dst, final int offset, final int length) {
+        int out = offset;
+        int remaining = length - 0xF;
+        while (remaining >= 0xFF) {
+            dst[out++] = (byte) 0xFF;
+            remaining -= 0xFF;
+        }
+        dst[out++] = (byte) remaining;
+        return out;
+    }
+
+    private static int writeSequence(final byte[] src, final int literalStart, final int literalLength,
+            final byte[] dst, final int dstOffset, final int matchOffset, final int matchLength) {
+        int out = dstOffset;
+        final int tokenPosition = out++;
+        int token = Math.min(literalLength, 0xF) << 4;
+        if (literalLength >= 0xF) {
+            out = writeLength(dst, out, literalLength);
+        }
+        System.arraycopy(src, literalStart, dst, out, literalLength);
+        out += literalLength;
+        if (matchLength > 0) {
+            dst[out++] = (byte) matchOffset;
+            dst[out++] = (byte) (matchOffset >>> 8);
+            final int encodedLength = matchLength - MIN_MATCH;
+            token |= Math.min(encodedLength, 0xF);
+            if (encodedLength >= 0xF) {
+                out = writeLength(dst, out, encodedLength);
+            }
+        }
+        dst[tokenPosition] = (byte) token;
+        return out;
+    }
+}
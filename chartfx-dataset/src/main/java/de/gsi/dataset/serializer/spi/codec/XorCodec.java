@@ -0,0 +1,82 @@
+package de.gsi.dataset.serializer.spi.codec;
+
+import de.gsi.dataset.serializer.ArrayCodec;
+
+/**
+ * Lossless XOR codec for slowly varying signals (Gorilla-style: T. Pelkonen et al., "Gorilla: A Fast, Scalable,
+ * In-Memory Time Series Database", VLDB 2015).
+ * <p>
+ * Each value is XOR-ed with its predecessor: identical values are encoded as a single bit, otherwise only the
+ * 'meaningful' bits between the leading and trailing zeros are stored, re-using the previous bit window if possible.
+ */
+public class XorCodec implements ArrayCodec {
+    public static final byte ID = 2;
+    private static final int LEADING_BITS = 5;
+    private static final int LENGTH_BITS = 6;
+    private static final int MAX_LEADING = (1 << LEADING_BITS) - 1;
+
+    @Override
+    public double[] decode(final byte[] data) {
+        final BitReader reader = new BitReader(data);
+        final double[] values = new double[(int) reader.read(Integer.SIZE)];
+        long previous = 0;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.read(LEADING_BITS);
+                    trailing = Long.SIZE - leading - (int) reader.read(LENGTH_BITS) - 1;
+                }
+                previous ^= reader.read(Long.SIZE - leading - trailing) << trailing;
+            }
+            values[i] = Double.longBitsToDouble(previous);
+        }
+        return values;
+    }
+
+    @Override
+    public byte[] encode(final double[] values, final int length) {
+        final BitWriter writer = new BitWriter(length + 16);
+        writer.write(length, Integer.SIZE);
+        long previous = 0;
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (int i = 0; i < length; i++) {
+            final long bits = Double.doubleToRawLongBits(values[i]);
+            final long xor = bits ^ previous;
+            previous = bits;
+            if (xor == 0) {
+                writer.writeBit(false);
+                continue;
+            }
+            writer.writeBit(true);
+            final int leading = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING);
+            final int trailing = Long.numberOfTrailingZeros(xor);
+            if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                // re-use previous bit window
+                writer.writeBit(false);
+                writer.write(xor >>> previousTrailing, Long.SIZE - previousLeading - previousTrailing);
+                continue;
+            }
+            final int meaningful = Long.SIZE - leading - trailing;
+            writer.writeBit(true);
+            writer.write(leading, LEADING_BITS);
+            writer.write(meaningful - 1L, LENGTH_BITS);
+            writer.write(xor >>> trailing, meaningful);
+            previousLeading = leading;
+            previousTrailing = trailing;
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public boolean isLossless() {
+        return true;
+    }
+}
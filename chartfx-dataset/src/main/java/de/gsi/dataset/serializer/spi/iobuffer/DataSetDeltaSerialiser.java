@@ -0,0 +1,584 @@
+package de.gsi.dataset.serializer.spi.iobuffer;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.DataSetError.ErrorType;
+import de.gsi.dataset.DataSetMetaData;
+import de.gsi.dataset.event.EventListener;
+import de.gsi.dataset.event.UpdateEvent;
+import de.gsi.dataset.event.UpdatedDataEvent;
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.spi.AbstractDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.dataset.utils.AssertUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Delta (incremental) serialisation of DataSets: instead of the full DataSet (see {@link DataSetSerialiser}), only the
+ * changes since the last transmitted state are encoded, ie.
+ * <ul>
+ * <li>samples dropped from the front (e.g. rolling/FIFO buffers),
+ * <li>modified index ranges,
+ * <li>appended samples (or truncation at the end),
+ * <li>meta data (name, axis names/units, info/warning/error lists, meta-info map, data labels and styles) -- if
+ * changed.
+ * </ul>
+ * The sender side ({@link #writeDelta}) derives the changed index ranges from the {@link UpdatedDataEvent}s issued by
+ * the source DataSet (see {@link UpdatedDataEvent#hasIndexRange()}) and copies only those ranges, the receiver side
+ * ({@link #applyDelta}) updates a replica {@link DoubleErrorDataSet} in place. Sources or events that do not provide
+ * index ranges, as well as inconsistencies between the tracked and the actual state, result in a full update. N.B.
+ * modifications performed while the source's auto-notification is disabled need to be followed by an
+ * {@link UpdatedDataEvent} to be transmitted.
+ * <p>
+ * Each delta carries the sequence number of the state it is based on and the sequence number of the new state: a
+ * receiver whose state does not match the base of a delta needs to request a full update (base sequence '0'), which
+ * is also sent automatically by the sender whenever the requested base sequence does not match its own last
+ * transmitted state.
+ * <p>
+ * The delta uses the common {@link BinarySerialiser} field format. N.B. one instance per sender/receiver stream pair,
+ * instances are not thread-safe.
+ */
+public class DataSetDeltaSerialiser {
+    private static final String DELTA_BASE = "deltaBase";
+    private static final String DELTA_SEQUENCE = "deltaSequence";
+    private static final String REMOVE_FRONT = "removeFront";
+    private static final String DATA_COUNT = "dataCount";
+    private static final String MODIFIED_RANGES = "modifiedRanges";
+    private static final String X_ARRAY_NAME = "x";
+    private static final String Y_ARRAY_NAME = "y";
+    private static final String YEN = "yen";
+    private static final String YEP = "yep";
+    private static final String DATA_SET_NAME = "dataSetName";
+    private static final String AXIS = "axis";
+    private static final String NAME = ".name";
+    private static final String UNIT = ".unit";
+    private static final String MIN = ".Min";
+    private static final String MAX = ".Max";
+    private static final String META_INFO = "metaInfo";
+    private static final String ERROR_LIST = "errorList";
+    private static final String WARNING_LIST = "warningList";
+    private static final String INFO_LIST = "infoList";
+    private static final String DATA_STYLES = "dataStyles";
+    private static final String DATA_LABELS = "dataLabels";
+    private static final String CHANGED_META_DATA = "changedMetaData";
+    private static final int DEFAULT_MIN_RANGE_GAP = 16;
+    private static final int N_COLUMNS = 4;
+    private static final int MAX_TRACKED_RANGES = 1024; // tracked ranges beyond this limit are merged
+
+    // sender state: changes since the last transmitted state, derived from the source's update events
+    private final EventListener changeTracker = this::trackChanges;
+    private DataSet trackedSource;
+    private final IntArrayList trackedRanges = new IntArrayList(); // guarded by 'this'
+    private int trackedRemovedFront; // guarded by 'this'
+    private int trackedCount = -1; // guarded by 'this', '-1': unknown state -> full update
+    private final IntArrayList modifiedRanges = new IntArrayList();
+    private int sentCount;
+    private double sentLastX = Double.NaN;
+    private long sequence;
+    private String shadowName;
+    private final List<String> shadowAxes = new ArrayList<>();
+    private final List<String> shadowInfos = new ArrayList<>();
+    private final List<String> shadowWarnings = new ArrayList<>();
+    private final List<String> shadowErrors = new ArrayList<>();
+    private final Map<String, String> shadowMetaInfo = new HashMap<>();
+    private final Map<Integer, String> shadowLabels = new HashMap<>();
+    private final Map<Integer, String> shadowStyles = new HashMap<>();
+    private int minRangeGap = DEFAULT_MIN_RANGE_GAP;
+
+    // receiver state
+    private long replicaSequence;
+
+    /**
+     * @return minimum number of unchanged samples between two modified index ranges for the ranges to be encoded
+     *         separately
+     */
+    public int getMinRangeGap() {
+        return minRangeGap;
+    }
+
+    /**
+     * @return sequence number of the state that has been applied last to the replica (receiver side)
+     */
+    public long getReplicaSequence() {
+        return replicaSequence;
+    }
+
+    /**
+     * @return sequence number of the state that has been encoded last (sender side)
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @param gap minimum number of unchanged samples between two modified index ranges for the ranges to be encoded
+     *            separately (smaller gaps are merged to reduce the range book-keeping overhead)
+     */
+    public void setMinRangeGap(final int gap) {
+        AssertUtils.gtEqThanZero("gap", gap);
+        minRangeGap = gap;
+    }
+
+    /**
+     * applies a delta to the replica data set (receiver side)
+     *
+     * @param readBuffer buffer containing the delta (N.B. positioned at its start)
+     * @param replica data set to be updated
+     * @return new sequence number of the replica
+     * @throws IllegalStateException if the delta is not based on the present state of the replica (ie. a full update
+     *             needs to be requested via base sequence '0')
+     */
+    public long applyDelta(final IoBuffer readBuffer, final DoubleErrorDataSet replica) {
+        AssertUtils.notNull("readBuffer", readBuffer);
+        AssertUtils.notNull("replica", replica);
+        BinarySerialiser.checkHeaderInfo(readBuffer);
+        final List<FieldHeader> fields = BinarySerialiser.parseIoStream(readBuffer).getChildren();
+
+        final long base = getLong(readBuffer, fields, DELTA_BASE);
+        final long newSequence = getLong(readBuffer, fields, DELTA_SEQUENCE);
+        if (base != 0 && base != replicaSequence) {
+            throw new IllegalStateException("delta based on sequence " + base + " does not match replica sequence "
+                                            + replicaSequence + " - full update required");
+        }
+        final int removeFront = getInt(readBuffer, fields, REMOVE_FRONT);
+        final int dataCount = getInt(readBuffer, fields, DATA_COUNT);
+        final int[] ranges = getRanges(readBuffer, fields);
+        final double[][] values = new double[N_COLUMNS][];
+        final String[] columnNames = { X_ARRAY_NAME, Y_ARRAY_NAME, YEN, YEP };
+        for (int column = 0; column < N_COLUMNS; column++) {
+            final Optional<FieldHeader> header = DataSetSerialiser.checkFieldCompatibility(readBuffer, fields,
+                    columnNames[column], DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
+            if (header.isPresent()) {
+                values[column] = BinarySerialiser.getDoubleArray(readBuffer, header.get());
+            }
+        }
+
+        replica.lock().writeLockGuard(() -> {
+            final int oldCount = base == 0 ? 0 : replica.getDataCount();
+            final int keep = oldCount - removeFront;
+            if (keep < 0) {
+                throw new IllegalStateException("cannot remove " + removeFront + " of " + oldCount + " samples");
+            }
+            if (removeFront > 0) {
+                shiftFront(replica, removeFront, keep);
+            }
+            replica.resize(dataCount);
+            final double[][] columns = { replica.getXValues(), replica.getYValues(),
+                replica.getErrorsNegative(DIM_Y), replica.getErrorsPositive(DIM_Y) };
+            int offset = 0;
+            for (int i = 0; i < ranges.length; i += 2) {
+                offset = copyColumns(values, offset, columns, ranges[i], ranges[i + 1] - ranges[i]);
+            }
+            final int appendFrom = Math.min(keep, dataCount);
+            copyColumns(values, offset, columns, appendFrom, dataCount - appendFrom);
+
+            if (base == 0) {
+                replica.getDataLabelMap().clear();
+                replica.getDataStyleMap().clear();
+            }
+            applyMetaData(readBuffer, fields, replica);
+            replicaSequence = newSequence;
+        });
+        replica.fireInvalidated(new UpdatedDataEvent(replica, "applied delta"));
+        return newSequence;
+    }
+
+    /**
+     * encodes the changes of the source data set since the given sequence number (sender side)
+     *
+     * @param source the data set to be transmitted
+     * @param buffer output buffer
+     * @param baseSequence sequence number of the receiver's state, '0' to request a full update
+     * @param asFloat {@code true}: encode data as binary floats (smaller size, performance), or {@code false} as double
+     *            (better precision)
+     * @return sequence number of the encoded (new) state
+     */
+    public long writeDelta(final DataSet source, final IoBuffer buffer, final long baseSequence,
+            final boolean asFloat) {
+        AssertUtils.notNull("source", source);
+        AssertUtils.notNull("buffer", buffer);
+        if (trackedSource != source) {
+            if (trackedSource != null) {
+                trackedSource.removeListener(changeTracker);
+            }
+            trackedSource = source;
+            synchronized (this) {
+                trackedCount = -1;
+            }
+            source.addListener(changeTracker);
+        }
+        source.lock().readLockGuard(() -> {
+            final int dataCount = source.getDataCount();
+            final boolean fullUpdate;
+            final int removeFront;
+            synchronized (this) {
+                fullUpdate = baseSequence == 0 || baseSequence != sequence || !isTrackedStateValid(source, dataCount);
+                removeFront = fullUpdate ? 0 : trackedRemovedFront;
+                computeModifiedRanges(fullUpdate ? 0 : Math.min(sentCount - removeFront, dataCount));
+                trackedRanges.clear();
+                trackedRemovedFront = 0;
+                trackedCount = dataCount;
+            }
+            final int appendFrom = fullUpdate ? 0 : Math.min(sentCount - removeFront, dataCount);
+
+            sequence++;
+            BinarySerialiser.putHeaderInfo(buffer);
+            BinarySerialiser.put(buffer, DELTA_BASE, fullUpdate ? 0L : baseSequence);
+            BinarySerialiser.put(buffer, DELTA_SEQUENCE, sequence);
+            BinarySerialiser.put(buffer, REMOVE_FRONT, removeFront);
+            BinarySerialiser.put(buffer, DATA_COUNT, dataCount);
+            if (!modifiedRanges.isEmpty()) {
+                BinarySerialiser.put(buffer, MODIFIED_RANGES, modifiedRanges.toIntArray());
+            }
+            writeColumns(buffer, source, appendFrom, dataCount, asFloat);
+            writeMetaData(buffer, source, fullUpdate);
+            BinarySerialiser.putEndMarker(buffer, "OBJ_ROOT_END");
+
+            sentCount = dataCount;
+            sentLastX = dataCount == 0 ? Double.NaN : source.get(DIM_X, dataCount - 1);
+        });
+        return sequence;
+    }
+
+    private void applyMetaData(final IoBuffer readBuffer, final List<FieldHeader> fields,
+            final DoubleErrorDataSet replica) {
+        // axis ranges are transmitted with each delta -> avoids recomputing the limits on the receiver side
+        for (int dimIndex = 0; dimIndex < replica.getDimension(); dimIndex++) {
+            final AxisDescription axisDescription = replica.getAxisDescription(dimIndex);
+            if (DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, AXIS + dimIndex + MIN, DataType.DOUBLE)
+                        .isPresent()) {
+                final double min = BinarySerialiser.getDouble(readBuffer);
+                DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, AXIS + dimIndex + MAX, DataType.DOUBLE);
+                axisDescription.set(min, BinarySerialiser.getDouble(readBuffer));
+            }
+            if (DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, AXIS + dimIndex + NAME, DataType.STRING)
+                        .isPresent()) {
+                final String name = BinarySerialiser.getString(readBuffer);
+                DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, AXIS + dimIndex + UNIT, DataType.STRING);
+                axisDescription.set(name, BinarySerialiser.getString(readBuffer));
+            }
+        }
+        if (DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, DATA_SET_NAME, DataType.STRING).isPresent()) {
+            replica.setName(BinarySerialiser.getString(readBuffer));
+        }
+        if (!DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, CHANGED_META_DATA, DataType.STRING_ARRAY)
+                     .isPresent()) {
+            return;
+        }
+        // N.B. empty lists/maps are not serialised -> changed but missing fields are cleared
+        for (final String fieldName : BinarySerialiser.getStringArray(readBuffer)) {
+            final boolean present = DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, fieldName,
+                    DataType.STRING_ARRAY, DataType.MAP).isPresent();
+            final Collection<?> target = getMetaDataField(replica, fieldName);
+            target.clear();
+            if (!present) {
+                continue;
+            }
+            if (target instanceof List) {
+                @SuppressWarnings("unchecked")
+                final List<String> list = (List<String>) target;
+                list.addAll(Arrays.asList(BinarySerialiser.getStringArray(readBuffer)));
+            } else if (META_INFO.equals(fieldName)) {
+                BinarySerialiser.getMap(readBuffer, replica.getMetaInfo());
+            } else {
+                BinarySerialiser.getMap(readBuffer, DATA_LABELS.equals(fieldName) ? replica.getDataLabelMap()
+                                                                                  : replica.getDataStyleMap());
+            }
+        }
+    }
+
+    private void computeModifiedRanges(final int appendFrom) {
+        // N.B. 'this' is held by the caller
+        modifiedRanges.clear();
+        final int nRanges = trackedRanges.size() / 2;
+        final long[] ranges = new long[nRanges];
+        for (int i = 0; i < nRanges; i++) {
+            ranges[i] = ((long) trackedRanges.getInt(2 * i) << 32) | trackedRanges.getInt(2 * i + 1);
+        }
+        Arrays.sort(ranges);
+        for (final long range : ranges) {
+            final int from = (int) (range >>> 32);
+            final int to = Math.min((int) range, appendFrom);
+            if (from >= to) {
+                continue;
+            }
+            final int last = modifiedRanges.size() - 1;
+            if (last > 0 && from - modifiedRanges.getInt(last) <= minRangeGap) {
+                modifiedRanges.set(last, Math.max(to, modifiedRanges.getInt(last)));
+            } else {
+                modifiedRanges.add(from);
+                modifiedRanges.add(to);
+            }
+        }
+    }
+
+    private boolean isTrackedStateValid(final DataSet source, final int dataCount) {
+        // N.B. 'this' is held by the caller
+        if (trackedCount < 0 || trackedCount != dataCount || trackedRemovedFront > sentCount) {
+            return false;
+        }
+        // cross-check the front shift with the last transmitted sample (guards against late/missed events)
+        final int lastIndex = sentCount - 1 - trackedRemovedFront;
+        if (lastIndex < 0 || lastIndex >= dataCount) {
+            return true;
+        }
+        for (int i = 0; i < trackedRanges.size(); i += 2) {
+            if (lastIndex >= trackedRanges.getInt(i) && lastIndex < trackedRanges.getInt(i + 1)) {
+                // modified sample, cannot be cross-checked
+                return true;
+            }
+        }
+        return Double.compare(source.get(DIM_X, lastIndex), sentLastX) == 0;
+    }
+
+    private void trackChanges(final UpdateEvent event) {
+        if (!(event instanceof UpdatedDataEvent)) {
+            // meta data is compared when being transmitted
+            return;
+        }
+        final UpdatedDataEvent dataEvent = (UpdatedDataEvent) event;
+        synchronized (this) {
+            if (trackedCount < 0) {
+                return;
+            }
+            if (!dataEvent.hasIndexRange()) {
+                trackedCount = -1;
+                return;
+            }
+            final int removedFront = dataEvent.getRemovedFront();
+            final int dataCount = dataEvent.getDataCount();
+            if (removedFront > 0 || dataCount < trackedCount) {
+                // map previously modified ranges to the new indexing
+                for (int i = 0; i < trackedRanges.size(); i++) {
+                    trackedRanges.set(i, Math.min(Math.max(0, trackedRanges.getInt(i) - removedFront), dataCount));
+                }
+            }
+            trackedRemovedFront += removedFront;
+            trackedCount = dataCount;
+            if (dataEvent.getFromIndex() == dataEvent.getToIndex()) {
+                return;
+            }
+            if (trackedRanges.size() >= 2 * MAX_TRACKED_RANGES) {
+                // limit book-keeping: merge into one enclosing range
+                int from = dataEvent.getFromIndex();
+                int to = dataEvent.getToIndex();
+                for (int i = 0; i < trackedRanges.size(); i += 2) {
+                    from = Math.min(from, trackedRanges.getInt(i));
+                    to = Math.max(to, trackedRanges.getInt(i + 1));
+                }
+                trackedRanges.clear();
+                trackedRanges.add(from);
+                trackedRanges.add(to);
+                return;
+            }
+            trackedRanges.add(dataEvent.getFromIndex());
+            trackedRanges.add(dataEvent.getToIndex());
+        }
+    }
+
+    private void writeColumns(final IoBuffer buffer, final DataSet source, final int appendFrom, final int dataCount,
+            final boolean asFloat) {
+        int nValues = dataCount - appendFrom;
+        for (int i = 0; i < modifiedRanges.size(); i += 2) {
+            nValues += modifiedRanges.getInt(i + 1) - modifiedRanges.getInt(i);
+        }
+        if (nValues == 0) {
+            return;
+        }
+        final String[] columnNames = { X_ARRAY_NAME, Y_ARRAY_NAME, YEN, YEP };
+        final int nColumns = source instanceof DataSetError ? N_COLUMNS : 2;
+        final boolean noErrors = !(source instanceof DataSetError)
+                                 || ((DataSetError) source).getErrorType(DIM_Y) == ErrorType.NO_ERROR;
+        final double[] values = new double[nValues];
+        final float[] floatValues = asFloat ? new float[nValues] : null;
+        for (int column = 0; column < nColumns; column++) {
+            if (column < 2 || !noErrors) {
+                int offset = 0;
+                for (int i = 0; i < modifiedRanges.size(); i += 2) {
+                    final int from = modifiedRanges.getInt(i);
+                    final int to = modifiedRanges.getInt(i + 1);
+                    getColumn(source, column, from, to, values, offset);
+                    offset += to - from;
+                }
+                getColumn(source, column, appendFrom, dataCount, values, offset);
+            } else if (column == 2) {
+                Arrays.fill(values, 0.0);
+            }
+            if (asFloat) {
+                for (int i = 0; i < nValues; i++) {
+                    floatValues[i] = (float) values[i];
+                }
+                BinarySerialiser.put(buffer, columnNames[column], floatValues);
+            } else {
+                BinarySerialiser.put(buffer, columnNames[column], values);
+            }
+        }
+    }
+
+    private void writeMetaData(final IoBuffer buffer, final DataSet source, final boolean fullUpdate) {
+        // axis ranges: always transmitted
+        final List<String> axes = new ArrayList<>();
+        for (int dimIndex = 0; dimIndex < source.getDimension(); dimIndex++) {
+            final AxisDescription axisDescription = source.getAxisDescription(dimIndex);
+            BinarySerialiser.put(buffer, AXIS + dimIndex + MIN, axisDescription.getMin());
+            BinarySerialiser.put(buffer, AXIS + dimIndex + MAX, axisDescription.getMax());
+            axes.add(axisDescription.getName());
+            axes.add(axisDescription.getUnit());
+        }
+        if (fullUpdate || !axes.equals(shadowAxes)) {
+            for (int dimIndex = 0; dimIndex < source.getDimension(); dimIndex++) {
+                BinarySerialiser.put(buffer, AXIS + dimIndex + NAME, axes.get(2 * dimIndex));
+                BinarySerialiser.put(buffer, AXIS + dimIndex + UNIT, axes.get(2 * dimIndex + 1));
+            }
+            shadowAxes.clear();
+            shadowAxes.addAll(axes);
+        }
+        if (fullUpdate || !Objects.equals(shadowName, source.getName())) {
+            shadowName = source.getName();
+            BinarySerialiser.put(buffer, DATA_SET_NAME, shadowName);
+        }
+
+        final List<String> changed = new ArrayList<>();
+        if (source instanceof DataSetMetaData) {
+            final DataSetMetaData metaData = (DataSetMetaData) source;
+            updateList(buffer, INFO_LIST, metaData.getInfoList(), shadowInfos, fullUpdate, changed);
+            updateList(buffer, WARNING_LIST, metaData.getWarningList(), shadowWarnings, fullUpdate, changed);
+            updateList(buffer, ERROR_LIST, metaData.getErrorList(), shadowErrors, fullUpdate, changed);
+            updateMap(buffer, META_INFO, metaData.getMetaInfo(), shadowMetaInfo, fullUpdate, changed);
+        }
+        if (source instanceof AbstractDataSet) {
+            final AbstractDataSet<?> dataSet = (AbstractDataSet<?>) source;
+            updateMap(buffer, DATA_LABELS, dataSet.getDataLabelMap(), shadowLabels, fullUpdate, changed);
+            updateMap(buffer, DATA_STYLES, dataSet.getDataStyleMap(), shadowStyles, fullUpdate, changed);
+        }
+        if (!changed.isEmpty()) {
+            BinarySerialiser.put(buffer, CHANGED_META_DATA, changed.toArray(new String[0]));
+        }
+    }
+
+    private static int copyColumns(final double[][] values, final int offset, final double[][] columns,
+            final int toIndex, final int length) {
+        if (length <= 0) {
+            return offset;
+        }
+        for (int column = 0; column < N_COLUMNS; column++) {
+            if (values[column] == null) {
+                // no errors transmitted
+                Arrays.fill(columns[column], toIndex, toIndex + length, 0.0);
+            } else {
+                System.arraycopy(values[column], offset, columns[column], toIndex, length);
+            }
+        }
+        return offset + length;
+    }
+
+    private static void getColumn(final DataSet source, final int column, final int fromIndex, final int toIndex,
+            final double[] dst, final int dstOffset) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        switch (column) {
+        case 0:
+            source.getValues(DIM_X, fromIndex, toIndex, dst, dstOffset);
+            break;
+        case 1:
+            source.getValues(DIM_Y, fromIndex, toIndex, dst, dstOffset);
+            break;
+        case 2:
+            ((DataSetError) source).getErrorsNegative(DIM_Y, fromIndex, toIndex, dst, dstOffset);
+            break;
+        default:
+            ((DataSetError) source).getErrorsPositive(DIM_Y, fromIndex, toIndex, dst, dstOffset);
+            break;
+        }
+    }
+
+    private static int getInt(final IoBuffer readBuffer, final List<FieldHeader> fields, final String fieldName) {
+        if (!DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, fieldName, DataType.INT).isPresent()) {
+            throw new IllegalArgumentException("missing field '" + fieldName + "'");
+        }
+        return BinarySerialiser.getInteger(readBuffer);
+    }
+
+    private static long getLong(final IoBuffer readBuffer, final List<FieldHeader> fields, final String fieldName) {
+        if (!DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, fieldName, DataType.LONG).isPresent()) {
+            throw new IllegalArgumentException("missing field '" + fieldName + "'");
+        }
+        return BinarySerialiser.getLong(readBuffer);
+    }
+
+    private static int[] getRanges(final IoBuffer readBuffer, final List<FieldHeader> fields) {
+        if (!DataSetSerialiser.checkFieldCompatibility(readBuffer, fields, MODIFIED_RANGES, DataType.INT_ARRAY)
+                     .isPresent()) {
+            return new int[0];
+        }
+        return BinarySerialiser.getIntArray(readBuffer);
+    }
+
+    private static Collection<?> getMetaDataField(final DoubleErrorDataSet replica, final String fieldName) {
+        switch (fieldName) {
+        case INFO_LIST:
+            return replica.getInfoList();
+        case WARNING_LIST:
+            return replica.getWarningList();
+        case ERROR_LIST:
+            return replica.getErrorList();
+        case META_INFO:
+            return replica.getMetaInfo().entrySet();
+        case DATA_LABELS:
+            return replica.getDataLabelMap().entrySet();
+        case DATA_STYLES:
+            return replica.getDataStyleMap().entrySet();
+        default:
+            throw new IllegalArgumentException("unknown meta data field '" + fieldName + "'");
+        }
+    }
+
+    private static void shiftFront(final DoubleErrorDataSet replica, final int removeFront, final int keep) {
+        final double[][] columns = { replica.getXValues(), replica.getYValues(), replica.getErrorsNegative(DIM_Y),
+            replica.getErrorsPositive(DIM_Y) };
+        for (final double[] column : columns) {
+            System.arraycopy(column, removeFront, column, 0, keep);
+        }
+    }
+
+    private static void updateList(final IoBuffer buffer, final String fieldName, final List<String> list,
+            final List<String> shadowList, final boolean fullUpdate, final List<String> changed) {
+        if (!fullUpdate && list.equals(shadowList)) {
+            return;
+        }
+        shadowList.clear();
+        shadowList.addAll(list);
+        changed.add(fieldName);
+        if (!list.isEmpty()) {
+            BinarySerialiser.put(buffer, fieldName, list.toArray(new String[0]));
+        }
+    }
+
+    private static <K> void updateMap(final IoBuffer buffer, final String fieldName, final Map<K, String> map,
+            final Map<K, String> shadowMap, final boolean fullUpdate, final List<String> changed) {
+        if (!fullUpdate && map.equals(shadowMap)) {
+            return;
+        }
+        shadowMap.clear();
+        shadowMap.putAll(map);
+        changed.add(fieldName);
+        BinarySerialiser.put(buffer, fieldName, shadowMap);
+    }
+}
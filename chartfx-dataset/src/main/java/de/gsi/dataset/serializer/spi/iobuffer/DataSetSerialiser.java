@@ -17,11 +17,13 @@ import de.gsi.dataset.AxisDescription;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSetError;
 import de.gsi.dataset.DataSetMetaData;
+import de.gsi.dataset.serializer.ArrayCodec;
 import de.gsi.dataset.serializer.DataType;
 import de.gsi.dataset.serializer.IoBuffer;
 import de.gsi.dataset.serializer.spi.BinarySerialiser;
 import de.gsi.dataset.serializer.spi.BinarySerialiser.HeaderInfo;
 import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.FieldIndex;
 import de.gsi.dataset.spi.DataSetBuilder;
 import de.gsi.dataset.utils.AssertUtils;
 import de.gsi.dataset.utils.DataSetUtilsHelper;
@@ -34,35 +36,40 @@ import de.gsi.dataset.utils.DataSetUtilsHelper;
  * <li>via {@link #setDataLablesSerialised(boolean)} (default: false) to control whether data labels and styles shall be
  * processed</li>
  * <li>via {@link #setMetaDataSerialised(boolean)} (default: true) to control whether meta data shall be processed</li>
+ * <li>via the compression codecs passed to {@link #writeDataSetToByteArray(DataSet, IoBuffer, boolean, ArrayCodec,
+ * ArrayCodec)} (default: none) to compress the numeric data, e.g. using the
+ * {@link de.gsi.dataset.serializer.spi.codec.DeltaOfDeltaCodec} for monotonic x-axes and the
+ * {@link de.gsi.dataset.serializer.spi.codec.XorCodec} for the y-values</li>
  * </ul>
  *
  * @author rstein
  */
 public class DataSetSerialiser extends DataSetUtilsHelper {
     private static final Logger LOGGER = LoggerFactory.getLogger(DataSetSerialiser.class);
-    private static final String DATA_SET_NAME = "dataSetName";
-    private static final String Y_ARRAY_NAME = "y";
-    private static final String X_ARRAY_NAME = "x";
-    private static final String XEN = "xen";
-    private static final String XEP = "xep";
-    private static final String YEP = "yep";
-    private static final String YEN = "yen";
-    private static final String AXIS = "axis";
-    private static final String NAME = "name";
-    private static final String UNIT = "unit";
-    private static final String MIN = "Min";
-    private static final String MAX = "Max";
-    private static final String META_INFO = "metaInfo";
-    private static final String ERROR_LIST = "errorList";
-    private static final String WARNING_LIST = "warningList";
-    private static final String INFO_LIST = "infoList";
-    private static final String DATA_STYLES = "dataStyles";
-    private static final String DATA_LABELS = "dataLabels";
+    protected static final String DATA_SET_NAME = "dataSetName";
+    protected static final String Y_ARRAY_NAME = "y";
+    protected static final String X_ARRAY_NAME = "x";
+    protected static final String XEN = "xen";
+    protected static final String XEP = "xep";
+    protected static final String YEP = "yep";
+    protected static final String YEN = "yen";
+    protected static final String AXIS = "axis";
+    protected static final String NAME = "name";
+    protected static final String UNIT = "unit";
+    protected static final String MIN = "Min";
+    protected static final String MAX = "Max";
+    protected static final String META_INFO = "metaInfo";
+    protected static final String ERROR_LIST = "errorList";
+    protected static final String WARNING_LIST = "warningList";
+    protected static final String INFO_LIST = "infoList";
+    protected static final String DATA_STYLES = "dataStyles";
+    protected static final String DATA_LABELS = "dataLabels";
     private static final String VAL_RMS = "rms";
     private static final String VAL_MEAN = "mean";
     private static final String VAL_INTEGRAL = "integral";
     private static boolean transmitDataLabels = true;
     private static boolean transmitMetaData = true;
+    private static boolean transmitFieldIndex;
 
     protected DataSetSerialiser() {
         super();
@@ -100,6 +107,10 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
         return transmitDataLabels;
     }
 
+    public static boolean isFieldIndexSerialised() {
+        return transmitFieldIndex;
+    }
+
     public static boolean isMetaDataSerialised() {
         return transmitMetaData;
     }
@@ -206,33 +217,33 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
         header = checkFieldCompatibility(readBuffer, fieldHeaderList, X_ARRAY_NAME, DataType.DOUBLE_ARRAY,
                 DataType.FLOAT_ARRAY);
         if (header.isPresent()) {
-            builder.setXValues(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
+            builder.setXValues(BinarySerialiser.getDoubleArray(readBuffer, header.get()));
         }
 
         header = checkFieldCompatibility(readBuffer, fieldHeaderList, Y_ARRAY_NAME, DataType.DOUBLE_ARRAY,
                 DataType.FLOAT_ARRAY);
         if (header.isPresent()) {
-            builder.setYValues(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
+            builder.setYValues(BinarySerialiser.getDoubleArray(readBuffer, header.get()));
         }
 
         header = checkFieldCompatibility(readBuffer, fieldHeaderList, XEN, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
         if (header.isPresent()) {
-            builder.setXNegErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
+            builder.setXNegErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get()));
         }
 
         header = checkFieldCompatibility(readBuffer, fieldHeaderList, XEP, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
         if (header.isPresent()) {
-            builder.setXPosErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
+            builder.setXPosErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get()));
         }
 
         header = checkFieldCompatibility(readBuffer, fieldHeaderList, YEN, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
         if (header.isPresent()) {
-            builder.setYNegErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
+            builder.setYNegErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get()));
         }
 
         header = checkFieldCompatibility(readBuffer, fieldHeaderList, YEP, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
         if (header.isPresent()) {
-            builder.setYPosErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
+            builder.setYPosErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get()));
         }
     }
 
@@ -247,25 +258,29 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
     public static DataSet readDataSetFromByteArray(final IoBuffer readBuffer) { // NOPMD
         final DataSetBuilder builder = new DataSetBuilder();
 
+        final long streamStart = readBuffer.position();
         final HeaderInfo bufferHeader = BinarySerialiser.checkHeaderInfo(readBuffer);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.atDebug().addArgument(bufferHeader).log("read header = {}");
         }
 
-        FieldHeader fieldRoot = BinarySerialiser.parseIoStream(readBuffer);
-        // parsed until end of buffer
+        // N.B. uses the field index if present, otherwise parses the headers until end of buffer
+        final List<FieldHeader> fieldHeaders = FieldIndex.read(readBuffer, streamStart).getFieldHeaders();
+        if (!bufferHeader.isCompressed() && fieldHeaders.stream().anyMatch(field -> field.getCodec() != null)) {
+            throw new IllegalStateException("compressed array within stream declared as uncompressed: " + bufferHeader);
+        }
 
-        parseHeader(readBuffer, builder, fieldRoot.getChildren());
+        parseHeader(readBuffer, builder, fieldHeaders);
 
         if (isMetaDataSerialised()) {
-            parseMetaData(readBuffer, builder, fieldRoot.getChildren());
+            parseMetaData(readBuffer, builder, fieldHeaders);
         }
 
         if (isDataLablesSerialised()) {
-            parseDataLabels(readBuffer, builder, fieldRoot.getChildren());
+            parseDataLabels(readBuffer, builder, fieldHeaders);
         }
 
-        parseNumericData(readBuffer, builder, fieldRoot.getChildren());
+        parseNumericData(readBuffer, builder, fieldHeaders);
 
         return builder.build();
     }
@@ -274,6 +289,15 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
         transmitDataLabels = state;
     }
 
+    /**
+     * @param state {@code true}: prepend a field index allowing partial/lazy deserialisation (e.g. via
+     *        {@link LazyDataSetReader}), {@code false}: no index (default)
+     * @see FieldIndex
+     */
+    public static void setFieldIndexSerialised(final boolean state) {
+        transmitFieldIndex = state;
+    }
+
     public static void setMetaDataSerialised(final boolean state) {
         transmitMetaData = state;
     }
@@ -320,12 +344,32 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
      *        (better precision)
      */
     public static void writeDataSetToByteArray(final DataSet dataSet, final IoBuffer buffer, final boolean asFloat) {
+        writeDataSetToByteArray(dataSet, buffer, asFloat, null, null);
+    }
+
+    /**
+     * Write data set into byte buffer using the given compression codecs.
+     * <p>
+     * N.B. compressed arrays are transmitted as doubles, ie. the codecs take precedence over the 'asFloat' option.
+     * Streams using compression are tagged with the {@link BinarySerialiser#VERSION_MAJOR_COMPRESSION} format version.
+     *
+     * @param dataSet The DataSet to export
+     * @param buffer byte output buffer (N.B. keep caching this object)
+     * @param asFloat {@code true}: encode data as binary floats (smaller size, performance), or {@code false} as double
+     *        (better precision)
+     * @param xCodec compression codec for the x-coordinates and their errors, {@code null}: uncompressed
+     * @param yCodec compression codec for the y-coordinates and their errors, {@code null}: uncompressed
+     */
+    public static void writeDataSetToByteArray(final DataSet dataSet, final IoBuffer buffer, final boolean asFloat,
+            final ArrayCodec xCodec, final ArrayCodec yCodec) {
         AssertUtils.notNull("dataSet", dataSet);
         AssertUtils.notNull("buffer", buffer);
 
         dataSet.lock();
 
-        BinarySerialiser.putHeaderInfo(buffer);
+        final long streamStart = buffer.position();
+        BinarySerialiser.putHeaderInfo(buffer, xCodec != null || yCodec != null);
+        final long fieldIndexPosition = isFieldIndexSerialised() ? FieldIndex.putPlaceholder(buffer) : -1;
 
         writeHeaderDataToStream(buffer, dataSet);
 
@@ -337,7 +381,11 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
             writeDataLabelsToStream(buffer, dataSet);
         }
 
-        writeNumericBinaryDataToBuffer(buffer, dataSet, asFloat);
+        writeNumericBinaryDataToBuffer(buffer, dataSet, asFloat, xCodec, yCodec);
+
+        if (fieldIndexPosition >= 0) {
+            FieldIndex.put(buffer, streamStart, fieldIndexPosition);
+        }
 
         BinarySerialiser.putEndMarker(buffer, "OBJ_ROOT_END");
     }
@@ -393,56 +441,56 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
      */
     protected static void writeNumericBinaryDataToBuffer(final IoBuffer buffer, final DataSet dataSet,
             final boolean asFloat) {
+        writeNumericBinaryDataToBuffer(buffer, dataSet, asFloat, null, null);
+    }
+
+    /**
+     * @param buffer IoBuffer to write binary data into
+     * @param dataSet to be exported
+     * @param asFloat {@code true} use 32-bit floats (less memory, faster transfer) instead of 64-bit doubles (DataSet
+     *        default, higher precision)
+     * @param xCodec compression codec for the x-coordinates and their errors, {@code null}: uncompressed
+     * @param yCodec compression codec for the y-coordinates and their errors, {@code null}: uncompressed
+     */
+    protected static void writeNumericBinaryDataToBuffer(final IoBuffer buffer, final DataSet dataSet,
+            final boolean asFloat, final ArrayCodec xCodec, final ArrayCodec yCodec) {
         final int nsamples = dataSet.getDataCount(DIM_X);
 
-        if (asFloat) {
-            BinarySerialiser.put(buffer, X_ARRAY_NAME, toFloats(dataSet.getValues(DIM_X)), new int[] { nsamples });
-            BinarySerialiser.put(buffer, Y_ARRAY_NAME, toFloats(dataSet.getValues(DIM_Y)), new int[] { nsamples });
-            if (!(dataSet instanceof DataSetError)) {
-                // data set does not have any error definition
-                return;
-            }
-            final DataSetError ds = (DataSetError) dataSet;
-            for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
-                switch (ds.getErrorType(dimIndex)) {
-                default:
-                case NO_ERROR:
-                    break;
-                case SYMMETRIC:
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEP : YEP,
-                            toFloats(ds.getErrorsPositive(dimIndex)), new int[] { nsamples });
-                    break;
-                case ASYMMETRIC:
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEN : YEN,
-                            toFloats(ds.getErrorsNegative(dimIndex)), new int[] { nsamples });
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEP : YEP,
-                            toFloats(ds.getErrorsPositive(dimIndex)), new int[] { nsamples });
-                    break;
-                }
+        writeArray(buffer, X_ARRAY_NAME, dataSet.getValues(DIM_X), nsamples, asFloat, xCodec);
+        writeArray(buffer, Y_ARRAY_NAME, dataSet.getValues(DIM_Y), nsamples, asFloat, yCodec);
+        if (!(dataSet instanceof DataSetError)) {
+            // data set does not have any error definition
+            return;
+        }
+        final DataSetError ds = (DataSetError) dataSet;
+        for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
+            final ArrayCodec codec = dimIndex == DIM_X ? xCodec : yCodec;
+            switch (ds.getErrorType(dimIndex)) {
+            case NO_ERROR:
+                break;
+            case ASYMMETRIC:
+                writeArray(buffer, dimIndex == DIM_X ? XEN : YEN, ds.getErrorsNegative(dimIndex), nsamples, asFloat,
+                        codec);
+                writeArray(buffer, dimIndex == DIM_X ? XEP : YEP, ds.getErrorsPositive(dimIndex), nsamples, asFloat,
+                        codec);
+                break;
+            case SYMMETRIC:
+            default:
+                writeArray(buffer, dimIndex == DIM_X ? XEP : YEP, ds.getErrorsPositive(dimIndex), nsamples, asFloat,
+                        codec);
+                break;
             }
+        }
+    }
+
+    private static void writeArray(final IoBuffer buffer, final String fieldName, final double[] values,
+            final int nsamples, final boolean asFloat, final ArrayCodec codec) {
+        if (codec != null) {
+            BinarySerialiser.put(buffer, fieldName, values, new int[] { nsamples }, codec);
+        } else if (asFloat) {
+            BinarySerialiser.put(buffer, fieldName, toFloats(values), new int[] { nsamples });
         } else {
-            BinarySerialiser.put(buffer, X_ARRAY_NAME, dataSet.getValues(DIM_X), new int[] { nsamples });
-            BinarySerialiser.put(buffer, Y_ARRAY_NAME, dataSet.getValues(DIM_Y), new int[] { nsamples });
-            if (!(dataSet instanceof DataSetError)) {
-                // data set does not have any error definition
-                return;
-            }
-            final DataSetError ds = (DataSetError) dataSet;
-            for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
-                switch (ds.getErrorType(dimIndex)) {
-                default:
-                case SYMMETRIC:
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEP : YEP, ds.getErrorsPositive(dimIndex),
-                            new int[] { nsamples });
-                    break;
-                case ASYMMETRIC:
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEN : YEN, ds.getErrorsNegative(dimIndex),
-                            new int[] { nsamples });
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEP : YEP, ds.getErrorsPositive(dimIndex),
-                            new int[] { nsamples });
-                    break;
-                }
-            }
+            BinarySerialiser.put(buffer, fieldName, values, new int[] { nsamples });
         }
     }
 }
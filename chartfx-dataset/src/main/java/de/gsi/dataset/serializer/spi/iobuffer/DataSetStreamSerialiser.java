@@ -0,0 +1,664 @@
+package de.gsi.dataset.serializer.spi.iobuffer;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.DataSetError.ErrorType;
+import de.gsi.dataset.DataSetMetaData;
+import de.gsi.dataset.EditableDataSet;
+import de.gsi.dataset.event.UpdatedDataEvent;
+import de.gsi.dataset.spi.AbstractDataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.dataset.utils.ArrayPool;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Streaming counterpart of {@link DataSetSerialiser}: writes DataSets to and reads DataSets from NIO byte channels
+ * (files, sockets, pipes, ...) through a single fixed-size chunk buffer, ie. without buffering the whole serialised
+ * DataSet in memory. Besides creating new DataSets, the decoder can update an existing {@link EditableDataSet} in
+ * place, reusing its internal arrays if they are large enough (natively supported for {@link DoubleDataSet} and
+ * {@link DoubleErrorDataSet}, other editable data sets are updated point-by-point).
+ * <p>
+ * Stream layout (little-endian):
+ * <ul>
+ * <li>header: magic, version, flags, DataSet name, axis descriptions, number of samples and error types
+ * <li>meta-data (optional): info/warning/error lists and meta-info map
+ * <li>data labels and styles (optional): sparse index to label/style lists
+ * <li>numeric data: x, y and the error columns, each encoded as contiguous double or float arrays
+ * <li>end marker
+ * </ul>
+ * N.B. Instances are not thread-safe and should be kept/reused per thread (the chunk buffer is allocated only once).
+ * Blocking channels are expected.
+ */
+public class DataSetStreamSerialiser {
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    private static final int MIN_CHUNK_SIZE = 1 << 10;
+    private static final int MAGIC = 0x43465853; // 'CFXS'
+    private static final byte VERSION = 1;
+    private static final int END_MARKER = 0x454E4421; // 'END!'
+    private static final byte FLAG_FLOAT = 1;
+    private static final byte FLAG_META_DATA = 1 << 1;
+    private static final byte FLAG_DATA_LABELS = 1 << 2;
+    private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+    private final ByteBuffer chunk;
+    private final DoubleBuffer doubleView;
+    private final double[] columnBuffer;
+    private boolean metaDataSerialised = true;
+    private boolean dataLabelsSerialised = true;
+    private WritableByteChannel outChannel;
+    private ReadableByteChannel inChannel;
+
+    /**
+     * new serialiser using a direct chunk buffer of {@link #DEFAULT_CHUNK_SIZE} bytes
+     */
+    public DataSetStreamSerialiser() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize size of the (direct) chunk buffer in bytes
+     */
+    public DataSetStreamSerialiser(final int chunkSize) {
+        if (chunkSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize " + chunkSize + " must be >= " + MIN_CHUNK_SIZE);
+        }
+        chunk = ByteBuffer.allocateDirect(chunkSize).order(ByteOrder.LITTLE_ENDIAN);
+        doubleView = chunk.duplicate().order(ByteOrder.LITTLE_ENDIAN).clear().asDoubleBuffer();
+        columnBuffer = new double[chunkSize / Double.BYTES];
+    }
+
+    /**
+     * @return size of the chunk buffer in bytes
+     */
+    public int getChunkSize() {
+        return chunk.capacity();
+    }
+
+    public boolean isDataLabelsSerialised() {
+        return dataLabelsSerialised;
+    }
+
+    public boolean isMetaDataSerialised() {
+        return metaDataSerialised;
+    }
+
+    /**
+     * reads the next DataSet from the channel into a newly allocated DataSet
+     *
+     * @param channel source channel
+     * @return new DataSet containing the data and meta data read from the channel
+     * @throws IOException in case of channel errors or a premature end of stream
+     */
+    public DoubleErrorDataSet read(final ReadableByteChannel channel) throws IOException {
+        return read(channel, new DoubleErrorDataSet("", 0));
+    }
+
+    /**
+     * reads the next DataSet from the channel into an existing data set, replacing its data, labels, styles and
+     * (if the data set implements {@link DataSetMetaData}) meta data. The data is decoded into temporary (pooled)
+     * arrays first, the target's write lock is only held while these are copied into the data set (for
+     * {@link DoubleDataSet} and {@link DoubleErrorDataSet} reusing their internal arrays if large enough).
+     *
+     * @param channel source channel
+     * @param target data set to be updated
+     * @param <D> generic data set type
+     * @return the updated target (fluent design)
+     * @throws IOException in case of channel errors or a premature end of stream
+     */
+    public <D extends EditableDataSet> D read(final ReadableByteChannel channel, final D target) throws IOException {
+        AssertUtils.notNull("channel", channel);
+        AssertUtils.notNull("target", target);
+        if (channel != inChannel) {
+            // N.B. bytes read ahead from the same channel belong to the next DataSet and are kept
+            inChannel = channel;
+            chunk.clear().limit(0);
+        }
+        // decode first (blocking I/O) and hold the write lock only while swapping the decoded data in
+        final DecodedDataSet decoded = readDataSet(target instanceof DataSetError);
+        try {
+            target.lock().writeLockGuard(() -> decoded.applyTo(target));
+        } finally {
+            decoded.release();
+        }
+        target.invokeListener(new UpdatedDataEvent(target, "decoded from stream"));
+        return target;
+    }
+
+    public void setDataLabelsSerialised(final boolean state) {
+        dataLabelsSerialised = state;
+    }
+
+    public void setMetaDataSerialised(final boolean state) {
+        metaDataSerialised = state;
+    }
+
+    /**
+     * writes the DataSet to the channel
+     *
+     * @param dataSet the DataSet to export
+     * @param channel destination channel
+     * @param asFloat {@code true}: encode data as binary floats (smaller size, performance), or {@code false} as double
+     *            (better precision)
+     * @throws IOException in case of channel errors
+     */
+    public void write(final DataSet dataSet, final WritableByteChannel channel, final boolean asFloat)
+            throws IOException {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.notNull("channel", channel);
+        outChannel = channel;
+        inChannel = null; // invalidates bytes read ahead
+        chunk.clear();
+        dataSet.lock().readLock();
+        try {
+            writeDataSet(dataSet, asFloat);
+            putInt(END_MARKER);
+            flush();
+        } finally {
+            dataSet.lock().readUnLock();
+            outChannel = null;
+        }
+    }
+
+    private void checkEndMarker() throws IOException {
+        final int marker = getInt();
+        if (marker != END_MARKER) {
+            throw new IllegalStateException("mismatched end marker 0x" + Integer.toHexString(marker));
+        }
+    }
+
+    private void fill(final int nBytes) throws IOException {
+        if (chunk.remaining() >= nBytes) {
+            return;
+        }
+        chunk.compact();
+        while (chunk.position() < nBytes) {
+            if (inChannel.read(chunk) < 0) {
+                throw new EOFException("premature end of stream - missing " + (nBytes - chunk.position()) + " bytes");
+            }
+        }
+        chunk.flip();
+    }
+
+    private void flush() throws IOException {
+        chunk.flip();
+        while (chunk.hasRemaining()) {
+            outChannel.write(chunk);
+        }
+        chunk.clear();
+    }
+
+    private void getColumn(final double[] dst, final int count, final boolean asFloat) throws IOException {
+        // align the column start with the chunk start -> allows bulk transfers through the typed view
+        chunk.compact().flip();
+        final int elementSize = asFloat ? Float.BYTES : Double.BYTES;
+        int offset = 0;
+        while (offset < count) {
+            fill(elementSize);
+            final int n = Math.min(count - offset, chunk.remaining() / elementSize);
+            if (asFloat) {
+                for (int i = offset; i < offset + n; i++) {
+                    dst[i] = chunk.getFloat();
+                }
+            } else {
+                doubleView.clear().position(chunk.position() >> 3);
+                doubleView.get(dst, offset, n);
+                chunk.position(chunk.position() + (n << 3));
+            }
+            offset += n;
+        }
+    }
+
+    private ErrorType getErrorType() throws IOException {
+        final byte ordinal = chunk.get();
+        if (ordinal < 0 || ordinal >= ERROR_TYPES.length) {
+            throw new IOException("invalid error type " + ordinal + " - expected [0, " + ERROR_TYPES.length + ')');
+        }
+        return ERROR_TYPES[ordinal];
+    }
+
+    private int getInt() throws IOException {
+        fill(Integer.BYTES);
+        return chunk.getInt();
+    }
+
+    private String getString() throws IOException {
+        final int length = getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            fill(1);
+            final int n = Math.min(length - offset, chunk.remaining());
+            chunk.get(bytes, offset, n);
+            offset += n;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void getStringList(final List<String> list) throws IOException {
+        final int size = getInt();
+        if (list != null) {
+            list.clear();
+        }
+        for (int i = 0; i < size; i++) {
+            final String value = getString();
+            if (list != null) {
+                list.add(value);
+            }
+        }
+    }
+
+    private void reserve(final int nBytes) throws IOException {
+        if (chunk.remaining() < nBytes) {
+            flush();
+        }
+    }
+
+    private void putColumn(final ColumnReader column, final int count, final boolean asFloat) throws IOException {
+        // align the column start with the chunk start -> allows bulk transfers through the typed view
+        flush();
+        final int elementSize = asFloat ? Float.BYTES : Double.BYTES;
+        int offset = 0;
+        while (offset < count) {
+            reserve(elementSize);
+            final int n = Math.min(Math.min(count - offset, chunk.remaining() / elementSize), columnBuffer.length);
+            // copy only the next chunk via the data set's ranged bulk accessor
+            column.get(offset, offset + n, columnBuffer, 0);
+            if (asFloat) {
+                for (int i = 0; i < n; i++) {
+                    chunk.putFloat((float) columnBuffer[i]);
+                }
+            } else {
+                doubleView.clear().position(chunk.position() >> 3);
+                doubleView.put(columnBuffer, 0, n);
+                chunk.position(chunk.position() + (n << 3));
+            }
+            offset += n;
+        }
+    }
+
+    private void putDouble(final double value) throws IOException {
+        reserve(Double.BYTES);
+        chunk.putDouble(value);
+    }
+
+    private void putInt(final int value) throws IOException {
+        reserve(Integer.BYTES);
+        chunk.putInt(value);
+    }
+
+    private void putString(final String value) throws IOException {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!chunk.hasRemaining()) {
+                flush();
+            }
+            final int n = Math.min(bytes.length - offset, chunk.remaining());
+            chunk.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    private void putStringList(final List<String> list) throws IOException {
+        putInt(list.size());
+        for (final String value : list) {
+            putString(value);
+        }
+    }
+
+    private DecodedDataSet readDataSet(final boolean withErrors) throws IOException {
+        final int magic = getInt();
+        if (magic != MAGIC) {
+            throw new IllegalStateException("stream does not start with magic 0x" + Integer.toHexString(MAGIC)
+                                            + " but 0x" + Integer.toHexString(magic));
+        }
+        fill(2);
+        final byte version = chunk.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("stream version incompatible: received '" + version + "' vs. this '"
+                                            + VERSION + "'");
+        }
+        final byte flags = chunk.get();
+        final boolean asFloat = (flags & FLAG_FLOAT) != 0;
+        final DecodedDataSet decoded = new DecodedDataSet(getString());
+
+        final int nDims = getInt();
+        decoded.axisNames = new String[nDims];
+        decoded.axisUnits = new String[nDims];
+        for (int dimIndex = 0; dimIndex < nDims; dimIndex++) {
+            decoded.axisNames[dimIndex] = getString();
+            decoded.axisUnits[dimIndex] = getString();
+            fill(2 * Double.BYTES);
+            chunk.getDouble(); // min: recomputed from the data
+            chunk.getDouble(); // max: recomputed from the data
+        }
+        final int count = getInt();
+        fill(2);
+        final ErrorType[] errorTypes = { getErrorType(), getErrorType() };
+
+        if ((flags & FLAG_META_DATA) != 0) {
+            readMetaData(decoded);
+        }
+        if ((flags & FLAG_DATA_LABELS) != 0) {
+            decoded.labels = readLabelMap();
+            decoded.styles = readLabelMap();
+        }
+
+        decoded.count = count;
+        decoded.x = ArrayPool.getDoubleArray(count);
+        decoded.y = ArrayPool.getDoubleArray(count);
+        try {
+            getColumn(decoded.x, count, asFloat);
+            getColumn(decoded.y, count, asFloat);
+            skipErrors(errorTypes[DIM_X], count, asFloat);
+            if (withErrors) {
+                decoded.yErrorsNeg = ArrayPool.getDoubleArray(count);
+                decoded.yErrorsPos = ArrayPool.getDoubleArray(count);
+                readErrors(errorTypes[DIM_Y], decoded.yErrorsNeg, decoded.yErrorsPos, count, asFloat);
+            } else {
+                skipErrors(errorTypes[DIM_Y], count, asFloat);
+            }
+            checkEndMarker();
+        } catch (final IOException | RuntimeException e) {
+            decoded.release();
+            throw e;
+        }
+        return decoded;
+    }
+
+    private void readErrors(final ErrorType errorType, final double[] errorsNeg, final double[] errorsPos,
+            final int count, final boolean asFloat) throws IOException {
+        switch (errorType) {
+        case ASYMMETRIC:
+            getColumn(errorsNeg, count, asFloat);
+            getColumn(errorsPos, count, asFloat);
+            break;
+        case SYMMETRIC:
+            getColumn(errorsPos, count, asFloat);
+            System.arraycopy(errorsPos, 0, errorsNeg, 0, count);
+            break;
+        case NO_ERROR:
+        default:
+            Arrays.fill(errorsNeg, 0, count, 0.0);
+            Arrays.fill(errorsPos, 0, count, 0.0);
+            break;
+        }
+    }
+
+    private Map<Integer, String> readLabelMap() throws IOException {
+        final int size = getInt();
+        final Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final int index = getInt();
+            final String value = getString();
+            if (value != null) {
+                map.put(index, value);
+            }
+        }
+        return map;
+    }
+
+    private void readMetaData(final DecodedDataSet decoded) throws IOException {
+        decoded.infoList = new ArrayList<>();
+        decoded.warningList = new ArrayList<>();
+        decoded.errorList = new ArrayList<>();
+        getStringList(decoded.infoList);
+        getStringList(decoded.warningList);
+        getStringList(decoded.errorList);
+        decoded.metaInfo = new HashMap<>();
+        final int size = getInt();
+        for (int i = 0; i < size; i++) {
+            final String key = getString();
+            final String value = getString();
+            if (key != null && value != null) {
+                decoded.metaInfo.put(key, value);
+            }
+        }
+    }
+
+    private void skipErrors(final ErrorType errorType, final int count, final boolean asFloat) throws IOException {
+        final int nColumns = errorType == ErrorType.ASYMMETRIC ? 2 : errorType == ErrorType.SYMMETRIC ? 1 : 0;
+        long nBytes = (long) nColumns * count * (asFloat ? Float.BYTES : Double.BYTES);
+        while (nBytes > 0) {
+            fill(1);
+            final int n = (int) Math.min(nBytes, chunk.remaining());
+            chunk.position(chunk.position() + n);
+            nBytes -= n;
+        }
+    }
+
+    private void writeDataSet(final DataSet dataSet, final boolean asFloat) throws IOException {
+        final boolean withMetaData = metaDataSerialised && dataSet instanceof DataSetMetaData;
+        putInt(MAGIC);
+        reserve(2);
+        chunk.put(VERSION);
+        chunk.put((byte) ((asFloat ? FLAG_FLOAT : 0) | (withMetaData ? FLAG_META_DATA : 0)
+                          | (dataLabelsSerialised ? FLAG_DATA_LABELS : 0)));
+        putString(dataSet.getName());
+
+        final int nDims = dataSet.getDimension();
+        putInt(nDims);
+        for (int dimIndex = 0; dimIndex < nDims; dimIndex++) {
+            final AxisDescription axisDescription = dataSet.getAxisDescription(dimIndex);
+            putString(axisDescription.getName());
+            putString(axisDescription.getUnit());
+            putDouble(axisDescription.getMin());
+            putDouble(axisDescription.getMax());
+        }
+        final int count = dataSet.getDataCount();
+        putInt(count);
+        final ErrorType[] errorTypes = { ErrorType.NO_ERROR, ErrorType.NO_ERROR };
+        if (dataSet instanceof DataSetError) {
+            errorTypes[DIM_X] = ((DataSetError) dataSet).getErrorType(DIM_X);
+            errorTypes[DIM_Y] = ((DataSetError) dataSet).getErrorType(DIM_Y);
+        }
+        reserve(2);
+        chunk.put((byte) errorTypes[DIM_X].ordinal());
+        chunk.put((byte) errorTypes[DIM_Y].ordinal());
+
+        if (withMetaData) {
+            writeMetaData((DataSetMetaData) dataSet);
+        }
+        if (dataLabelsSerialised) {
+            writeLabels(dataSet, count);
+        }
+
+        putColumn((from, to, dst, offset) -> dataSet.getValues(DIM_X, from, to, dst, offset), count, asFloat);
+        putColumn((from, to, dst, offset) -> dataSet.getValues(DIM_Y, from, to, dst, offset), count, asFloat);
+        for (int dimIndex = DIM_X; dimIndex <= DIM_Y; dimIndex++) {
+            final int dim = dimIndex;
+            final DataSetError errorDataSet;
+            switch (errorTypes[dimIndex]) {
+            case ASYMMETRIC:
+                errorDataSet = (DataSetError) dataSet;
+                putColumn((from, to, dst, offset) -> errorDataSet.getErrorsNegative(dim, from, to, dst, offset), count,
+                        asFloat);
+                putColumn((from, to, dst, offset) -> errorDataSet.getErrorsPositive(dim, from, to, dst, offset), count,
+                        asFloat);
+                break;
+            case SYMMETRIC:
+                errorDataSet = (DataSetError) dataSet;
+                putColumn((from, to, dst, offset) -> errorDataSet.getErrorsPositive(dim, from, to, dst, offset), count,
+                        asFloat);
+                break;
+            case NO_ERROR:
+            default:
+                break;
+            }
+        }
+    }
+
+    private void writeLabels(final DataSet dataSet, final int count) throws IOException {
+        if (dataSet instanceof AbstractDataSet) {
+            // sparse maps: no need to probe every index
+            for (final Map<Integer, String> map : Arrays.asList(((AbstractDataSet<?>) dataSet).getDataLabelMap(),
+                         ((AbstractDataSet<?>) dataSet).getDataStyleMap())) {
+                putInt(map.size());
+                for (final Map.Entry<Integer, String> entry : map.entrySet()) {
+                    putInt(entry.getKey());
+                    putString(entry.getValue());
+                }
+            }
+            return;
+        }
+        for (int type = 0; type < 2; type++) {
+            int size = 0;
+            for (int index = 0; index < count; index++) {
+                final String value = type == 0 ? dataSet.getDataLabel(index) : dataSet.getStyle(index);
+                if (value != null) {
+                    size++;
+                }
+            }
+            putInt(size);
+            for (int index = 0; index < count; index++) {
+                final String value = type == 0 ? dataSet.getDataLabel(index) : dataSet.getStyle(index);
+                if (value != null) {
+                    putInt(index);
+                    putString(value);
+                }
+            }
+        }
+    }
+
+    private void writeMetaData(final DataSetMetaData metaData) throws IOException {
+        putStringList(metaData.getInfoList());
+        putStringList(metaData.getWarningList());
+        putStringList(metaData.getErrorList());
+        final Map<String, String> metaInfo = metaData.getMetaInfo();
+        putInt(metaInfo.size());
+        for (final Map.Entry<String, String> entry : metaInfo.entrySet()) {
+            putString(entry.getKey());
+            putString(entry.getValue());
+        }
+    }
+
+    /**
+     * ranged bulk accessor of a single data set column, e.g. {@link DataSet#getValues(int, int, int, double[], int)}
+     */
+    @FunctionalInterface
+    private interface ColumnReader {
+        double[] get(int fromIndex, int toIndex, double[] dst, int dstOffset);
+    }
+
+    /**
+     * stream content that has been decoded but not yet applied to the target data set
+     */
+    private static class DecodedDataSet {
+        private final String name;
+        private String[] axisNames;
+        private String[] axisUnits;
+        private int count;
+        private double[] x;
+        private double[] y;
+        private double[] yErrorsNeg;
+        private double[] yErrorsPos;
+        private List<String> infoList; // 'null' -> no meta data transmitted
+        private List<String> warningList;
+        private List<String> errorList;
+        private Map<String, String> metaInfo;
+        private Map<Integer, String> labels; // 'null' -> no labels/styles transmitted
+        private Map<Integer, String> styles;
+
+        private DecodedDataSet(final String name) {
+            this.name = name;
+        }
+
+        private void applyTo(final EditableDataSet target) {
+            target.setName(name);
+            if (target instanceof DoubleErrorDataSet) {
+                ((DoubleErrorDataSet) target).set(x, y, yErrorsNeg, yErrorsPos, count, true);
+            } else if (target instanceof DoubleDataSet) {
+                ((DoubleDataSet) target).set(x, y, count, true);
+            } else {
+                applyPointByPoint(target);
+            }
+
+            for (int dimIndex = 0; dimIndex < Math.min(axisNames.length, target.getDimension()); dimIndex++) {
+                final AxisDescription axisDescription = target.getAxisDescription(dimIndex);
+                axisDescription.set(axisNames[dimIndex], axisUnits[dimIndex], axisDescription.getMin(),
+                        axisDescription.getMax());
+            }
+
+            if (infoList != null && target instanceof DataSetMetaData) {
+                final DataSetMetaData metaData = (DataSetMetaData) target;
+                replace(metaData.getInfoList(), infoList);
+                replace(metaData.getWarningList(), warningList);
+                replace(metaData.getErrorList(), errorList);
+                metaData.getMetaInfo().clear();
+                metaData.getMetaInfo().putAll(metaInfo);
+            }
+
+            if (target instanceof AbstractDataSet) {
+                final AbstractDataSet<?> dataSet = (AbstractDataSet<?>) target;
+                dataSet.getDataLabelMap().clear();
+                dataSet.getDataStyleMap().clear();
+                if (labels != null) {
+                    dataSet.getDataLabelMap().putAll(labels);
+                    dataSet.getDataStyleMap().putAll(styles);
+                }
+            }
+        }
+
+        private void applyPointByPoint(final EditableDataSet target) {
+            final boolean withErrors = target instanceof DataSetError;
+            for (int index = target.getDataCount() - 1; index >= count; index--) {
+                target.remove(index);
+            }
+            final int nExisting = target.getDataCount();
+            for (int index = 0; index < count; index++) {
+                final double[] point = withErrors ? new double[] { x[index], y[index], yErrorsNeg[index],
+                        yErrorsPos[index] } : new double[] { x[index], y[index] };
+                if (index < nExisting) {
+                    target.set(index, point);
+                } else {
+                    target.add(index, point);
+                }
+            }
+            target.recomputeLimits(DIM_X);
+            target.recomputeLimits(DIM_Y);
+        }
+
+        private void release() {
+            for (final double[] array : new double[][] { x, y, yErrorsNeg, yErrorsPos }) {
+                if (array != null) {
+                    ArrayPool.release(array);
+                }
+            }
+            x = null;
+            y = null;
+            yErrorsNeg = null;
+            yErrorsPos = null;
+        }
+
+        private static void replace(final List<String> list, final List<String> newElements) {
+            list.clear();
+            list.addAll(newElements);
+        }
+    }
+}
@@ -30,45 +30,45 @@ public final class FieldBoxedValueArrayHelper {
     public static void register(final AbstractSerialiser serialiser, final IoBuffer ioBuffer) {
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, GenericsHelper.toObject(ioBuffer.getBooleanArray())), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, GenericsHelper.toObject(ioBuffer.getBooleanArray())), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        GenericsHelper.toBoolPrimitive((Boolean[]) field.getField().get(obj))), // writer
+                        GenericsHelper.toBoolPrimitive((Boolean[]) field.getFieldAccessor().get(obj))), // writer
                 Boolean[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, GenericsHelper.toObject(ioBuffer.getByteArray())), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, GenericsHelper.toObject(ioBuffer.getByteArray())), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        GenericsHelper.toBytePrimitive((Byte[]) field.getField().get(obj))), // writer
+                        GenericsHelper.toBytePrimitive((Byte[]) field.getFieldAccessor().get(obj))), // writer
                 Byte[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, GenericsHelper.toObject(ioBuffer.getShortArray())), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, GenericsHelper.toObject(ioBuffer.getShortArray())), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        GenericsHelper.toShortPrimitive((Short[]) field.getField().get(obj))), // writer
+                        GenericsHelper.toShortPrimitive((Short[]) field.getFieldAccessor().get(obj))), // writer
                 Short[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, GenericsHelper.toObject(ioBuffer.getIntArray())), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, GenericsHelper.toObject(ioBuffer.getIntArray())), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        GenericsHelper.toIntegerPrimitive((Integer[]) field.getField().get(obj))), // writer
+                        GenericsHelper.toIntegerPrimitive((Integer[]) field.getFieldAccessor().get(obj))), // writer
                 Integer[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, GenericsHelper.toObject(ioBuffer.getLongArray())), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, GenericsHelper.toObject(ioBuffer.getLongArray())), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        GenericsHelper.toLongPrimitive((Long[]) field.getField().get(obj))), // writer
+                        GenericsHelper.toLongPrimitive((Long[]) field.getFieldAccessor().get(obj))), // writer
                 Long[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, GenericsHelper.toObject(ioBuffer.getFloatArray())), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, GenericsHelper.toObject(ioBuffer.getFloatArray())), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        GenericsHelper.toFloatPrimitive((Float[]) field.getField().get(obj))), // writer
+                        GenericsHelper.toFloatPrimitive((Float[]) field.getFieldAccessor().get(obj))), // writer
                 Float[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, GenericsHelper.toObject(ioBuffer.getDoubleArray())), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, GenericsHelper.toObject(ioBuffer.getDoubleArray())), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        GenericsHelper.toDoublePrimitive((Double[]) field.getField().get(obj))), // writer
+                        GenericsHelper.toDoublePrimitive((Double[]) field.getFieldAccessor().get(obj))), // writer
                 Double[].class));
 
         if (LOGGER.isDebugEnabled()) {
@@ -30,53 +30,91 @@ public final class FieldPrimitveValueArrayHelper {
     public static void register(final AbstractSerialiser serialiser, final IoBuffer ioBuffer) {
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj,
-                        ioBuffer.getBooleanArray((boolean[]) field.getField().get(obj))), // reader
+                (obj, field) -> {
+                    final boolean[] array = (boolean[]) field.getFieldAccessor().get(obj);
+                    field.getFieldAccessor().set(obj, isReusable(ioBuffer, array == null ? -1 : array.length)
+                                                              ? ioBuffer.getBooleanArray(array)
+                                                              : ioBuffer.getBooleanArray());
+                }, // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (boolean[]) field.getField().get(obj)), // writer
+                        (boolean[]) field.getFieldAccessor().get(obj)), // writer
                 boolean[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getByteArray((byte[]) field.getField().get(obj))), // reader
+                (obj, field) -> {
+                    final byte[] array = (byte[]) field.getFieldAccessor().get(obj);
+                    field.getFieldAccessor().set(obj, isReusable(ioBuffer, array == null ? -1 : array.length)
+                                                              ? ioBuffer.getByteArray(array)
+                                                              : ioBuffer.getByteArray());
+                }, // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (byte[]) field.getField().get(obj)), // writer
+                        (byte[]) field.getFieldAccessor().get(obj)), // writer
                 byte[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getShortArray((short[]) field.getField().get(obj))), // reader
+                (obj, field) -> {
+                    final short[] array = (short[]) field.getFieldAccessor().get(obj);
+                    field.getFieldAccessor().set(obj, isReusable(ioBuffer, array == null ? -1 : array.length)
+                                                              ? ioBuffer.getShortArray(array)
+                                                              : ioBuffer.getShortArray());
+                }, // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (short[]) field.getField().get(obj)), // writer
+                        (short[]) field.getFieldAccessor().get(obj)), // writer
                 short[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getIntArray((int[]) field.getField().get(obj))), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), (int[]) field.getField().get(obj)), // writer
+                (obj, field) -> {
+                    final int[] array = (int[]) field.getFieldAccessor().get(obj);
+                    field.getFieldAccessor().set(obj, isReusable(ioBuffer, array == null ? -1 : array.length)
+                                                              ? ioBuffer.getIntArray(array)
+                                                              : ioBuffer.getIntArray());
+                }, // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        (int[]) field.getFieldAccessor().get(obj)), // writer
                 int[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getLongArray((long[]) field.getField().get(obj))), // reader
+                (obj, field) -> {
+                    final long[] array = (long[]) field.getFieldAccessor().get(obj);
+                    field.getFieldAccessor().set(obj, isReusable(ioBuffer, array == null ? -1 : array.length)
+                                                              ? ioBuffer.getLongArray(array)
+                                                              : ioBuffer.getLongArray());
+                }, // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (long[]) field.getField().get(obj)), // writer
+                        (long[]) field.getFieldAccessor().get(obj)), // writer
                 long[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getFloatArray((float[]) field.getField().get(obj))), // reader
+                (obj, field) -> {
+                    final float[] array = (float[]) field.getFieldAccessor().get(obj);
+                    field.getFieldAccessor().set(obj, isReusable(ioBuffer, array == null ? -1 : array.length)
+                                                              ? ioBuffer.getFloatArray(array)
+                                                              : ioBuffer.getFloatArray());
+                }, // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (float[]) field.getField().get(obj)), // writer
+                        (float[]) field.getFieldAccessor().get(obj)), // writer
                 float[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj,
-                        ioBuffer.getDoubleArray((double[]) field.getField().get(obj))), // reader
+                (obj, field) -> {
+                    final double[] array = (double[]) field.getFieldAccessor().get(obj);
+                    field.getFieldAccessor().set(obj, isReusable(ioBuffer, array == null ? -1 : array.length)
+                                                              ? ioBuffer.getDoubleArray(array)
+                                                              : ioBuffer.getDoubleArray());
+                }, // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (double[]) field.getField().get(obj)), // writer
+                        (double[]) field.getFieldAccessor().get(obj)), // writer
                 double[].class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj,
-                        ioBuffer.getStringArray((String[]) field.getField().get(obj))), // reader
+                (obj, field) -> {
+                    final String[] array = (String[]) field.getFieldAccessor().get(obj);
+                    field.getFieldAccessor().set(obj, isReusable(ioBuffer, array == null ? -1 : array.length)
+                                                              ? ioBuffer.getStringArray(array)
+                                                              : ioBuffer.getStringArray());
+                }, // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (String[]) field.getField().get(obj)), // writer
+                        (String[]) field.getFieldAccessor().get(obj)), // writer
                 String[].class));
 
         if (LOGGER.isDebugEnabled()) {
@@ -84,4 +122,15 @@ public final class FieldPrimitveValueArrayHelper {
         }
     }
 
+    /**
+     * @param ioBuffer buffer positioned at the array size
+     * @param length length of the existing field array ('-1' if the field is {@code null})
+     * @return {@code true} if the existing field array matches the stored array size and can be filled in-place
+     */
+    private static boolean isReusable(final IoBuffer ioBuffer, final int length) {
+        final long position = ioBuffer.position();
+        final int arraySize = ioBuffer.getInt();
+        ioBuffer.position(position);
+        return arraySize == length;
+    }
 }
@@ -0,0 +1,141 @@
+package de.gsi.dataset.serializer.spi.iobuffer;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.FieldIndex;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Lazy reader for DataSets serialised by {@link DataSetSerialiser}: only the field headers are parsed on construction
+ * while the individual fields (e.g. a single coordinate array or the meta-data) are decoded only on access.
+ * <p>
+ * For streams written with {@link DataSetSerialiser#setFieldIndexSerialised(boolean) field index}, the field headers
+ * are located directly via the index, otherwise they are obtained by a single sequential header scan. N.B. the reader
+ * accesses the buffer on each call, ie. the buffer content must not be modified in the meantime.
+ */
+public class LazyDataSetReader {
+    private final IoBuffer buffer;
+    private final FieldIndex fieldIndex;
+
+    /**
+     * @param buffer buffer positioned at the start of the serialised DataSet
+     */
+    public LazyDataSetReader(final IoBuffer buffer) {
+        AssertUtils.notNull("buffer", buffer);
+        this.buffer = buffer;
+        final long streamStart = buffer.position();
+        BinarySerialiser.checkHeaderInfo(buffer);
+        fieldIndex = FieldIndex.read(buffer, streamStart);
+    }
+
+    /**
+     * @param fieldName name of the numeric array field
+     * @return decoded array (N.B. float arrays are converted to double) or empty optional if not present
+     */
+    public Optional<double[]> getDoubleArray(final String fieldName) {
+        final Optional<FieldHeader> header = getFieldHeader(fieldName, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
+        return header.map(fieldHeader -> BinarySerialiser.getDoubleArray(buffer, fieldHeader));
+    }
+
+    /**
+     * @param dimIndex the dimension index (ie. {@link de.gsi.dataset.DataSet#DIM_X} or
+     *        {@link de.gsi.dataset.DataSet#DIM_Y})
+     * @return negative errors of the given dimension or empty optional if not present
+     */
+    public Optional<double[]> getErrorsNegative(final int dimIndex) {
+        return getDoubleArray(checkDimension(dimIndex) == DIM_X ? DataSetSerialiser.XEN : DataSetSerialiser.YEN);
+    }
+
+    /**
+     * @param dimIndex the dimension index (ie. {@link de.gsi.dataset.DataSet#DIM_X} or
+     *        {@link de.gsi.dataset.DataSet#DIM_Y})
+     * @return positive errors of the given dimension or empty optional if not present
+     */
+    public Optional<double[]> getErrorsPositive(final int dimIndex) {
+        return getDoubleArray(checkDimension(dimIndex) == DIM_X ? DataSetSerialiser.XEP : DataSetSerialiser.YEP);
+    }
+
+    /**
+     * @param fieldName the field name
+     * @return field header descriptor (incl. data position, dimensions, and type) or empty optional if not present
+     */
+    public Optional<FieldHeader> getFieldHeader(final String fieldName) {
+        return fieldIndex.getFieldHeader(fieldName);
+    }
+
+    /**
+     * @return the underlying field index
+     */
+    public FieldIndex getFieldIndex() {
+        return fieldIndex;
+    }
+
+    /**
+     * @return the meta-info map (empty if not transmitted)
+     */
+    public Map<String, String> getMetaInfo() {
+        if (getFieldHeader(DataSetSerialiser.META_INFO, DataType.MAP).isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return BinarySerialiser.getMap(buffer, new ConcurrentHashMap<String, String>());
+    }
+
+    /**
+     * @param listName one of 'infoList', 'warningList', or 'errorList'
+     * @return the corresponding meta-data list (empty if not transmitted)
+     */
+    public List<String> getMetaList(final String listName) {
+        if (getFieldHeader(listName, DataType.STRING_ARRAY).isEmpty()) {
+            return Collections.emptyList();
+        }
+        return List.of(BinarySerialiser.getStringArray(buffer));
+    }
+
+    /**
+     * @return the DataSet name or {@code null} if not transmitted
+     */
+    public String getName() {
+        if (getFieldHeader(DataSetSerialiser.DATA_SET_NAME, DataType.STRING).isEmpty()) {
+            return null;
+        }
+        return BinarySerialiser.getString(buffer);
+    }
+
+    /**
+     * @param dimIndex the dimension index (ie. {@link de.gsi.dataset.DataSet#DIM_X} or
+     *        {@link de.gsi.dataset.DataSet#DIM_Y})
+     * @return coordinates of the given dimension or empty optional if not present
+     */
+    public Optional<double[]> getValues(final int dimIndex) {
+        return getDoubleArray(checkDimension(dimIndex) == DIM_X ? DataSetSerialiser.X_ARRAY_NAME
+                                                                 : DataSetSerialiser.Y_ARRAY_NAME);
+    }
+
+    private Optional<FieldHeader> getFieldHeader(final String fieldName, final DataType... requiredDataTypes) {
+        final Optional<FieldHeader> header = fieldIndex.getFieldHeader(fieldName);
+        if (header.isEmpty()) {
+            return header;
+        }
+        // N.B. checks data type and positions buffer at the data
+        return DataSetSerialiser.checkFieldCompatibility(buffer, List.of(header.get()), fieldName,
+                requiredDataTypes);
+    }
+
+    private static int checkDimension(final int dimIndex) {
+        if (dimIndex != DIM_X && dimIndex != DIM_Y) {
+            throw new IllegalArgumentException("dimIndex must be DIM_X or DIM_Y: " + dimIndex);
+        }
+        return dimIndex;
+    }
+}
@@ -17,6 +17,7 @@ import de.gsi.dataset.DataSetError;
 import de.gsi.dataset.DataSetMetaData;
 import de.gsi.dataset.EditConstraints;
 import de.gsi.dataset.EditableDataSet;
+import de.gsi.dataset.event.CoalescingEventDispatcher;
 import de.gsi.dataset.event.EventListener;
 import de.gsi.dataset.event.UpdateEvent;
 import de.gsi.dataset.event.UpdatedMetaDataEvent;
@@ -24,6 +25,7 @@ import de.gsi.dataset.locks.DataSetLock;
 import de.gsi.dataset.locks.DefaultDataSetLock;
 import de.gsi.dataset.spi.utils.MathUtils;
 import de.gsi.dataset.spi.utils.StringHashMapList;
+import de.gsi.dataset.utils.SlidingWindowMinMax;
 
 /**
  * <p>
@@ -53,8 +55,9 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
     private final List<AxisDescription> axesDescriptions = new ArrayList<>();
     private final transient List<EventListener> updateListeners = Collections.synchronizedList(new LinkedList<>());
     private final transient DataSetLock<? extends DataSet> lock = new DefaultDataSetLock<>(this);
+    private final transient CoalescingEventDispatcher eventDispatcher = new CoalescingEventDispatcher(this);
     private StringHashMapList dataLabels = new StringHashMapList();
-    private StringHashMapList dataStyles = new StringHashMapList();
+    private StringHashMapList dataStyles = new StringHashMapList(true);
     private List<String> infoList = new ArrayList<>();
     private List<String> warningList = new ArrayList<>();
     private List<String> errorList = new ArrayList<>();
@@ -105,6 +108,21 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         return retVal;
     }
 
+    /**
+     * Sets the same CSS style for all data points in the index range [fromIndex, toIndex[ (N.B. stored as a single
+     * run-length encoded range, independent of the number of data points). @see #getStyle()
+     *
+     * @param fromIndex the first data point index (inclusive)
+     * @param toIndex the last data point index (exclusive)
+     * @param style string for the data point specific CSS-styling ({@code null} or empty: removes the styles)
+     * @return itself (fluent interface)
+     */
+    public D addDataStyle(final int fromIndex, final int toIndex, final String style) {
+        lock().writeLockGuard(() -> dataStyles.put(fromIndex, toIndex, style));
+        fireInvalidated(new UpdatedMetaDataEvent(this, "added style"));
+        return getThis();
+    }
+
     @Override
     public AtomicBoolean autoNotification() {
         return autoNotification;
@@ -370,6 +388,15 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         return true;
     }
 
+    /**
+     * @return dispatcher used for batched (see {@link #beginBatch()}) and/or asynchronous (coalesced) notification,
+     *         synchronous notification by default
+     */
+    @Override
+    public CoalescingEventDispatcher eventDispatcher() {
+        return eventDispatcher;
+    }
+
     /**
      * Notifies listeners that the data has been invalidated. If the data is added to the chart, it triggers repaint.
      * 
@@ -406,7 +433,7 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         // }
         //
         // return getDefaultDataLabel(index);
-        return dataLabels.get(index);
+        return lock().readLockGuard(() -> dataLabels.get(index));
     }
 
     /**
@@ -461,7 +488,7 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
      */
     @Override
     public String getStyle(final int index) {
-        return dataStyles.get(index);
+        return lock().readLockGuard(() -> dataStyles.get(index));
     }
 
     @Override
@@ -607,6 +634,22 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         return retVal;
     }
 
+    /**
+     * Sets the range of the given dimension to the limits tracked by a {@link SlidingWindowMinMax} (ie. w/o rescanning
+     * the data).
+     *
+     * @param dimIndex the chosen dimension
+     * @param minMax incrementally tracked limits
+     */
+    protected void setLimits(final int dimIndex, final SlidingWindowMinMax minMax) {
+        final AxisDescription range = getAxisDescription(dimIndex);
+        if (minMax.isDefined()) {
+            range.set(minMax.getMin(), minMax.getMax());
+        } else {
+            range.clear();
+        }
+    }
+
     public D setEditConstraints(final EditConstraints constraints) {
         lock().writeLockGuard(() -> editConstraints = constraints);
         return fireInvalidated(new UpdatedMetaDataEvent(this, "new edit constraints"));
@@ -648,6 +691,29 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         return builder.toString();
     }
 
+    /**
+     * Updates the range of the given dimension after a single data point has been replaced. This is O(1) unless the
+     * replaced point defined the range boundary.
+     *
+     * @param dimIndex the chosen dimension
+     * @param oldMin lower limit of the replaced data point (e.g. 'y - dyNeg')
+     * @param oldMax upper limit of the replaced data point (e.g. 'y + dyPos')
+     * @param newMin lower limit of the new data point
+     * @param newMax upper limit of the new data point
+     * @return {@code false} if the range could not be updated incrementally and needs to be recomputed, ie. via
+     *         {@link #recomputeLimits(int)}
+     */
+    protected boolean updateLimits(final int dimIndex, final double oldMin, final double oldMax, final double newMin,
+            final double newMax) {
+        final AxisDescription range = getAxisDescription(dimIndex);
+        if (!range.isDefined() || !(oldMin > range.getMin()) || !(oldMax < range.getMax())) {
+            return false;
+        }
+        range.add(newMin);
+        range.add(newMax);
+        return true;
+    }
+
     @Override
     public synchronized List<EventListener> updateEventListener() {
         return updateListeners;
@@ -1,5 +1,7 @@
 package de.gsi.dataset.spi;
 
+import java.util.Arrays;
+
 import de.gsi.dataset.AxisDescription;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet2D;
@@ -9,6 +11,7 @@ import de.gsi.dataset.event.RemovedDataEvent;
 import de.gsi.dataset.utils.AssertUtils;
 import de.gsi.dataset.utils.CircularBuffer;
 import de.gsi.dataset.utils.DoubleCircularBuffer;
+import de.gsi.dataset.utils.SlidingWindowMinMax;
 
 /**
  * @author rstein
@@ -22,6 +25,8 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
     protected DoubleCircularBuffer yErrorsNeg;
     protected CircularBuffer<String> dataTag;
     protected CircularBuffer<String> dataStyles;
+    protected SlidingWindowMinMax xRange;
+    protected SlidingWindowMinMax yRange;
 
     /**
      * Creates a new instance of <code>CircularDoubleErrorDataSet</code>.
@@ -39,6 +44,8 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         yErrorsNeg = new DoubleCircularBuffer(initalSize);
         dataTag = new CircularBuffer<>(initalSize);
         dataStyles = new CircularBuffer<>(initalSize);
+        xRange = new SlidingWindowMinMax(Math.max(1, initalSize));
+        yRange = new SlidingWindowMinMax(Math.max(1, initalSize));
     }
 
     /**
@@ -83,7 +90,8 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
      */
     public CircularDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg,
             final double yErrorPos, final String tag, final String style) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
+            final int oldDataCount = xValues.available();
             xValues.put(x);
             yValues.put(y);
             yErrorsPos.put(yErrorPos);
@@ -91,11 +99,14 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             dataTag.put(tag);
             dataStyles.put(style);
 
-            recomputeLimits(DIM_X);
-            recomputeLimits(DIM_Y);
-        });
-
-        return fireInvalidated(new AddedDataEvent(this));
+            // N.B. incremental range update -- expired samples are dropped from the min/max tracking
+            xRange.add(x);
+            yRange.add(y - yErrorNeg, y + yErrorPos);
+            setLimits(DIM_X, xRange);
+            setLimits(DIM_Y, yRange);
+            final int count = xValues.available();
+            return new AddedDataEvent(this, "add", oldDataCount + 1 - count, count - 1, count, count);
+        }));
     }
 
     /**
@@ -120,7 +131,8 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         AssertUtils.equalDoubleArrays(xVals, yErrNeg);
         AssertUtils.equalDoubleArrays(xVals, yErrPos);
 
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
+            final int oldDataCount = xValues.available();
             this.xValues.put(xVals, xVals.length);
             this.yValues.put(yVals, yVals.length);
             this.yErrorsNeg.put(yErrNeg, yErrNeg.length);
@@ -128,11 +140,17 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             dataTag.put(new String[yErrPos.length], yErrPos.length);
             dataStyles.put(new String[yErrPos.length], yErrPos.length);
 
-            recomputeLimits(DIM_X);
-            recomputeLimits(DIM_Y);
-        });
-
-        return fireInvalidated(new AddedDataEvent(this));
+            xRange.add(xVals, 0, xVals.length);
+            // N.B. only the last 'capacity' samples can be part of the range
+            for (int i = Math.max(0, yVals.length - yRange.getCapacity()); i < yVals.length; i++) {
+                yRange.add(yVals[i] - yErrNeg[i], yVals[i] + yErrPos[i]);
+            }
+            setLimits(DIM_X, xRange);
+            setLimits(DIM_Y, yRange);
+            final int count = xValues.available();
+            return new AddedDataEvent(this, "add", oldDataCount + xVals.length - count,
+                    count - Math.min(xVals.length, count), count, count);
+        }));
     }
 
     @Override
@@ -162,11 +180,29 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         return dimIndex == DIM_X ? 0.0 : yErrorsNeg.get(index);
     }
 
+    @Override
+    public double[] getErrorsNegative(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        if (dimIndex == DIM_X) {
+            return zeroErrors(fromIndex, toIndex, dst, dstOffset);
+        }
+        return yErrorsNeg.get(dst, dstOffset, fromIndex, toIndex - fromIndex);
+    }
+
     @Override
     public double getErrorPositive(final int dimIndex, final int index) {
         return dimIndex == DIM_X ? 0.0 : yErrorsPos.get(index);
     }
 
+    @Override
+    public double[] getErrorsPositive(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        if (dimIndex == DIM_X) {
+            return zeroErrors(fromIndex, toIndex, dst, dstOffset);
+        }
+        return yErrorsPos.get(dst, dstOffset, fromIndex, toIndex - fromIndex);
+    }
+
     /**
      * A string representation of the CSS style associated with this specific {@code DataSet} data point. @see
      * #getStyle()
@@ -184,6 +220,12 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         return dimIndex == DataSet.DIM_X ? xValues.get(index) : yValues.get(index);
     }
 
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return (dimIndex == DataSet.DIM_X ? xValues : yValues).get(dst, dstOffset, fromIndex, toIndex - fromIndex);
+    }
+
     /**
      * resets all data
      * 
@@ -197,9 +239,20 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             yErrorsPos.reset();
             dataTag.reset();
             dataStyles.reset();
+            xRange.reset();
+            yRange.reset();
             getAxisDescriptions().forEach(AxisDescription::clear);
         });
 
         return fireInvalidated(new RemovedDataEvent(this));
     }
+
+    private static double[] zeroErrors(final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        Arrays.fill(retValues, dstOffset, dstOffset + length, 0.0);
+        return retValues;
+    }
 }
@@ -0,0 +1,754 @@
+package de.gsi.dataset.spi;
+
+import java.util.Arrays;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet2D;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.EditableDataSet;
+import de.gsi.dataset.event.AddedDataEvent;
+import de.gsi.dataset.event.RemovedDataEvent;
+import de.gsi.dataset.event.UpdatedDataEvent;
+import de.gsi.dataset.spi.utils.DataColumn;
+import de.gsi.dataset.spi.utils.DataColumn.Precision;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Implementation of the {@code DataSetError} interface which stores x, y, -eyn, and +eyp values in separate columns
+ * (struct-of-arrays) whose storage precision (float or double) can be chosen individually.
+ * <p>
+ * The error columns are allocated lazily: data sets without errors do not allocate any error storage, and symmetric
+ * errors share a single column for the negative and positive error. The {@link #getErrorType(int) error type} is
+ * derived from this storage layout (i.e. NO_ERROR, SYMMETRIC or ASYMMETRIC) and updated automatically whenever
+ * non-zero or asymmetric errors are added. {@link #trim()} releases error columns that turned out to be zero or
+ * symmetric.
+ *
+ * @see DoubleErrorDataSet for a double-only implementation with always allocated asymmetric errors
+ */
+@SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
+public class ColumnarErrorDataSet extends AbstractErrorDataSet<ColumnarErrorDataSet>
+        implements DataSetError, EditableDataSet, DataSet2D {
+    private static final String Y_COORDINATES = "Y coordinates";
+    private static final String X_COORDINATES = "X coordinates";
+    private static final long serialVersionUID = -6102407146436651234L;
+    private final Precision errorPrecision;
+    protected DataColumn xValues;
+    protected DataColumn yValues;
+    protected DataColumn yErrorsNeg; // null: all errors are zero
+    protected DataColumn yErrorsPos; // null: all errors are zero, same instance as yErrorsNeg: symmetric errors
+    private transient volatile double[] zeroErrors = new double[0]; // shared by all dimensions without errors
+
+    /**
+     * Creates a new instance of <code>ColumnarErrorDataSet</code> with double precision as copy of another (deep-copy).
+     *
+     * @param another name of this DataSet.
+     */
+    public ColumnarErrorDataSet(final DataSet2D another) {
+        this(another.getName(), another.getDataCount(), Precision.FLOAT64, Precision.FLOAT64, Precision.FLOAT64);
+        this.set(another); // NOPMD
+    }
+
+    /**
+     * Creates a new instance of <code>ColumnarErrorDataSet</code> with double precision.
+     *
+     * @param name name of this DataSet.
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     */
+    public ColumnarErrorDataSet(final String name) {
+        this(name, 2);
+    }
+
+    /**
+     * Creates a new instance of <code>ColumnarErrorDataSet</code> with double precision.
+     *
+     * @param name name of this DataSet.
+     * @param initalSize initial capacity of buffer (N.B. size=0)
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     */
+    public ColumnarErrorDataSet(final String name, final int initalSize) {
+        this(name, initalSize, Precision.FLOAT64, Precision.FLOAT64, Precision.FLOAT64);
+    }
+
+    /**
+     * Creates a new instance of <code>ColumnarErrorDataSet</code>.
+     *
+     * @param name name of this DataSet.
+     * @param initalSize initial capacity of buffer (N.B. size=0)
+     * @param xPrecision storage precision of the x coordinates
+     * @param yPrecision storage precision of the y coordinates
+     * @param errorPrecision storage precision of the (lazily allocated) y errors
+     * @throws IllegalArgumentException if {@code name} or any of the precisions is {@code null}
+     */
+    public ColumnarErrorDataSet(final String name, final int initalSize, final Precision xPrecision,
+            final Precision yPrecision, final Precision errorPrecision) {
+        super(name, 2, ErrorType.NO_ERROR, ErrorType.NO_ERROR);
+        AssertUtils.gtEqThanZero("initalSize", initalSize);
+        AssertUtils.notNull("errorPrecision", errorPrecision);
+        xValues = DataColumn.create(xPrecision, initalSize);
+        yValues = DataColumn.create(yPrecision, initalSize);
+        this.errorPrecision = errorPrecision;
+    }
+
+    /**
+     * add point to the data set
+     *
+     * @param x horizontal coordinate of the new data point
+     * @param y vertical coordinate of the new data point
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet add(final double x, final double y) {
+        return add(x, y, 0.0, 0.0, null);
+    }
+
+    /**
+     * Add point to the data set.
+     *
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos) {
+        return add(x, y, yErrorNeg, yErrorPos, null);
+    }
+
+    /**
+     * Add point to the data set.
+     *
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
+     * @param label the data label
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos,
+            final String label) {
+        lock().writeLockGuard(() -> {
+            final int index = xValues.size();
+            insert(index, x, y, yErrorNeg, yErrorPos);
+            if (label != null && !label.isEmpty()) {
+                addDataLabel(index, label);
+            }
+        });
+        return fireInvalidated(new UpdatedDataEvent(this, "add"));
+    }
+
+    /**
+     * Add array vectors to data set.
+     *
+     * @param xValuesNew X coordinates
+     * @param yValuesNew Y coordinates
+     * @param yErrorsNegNew the -dy errors ({@code null}: no errors)
+     * @param yErrorsPosNew the +dy errors ({@code null}: no errors)
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet add(final double[] xValuesNew, final double[] yValuesNew, final double[] yErrorsNegNew,
+            final double[] yErrorsPosNew) {
+        return add(Integer.MAX_VALUE, xValuesNew, yValuesNew, yErrorsNegNew, yErrorsPosNew);
+    }
+
+    /**
+     * add point to the data set
+     *
+     * @param index data point index at which the new data point should be added
+     * @param newValue new data point coordinate
+     * @return itself (fluent design)
+     */
+    @Override
+    public ColumnarErrorDataSet add(final int index, final double... newValue) {
+        if (newValue.length >= 4) {
+            return add(index, newValue[0], newValue[1], newValue[2], newValue[3], null);
+        }
+        return add(index, newValue[0], newValue[1], 0.0, 0.0, null);
+    }
+
+    /**
+     * add point to the data set
+     *
+     * @param index data point index at which the new data point should be added
+     * @param x horizontal coordinates of the new data point
+     * @param y vertical coordinates of the new data point
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
+     * @param label data point label (see CategoryAxis)
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet add(final int index, final double x, final double y, final double yErrorNeg,
+            final double yErrorPos, final String label) {
+        lock().writeLockGuard(() -> {
+            final int indexAt = Math.max(0, Math.min(index, getDataCount()));
+            insert(indexAt, x, y, yErrorNeg, yErrorPos);
+            getDataLabelMap().addValueAndShiftKeys(indexAt, xValues.size(), label);
+            getDataStyleMap().shiftKeys(indexAt, xValues.size());
+        });
+        return fireInvalidated(new AddedDataEvent(this));
+    }
+
+    /**
+     * add points to the data set
+     *
+     * @param index data point index at which the new data points should be added
+     * @param x horizontal coordinates of the new data points
+     * @param y vertical coordinates of the new data points
+     * @param yErrorNeg the -dy errors ({@code null}: no errors)
+     * @param yErrorPos the +dy errors ({@code null}: no errors)
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet add(final int index, final double[] x, final double[] y, final double[] yErrorNeg,
+            final double[] yErrorPos) {
+        AssertUtils.notNull(X_COORDINATES, x);
+        AssertUtils.notNull(Y_COORDINATES, y);
+        final int nSamples = getSampleCount(x, y, yErrorNeg, yErrorPos);
+
+        lock().writeLockGuard(() -> {
+            final int indexAt = Math.max(0, Math.min(index, getDataCount()));
+            ensureErrorStorage(yErrorNeg, yErrorPos, nSamples);
+            xValues.addElements(indexAt, x, 0, nSamples);
+            yValues.addElements(indexAt, y, 0, nSamples);
+            if (yErrorsPos != null) {
+                addErrorElements(yErrorsPos, indexAt, yErrorPos, nSamples);
+                if (yErrorsNeg != yErrorsPos) {
+                    addErrorElements(yErrorsNeg, indexAt, yErrorNeg, nSamples);
+                }
+            }
+
+            for (int i = indexAt; i < indexAt + nSamples; i++) {
+                addToLimits(i);
+            }
+            getDataLabelMap().shiftKeys(indexAt, xValues.size());
+            getDataStyleMap().shiftKeys(indexAt, xValues.size());
+        });
+        return fireInvalidated(new AddedDataEvent(this));
+    }
+
+    /**
+     * clears all data and releases the error columns
+     *
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet clearData() {
+        lock().writeLockGuard(() -> {
+            xValues.clear();
+            yValues.clear();
+            yErrorsNeg = null;
+            yErrorsPos = null;
+            getDataLabelMap().clear();
+            getDataStyleMap().clear();
+            clearMetaInfo();
+
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+        return fireInvalidated(new RemovedDataEvent(this, "clearData()"));
+    }
+
+    @Override
+    public final double get(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? xValues.get(index) : yValues.get(index);
+    }
+
+    /**
+     * @return storage capacity of dataset
+     */
+    public int getCapacity() {
+        return Math.min(xValues.capacity(), yValues.capacity());
+    }
+
+    @Override
+    public int getDataCount(final int dimIndex) {
+        return Math.min(xValues.size(), yValues.size());
+    }
+
+    @Override
+    public double getErrorNegative(final int dimIndex, final int index) {
+        return dimIndex == DIM_X || yErrorsNeg == null ? 0.0 : yErrorsNeg.get(index);
+    }
+
+    @Override
+    public double getErrorPositive(final int dimIndex, final int index) {
+        return dimIndex == DIM_X || yErrorsPos == null ? 0.0 : yErrorsPos.get(index);
+    }
+
+    /**
+     * @return storage precision of the y errors
+     */
+    public Precision getErrorPrecision() {
+        return errorPrecision;
+    }
+
+    /**
+     * N.B. dimensions without errors return a shared zero array that must not be modified
+     */
+    @Override
+    public double[] getErrorsNegative(final int dimIndex) {
+        return dimIndex == DIM_X || yErrorsNeg == null ? getZeroErrors() : yErrorsNeg.toDoubleArray();
+    }
+
+    @Override
+    public double[] getErrorsNegative(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return copyErrors(dimIndex == DIM_X ? null : yErrorsNeg, fromIndex, toIndex, dst, dstOffset);
+    }
+
+    /**
+     * N.B. dimensions without errors return a shared zero array that must not be modified
+     */
+    @Override
+    public double[] getErrorsPositive(final int dimIndex) {
+        return dimIndex == DIM_X || yErrorsPos == null ? getZeroErrors() : yErrorsPos.toDoubleArray();
+    }
+
+    @Override
+    public double[] getErrorsPositive(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return copyErrors(dimIndex == DIM_X ? null : yErrorsPos, fromIndex, toIndex, dst, dstOffset);
+    }
+
+    /**
+     * N.B. the error type is derived from the present storage layout, see also {@link #setErrorType(int, ErrorType)}.
+     *
+     * @return NO_ERROR for the x dimension and for y if no error column is allocated, SYMMETRIC if the negative and
+     *         positive y errors share the same column, ASYMMETRIC otherwise
+     */
+    @Override
+    public ErrorType getErrorType(final int dimIndex) {
+        if (dimIndex == DIM_X || yErrorsPos == null) {
+            return ErrorType.NO_ERROR;
+        }
+        return yErrorsNeg == yErrorsPos ? ErrorType.SYMMETRIC : ErrorType.ASYMMETRIC;
+    }
+
+    /**
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @return storage precision of the coordinates of the given dimension
+     */
+    public Precision getPrecision(final int dimIndex) {
+        return dimIndex == DIM_X ? xValues.getPrecision() : yValues.getPrecision();
+    }
+
+    /**
+     * N.B. returns the backing array for double precision columns and a cached widened copy for float precision columns
+     * (re-created only after the column has been modified, ie. it must not be modified by the caller)
+     */
+    @Override
+    public final double[] getValues(final int dimIndex) {
+        return dimIndex == DIM_X ? xValues.toDoubleArray() : yValues.toDoubleArray();
+    }
+
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return (dimIndex == DIM_X ? xValues : yValues).getElements(fromIndex, toIndex, dst, dstOffset);
+    }
+
+    @Override
+    public double getX(final int index) {
+        return xValues.get(index);
+    }
+
+    @Override
+    public double[] getXValues() {
+        return xValues.toDoubleArray();
+    }
+
+    @Override
+    public double getY(final int index) {
+        return yValues.get(index);
+    }
+
+    @Override
+    public double[] getYValues() {
+        return yValues.toDoubleArray();
+    }
+
+    /**
+     * @param amount storage capacity increase
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet increaseCapacity(final int amount) {
+        lock().writeLockGuard(() -> {
+            final int size = getDataCount();
+            resize(this.getCapacity() + amount);
+            resize(size);
+        });
+        return getThis();
+    }
+
+    @Override
+    public ColumnarErrorDataSet remove(final int index) {
+        return remove(index, index + 1);
+    }
+
+    /**
+     * remove sub-range of data points
+     *
+     * @param fromIndex start index
+     * @param toIndex stop index
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet remove(final int fromIndex, final int toIndex) {
+        lock().writeLockGuard(() -> {
+            AssertUtils.indexInBounds(fromIndex, getDataCount(), "fromIndex");
+            AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+
+            final int clampedToIndex = Math.min(toIndex, getDataCount());
+            xValues.removeElements(fromIndex, clampedToIndex);
+            yValues.removeElements(fromIndex, clampedToIndex);
+            if (yErrorsPos != null) {
+                yErrorsPos.removeElements(fromIndex, clampedToIndex);
+                if (yErrorsNeg != yErrorsPos) {
+                    yErrorsNeg.removeElements(fromIndex, clampedToIndex);
+                }
+            }
+
+            // remove old label and style keys
+            getDataLabelMap().removeAndShiftKeys(fromIndex, clampedToIndex);
+            getDataStyleMap().removeAndShiftKeys(fromIndex, clampedToIndex);
+
+            // invalidate and recompute ranges
+            recomputeLimits(DIM_X);
+            recomputeLimits(DIM_Y);
+        });
+        return fireInvalidated(new RemovedDataEvent(this));
+    }
+
+    /**
+     * ensures minimum size, enlarges if necessary
+     *
+     * @param size the actually used array lengths
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet resize(final int size) {
+        lock().writeLockGuard(() -> {
+            xValues.size(size);
+            yValues.size(size);
+            if (yErrorsPos != null) {
+                yErrorsPos.size(size);
+                if (yErrorsNeg != yErrorsPos) {
+                    yErrorsNeg.size(size);
+                }
+            }
+        });
+        return fireInvalidated(new UpdatedDataEvent(this, "increaseCapacity()"));
+    }
+
+    /**
+     * clear old data and overwrite with data from 'other' data set (deep copy)
+     *
+     * @param other the other data set
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet set(final DataSet2D other) {
+        lock().writeLockGuard(() -> other.lock().writeLockGuard(() -> {
+            // copy data
+            final int count = other.getDataCount();
+            if (other instanceof DataSetError && ((DataSetError) other).getErrorType(DIM_Y) != ErrorType.NO_ERROR) {
+                final DataSetError otherError = (DataSetError) other;
+                this.set(other.getValues(DIM_X, 0, count, null, 0), other.getValues(DIM_Y, 0, count, null, 0),
+                        otherError.getErrorsNegative(DIM_Y, 0, count, null, 0),
+                        otherError.getErrorsPositive(DIM_Y, 0, count, null, 0));
+            } else {
+                this.set(other.getValues(DIM_X, 0, count, null, 0), other.getValues(DIM_Y, 0, count, null, 0), null,
+                        null);
+            }
+
+            // deep copy data point labels and styles
+            for (int index = 0; index < count; index++) {
+                final String label = other.getDataLabel(index);
+                if (label != null && !label.isEmpty()) {
+                    this.addDataLabel(index, label);
+                }
+                final String style = other.getStyle(index);
+                if (style != null && !style.isEmpty()) {
+                    this.addDataStyle(index, style);
+                }
+            }
+            this.setStyle(other.getStyle());
+
+            // synchronise axis description
+            for (int dimIndex = 0; dimIndex < getDimension(); dimIndex++) {
+                this.getAxisDescription(dimIndex).set(other.getAxisDescription(dimIndex));
+            }
+        }));
+        return getThis();
+    }
+
+    /**
+     * <p>
+     * Initialises the data set with specified data.
+     * </p>
+     * Note: The method copies values from specified double arrays.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @param yErrorsNeg the -dy errors ({@code null}: no errors)
+     * @param yErrorsPos the +dy errors ({@code null}: no errors)
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet set(final double[] xValues, final double[] yValues, final double[] yErrorsNeg,
+            final double[] yErrorsPos) {
+        AssertUtils.notNull(X_COORDINATES, xValues);
+        AssertUtils.notNull(Y_COORDINATES, yValues);
+        final int nSamples = getSampleCount(xValues, yValues, yErrorsNeg, yErrorsPos);
+
+        lock().writeLockGuard(() -> {
+            getDataLabelMap().clear();
+            getDataStyleMap().clear();
+            this.xValues.clear();
+            this.yValues.clear();
+            this.yErrorsNeg = null;
+            this.yErrorsPos = null;
+            ensureErrorStorage(yErrorsNeg, yErrorsPos, nSamples);
+            this.xValues.addElements(0, xValues, 0, nSamples);
+            this.yValues.addElements(0, yValues, 0, nSamples);
+            if (this.yErrorsPos != null) {
+                addErrorElements(this.yErrorsPos, 0, yErrorsPos, nSamples);
+                if (this.yErrorsNeg != this.yErrorsPos) {
+                    addErrorElements(this.yErrorsNeg, 0, yErrorsNeg, nSamples);
+                }
+            }
+
+            recomputeLimits(DIM_X);
+            recomputeLimits(DIM_Y);
+        });
+        return fireInvalidated(new UpdatedDataEvent(this));
+    }
+
+    /**
+     * replaces point coordinate of existing data point
+     *
+     * @param index data point index at which the new data point should be added
+     * @param newValue new data point coordinate
+     * @return itself (fluent design)
+     */
+    @Override
+    public ColumnarErrorDataSet set(final int index, final double... newValue) {
+        if (newValue.length >= 4) {
+            return set(index, newValue[0], newValue[1], newValue[2], newValue[3]);
+        }
+        return set(index, newValue[0], newValue[1], 0.0, 0.0);
+    }
+
+    /**
+     * replaces point coordinate of existing data point
+     *
+     * @param index the index of the data point
+     * @param x new horizontal coordinate
+     * @param y new vertical coordinate
+     * @param yErrorNeg new vertical negative error of y (can be asymmetric)
+     * @param yErrorPos new vertical positive error of y (can be asymmetric)
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet set(final int index, final double x, final double y, final double yErrorNeg,
+            final double yErrorPos) {
+        lock().writeLockGuard(() -> {
+            final int oldDataCount = this.getDataCount();
+            final boolean replace = index < oldDataCount;
+            final double oldX = replace ? xValues.get(index) : Double.NaN;
+            final double oldYMin = replace ? yValues.get(index) - getErrorNegative(DIM_Y, index) : Double.NaN;
+            final double oldYMax = replace ? yValues.get(index) + getErrorPositive(DIM_Y, index) : Double.NaN;
+            if (!replace) {
+                resize(index + 1);
+            }
+            ensureErrorStorage(yErrorNeg, yErrorPos);
+            xValues.set(index, x);
+            yValues.set(index, y);
+            if (yErrorsPos != null) {
+                yErrorsPos.set(index, yErrorPos);
+                yErrorsNeg.set(index, yErrorNeg);
+            }
+            getDataLabelMap().remove(index);
+            getDataStyleMap().remove(index);
+
+            // update ranges -- full recompute only if the old point defined the range boundary
+            final double yMin = yValues.get(index) - getErrorNegative(DIM_Y, index);
+            final double yMax = yValues.get(index) + getErrorPositive(DIM_Y, index);
+            if (!replace || !updateLimits(DIM_X, oldX, oldX, xValues.get(index), xValues.get(index))
+                    || !updateLimits(DIM_Y, oldYMin, oldYMax, yMin, yMax)) {
+                recomputeLimits(DIM_X);
+                recomputeLimits(DIM_Y);
+            }
+        });
+
+        return fireInvalidated(new UpdatedDataEvent(this, "set - single"));
+    }
+
+    /**
+     * Converts the y error storage to the given layout: NO_ERROR releases the error columns (ie. discards the errors),
+     * SYMMETRIC and ASYMMETRIC allocate zero error columns or split the shared symmetric column as required. N.B.
+     * {@link #trim()} releases zero or symmetric error columns again.
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param errorType the new error type
+     * @return itself (fluent design)
+     * @throws UnsupportedOperationException for x errors other than NO_ERROR (not stored) and for asymmetric errors
+     *             that cannot be converted to symmetric errors without loss
+     */
+    @Override
+    public ColumnarErrorDataSet setErrorType(final int dimIndex, final ErrorType errorType) {
+        AssertUtils.notNull("errorType", errorType);
+        if (dimIndex == DIM_X) {
+            if (errorType != ErrorType.NO_ERROR) {
+                throw new UnsupportedOperationException("x errors are not stored: " + errorType);
+            }
+            return getThis();
+        }
+        final boolean changed = lock().writeLockGuard(() -> {
+            if (getErrorType(dimIndex) == errorType) {
+                return false;
+            }
+            switch (errorType) {
+            case NO_ERROR:
+                yErrorsNeg = null;
+                yErrorsPos = null;
+                recomputeLimits(DIM_X);
+                recomputeLimits(DIM_Y);
+                break;
+            case SYMMETRIC:
+                if (yErrorsPos != null && !yErrorsNeg.contentEquals(yErrorsPos)) {
+                    throw new UnsupportedOperationException("asymmetric errors cannot be converted without loss");
+                }
+                ensureErrorStorage(true, false);
+                yErrorsNeg = yErrorsPos;
+                break;
+            case ASYMMETRIC:
+            default:
+                ensureErrorStorage(true, true);
+                break;
+            }
+            return true;
+        });
+        return changed ? fireInvalidated(new UpdatedDataEvent(this, "setErrorType()")) : getThis();
+    }
+
+    /**
+     * Trims the columns so that their capacity is equal to the size and releases error columns that contain only zeros
+     * or symmetric errors.
+     *
+     * @see java.util.ArrayList#trimToSize()
+     * @return itself (fluent design)
+     */
+    public ColumnarErrorDataSet trim() {
+        lock().writeLockGuard(() -> {
+            if (yErrorsPos != null && yErrorsNeg != yErrorsPos && yErrorsNeg.contentEquals(yErrorsPos)) {
+                yErrorsNeg = yErrorsPos;
+            }
+            if (yErrorsPos != null && yErrorsNeg == yErrorsPos && yErrorsPos.isZero()) {
+                yErrorsNeg = null;
+                yErrorsPos = null;
+            }
+            xValues.trim();
+            yValues.trim();
+            if (yErrorsPos != null) {
+                yErrorsPos.trim();
+                yErrorsNeg.trim();
+            }
+        });
+        return fireInvalidated(new UpdatedDataEvent(this, "increaseCapacity()"));
+    }
+
+    /**
+     * allocates or splits the error columns if required (N.B. needs to be called under write lock and with columns of
+     * equal size)
+     *
+     * @param nonZero {@code true} if non-zero errors are going to be stored
+     * @param asymmetric {@code true} if asymmetric errors are going to be stored
+     */
+    private void ensureErrorStorage(final boolean nonZero, final boolean asymmetric) {
+        if (yErrorsPos == null) {
+            if (!nonZero && !asymmetric) {
+                return;
+            }
+            yErrorsPos = DataColumn.create(errorPrecision, xValues.capacity());
+            yErrorsPos.size(xValues.size());
+            yErrorsNeg = yErrorsPos;
+        }
+        if (asymmetric && yErrorsNeg == yErrorsPos) {
+            yErrorsNeg = yErrorsPos.copy();
+        }
+    }
+
+    private void ensureErrorStorage(final double yErrorNeg, final double yErrorPos) {
+        ensureErrorStorage(yErrorNeg != 0.0 || yErrorPos != 0.0, yErrorNeg != yErrorPos);
+    }
+
+    private void ensureErrorStorage(final double[] yErrorNeg, final double[] yErrorPos, final int nSamples) {
+        boolean nonZero = false;
+        boolean asymmetric = false;
+        for (int i = 0; i < nSamples && !asymmetric; i++) {
+            final double errorNeg = yErrorNeg == null ? 0.0 : yErrorNeg[i];
+            final double errorPos = yErrorPos == null ? 0.0 : yErrorPos[i];
+            nonZero |= errorNeg != 0.0 || errorPos != 0.0;
+            asymmetric = errorNeg != errorPos;
+        }
+        ensureErrorStorage(nonZero, asymmetric);
+    }
+
+    private double[] getZeroErrors() {
+        final int dataCount = getDataCount();
+        double[] zeros = zeroErrors;
+        if (zeros.length != dataCount) {
+            // N.B. re-allocated only if the data count changed
+            zeros = new double[dataCount];
+            zeroErrors = zeros;
+        }
+        return zeros;
+    }
+
+    private void insert(final int index, final double x, final double y, final double yErrorNeg,
+            final double yErrorPos) {
+        ensureErrorStorage(yErrorNeg, yErrorPos);
+        xValues.add(index, x);
+        yValues.add(index, y);
+        if (yErrorsPos != null) {
+            yErrorsPos.add(index, yErrorPos);
+            if (yErrorsNeg != yErrorsPos) {
+                yErrorsNeg.add(index, yErrorNeg);
+            }
+        }
+        addToLimits(index);
+    }
+
+    private void addToLimits(final int index) {
+        getAxisDescription(DIM_X).add(xValues.get(index));
+        final double y = yValues.get(index);
+        getAxisDescription(DIM_Y).add(y - getErrorNegative(DIM_Y, index));
+        getAxisDescription(DIM_Y).add(y + getErrorPositive(DIM_Y, index));
+    }
+
+    private static void addErrorElements(final DataColumn column, final int index, final double[] errors,
+            final int nSamples) {
+        if (errors == null) {
+            // N.B. missing error array -> zero errors
+            column.addElements(index, new double[nSamples], 0, nSamples);
+        } else {
+            column.addElements(index, errors, 0, nSamples);
+        }
+    }
+
+    private static double[] copyErrors(final DataColumn src, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        if (src != null) {
+            return src.getElements(fromIndex, toIndex, dst, dstOffset);
+        }
+        // no errors defined for this dimension
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        Arrays.fill(retValues, dstOffset, dstOffset + length, 0.0);
+        return retValues;
+    }
+
+    private static int getSampleCount(final double[] x, final double[] y, final double[] yErrorNeg,
+            final double[] yErrorPos) {
+        AssertUtils.equalDoubleArrays(x, y);
+        if (yErrorNeg != null) {
+            AssertUtils.equalDoubleArrays(x, yErrorNeg);
+        }
+        if (yErrorPos != null) {
+            AssertUtils.equalDoubleArrays(x, yErrorPos);
+        }
+        return x.length;
+    }
+}
@@ -0,0 +1,318 @@
+package de.gsi.dataset.spi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSet2D;
+import de.gsi.dataset.DataSet3D;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.event.EventListener;
+import de.gsi.dataset.event.UpdateEvent;
+import de.gsi.dataset.locks.DataSetLock;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * <p>
+ * Base class for lazy, read-only (zero-copy) views onto an existing parent DataSet. A view does not copy any data:
+ * the accessors are mapped onto the parent, the view shares the parent's {@link DataSetLock} and forwards the parent's
+ * {@link UpdateEvent}s to its own listeners. Only the axis ranges of the view are computed (lazily) for the visible
+ * sub-set.
+ * </p>
+ * The concrete views are created via the static factory methods, which return the correct sub-type w.r.t. the
+ * parent's interface (e.g. preserving {@link DataSetError}):
+ * <ul>
+ * <li>{@link #slice(DataSet, int, int)} - index-range [fromIndex, toIndex[ of the parent,
+ * <li>{@link #window(DataSet, double, double)} - x-range [xMin, xMax] of the (x-sorted) parent,
+ * <li>{@link #decimate(DataSet, int)} - every n-th sample of the parent,
+ * <li>{@link #subset(DataSet, int[], int)} - arbitrary (e.g. envelope) sample indices of the parent,
+ * <li>{@link #column(DataSet3D, int)} and {@link #row(DataSet3D, int)} - 2D projections of a 3D grid,
+ * <li>{@link #transpose(DataSet)} - swapped x- and y-axis (see {@link TransposedDataSet}).
+ * </ul>
+ * N.B. to avoid leaking views via the parent's listener list, a view registers itself with the parent only while it
+ * has listeners of its own. Detached views only track changes of the parent's data count: call {@link #invalidate()}
+ * after in-place modifications of the parent that do not change its size.
+ */
+public abstract class DataSetView implements DataSet2D {
+    private static final long serialVersionUID = -6138346297463419374L;
+    private static final String[] DEFAULT_AXES_NAME = { "x-Axis", "y-Axis" };
+    protected final DataSet parent;
+    private final AtomicBoolean autoNotification = new AtomicBoolean(true);
+    private final transient List<EventListener> updateListeners = Collections.synchronizedList(new LinkedList<>());
+    private final transient EventListener parentListener = this::parentInvalidated;
+    private final transient Object attachLock = new Object();
+    private final List<AxisDescription> axesDescriptions = new ArrayList<>();
+    private transient boolean attached;
+    private transient volatile boolean limitsValid;
+    private transient volatile int lastParentDataCount = -1;
+    private String style;
+
+    /**
+     * @param parent the DataSet this view is backed by
+     */
+    protected DataSetView(final DataSet parent) {
+        AssertUtils.notNull("parent", parent);
+        this.parent = parent;
+        for (final String axisName : DEFAULT_AXES_NAME) {
+            // N.B. no DataSet reference: the view's axis ranges are derived quantities and shall not notify
+            axesDescriptions.add(new DefaultAxisDescription(axisName, "a.u."));
+        }
+    }
+
+    @Override
+    public void addListener(final EventListener listener) {
+        DataSet2D.super.addListener(listener);
+        updateParentAttachment();
+    }
+
+    @Override
+    public AtomicBoolean autoNotification() {
+        return autoNotification;
+    }
+
+    /**
+     * Checks whether the parent's data count changed since the last invocation and invalidates the cached view
+     * properties if necessary. Derived classes should invoke this prior to (re-)using cached index ranges.
+     */
+    protected void checkParentDataCount() {
+        final int count = parent.getDataCount();
+        if (count != lastParentDataCount) {
+            lastParentDataCount = count;
+            invalidate();
+        }
+    }
+
+    /**
+     * Computes the range of the given view dimension. May be overwritten by derived classes (e.g. to include errors).
+     *
+     * @param dimIndex the view dimension
+     * @param range the range to be updated (N.B. has been cleared)
+     */
+    protected void computeLimits(final int dimIndex, final AxisDescription range) {
+        final int dataCount = getDataCount(dimIndex);
+        for (int index = 0; index < dataCount; index++) {
+            range.add(get(dimIndex, index));
+        }
+    }
+
+    @Override
+    public List<AxisDescription> getAxisDescriptions() {
+        checkParentDataCount();
+        if (!limitsValid) {
+            synchronized (axesDescriptions) {
+                if (!limitsValid) {
+                    limitsValid = true;
+                    for (int dimIndex = 0; dimIndex < getDimension(); dimIndex++) {
+                        recomputeLimits(dimIndex);
+                    }
+                }
+            }
+        }
+        return axesDescriptions;
+    }
+
+    @Override
+    public String getDataLabel(final int index) {
+        return parent.getDataLabel(getParentIndex(index));
+    }
+
+    @Override
+    public int getIndex(final int dimIndex, final double value) {
+        // binary closest search -- assumes sorted view
+        final int dataCount = getDataCount(dimIndex);
+        if (dataCount == 0 || !Double.isFinite(value)) {
+            return 0;
+        }
+        int indexMin = 0;
+        int indexMax = dataCount - 1;
+        while (indexMax - indexMin > 1) {
+            final int middle = (indexMax + indexMin) >>> 1;
+            final double valMiddle = get(dimIndex, middle);
+            if (valMiddle == value) {
+                return middle;
+            }
+            if (value < valMiddle) {
+                indexMax = middle;
+            } else {
+                indexMin = middle;
+            }
+        }
+        return Math.abs(get(dimIndex, indexMin) - value) <= Math.abs(get(dimIndex, indexMax) - value) ? indexMin
+                                                                                                        : indexMax;
+    }
+
+    /**
+     * @return the DataSet this view is backed by
+     */
+    public DataSet getParent() {
+        return parent;
+    }
+
+    /**
+     * @param dimIndex the view dimension index
+     * @return the corresponding dimension index of the parent (default: identity)
+     */
+    protected int getParentDimension(final int dimIndex) {
+        return dimIndex;
+    }
+
+    /**
+     * @param index the view data point index
+     * @return the corresponding data point index in the parent (used for data labels and styles)
+     */
+    protected abstract int getParentIndex(final int index);
+
+    @Override
+    public String getStyle() {
+        return style == null ? parent.getStyle() : style;
+    }
+
+    @Override
+    public String getStyle(final int index) {
+        return parent.getStyle(getParentIndex(index));
+    }
+
+    /**
+     * Invalidates the cached view properties (ie. index ranges and axis limits). This is done automatically on
+     * parent update events while the view has listeners.
+     *
+     * @return itself (fluent design)
+     */
+    public DataSetView invalidate() {
+        limitsValid = false;
+        return this;
+    }
+
+    @Override
+    public <D extends DataSet> DataSetLock<D> lock() {
+        return parent.lock();
+    }
+
+    private void parentInvalidated(final UpdateEvent event) {
+        invalidate();
+        // N.B. forwarded sequentially - we are already within the parent's notification
+        invokeListener(event, false);
+    }
+
+    @Override
+    public DataSet recomputeLimits(final int dimension) {
+        final AxisDescription range = axesDescriptions.get(dimension);
+        final AxisDescription parentRange = parent.getAxisDescription(getParentDimension(dimension));
+        synchronized (axesDescriptions) {
+            range.clear();
+            range.set(parentRange.getName(), parentRange.getUnit());
+            computeLimits(dimension, range);
+        }
+        return this;
+    }
+
+    @Override
+    public void removeListener(final EventListener listener) {
+        DataSet2D.super.removeListener(listener);
+        updateParentAttachment();
+    }
+
+    /**
+     * @param style the view-specific style, {@code null} to use the parent's style
+     * @return itself (fluent design)
+     */
+    @Override
+    public DataSet setStyle(final String style) {
+        this.style = style;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [name=" + getName() + ", dataCount=" + getDataCount() + ']';
+    }
+
+    @Override
+    public List<EventListener> updateEventListener() {
+        return updateListeners;
+    }
+
+    private void updateParentAttachment() {
+        // N.B. separate monitor: the parent may concurrently notify this view while holding its listener list
+        synchronized (attachLock) {
+            final boolean needed = !updateEventListener().isEmpty();
+            if (needed && !attached) {
+                parent.addListener(parentListener);
+                attached = true;
+            } else if (!needed && attached) {
+                parent.removeListener(parentListener);
+                attached = false;
+            }
+        }
+    }
+
+    /**
+     * @param parent 3D source DataSet
+     * @param xIndex the x-index of the column to be projected
+     * @return view of the z-values along the y-axis at the given x-index (x: parent's y-axis, y: parent's z-axis)
+     */
+    public static DataSetView column(final DataSet3D parent, final int xIndex) {
+        return new ProjectionDataSetView(parent, xIndex, true);
+    }
+
+    /**
+     * @param parent the source DataSet
+     * @param stride only every 'stride'-th sample of the parent is exposed
+     * @return view containing the decimated parent data
+     */
+    public static DataSetView decimate(final DataSet parent, final int stride) {
+        return IndexedDataSetView.create(parent, 0, Integer.MAX_VALUE, stride);
+    }
+
+    /**
+     * @param parent 3D source DataSet
+     * @param yIndex the y-index of the row to be projected
+     * @return view of the z-values along the x-axis at the given y-index (x: parent's x-axis, y: parent's z-axis)
+     */
+    public static DataSetView row(final DataSet3D parent, final int yIndex) {
+        return new ProjectionDataSetView(parent, yIndex, false);
+    }
+
+    /**
+     * @param parent the source DataSet
+     * @param fromIndex first index of the parent (inclusive)
+     * @param toIndex last index of the parent (exclusive, clamped to the parent's data count)
+     * @return view containing the parent data in the index range [fromIndex, toIndex[
+     */
+    public static DataSetView slice(final DataSet parent, final int fromIndex, final int toIndex) {
+        return IndexedDataSetView.create(parent, fromIndex, toIndex, 1);
+    }
+
+    /**
+     * @param parent the source DataSet
+     * @param indices parent indices of the data points to be exposed (N.B. not copied)
+     * @param dataCount number of valid entries in 'indices'
+     * @return view containing the parent data points at the given indices
+     */
+    public static DataSetView subset(final DataSet parent, final int[] indices, final int dataCount) {
+        return SubsetDataSetView.create(parent, indices, dataCount);
+    }
+
+    /**
+     * @param parent the source DataSet
+     * @return view with swapped x- and y-axis
+     * @see TransposedDataSet
+     */
+    public static TransposedDataSet transpose(final DataSet parent) {
+        return TransposedDataSet.transpose(parent);
+    }
+
+    /**
+     * @param parent the source DataSet (N.B. x-coordinates need to be sorted)
+     * @param xMin minimum x-coordinate (inclusive)
+     * @param xMax maximum x-coordinate (inclusive)
+     * @return view containing the parent data in the range [xMin, xMax], tracks changes of the parent
+     */
+    public static DataSetView window(final DataSet parent, final double xMin, final double xMax) {
+        return IndexedDataSetView.create(parent, xMin, xMax);
+    }
+}
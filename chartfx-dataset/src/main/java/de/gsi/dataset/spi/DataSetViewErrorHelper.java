@@ -0,0 +1,65 @@
+package de.gsi.dataset.spi;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.DataSetError.ErrorType;
+
+/**
+ * package private {@link DataSetError} mapping shared by the DataSetError variants of the point-indexed views (see
+ * {@link IndexedDataSetView.ErrorView} and {@link SubsetDataSetView.ErrorView}): errors are mapped onto the parent in
+ * the same way as the coordinates
+ */
+final class DataSetViewErrorHelper {
+    private DataSetViewErrorHelper() {
+        // utility class
+    }
+
+    /**
+     * @param view the view with a {@link DataSetError} parent
+     * @param dimIndex the view dimension
+     * @param range the range to be updated (N.B. has been cleared)
+     * @see DataSetView#computeLimits(int, AxisDescription)
+     */
+    static void computeLimits(final DataSetView view, final int dimIndex, final AxisDescription range) {
+        final boolean withErrors = getErrorType(view, dimIndex) != ErrorType.NO_ERROR;
+        final int dataCount = view.getDataCount(dimIndex);
+        for (int index = 0; index < dataCount; index++) {
+            final double value = view.get(dimIndex, index);
+            if (withErrors) {
+                range.add(value - getErrorNegative(view, dimIndex, index));
+                range.add(value + getErrorPositive(view, dimIndex, index));
+            } else {
+                range.add(value);
+            }
+        }
+    }
+
+    /**
+     * @param view the view with a {@link DataSetError} parent
+     * @param dimIndex the view dimension
+     * @param index the view data point index
+     * @return the negative error of the corresponding parent data point
+     */
+    static double getErrorNegative(final DataSetView view, final int dimIndex, final int index) {
+        return ((DataSetError) view.parent).getErrorNegative(dimIndex, view.getParentIndex(index));
+    }
+
+    /**
+     * @param view the view with a {@link DataSetError} parent
+     * @param dimIndex the view dimension
+     * @param index the view data point index
+     * @return the positive error of the corresponding parent data point
+     */
+    static double getErrorPositive(final DataSetView view, final int dimIndex, final int index) {
+        return ((DataSetError) view.parent).getErrorPositive(dimIndex, view.getParentIndex(index));
+    }
+
+    /**
+     * @param view the view with a {@link DataSetError} parent
+     * @param dimIndex the view dimension
+     * @return the error type of the parent
+     */
+    static ErrorType getErrorType(final DataSetView view, final int dimIndex) {
+        return ((DataSetError) view.parent).getErrorType(dimIndex);
+    }
+}
@@ -4,10 +4,14 @@ import de.gsi.dataset.AxisDescription;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet2D;
 import de.gsi.dataset.EditableDataSet;
+import de.gsi.dataset.MultiResolutionDataSet;
 import de.gsi.dataset.event.AddedDataEvent;
+import de.gsi.dataset.event.InvalidatedEvent;
 import de.gsi.dataset.event.RemovedDataEvent;
+import de.gsi.dataset.event.UpdateEvent;
 import de.gsi.dataset.event.UpdatedDataEvent;
 import de.gsi.dataset.utils.AssertUtils;
+import de.gsi.dataset.utils.MinMaxPyramid;
 
 import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
 
@@ -19,10 +23,12 @@ import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
  * @author rstein
  */
 @SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
-public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements EditableDataSet, DataSet2D {
+public class DoubleDataSet extends AbstractDataSet<DoubleDataSet>
+        implements EditableDataSet, DataSet2D, MultiResolutionDataSet {
     private static final long serialVersionUID = -493232313124620828L;
     protected DoubleArrayList xValues; // way faster than java default lists
     protected DoubleArrayList yValues; // way faster than java default lists
+    private transient MinMaxPyramid minMaxPyramid; // N.B. appended samples are indexed lazily
 
     /**
      * Creates a new instance of <code>DoubleDataSet</code> as copy of another (deep-copy).
@@ -99,7 +105,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
      * @return itself (fluent design)
      */
     public DoubleDataSet add(final double x, final double y, final String label) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             xValues.add(x);
             yValues.add(y);
 
@@ -109,8 +115,9 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
 
             getAxisDescription(0).add(x);
             getAxisDescription(1).add(y);
-        });
-        return fireInvalidated(new UpdatedDataEvent(this, "add"));
+            final int count = xValues.size();
+            return new UpdatedDataEvent(this, "add", 0, count - 1, count, count);
+        }));
     }
 
     /**
@@ -125,7 +132,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         AssertUtils.notNull("Y coordinates", yValuesNew);
         AssertUtils.equalDoubleArrays(xValuesNew, yValuesNew);
 
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             final int addAt = xValues.size();
             final int newElements = Math.min(xValuesNew.length, yValuesNew.length);
             resize(addAt + newElements);
@@ -134,9 +141,8 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
 
             getAxisDescription(0).add(xValuesNew);
             getAxisDescription(1).add(yValuesNew);
-        });
-
-        return fireInvalidated(new AddedDataEvent(this));
+            return new AddedDataEvent(this, "add", 0, addAt, addAt + newElements, xValues.size());
+        }));
     }
 
     /**
@@ -173,17 +179,18 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
      * @return itself (fluent design)
      */
     public DoubleDataSet add(final int index, final double x, final double y, final String label) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             final int indexAt = Math.max(0, Math.min(index, getDataCount() + 1));
 
             xValues.add(indexAt, x);
             yValues.add(indexAt, y);
+            invalidateMinMaxPyramid(indexAt);
             getDataLabelMap().addValueAndShiftKeys(indexAt, xValues.size(), label);
             getDataStyleMap().shiftKeys(indexAt, xValues.size());
             getAxisDescription(0).add(x);
             getAxisDescription(1).add(y);
-        });
-        return fireInvalidated(new AddedDataEvent(this));
+            return new AddedDataEvent(this, "add", 0, indexAt, xValues.size(), xValues.size());
+        }));
     }
 
     /**
@@ -200,16 +207,17 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         final int min = Math.min(x.length, y.length);
         AssertUtils.equalDoubleArrays(x, y, min);
 
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             final int indexAt = Math.max(0, Math.min(index, getDataCount() + 1));
             xValues.addElements(indexAt, x, 0, min);
             yValues.addElements(indexAt, y, 0, min);
+            invalidateMinMaxPyramid(indexAt);
             getAxisDescription(0).add(x, min);
             getAxisDescription(0).add(y, min);
             getDataLabelMap().shiftKeys(indexAt, xValues.size());
             getDataStyleMap().shiftKeys(indexAt, xValues.size());
-        });
-        return fireInvalidated(new AddedDataEvent(this));
+            return new AddedDataEvent(this, "add", 0, indexAt, xValues.size(), xValues.size());
+        }));
     }
 
     /**
@@ -221,6 +229,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         lock().writeLockGuard(() -> {
             xValues.clear();
             yValues.clear();
+            invalidateMinMaxPyramid(0);
             getDataLabelMap().clear();
             getDataStyleMap().clear();
             clearMetaInfo();
@@ -230,6 +239,27 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return fireInvalidated(new RemovedDataEvent(this, "clearData()"));
     }
 
+    /**
+     * Notifies listeners and, beforehand, invalidates the min/max pyramid for data updates that may have been applied
+     * externally (e.g. via the arrays returned by {@link #getValues(int)}): events with an index range invalidate from
+     * the first modified sample on, all other {@link UpdatedDataEvent}s and {@link InvalidatedEvent}s invalidate the
+     * whole index.
+     *
+     * @param event the update event
+     * @return itself (fluent design)
+     */
+    @Override
+    public DoubleDataSet fireInvalidated(final UpdateEvent event) {
+        if (event instanceof UpdatedDataEvent) {
+            final UpdatedDataEvent dataEvent = (UpdatedDataEvent) event;
+            final boolean inPlace = dataEvent.hasIndexRange() && dataEvent.getRemovedFront() == 0;
+            invalidateMinMaxPyramid(inPlace ? dataEvent.getFromIndex() : 0);
+        } else if (event instanceof InvalidatedEvent) {
+            invalidateMinMaxPyramid(0);
+        }
+        return super.fireInvalidated(event);
+    }
+
     @Override
     public final double get(final int dimIndex, final int index) {
         return dimIndex == DataSet.DIM_X ? xValues.elements()[index] : yValues.elements()[index];
@@ -247,11 +277,26 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return Math.min(xValues.size(), yValues.size());
     }
 
+    @Override
+    public MinMaxPyramid getMinMaxPyramid() {
+        return minMaxPyramid;
+    }
+
     @Override
     public final double[] getValues(final int dimIndex) {
         return dimIndex == DataSet.DIM_X ? xValues.elements() : yValues.elements();
     }
 
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        System.arraycopy(getValues(dimIndex), fromIndex, retValues, dstOffset, length);
+        return retValues;
+    }
+
     /**
      * @param amount storage capacity increase
      * @return itself (fluent design)
@@ -265,6 +310,12 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return getThis();
     }
 
+    private void invalidateMinMaxPyramid(final int fromIndex) {
+        if (minMaxPyramid != null) {
+            minMaxPyramid.invalidate(fromIndex);
+        }
+    }
+
     /**
      * remove point from data set
      *
@@ -284,23 +335,26 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
      * @return itself (fluent design)
      */
     public DoubleDataSet remove(final int fromIndex, final int toIndex) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             AssertUtils.indexInBounds(fromIndex, getDataCount(), "fromIndex");
             AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
 
             final int clampedToIndex = Math.min(toIndex, getDataCount());
             xValues.removeElements(fromIndex, clampedToIndex);
             yValues.removeElements(fromIndex, clampedToIndex);
+            invalidateMinMaxPyramid(fromIndex);
 
             // remove old label and style keys
-            getDataLabelMap().remove(fromIndex, clampedToIndex);
-            getDataStyleMap().remove(fromIndex, clampedToIndex);
+            getDataLabelMap().removeAndShiftKeys(fromIndex, clampedToIndex);
+            getDataStyleMap().removeAndShiftKeys(fromIndex, clampedToIndex);
 
             // invalidate and recompute ranges
             recomputeLimits(DIM_X);
             recomputeLimits(DIM_Y);
-        });
-        return fireInvalidated(new RemovedDataEvent(this));
+            final int count = xValues.size();
+            return fromIndex == 0 ? new RemovedDataEvent(this, "remove", clampedToIndex, 0, 0, count)
+                                   : new RemovedDataEvent(this, "remove", 0, fromIndex, count, count);
+        }));
     }
 
     /**
@@ -310,11 +364,13 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
      * @return itself (fluent design)
      */
     public DoubleDataSet resize(final int size) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
+            final int oldDataCount = xValues.size();
+            invalidateMinMaxPyramid(Math.min(size, getDataCount()));
             xValues.size(size);
             yValues.size(size);
-        });
-        return fireInvalidated(new UpdatedDataEvent(this, "increaseCapacity()"));
+            return new UpdatedDataEvent(this, "increaseCapacity()", 0, Math.min(oldDataCount, size), size, size);
+        }));
     }
 
     /**
@@ -408,6 +464,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         lock().writeLockGuard(() -> {
             getDataLabelMap().clear();
             getDataStyleMap().clear();
+            invalidateMinMaxPyramid(0);
             if (copy) {
                 if (this.xValues == null) {
                     this.xValues = new DoubleArrayList();
@@ -451,35 +508,52 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
      * @return itself (fluent design)
      */
     public DoubleDataSet set(final int index, final double x, final double y) {
-        lock().writeLockGuard(() -> {
-            final int dataCount = Math.max(index + 1, this.getDataCount());
+        return fireInvalidated(lock().writeLockGuard(() -> {
+            final int oldDataCount = this.getDataCount();
+            final double oldX = index < oldDataCount ? xValues.elements()[index] : Double.NaN;
+            final double oldY = index < oldDataCount ? yValues.elements()[index] : Double.NaN;
+            final int dataCount = Math.max(index + 1, oldDataCount);
             xValues.size(dataCount);
             yValues.size(dataCount);
             xValues.elements()[index] = x;
             yValues.elements()[index] = y;
+            invalidateMinMaxPyramid(index);
             getDataLabelMap().remove(index);
             getDataStyleMap().remove(index);
 
-            // invalidate and recompute ranges
-            recomputeLimits(DIM_X);
-            recomputeLimits(DIM_Y);
-        });
-        return fireInvalidated(new UpdatedDataEvent(this, "set - single"));
+            // update ranges -- full recompute only if the old point defined the range boundary
+            if (dataCount != oldDataCount || !updateLimits(DIM_X, oldX, oldX, x, x)) {
+                recomputeLimits(DIM_X);
+            }
+            if (dataCount != oldDataCount || !updateLimits(DIM_Y, oldY, oldY, y, y)) {
+                recomputeLimits(DIM_Y);
+            }
+            return new UpdatedDataEvent(this, "set - single", 0, Math.min(index, oldDataCount), index + 1, dataCount);
+        }));
     }
 
     public DoubleDataSet set(final int index, final double[] x, final double[] y) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
+            final int oldDataCount = xValues.size();
             resize(Math.max(index + x.length, xValues.size()));
             System.arraycopy(x, 0, xValues.elements(), index, x.length);
             System.arraycopy(y, 0, yValues.elements(), index, y.length);
+            invalidateMinMaxPyramid(index);
             getDataLabelMap().remove(index, index + x.length);
             getDataStyleMap().remove(index, index + x.length);
 
             // invalidate and recompute ranges
             recomputeLimits(DIM_X);
             recomputeLimits(DIM_Y);
-        });
-        return fireInvalidated(new UpdatedDataEvent(this, "set - via arrays"));
+            return new UpdatedDataEvent(this, "set - via arrays", 0, Math.min(index, oldDataCount), index + x.length,
+                    xValues.size());
+        }));
+    }
+
+    @Override
+    public DoubleDataSet setMinMaxPyramidEnabled(final boolean state) {
+        lock().writeLockGuard(() -> minMaxPyramid = state ? new MinMaxPyramid(this, DIM_Y) : null);
+        return getThis();
     }
 
     /**
@@ -489,10 +563,10 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
      * @return itself (fluent design)
      */
     public DoubleDataSet trim() {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             xValues.trim(0);
             yValues.trim(0);
-        });
-        return fireInvalidated(new UpdatedDataEvent(this, "increaseCapacity()"));
+            return new UpdatedDataEvent(this, "increaseCapacity()", 0, 0, 0, xValues.size());
+        }));
     }
 }
@@ -1,5 +1,7 @@
 package de.gsi.dataset.spi;
 
+import java.util.Arrays;
+
 import de.gsi.dataset.AxisDescription;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet2D;
@@ -125,7 +127,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
      */
     public DoubleErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos,
             final String label) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             xValues.add(x);
             yValues.add(y);
             yErrorsNeg.add(yErrorNeg);
@@ -138,8 +140,9 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             getAxisDescription(0).add(x);
             getAxisDescription(1).add(y - yErrorNeg);
             getAxisDescription(1).add(y + yErrorPos);
-        });
-        return fireInvalidated(new UpdatedDataEvent(this, "add"));
+            final int count = xValues.size();
+            return new UpdatedDataEvent(this, "add", 0, count - 1, count, count);
+        }));
     }
 
     /**
@@ -159,7 +162,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         AssertUtils.notNull("Y error coordinates", yErrorsPosNew);
         AssertUtils.equalDoubleArrays(xValuesNew, yValuesNew);
 
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             final int addAt = xValues.size();
             final int newElements = Math.min(Math.min(xValuesNew.length, yValuesNew.length),
                     Math.min(yErrorsNegNew.length, yErrorsPosNew.length));
@@ -172,8 +175,8 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
 
             getAxisDescription(DIM_X).add(xValuesNew);
             getAxisDescription(DIM_Y).add(yValuesNew);
-        });
-        return fireInvalidated(new AddedDataEvent(this));
+            return new AddedDataEvent(this, "add", 0, addAt, addAt + newElements, xValues.size());
+        }));
     }
 
     /**
@@ -230,7 +233,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
      */
     public DoubleErrorDataSet add(final int index, final double x, final double y, final double yErrorNeg,
             final double yErrorPos, final String label) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             final int indexAt = Math.max(0, Math.min(index, getDataCount() + 1));
 
             xValues.add(indexAt, x);
@@ -242,8 +245,8 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             getAxisDescription(0).add(x);
             getAxisDescription(1).add(y - yErrorNeg);
             getAxisDescription(1).add(y + yErrorPos);
-        });
-        return fireInvalidated(new AddedDataEvent(this));
+            return new AddedDataEvent(this, "add", 0, indexAt, xValues.size(), xValues.size());
+        }));
     }
 
     /**
@@ -265,7 +268,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         final int min = Math.min(x.length, y.length);
         AssertUtils.equalDoubleArrays(x, y, min);
 
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             final int indexAt = Math.max(0, Math.min(index, getDataCount()));
 
             xValues.addElements(indexAt, x, 0, min);
@@ -279,9 +282,8 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
 
             getDataLabelMap().shiftKeys(indexAt, xValues.size());
             getDataStyleMap().shiftKeys(indexAt, xValues.size());
-        });
-
-        return fireInvalidated(new AddedDataEvent(this));
+            return new AddedDataEvent(this, "add", 0, indexAt, xValues.size(), xValues.size());
+        }));
     }
 
     /**
@@ -336,16 +338,38 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return dimIndex == DIM_X ? super.getErrorsNegative(dimIndex) : yErrorsNeg.elements();
     }
 
+    @Override
+    public double[] getErrorsNegative(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return copyErrors(dimIndex == DIM_X ? null : yErrorsNeg.elements(), fromIndex, toIndex, dst, dstOffset);
+    }
+
     @Override
     public double[] getErrorsPositive(final int dimIndex) {
         return dimIndex == DIM_X ? super.getErrorsPositive(dimIndex) : yErrorsPos.elements();
     }
 
+    @Override
+    public double[] getErrorsPositive(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return copyErrors(dimIndex == DIM_X ? null : yErrorsPos.elements(), fromIndex, toIndex, dst, dstOffset);
+    }
+
     @Override
     public final double[] getValues(final int dimIndex) {
         return dimIndex == DataSet.DIM_X ? xValues.elements() : yValues.elements();
     }
 
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        System.arraycopy(getValues(dimIndex), fromIndex, retValues, dstOffset, length);
+        return retValues;
+    }
+
     @Override
     public double getX(final int index) {
         return xValues.elements()[index];
@@ -392,7 +416,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
      * @return itself (fluent design)
      */
     public DoubleErrorDataSet remove(final int fromIndex, final int toIndex) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             AssertUtils.indexInBounds(fromIndex, getDataCount(), "fromIndex");
             AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
 
@@ -403,14 +427,16 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             yErrorsPos.removeElements(fromIndex, clampedToIndex);
 
             // remove old label and style keys
-            getDataLabelMap().remove(fromIndex, clampedToIndex);
-            getDataLabelMap().remove(fromIndex, clampedToIndex);
+            getDataLabelMap().removeAndShiftKeys(fromIndex, clampedToIndex);
+            getDataStyleMap().removeAndShiftKeys(fromIndex, clampedToIndex);
 
             // invalidate and recompute ranges
             recomputeLimits(DIM_X);
             recomputeLimits(DIM_Y);
-        });
-        return fireInvalidated(new RemovedDataEvent(this));
+            final int count = xValues.size();
+            return fromIndex == 0 ? new RemovedDataEvent(this, "remove", clampedToIndex, 0, 0, count)
+                                   : new RemovedDataEvent(this, "remove", 0, fromIndex, count, count);
+        }));
     }
 
     /**
@@ -420,13 +446,14 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
      * @return itself (fluent design)
      */
     public DoubleErrorDataSet resize(final int size) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
+            final int oldDataCount = xValues.size();
             xValues.size(size);
             yValues.size(size);
             yErrorsPos.size(size);
             yErrorsNeg.size(size);
-        });
-        return fireInvalidated(new UpdatedDataEvent(this, "increaseCapacity()"));
+            return new UpdatedDataEvent(this, "increaseCapacity()", 0, Math.min(oldDataCount, size), size, size);
+        }));
     }
 
     /**
@@ -615,8 +642,13 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
      */
     public DoubleErrorDataSet set(final int index, final double x, final double y, final double yErrorNeg,
             final double yErrorPos) {
-        lock().writeLockGuard(() -> {
-            final int dataCount = Math.max(index + 1, this.getDataCount());
+        return fireInvalidated(lock().writeLockGuard(() -> {
+            final int oldDataCount = this.getDataCount();
+            final boolean replace = index < oldDataCount;
+            final double oldX = replace ? xValues.elements()[index] : Double.NaN;
+            final double oldYMin = replace ? yValues.elements()[index] - yErrorsNeg.elements()[index] : Double.NaN;
+            final double oldYMax = replace ? yValues.elements()[index] + yErrorsPos.elements()[index] : Double.NaN;
+            final int dataCount = Math.max(index + 1, oldDataCount);
             xValues.size(dataCount);
             yValues.size(dataCount);
             xValues.elements()[index] = x;
@@ -628,17 +660,20 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             getDataLabelMap().remove(index);
             getDataStyleMap().remove(index);
 
-            // invalidate and recompute ranges
-            recomputeLimits(DIM_X);
-            recomputeLimits(DIM_Y);
-        });
-
-        return fireInvalidated(new UpdatedDataEvent(this, "set - single"));
+            // update ranges -- full recompute only if the old point defined the range boundary
+            if (!replace || !updateLimits(DIM_X, oldX, oldX, x, x)
+                    || !updateLimits(DIM_Y, oldYMin, oldYMax, y - yErrorNeg, y + yErrorPos)) {
+                recomputeLimits(DIM_X);
+                recomputeLimits(DIM_Y);
+            }
+            return new UpdatedDataEvent(this, "set - single", 0, Math.min(index, oldDataCount), index + 1, dataCount);
+        }));
     }
 
     public DoubleErrorDataSet set(final int index, final double[] x, final double[] y, final double[] yErrorNeg,
             final double[] yErrorPos) {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
+            final int oldDataCount = xValues.size();
             resize(Math.max(index + x.length, xValues.size()));
             System.arraycopy(x, 0, xValues.elements(), index, x.length);
             System.arraycopy(y, 0, yValues.elements(), index, y.length);
@@ -650,8 +685,9 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             // invalidate and recompute ranges
             recomputeLimits(DIM_X);
             recomputeLimits(DIM_Y);
-        });
-        return fireInvalidated(new UpdatedDataEvent(this, "set - via arrays"));
+            return new UpdatedDataEvent(this, "set - via arrays", 0, Math.min(index, oldDataCount), index + x.length,
+                    xValues.size());
+        }));
     }
 
     /**
@@ -661,12 +697,26 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
      * @return itself (fluent design)
      */
     public DoubleErrorDataSet trim() {
-        lock().writeLockGuard(() -> {
+        return fireInvalidated(lock().writeLockGuard(() -> {
             xValues.trim(0);
             yValues.trim(0);
             yErrorsPos.trim(0);
             yErrorsNeg.trim(0);
-        });
-        return fireInvalidated(new UpdatedDataEvent(this, "increaseCapacity()"));
+            return new UpdatedDataEvent(this, "increaseCapacity()", 0, 0, 0, xValues.size());
+        }));
+    }
+
+    private static double[] copyErrors(final double[] src, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        if (src == null) {
+            // no errors defined for this dimension
+            Arrays.fill(retValues, dstOffset, dstOffset + length, 0.0);
+        } else {
+            System.arraycopy(src, fromIndex, retValues, dstOffset, length);
+        }
+        return retValues;
     }
 }
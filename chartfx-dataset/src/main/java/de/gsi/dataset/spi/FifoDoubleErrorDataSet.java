@@ -10,6 +10,7 @@ import de.gsi.dataset.DataSetError;
 import de.gsi.dataset.event.AddedDataEvent;
 import de.gsi.dataset.event.RemovedDataEvent;
 import de.gsi.dataset.spi.utils.DoublePointError;
+import de.gsi.dataset.utils.SlidingWindowMinMax;
 
 /**
  * @author rstein
@@ -19,6 +20,8 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
     private static final long serialVersionUID = -7153702141838930486L;
     protected LimitedQueue<DataBlob> data;
     protected double maxDistance = Double.MAX_VALUE;
+    protected SlidingWindowMinMax xRange;
+    protected SlidingWindowMinMax yRange;
 
     /**
      * Creates a new instance of <code>FifoDoubleErrorDataSet</code>.
@@ -49,6 +52,13 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
         }
         this.maxDistance = maxDistance;
         data = new LimitedQueue<>(initalSize);
+        xRange = new SlidingWindowMinMax(initalSize);
+        yRange = new SlidingWindowMinMax(initalSize);
+    }
+
+    private void addLimits(final DataBlob blob) {
+        xRange.add(blob.getX() - blob.getErrorX(), blob.getX() + blob.getErrorX());
+        yRange.add(blob.getY() - blob.getErrorY(), blob.getY() + blob.getErrorY());
     }
 
     /**
@@ -93,12 +103,26 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
     public FifoDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos,
             final String tag, final String style) {
         lock().writeLockGuard(() -> {
-            data.add(new DataBlob(x, y, yErrorNeg, yErrorPos, tag, style));
-            // remove old fields
-            expire(x);
+            if (Double.isFinite(x) && Double.isFinite(y)) {
+                // N.B. non-finite samples would be dropped by 'expire(..)' anyway
+                final DataBlob blob = new DataBlob(x, y, yErrorNeg, yErrorPos, tag, style);
+                data.add(blob);
+                // the oldest sample is dropped from both the queue and the min/max tracking if the limit is reached
+                addLimits(blob);
+            }
+            // remove old fields -- assumes chronological order, use 'expire(now)' for a full check
+            int nExpired = 0;
+            while (nExpired < data.size() && Math.abs(x - data.get(nExpired).getX()) > maxDistance) {
+                nExpired++;
+            }
+            if (nExpired > 0) {
+                data.subList(0, nExpired).clear();
+                xRange.removeOldest(nExpired);
+                yRange.removeOldest(nExpired);
+            }
 
-            recomputeLimits(0);
-            recomputeLimits(1);
+            setLimits(DIM_X, xRange);
+            setLimits(DIM_Y, yRange);
         });
         fireInvalidated(new AddedDataEvent(this));
 
@@ -137,35 +161,37 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      */
     public int expire(final double now) {
         final int dataPointsToRemove = lock().writeLockGuard(() -> {
-            getAxisDescriptions().forEach(AxisDescription::clear);
-
             final List<DataBlob> toRemoveList = new ArrayList<>();
-            // for (final DataBlob blob : (LimitedQueue<DataBlob>) data.clone()) {
-            for (final DataBlob blob : data) {
+            boolean oldestOnly = true;
+            for (int index = 0; index < data.size(); index++) {
+                final DataBlob blob = data.get(index);
                 final double x = blob.getX();
-                final double y = blob.getX();
-
-                if (Double.isFinite(x) && Double.isFinite(y)) {
-                    if (Math.abs(now - x) > maxDistance) {
-                        // data.remove(blob);
-                        toRemoveList.add(blob);
-                    } else {
-                        getAxisDescription(0).add(x + blob.getErrorX());
-                        getAxisDescription(0).add(x - blob.getErrorX());
-                        getAxisDescription(1).add(y + blob.getErrorY());
-                        getAxisDescription(1).add(y - blob.getErrorY());
-                    }
-                } else {
-                    // data.remove(blob);
+                final double y = blob.getY();
+
+                if (!Double.isFinite(x) || !Double.isFinite(y) || Math.abs(now - x) > maxDistance) {
+                    oldestOnly &= toRemoveList.size() == index;
                     toRemoveList.add(blob);
                 }
             }
+            final int nRemove = toRemoveList.size();
+            if (nRemove == 0) {
+                return 0;
+            }
 
-            data.removeAll(toRemoveList);
-            recomputeLimits(0);
-            recomputeLimits(1);
-            // computeLimits(); // N.B. already computed above
-            return toRemoveList.size();
+            if (oldestOnly) {
+                // usual case: the expired samples are the oldest ones -> incremental update
+                data.subList(0, nRemove).clear();
+                xRange.removeOldest(nRemove);
+                yRange.removeOldest(nRemove);
+            } else {
+                data.removeAll(toRemoveList);
+                xRange.reset();
+                yRange.reset();
+                data.forEach(this::addLimits);
+            }
+            setLimits(DIM_X, xRange);
+            setLimits(DIM_Y, yRange);
+            return nRemove;
         });
         if (dataPointsToRemove != 0) {
             fireInvalidated(new RemovedDataEvent(this, "expired data"));
@@ -214,7 +240,12 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      * remove all data points
      */
     public void reset() {
-        data.clear();
+        lock().writeLockGuard(() -> {
+            data.clear();
+            xRange.reset();
+            yRange.reset();
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
         fireInvalidated(new RemovedDataEvent(this, "reset"));
     }
 
@@ -254,6 +254,20 @@ public class FloatDataSet extends AbstractDataSet<FloatDataSet> implements Edita
         return Math.min(xValues.size(), yValues.size());
     }
 
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        // N.B. float to double widening requires an explicit (albeit virtual-call-free) loop
+        final float[] values = dimIndex == DIM_X ? xValues.elements() : yValues.elements();
+        for (int i = 0; i < length; i++) {
+            retValues[dstOffset + i] = values[fromIndex + i];
+        }
+        return retValues;
+    }
+
     public float[] getXFloatValues() {
         return xValues.elements();
     }
@@ -313,8 +327,8 @@ public class FloatDataSet extends AbstractDataSet<FloatDataSet> implements Edita
             yValues.removeElements(fromIndex, clampedToIndex);
 
             // remove old label and style keys
-            getDataLabelMap().remove(fromIndex, clampedToIndex);
-            getDataLabelMap().remove(fromIndex, clampedToIndex);
+            getDataLabelMap().removeAndShiftKeys(fromIndex, clampedToIndex);
+            getDataStyleMap().removeAndShiftKeys(fromIndex, clampedToIndex);
 
             // invalidate ranges
             // -> fireInvalidated calls computeLimits for autoNotification
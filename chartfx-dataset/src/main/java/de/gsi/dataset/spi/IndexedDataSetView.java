@@ -0,0 +1,230 @@
+package de.gsi.dataset.spi;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSet3D;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Read-only view onto an index sub-range of a parent DataSet with optional decimation (stride). The sub-range is
+ * either given explicitly via indices or derived (and lazily tracked) from an x-coordinate window of the parent.
+ * Contiguous views (stride == 1) forward bulk access to the parent's (array-copy based) bulk accessors.
+ * <p>
+ * Use the factory methods of {@link DataSetView} to create instances.
+ */
+public class IndexedDataSetView extends DataSetView {
+    private static final long serialVersionUID = 4627781346193745912L;
+    private final int fromIndexUser;
+    private final int toIndexUser;
+    private final double xMin;
+    private final double xMax;
+    private final int stride;
+    private transient volatile boolean rangeValid;
+    private transient int fromIndex;
+    private transient int dataCount;
+
+    private IndexedDataSetView(final DataSet parent, final int fromIndex, final int toIndex, final double xMin,
+            final double xMax, final int stride) {
+        super(parent);
+        if (parent instanceof DataSet3D) {
+            throw new IllegalArgumentException("DataSet3D '" + parent.getName()
+                                               + "' is not point-indexed - use DataSetView.row(..) or .column(..)");
+        }
+        AssertUtils.gtEqThanZero("fromIndex", fromIndex);
+        AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+        AssertUtils.gtThanZero("stride", stride);
+        if (xMin > xMax) {
+            throw new IllegalArgumentException("xMin = " + xMin + " must be smaller than xMax = " + xMax);
+        }
+        this.fromIndexUser = fromIndex;
+        this.toIndexUser = toIndex;
+        this.xMin = xMin;
+        this.xMax = xMax;
+        this.stride = stride;
+    }
+
+    @Override
+    public double get(final int dimIndex, final int index) {
+        return parent.get(dimIndex, getParentIndex(index));
+    }
+
+    @Override
+    public int getDataCount(final int dimIndex) {
+        checkParentDataCount();
+        if (!rangeValid) {
+            updateIndexRange();
+        }
+        return dataCount;
+    }
+
+    /**
+     * @return first parent index covered by this view
+     */
+    public int getFromIndex() {
+        getDataCount(DIM_X);
+        return fromIndex;
+    }
+
+    @Override
+    public String getName() {
+        if (isWindow()) {
+            return parent.getName() + ":window[" + xMin + ", " + xMax + "]" + (stride > 1 ? ":" + stride : "");
+        }
+        return parent.getName() + ":slice[" + fromIndexUser + ", " + toIndexUser + "[" + (stride > 1 ? ":" + stride : "");
+    }
+
+    @Override
+    protected int getParentIndex(final int index) {
+        if (!rangeValid) {
+            updateIndexRange();
+        }
+        return fromIndex + index * stride;
+    }
+
+    /**
+     * @return sub-sampling factor w.r.t. the parent
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * @return last parent index (exclusive) covered by this view, equals {@link #getFromIndex()} for empty views
+     */
+    public int getToIndex() {
+        final int count = getDataCount(DIM_X);
+        if (count == 0) {
+            return fromIndex;
+        }
+        return getParentIndex(count - 1) + 1;
+    }
+
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        if (stride == 1) {
+            final int offset = getParentIndex(0);
+            return parent.getValues(dimIndex, offset + fromIndex, offset + toIndex, dst, dstOffset);
+        }
+        return super.getValues(dimIndex, fromIndex, toIndex, dst, dstOffset);
+    }
+
+    @Override
+    public DataSetView invalidate() {
+        rangeValid = false;
+        return super.invalidate();
+    }
+
+    private boolean isWindow() {
+        return !Double.isNaN(xMin);
+    }
+
+    private void updateIndexRange() {
+        synchronized (this) {
+            if (rangeValid) {
+                return;
+            }
+            final int parentCount = parent.getDataCount(DIM_X);
+            int from = Math.min(fromIndexUser, parentCount);
+            int to = Math.min(toIndexUser, parentCount);
+            if (isWindow() && parentCount > 0) {
+                // N.B. getIndex(..) returns the closest index -> shift to the first/last index inside [xMin, xMax]
+                from = parent.getIndex(DIM_X, xMin);
+                if (parent.get(DIM_X, from) < xMin) {
+                    from++;
+                }
+                to = parent.getIndex(DIM_X, xMax);
+                if (parent.get(DIM_X, to) <= xMax) {
+                    to++;
+                }
+                to = Math.max(from, to);
+            }
+            fromIndex = from;
+            dataCount = (to - from + stride - 1) / stride;
+            rangeValid = true;
+        }
+    }
+
+    /**
+     * @param parent the source DataSet
+     * @param xMin minimum x-coordinate (inclusive)
+     * @param xMax maximum x-coordinate (inclusive)
+     * @return view tracking the parent's x-range [xMin, xMax]
+     */
+    protected static IndexedDataSetView create(final DataSet parent, final double xMin, final double xMax) {
+        if (parent instanceof DataSetError) {
+            return new ErrorView((DataSetError) parent, 0, Integer.MAX_VALUE, xMin, xMax, 1);
+        }
+        return new IndexedDataSetView(parent, 0, Integer.MAX_VALUE, xMin, xMax, 1);
+    }
+
+    /**
+     * @param parent the source DataSet
+     * @param fromIndex first parent index (inclusive)
+     * @param toIndex last parent index (exclusive, clamped to the parent's data count)
+     * @param stride sub-sampling factor
+     * @return view onto the parent's index-range [fromIndex, toIndex[
+     */
+    protected static IndexedDataSetView create(final DataSet parent, final int fromIndex, final int toIndex,
+            final int stride) {
+        if (parent instanceof DataSetError) {
+            return new ErrorView((DataSetError) parent, fromIndex, toIndex, Double.NaN, Double.NaN, stride);
+        }
+        return new IndexedDataSetView(parent, fromIndex, toIndex, Double.NaN, Double.NaN, stride);
+    }
+
+    /**
+     * {@link DataSetError} variant of the view: errors are mapped onto the parent in the same way as the coordinates.
+     */
+    public static class ErrorView extends IndexedDataSetView implements DataSetError {
+        private static final long serialVersionUID = -2186526591786549151L;
+
+        private ErrorView(final DataSetError parent, final int fromIndex, final int toIndex, final double xMin,
+                final double xMax, final int stride) {
+            super(parent, fromIndex, toIndex, xMin, xMax, stride);
+        }
+
+        @Override
+        protected void computeLimits(final int dimIndex, final AxisDescription range) {
+            DataSetViewErrorHelper.computeLimits(this, dimIndex, range);
+        }
+
+        @Override
+        public double getErrorNegative(final int dimIndex, final int index) {
+            return DataSetViewErrorHelper.getErrorNegative(this, dimIndex, index);
+        }
+
+        @Override
+        public double getErrorPositive(final int dimIndex, final int index) {
+            return DataSetViewErrorHelper.getErrorPositive(this, dimIndex, index);
+        }
+
+        @Override
+        public double[] getErrorsNegative(final int dimIndex, final int fromIndex, final int toIndex,
+                final double[] dst, final int dstOffset) {
+            if (getStride() == 1) {
+                final int offset = getParentIndex(0);
+                return ((DataSetError) parent).getErrorsNegative(dimIndex, offset + fromIndex, offset + toIndex, dst,
+                        dstOffset);
+            }
+            return DataSetError.super.getErrorsNegative(dimIndex, fromIndex, toIndex, dst, dstOffset);
+        }
+
+        @Override
+        public double[] getErrorsPositive(final int dimIndex, final int fromIndex, final int toIndex,
+                final double[] dst, final int dstOffset) {
+            if (getStride() == 1) {
+                final int offset = getParentIndex(0);
+                return ((DataSetError) parent).getErrorsPositive(dimIndex, offset + fromIndex, offset + toIndex, dst,
+                        dstOffset);
+            }
+            return DataSetError.super.getErrorsPositive(dimIndex, fromIndex, toIndex, dst, dstOffset);
+        }
+
+        @Override
+        public ErrorType getErrorType(final int dimIndex) {
+            return DataSetViewErrorHelper.getErrorType(this, dimIndex);
+        }
+    }
+}
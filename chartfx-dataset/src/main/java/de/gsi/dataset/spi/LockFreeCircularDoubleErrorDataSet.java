@@ -0,0 +1,391 @@
+package de.gsi.dataset.spi;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet2D;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.event.AddedDataEvent;
+import de.gsi.dataset.event.RemovedDataEvent;
+import de.gsi.dataset.locks.DataSetLock;
+import de.gsi.dataset.locks.DefaultDataSetLock;
+import de.gsi.dataset.utils.AssertUtils;
+import de.gsi.dataset.utils.DoubleCircularBuffer;
+import de.gsi.dataset.utils.SlidingWindowMinMax;
+
+/**
+ * <p>
+ * Circular-buffer DataSet for streaming acquisition with a single (fast) producer and multiple (e.g. rendering) readers,
+ * where the producer never blocks on the readers. The producer publishes samples or batches of samples into a primitive
+ * ring-buffer that is guarded by two monotonic sequence counters ('claimed' and 'published', seqlock-style) rather than
+ * the DataSet's {@link DataSetLock}.
+ * </p>
+ * <p>
+ * Readers see a consistent snapshot of the last 'capacity' samples: the snapshot is brought up-to-date whenever a
+ * first reader acquires the DataSet's read lock (or explicitly via {@link #snapshot()}), by copying only the samples
+ * published since the last update. Samples that the producer overwrote while being copied are detected via the
+ * sequence numbers and discarded, ie. readers never wait for the producer and vice versa.
+ * </p>
+ * <p>
+ * The update events are dispatched asynchronously and coalesced by default (see {@link #eventDispatcher()}), so that
+ * the producer does not run the listeners (e.g. chart updates) for every published sample or batch.
+ * </p>
+ * N.B. data labels and styles are not stored per sample. All {@code add(..)}/{@code publish(..)} calls may be issued
+ * from any thread, but are intended for a single producer thread (concurrent producers are serialised).
+ *
+ * @see CircularDoubleErrorDataSet for the lock-based equivalent
+ */
+public class LockFreeCircularDoubleErrorDataSet extends AbstractErrorDataSet<LockFreeCircularDoubleErrorDataSet>
+        implements DataSet2D, DataSetError {
+    private static final long serialVersionUID = 2417620880214953390L;
+    private final int capacity;
+    // producer side
+    private final transient Object writerLock = new Object();
+    private final transient AtomicLong claimedSequence = new AtomicLong();
+    private final transient AtomicLong publishedSequence = new AtomicLong();
+    private final transient AtomicLong validSequence = new AtomicLong();
+    private final double[] xRing;
+    private final double[] yRing;
+    private final double[] yErrorNegRing;
+    private final double[] yErrorPosRing;
+    // reader side -- guarded by the DataSet's write lock
+    private final transient SnapshotLock snapshotLock = new SnapshotLock(this);
+    private final double[][] scratch; // reader-side copies prior to validation
+    private final DoubleCircularBuffer xValues;
+    private final DoubleCircularBuffer yValues;
+    private final DoubleCircularBuffer yErrorsNeg;
+    private final DoubleCircularBuffer yErrorsPos;
+    private final SlidingWindowMinMax xRange;
+    private final SlidingWindowMinMax yRange;
+    private transient volatile long snapshotSequence;
+
+    /**
+     * Creates a new instance of <code>LockFreeCircularDoubleErrorDataSet</code>.
+     *
+     * @param name name of this DataSet.
+     * @param capacity maximum circular buffer capacity
+     * @throws IllegalArgumentException if <code>name</code> is <code>null</code>
+     */
+    public LockFreeCircularDoubleErrorDataSet(final String name, final int capacity) {
+        super(name, 2, ErrorType.NO_ERROR, ErrorType.ASYMMETRIC);
+        AssertUtils.gtThanZero("capacity", capacity);
+        this.capacity = capacity;
+        xRing = new double[capacity];
+        yRing = new double[capacity];
+        yErrorNegRing = new double[capacity];
+        yErrorPosRing = new double[capacity];
+        scratch = new double[4][capacity];
+        xValues = new DoubleCircularBuffer(capacity);
+        yValues = new DoubleCircularBuffer(capacity);
+        yErrorsNeg = new DoubleCircularBuffer(capacity);
+        yErrorsPos = new DoubleCircularBuffer(capacity);
+        xRange = new SlidingWindowMinMax(capacity);
+        yRange = new SlidingWindowMinMax(capacity);
+        // producer must not be blocked by the listeners -> coalesced asynchronous notification
+        eventDispatcher().setAsync(true);
+    }
+
+    /**
+     * Add point to the data set
+     *
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     * @return itself (fluent design)
+     */
+    public LockFreeCircularDoubleErrorDataSet add(final double x, final double y) {
+        return add(x, y, 0.0, 0.0);
+    }
+
+    /**
+     * Add point to the data set
+     *
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
+     * @return itself (fluent design)
+     */
+    public LockFreeCircularDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg,
+            final double yErrorPos) {
+        synchronized (writerLock) {
+            final long sequence = claimedSequence.get();
+            claim(sequence + 1);
+            final int pos = (int) (sequence % capacity);
+            xRing[pos] = x;
+            yRing[pos] = y;
+            yErrorNegRing[pos] = yErrorNeg;
+            yErrorPosRing[pos] = yErrorPos;
+            publishedSequence.set(sequence + 1);
+        }
+        return fireInvalidated(new AddedDataEvent(this));
+    }
+
+    /**
+     * Add array vectors to the data set
+     *
+     * @param xVals the new x coordinates
+     * @param yVals the new y coordinates
+     * @param yErrNeg the -dy errors
+     * @param yErrPos the +dy errors
+     * @return itself (fluent design)
+     */
+    public LockFreeCircularDoubleErrorDataSet add(final double[] xVals, final double[] yVals, final double[] yErrNeg,
+            final double[] yErrPos) {
+        AssertUtils.notNull("X coordinates", xVals);
+        AssertUtils.equalDoubleArrays(xVals, yVals);
+        AssertUtils.equalDoubleArrays(xVals, yErrNeg);
+        AssertUtils.equalDoubleArrays(xVals, yErrPos);
+        publish(xVals, yVals, yErrNeg, yErrPos, xVals.length);
+        return getThis();
+    }
+
+    private void claim(final long sequence) {
+        claimedSequence.set(sequence);
+        // N.B. the claim must be visible before any of the following (plain) ring-buffer writes
+        VarHandle.storeStoreFence();
+    }
+
+    /**
+     * @return maximum circular buffer capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public final double get(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? xValues.get(index) : yValues.get(index);
+    }
+
+    @Override
+    public int getDataCount(final int dimIndex) {
+        return xValues.available();
+    }
+
+    @Override
+    public double getErrorNegative(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? 0.0 : yErrorsNeg.get(index);
+    }
+
+    @Override
+    public double getErrorPositive(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? 0.0 : yErrorsPos.get(index);
+    }
+
+    @Override
+    public double[] getErrorsNegative(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        if (dimIndex == DIM_X) {
+            return zeroErrors(fromIndex, toIndex, dst, dstOffset);
+        }
+        return yErrorsNeg.get(dst, dstOffset, fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public double[] getErrorsPositive(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        if (dimIndex == DIM_X) {
+            return zeroErrors(fromIndex, toIndex, dst, dstOffset);
+        }
+        return yErrorsPos.get(dst, dstOffset, fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * @return sequence number (ie. total number of samples) published by the producer so far
+     */
+    public long getSequence() {
+        return publishedSequence.get();
+    }
+
+    /**
+     * @return sequence number of the last sample contained in the readers' snapshot
+     */
+    public long getSnapshotSequence() {
+        return lock().readLockGuard(() -> snapshotSequence);
+    }
+
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return (dimIndex == DIM_X ? xValues : yValues).get(dst, dstOffset, fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public DataSetLock<LockFreeCircularDoubleErrorDataSet> lock() {
+        return snapshotLock;
+    }
+
+    /**
+     * Publishes a batch of samples. Only the last 'capacity' samples of batches exceeding the capacity are stored.
+     *
+     * @param xVals the new x coordinates
+     * @param yVals the new y coordinates
+     * @param yErrNeg the -dy errors
+     * @param yErrPos the +dy errors
+     * @param length number of samples to be published
+     * @return sequence number of the batch, ie. the total number of samples published including this batch
+     */
+    public long publish(final double[] xVals, final double[] yVals, final double[] yErrNeg, final double[] yErrPos,
+            final int length) {
+        final long sequence;
+        synchronized (writerLock) {
+            final long start = claimedSequence.get();
+            sequence = start + length;
+            final int nSamples = Math.min(length, capacity);
+            final int srcOffset = length - nSamples;
+            claim(sequence);
+            final int pos = (int) ((start + srcOffset) % capacity);
+            final int nFirst = Math.min(nSamples, capacity - pos);
+            copyToRing(xVals, srcOffset, xRing, pos, nFirst, nSamples);
+            copyToRing(yVals, srcOffset, yRing, pos, nFirst, nSamples);
+            copyToRing(yErrNeg, srcOffset, yErrorNegRing, pos, nFirst, nSamples);
+            copyToRing(yErrPos, srcOffset, yErrorPosRing, pos, nFirst, nSamples);
+            publishedSequence.set(sequence);
+        }
+        fireInvalidated(new AddedDataEvent(this, "published #" + sequence));
+        return sequence;
+    }
+
+    /**
+     * resets all data
+     *
+     * @return itself (fluent design)
+     */
+    public LockFreeCircularDoubleErrorDataSet reset() {
+        synchronized (writerLock) {
+            // N.B. samples before this sequence number are invalid for readers
+            validSequence.set(publishedSequence.get());
+        }
+        snapshotLock.snapshotGuard(() -> {
+            xValues.reset();
+            yValues.reset();
+            yErrorsNeg.reset();
+            yErrorsPos.reset();
+            xRange.reset();
+            yRange.reset();
+            snapshotSequence = validSequence.get();
+            getAxisDescriptions().forEach(AxisDescription::clear);
+            return snapshotSequence;
+        });
+
+        return fireInvalidated(new RemovedDataEvent(this));
+    }
+
+    /**
+     * Updates the readers' snapshot with the samples published since the last update. This is done automatically when
+     * a first reader acquires the read lock.
+     *
+     * @return sequence number of the last sample contained in the snapshot
+     */
+    public long snapshot() {
+        return snapshotLock.snapshotGuard(this::updateSnapshot);
+    }
+
+    private long updateSnapshot() {
+        final long published = publishedSequence.get();
+        final long from = Math.max(Math.max(snapshotSequence, published - capacity), validSequence.get());
+        if (from >= published) {
+            return snapshotSequence;
+        }
+        final int length = (int) (published - from);
+        final int pos = (int) (from % capacity);
+        final int nFirst = Math.min(length, capacity - pos);
+
+        copyFromRing(xRing, pos, nFirst, length, scratch[0]);
+        copyFromRing(yRing, pos, nFirst, length, scratch[1]);
+        copyFromRing(yErrorNegRing, pos, nFirst, length, scratch[2]);
+        copyFromRing(yErrorPosRing, pos, nFirst, length, scratch[3]);
+        // N.B. the claim must be read after the (plain) ring-buffer reads
+        VarHandle.loadLoadFence();
+        final long claimed = claimedSequence.get();
+
+        // samples in [from, claimed - capacity[ may have been overwritten while being copied
+        final long validFrom = Math.max(from, claimed - capacity);
+        if (validFrom >= published) {
+            return snapshotSequence;
+        }
+        if (validFrom > snapshotSequence) {
+            // gap -- the producer was faster than the readers: start a new contiguous snapshot
+            xValues.reset();
+            yValues.reset();
+            yErrorsNeg.reset();
+            yErrorsPos.reset();
+            xRange.reset();
+            yRange.reset();
+        }
+        final int offset = (int) (validFrom - from);
+        xValues.put(scratch[0], offset, length - offset);
+        yValues.put(scratch[1], offset, length - offset);
+        yErrorsNeg.put(scratch[2], offset, length - offset);
+        yErrorsPos.put(scratch[3], offset, length - offset);
+        snapshotSequence = published;
+
+        // incremental range update -- overwritten samples are dropped from the min/max tracking
+        xRange.add(scratch[0], offset, length - offset);
+        for (int i = offset; i < length; i++) {
+            yRange.add(scratch[1][i] - scratch[2][i], scratch[1][i] + scratch[3][i]);
+        }
+        setLimits(DIM_X, xRange);
+        setLimits(DIM_Y, yRange);
+        return snapshotSequence;
+    }
+
+    private static void copyFromRing(final double[] ring, final int pos, final int nFirst, final int length,
+            final double[] dst) {
+        System.arraycopy(ring, pos, dst, 0, nFirst);
+        System.arraycopy(ring, 0, dst, nFirst, length - nFirst);
+    }
+
+    private static void copyToRing(final double[] src, final int srcOffset, final double[] ring, final int pos,
+            final int nFirst, final int length) {
+        System.arraycopy(src, srcOffset, ring, pos, nFirst);
+        System.arraycopy(src, srcOffset + nFirst, ring, 0, length - nFirst);
+    }
+
+    private static double[] zeroErrors(final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        Arrays.fill(retValues, dstOffset, dstOffset + length, 0.0);
+        return retValues;
+    }
+
+    /**
+     * DataSet lock that brings the readers' snapshot up-to-date before the first reader enters. The producer never
+     * acquires this lock. N.B. the snapshot updates do not mute the auto-notification, since the producer notifies
+     * concurrently and outside of this lock.
+     */
+    private class SnapshotLock extends DefaultDataSetLock<LockFreeCircularDoubleErrorDataSet> {
+        private static final long serialVersionUID = -3512487232540195466L;
+
+        private SnapshotLock(final LockFreeCircularDoubleErrorDataSet dataSet) {
+            super(dataSet);
+        }
+
+        @Override
+        public LockFreeCircularDoubleErrorDataSet readLock() {
+            if (getReaderCount() == 0 && publishedSequence.get() != snapshotSequence) {
+                writeLockGuardUnmuted(LockFreeCircularDoubleErrorDataSet.this::updateSnapshot);
+            }
+            return super.readLock();
+        }
+
+        private <R> R snapshotGuard(final Supplier<R> updating) {
+            return writeLockGuardUnmuted(updating);
+        }
+
+        @Override
+        public LockFreeCircularDoubleErrorDataSet readLockGuardOptimistic(final Runnable reading) {
+            return readLockGuard(reading);
+        }
+
+        @Override
+        public <R> R readLockGuardOptimistic(final Supplier<R> reading) {
+            return readLockGuard(reading);
+        }
+    }
+}
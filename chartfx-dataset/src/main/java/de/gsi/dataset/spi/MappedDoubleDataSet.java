@@ -0,0 +1,659 @@
+package de.gsi.dataset.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet2D;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.EditableDataSet;
+import de.gsi.dataset.event.AddedDataEvent;
+import de.gsi.dataset.event.RemovedDataEvent;
+import de.gsi.dataset.event.UpdatedDataEvent;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * <p>
+ * Implementation of the {@code DataSetError} interface which stores x, y, -ey and +ey values off-heap in four
+ * separate {@link DoubleBuffer} columns. The columns are either allocated in direct memory or memory-mapped from a
+ * file. This keeps very large traces (e.g. 100M-point post-mortem buffers) out of the garbage-collected heap and
+ * allows files larger than the heap to be opened instantly and paged in on demand by the operating system.
+ * </p>
+ * File layout (little-endian): a {@value #HEADER_SIZE} byte header (magic, version, data count, capacity and the
+ * x/y-ranges) followed by the x, y, -ey and +ey columns, each of 'capacity' doubles. The maximum capacity is limited to
+ * 2^28 - 1 samples due to the 2 GB limit of a single mapped region.
+ * <p>
+ * N.B. data labels and styles are kept on-heap (as for the other DataSet implementations) and are not persisted.
+ *
+ * @see DoubleErrorDataSet for the on-heap equivalent
+ */
+@SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
+public class MappedDoubleDataSet extends AbstractErrorDataSet<MappedDoubleDataSet>
+        implements DataSetError, EditableDataSet, DataSet2D {
+    private static final long serialVersionUID = -3358093456612418407L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedDoubleDataSet.class);
+    private static final int MAGIC = 0x4D445331; // "MDS1"
+    private static final int VERSION = 1;
+    protected static final int HEADER_SIZE = 64;
+    private static final int HEADER_COUNT = 8;
+    private static final int HEADER_CAPACITY = 12;
+    private static final int HEADER_RANGES = 16;
+    private static final int N_COLUMNS = 4; // x, y, -ey, +ey
+    private static final int COL_X = 0;
+    private static final int COL_Y = 1;
+    private static final int COL_EYN = 2;
+    private static final int COL_EYP = 3;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / Double.BYTES;
+    private static final int COPY_CHUNK = 8192; // [doubles]
+    private final transient FileChannel channel; // 'null' -> direct memory
+    private final transient boolean readOnly;
+    private transient MappedByteBuffer header;
+    private transient ByteBuffer[] columnBytes;
+    private transient DoubleBuffer[] columns;
+    private int dataCount;
+    private int capacity;
+
+    /**
+     * Creates a new instance of <code>MappedDoubleDataSet</code> backed by direct (off-heap) memory.
+     *
+     * @param name name of this DataSet.
+     * @param initialCapacity initial capacity of buffer (N.B. size=0)
+     */
+    public MappedDoubleDataSet(final String name, final int initialCapacity) {
+        super(name, 2, ErrorType.NO_ERROR, ErrorType.ASYMMETRIC);
+        AssertUtils.gtEqThanZero("initialCapacity", initialCapacity);
+        channel = null;
+        readOnly = false;
+        allocateColumns(initialCapacity);
+    }
+
+    private MappedDoubleDataSet(final String name, final FileChannel channel, final boolean readOnly,
+            final int initialCapacity) throws IOException {
+        super(name, 2, ErrorType.NO_ERROR, ErrorType.ASYMMETRIC);
+        this.channel = channel;
+        this.readOnly = readOnly;
+        if (initialCapacity >= 0) {
+            // new file
+            capacity = initialCapacity;
+            mapFile();
+            header.putInt(0, MAGIC).putInt(4, VERSION);
+            writeHeader();
+            return;
+        }
+
+        // existing file
+        final ByteBuffer fileHeader = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(fileHeader, 0);
+        if (fileHeader.getInt(0) != MAGIC || fileHeader.getInt(4) != VERSION) {
+            throw new IOException("unknown file format (magic = 0x" + Integer.toHexString(fileHeader.getInt(0))
+                                  + ", version = " + fileHeader.getInt(4) + ')');
+        }
+        dataCount = fileHeader.getInt(HEADER_COUNT);
+        capacity = fileHeader.getInt(HEADER_CAPACITY);
+        mapFile();
+
+        // restore ranges from header -> avoids having to page-in the whole file
+        for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
+            final double min = fileHeader.getDouble(HEADER_RANGES + 2 * dimIndex * Double.BYTES);
+            final double max = fileHeader.getDouble(HEADER_RANGES + (2 * dimIndex + 1) * Double.BYTES);
+            if (min <= max) {
+                getAxisDescription(dimIndex).set(min, max);
+            } else if (dataCount > 0) {
+                recomputeLimits(dimIndex);
+            }
+        }
+    }
+
+    /**
+     * Add point to the data set.
+     *
+     * @param x horizontal coordinate of the new data point
+     * @param y vertical coordinate of the new data point
+     * @return itself (fluent design)
+     */
+    public MappedDoubleDataSet add(final double x, final double y) {
+        return add(x, y, 0.0, 0.0);
+    }
+
+    /**
+     * Add point to the data set.
+     *
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
+     * @return itself (fluent design)
+     */
+    public MappedDoubleDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos) {
+        lock().writeLockGuard(() -> {
+            checkWritable();
+            final boolean extendX = isRangeExtensible(DIM_X);
+            final boolean extendY = isRangeExtensible(DIM_Y);
+            ensureCapacity(dataCount + 1);
+            putPoint(dataCount, x, y, yErrorNeg, yErrorPos);
+            dataCount++;
+
+            if (extendX) {
+                getAxisDescription(DIM_X).add(x);
+            }
+            if (extendY) {
+                getAxisDescription(DIM_Y).add(y - yErrorNeg);
+                getAxisDescription(DIM_Y).add(y + yErrorPos);
+            }
+            writeHeader();
+        });
+        return fireInvalidated(new UpdatedDataEvent(this, "add"));
+    }
+
+    /**
+     * Add array vectors to data set.
+     *
+     * @param xValuesNew X coordinates
+     * @param yValuesNew Y coordinates
+     * @param yErrorsNegNew the -dy errors
+     * @param yErrorsPosNew the +dy errors
+     * @return itself (fluent design)
+     */
+    public MappedDoubleDataSet add(final double[] xValuesNew, final double[] yValuesNew, final double[] yErrorsNegNew,
+            final double[] yErrorsPosNew) {
+        AssertUtils.notNull("X coordinates", xValuesNew);
+        AssertUtils.notNull("Y coordinates", yValuesNew);
+        AssertUtils.notNull("Y error neg", yErrorsNegNew);
+        AssertUtils.notNull("Y error pos", yErrorsPosNew);
+        final int newElements = Math.min(Math.min(xValuesNew.length, yValuesNew.length),
+                Math.min(yErrorsNegNew.length, yErrorsPosNew.length));
+
+        lock().writeLockGuard(() -> {
+            checkWritable();
+            final boolean extendX = isRangeExtensible(DIM_X);
+            final boolean extendY = isRangeExtensible(DIM_Y);
+            ensureCapacity(dataCount + newElements);
+            putColumn(COL_X, dataCount, xValuesNew, newElements);
+            putColumn(COL_Y, dataCount, yValuesNew, newElements);
+            putColumn(COL_EYN, dataCount, yErrorsNegNew, newElements);
+            putColumn(COL_EYP, dataCount, yErrorsPosNew, newElements);
+            dataCount += newElements;
+
+            if (extendX) {
+                getAxisDescription(DIM_X).add(xValuesNew, newElements);
+            }
+            for (int i = 0; extendY && i < newElements; i++) {
+                getAxisDescription(DIM_Y).add(yValuesNew[i] - yErrorsNegNew[i]);
+                getAxisDescription(DIM_Y).add(yValuesNew[i] + yErrorsPosNew[i]);
+            }
+            writeHeader();
+        });
+        return fireInvalidated(new AddedDataEvent(this));
+    }
+
+    /**
+     * add point to the data set
+     *
+     * @param index data point index at which the new data point should be added
+     * @param newValue new data point coordinate (x, y [, -dy, +dy])
+     * @return itself (fluent design)
+     */
+    @Override
+    public MappedDoubleDataSet add(final int index, final double... newValue) {
+        final double yErrorNeg = newValue.length >= 4 ? newValue[2] : 0.0;
+        final double yErrorPos = newValue.length >= 4 ? newValue[3] : 0.0;
+        lock().writeLockGuard(() -> {
+            checkWritable();
+            final boolean extendX = isRangeExtensible(DIM_X);
+            final boolean extendY = isRangeExtensible(DIM_Y);
+            final int indexAt = Math.max(0, Math.min(index, dataCount));
+            ensureCapacity(dataCount + 1);
+            for (int column = 0; column < N_COLUMNS; column++) {
+                move(columns[column], indexAt, indexAt + 1, dataCount - indexAt);
+            }
+            putPoint(indexAt, newValue[0], newValue[1], yErrorNeg, yErrorPos);
+            dataCount++;
+            getDataLabelMap().shiftKeys(indexAt, dataCount);
+            getDataStyleMap().shiftKeys(indexAt, dataCount);
+
+            if (extendX) {
+                getAxisDescription(DIM_X).add(newValue[0]);
+            }
+            if (extendY) {
+                getAxisDescription(DIM_Y).add(newValue[1] - yErrorNeg);
+                getAxisDescription(DIM_Y).add(newValue[1] + yErrorPos);
+            }
+            writeHeader();
+        });
+        return fireInvalidated(new AddedDataEvent(this));
+    }
+
+    private void allocateColumns(final int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity " + newCapacity + " exceeds maximum of " + MAX_CAPACITY);
+        }
+        final ByteBuffer[] newColumnBytes = new ByteBuffer[N_COLUMNS];
+        final DoubleBuffer[] newColumns = new DoubleBuffer[N_COLUMNS];
+        for (int column = 0; column < N_COLUMNS; column++) {
+            newColumnBytes[column] = ByteBuffer.allocateDirect(newCapacity * Double.BYTES).order(ByteOrder.nativeOrder());
+            newColumns[column] = newColumnBytes[column].asDoubleBuffer();
+            if (columns != null) {
+                final DoubleBuffer src = columns[column].duplicate();
+                src.limit(dataCount).position(0);
+                newColumns[column].put(src).clear();
+            }
+        }
+        columnBytes = newColumnBytes;
+        columns = newColumns;
+        capacity = newCapacity;
+    }
+
+    /**
+     * clear all data points
+     *
+     * @return itself (fluent design)
+     */
+    public MappedDoubleDataSet clearData() {
+        lock().writeLockGuard(() -> {
+            checkWritable();
+            dataCount = 0;
+            getDataLabelMap().clear();
+            getDataStyleMap().clear();
+            clearMetaInfo();
+
+            getAxisDescriptions().forEach(AxisDescription::clear);
+            writeHeader();
+        });
+        return fireInvalidated(new RemovedDataEvent(this, "clearData()"));
+    }
+
+    /**
+     * flushes pending changes and closes the underlying file (if any). N.B. the memory-mapped regions remain valid
+     * until garbage-collected, the data set must not be modified after closing.
+     */
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        flush();
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            LOGGER.atError().setCause(e).addArgument(getName()).log("could not close file for '{}'");
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("DataSet '" + getName() + "' has been opened read-only");
+        }
+    }
+
+    private void ensureCapacity(final int requiredCapacity) {
+        if (requiredCapacity <= capacity) {
+            return;
+        }
+        final int newCapacity = (int) Math.min(MAX_CAPACITY, Math.max(requiredCapacity, 2L * capacity + 16));
+        if (channel == null) {
+            allocateColumns(newCapacity);
+            return;
+        }
+        try {
+            relayoutFile(newCapacity);
+        } catch (final IOException e) {
+            throw new IllegalStateException("could not grow file-backed DataSet '" + getName() + "'", e);
+        }
+    }
+
+    /**
+     * forces changes of file-backed data sets to be written to the storage device
+     *
+     * @return itself (fluent design)
+     */
+    public MappedDoubleDataSet flush() {
+        if (channel == null || readOnly) {
+            return this;
+        }
+        lock().readLockGuard(() -> {
+            header.force();
+            for (final ByteBuffer column : columnBytes) {
+                ((MappedByteBuffer) column).force();
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public double get(final int dimIndex, final int index) {
+        return columns[dimIndex == DIM_X ? COL_X : COL_Y].get(index);
+    }
+
+    /**
+     * @return storage capacity of dataset
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getDataCount(final int dimIndex) {
+        return dataCount;
+    }
+
+    @Override
+    public double getErrorNegative(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? 0.0 : columns[COL_EYN].get(index);
+    }
+
+    @Override
+    public double getErrorPositive(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? 0.0 : columns[COL_EYP].get(index);
+    }
+
+    @Override
+    public double[] getErrorsNegative(final int dimIndex) {
+        return getErrorsNegative(dimIndex, 0, dataCount, new double[dataCount], 0);
+    }
+
+    @Override
+    public double[] getErrorsNegative(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return copyColumn(dimIndex == DIM_X ? -1 : COL_EYN, fromIndex, toIndex, dst, dstOffset);
+    }
+
+    @Override
+    public double[] getErrorsPositive(final int dimIndex) {
+        return getErrorsPositive(dimIndex, 0, dataCount, new double[dataCount], 0);
+    }
+
+    @Override
+    public double[] getErrorsPositive(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return copyColumn(dimIndex == DIM_X ? -1 : COL_EYP, fromIndex, toIndex, dst, dstOffset);
+    }
+
+    /**
+     * N.B. returns a full on-heap copy of the off-heap data, use
+     * {@link #getValues(int, int, int, double[], int)} to copy only the required range into a reusable buffer
+     */
+    @Override
+    public double[] getValues(final int dimIndex) {
+        return getValues(dimIndex, 0, dataCount, new double[dataCount], 0);
+    }
+
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        return copyColumn(dimIndex == DIM_X ? COL_X : COL_Y, fromIndex, toIndex, dst, dstOffset);
+    }
+
+    /**
+     * @return {@code true} if the data is memory-mapped from a file, {@code false} if held in direct memory
+     */
+    public boolean isMapped() {
+        return channel != null;
+    }
+
+    /**
+     * N.B. ranges invalidated by {@link #remove(int, int)} or {@link #set(int, double...)} must remain undefined until
+     * recomputed on demand: extending them would define them by the newly added points only
+     *
+     * @param dimIndex the chosen dimension
+     * @return {@code true} if the range of the given dimension may be extended by newly added points
+     */
+    private boolean isRangeExtensible(final int dimIndex) {
+        return dataCount == 0 || getAxisDescription(dimIndex).isDefined();
+    }
+
+    private void mapFile() throws IOException {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity " + capacity + " exceeds maximum of " + MAX_CAPACITY);
+        }
+        final FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+        final long columnSize = (long) capacity * Double.BYTES;
+        header = channel.map(mode, 0, HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer[] newColumnBytes = new ByteBuffer[N_COLUMNS];
+        final DoubleBuffer[] newColumns = new DoubleBuffer[N_COLUMNS];
+        for (int column = 0; column < N_COLUMNS; column++) {
+            newColumnBytes[column] = channel.map(mode, HEADER_SIZE + column * columnSize, columnSize)
+                                             .order(ByteOrder.LITTLE_ENDIAN);
+            newColumns[column] = newColumnBytes[column].asDoubleBuffer();
+        }
+        columnBytes = newColumnBytes;
+        columns = newColumns;
+    }
+
+    private void putColumn(final int column, final int index, final double[] values, final int length) {
+        final DoubleBuffer dst = columns[column].duplicate();
+        dst.position(index);
+        dst.put(values, 0, length);
+    }
+
+    private void putPoint(final int index, final double x, final double y, final double yErrorNeg,
+            final double yErrorPos) {
+        columns[COL_X].put(index, x);
+        columns[COL_Y].put(index, y);
+        columns[COL_EYN].put(index, yErrorNeg);
+        columns[COL_EYP].put(index, yErrorPos);
+    }
+
+    private void relayoutFile(final int newCapacity) throws IOException {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity " + newCapacity + " exceeds maximum of " + MAX_CAPACITY);
+        }
+        final long oldColumnSize = (long) capacity * Double.BYTES;
+        final long newColumnSize = (long) newCapacity * Double.BYTES;
+        final long usedBytes = (long) dataCount * Double.BYTES;
+        // move columns (last first) to their new offsets, copying back-to-front since regions may overlap
+        final ByteBuffer chunk = ByteBuffer.allocateDirect(COPY_CHUNK * Double.BYTES);
+        for (int column = N_COLUMNS - 1; column > 0; column--) {
+            final long src = HEADER_SIZE + column * oldColumnSize;
+            final long dst = HEADER_SIZE + column * newColumnSize;
+            long remaining = usedBytes;
+            while (remaining > 0) {
+                final int length = (int) Math.min(chunk.capacity(), remaining);
+                remaining -= length;
+                chunk.clear().limit(length);
+                readFully(chunk, src + remaining);
+                chunk.flip();
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk, dst + remaining + chunk.position());
+                }
+            }
+        }
+        capacity = newCapacity;
+        mapFile();
+        writeHeader();
+    }
+
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+    }
+
+    /**
+     * remove point from data set
+     *
+     * @param index data point which should be removed
+     * @return itself (fluent design)
+     */
+    @Override
+    public MappedDoubleDataSet remove(final int index) {
+        return remove(index, index + 1);
+    }
+
+    /**
+     * removes sub-range of data points
+     *
+     * @param fromIndex start index
+     * @param toIndex stop index
+     * @return itself (fluent design)
+     */
+    public MappedDoubleDataSet remove(final int fromIndex, final int toIndex) {
+        lock().writeLockGuard(() -> {
+            checkWritable();
+            AssertUtils.indexInBounds(fromIndex, getDataCount(), "fromIndex");
+            AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+            final int clampedToIndex = Math.min(toIndex, dataCount);
+            for (int column = 0; column < N_COLUMNS; column++) {
+                move(columns[column], clampedToIndex, fromIndex, dataCount - clampedToIndex);
+            }
+            dataCount -= clampedToIndex - fromIndex;
+
+            // remove old label and style keys
+            getDataLabelMap().removeAndShiftKeys(fromIndex, clampedToIndex);
+            getDataStyleMap().removeAndShiftKeys(fromIndex, clampedToIndex);
+
+            // invalidate ranges -> N.B. recomputed on demand to avoid an eager (paging) full range scan
+            getAxisDescriptions().forEach(AxisDescription::clear);
+            writeHeader();
+        });
+        return fireInvalidated(new RemovedDataEvent(this));
+    }
+
+    /**
+     * replaces point coordinate of existing data point
+     *
+     * @param index data point index
+     * @param newValue new data point coordinate (x, y [, -dy, +dy])
+     * @return itself (fluent design)
+     */
+    @Override
+    public MappedDoubleDataSet set(final int index, final double... newValue) {
+        lock().writeLockGuard(() -> {
+            checkWritable();
+            AssertUtils.indexInBounds(index, dataCount, "index");
+            final double oldX = get(DIM_X, index);
+            final double oldYMin = get(DIM_Y, index) - getErrorNegative(DIM_Y, index);
+            final double oldYMax = get(DIM_Y, index) + getErrorPositive(DIM_Y, index);
+            final double yErrorNeg = newValue.length >= 4 ? newValue[2] : 0.0;
+            final double yErrorPos = newValue.length >= 4 ? newValue[3] : 0.0;
+            putPoint(index, newValue[0], newValue[1], yErrorNeg, yErrorPos);
+            getDataLabelMap().remove(index);
+            getDataStyleMap().remove(index);
+
+            // range only needs to be invalidated (and recomputed on demand) if the replaced value defined it
+            if (!updateLimits(DIM_X, oldX, oldX, newValue[0], newValue[0])) {
+                getAxisDescription(DIM_X).clear();
+            }
+            if (!updateLimits(DIM_Y, oldYMin, oldYMax, newValue[1] - yErrorNeg, newValue[1] + yErrorPos)) {
+                getAxisDescription(DIM_Y).clear();
+            }
+            writeHeader();
+        });
+        return fireInvalidated(new UpdatedDataEvent(this, "set - single"));
+    }
+
+    private void writeHeader() {
+        if (channel == null || readOnly) {
+            return;
+        }
+        header.putInt(HEADER_COUNT, dataCount).putInt(HEADER_CAPACITY, capacity);
+        for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
+            final AxisDescription range = getAxisDescription(dimIndex);
+            final boolean defined = range.isDefined();
+            header.putDouble(HEADER_RANGES + 2 * dimIndex * Double.BYTES, defined ? range.getMin() : Double.NaN);
+            header.putDouble(HEADER_RANGES + (2 * dimIndex + 1) * Double.BYTES, defined ? range.getMax() : Double.NaN);
+        }
+    }
+
+    private double[] copyColumn(final int column, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                 : dst;
+        if (column < 0) {
+            // no errors defined for this dimension
+            Arrays.fill(retValues, dstOffset, dstOffset + length, 0.0);
+            return retValues;
+        }
+        final DoubleBuffer src = columns[column].duplicate();
+        src.position(fromIndex);
+        src.get(retValues, dstOffset, length);
+        return retValues;
+    }
+
+    /**
+     * creates a new (or truncates an existing) file-backed data set
+     *
+     * @param file the file to be (re-)created
+     * @param name name of this DataSet
+     * @param initialCapacity initial capacity of buffer (N.B. size=0)
+     * @return new data set
+     * @throws IOException in case of file access errors
+     */
+    public static MappedDoubleDataSet create(final Path file, final String name, final int initialCapacity)
+            throws IOException {
+        AssertUtils.gtEqThanZero("initialCapacity", initialCapacity);
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new MappedDoubleDataSet(name, channel, false, initialCapacity);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void move(final DoubleBuffer buffer, final int srcIndex, final int dstIndex, final int length) {
+        // N.B. chunked copy via intermediate array since overlapping bulk puts are unspecified
+        final double[] chunk = new double[Math.min(COPY_CHUNK, Math.max(length, 0))];
+        final DoubleBuffer src = buffer.duplicate();
+        final DoubleBuffer dst = buffer.duplicate();
+        if (dstIndex > srcIndex) {
+            // move up: copy back-to-front
+            for (int remaining = length; remaining > 0;) {
+                final int n = Math.min(chunk.length, remaining);
+                remaining -= n;
+                src.position(srcIndex + remaining);
+                src.get(chunk, 0, n);
+                dst.position(dstIndex + remaining);
+                dst.put(chunk, 0, n);
+            }
+            return;
+        }
+        // move down: copy front-to-back
+        for (int done = 0; done < length;) {
+            final int n = Math.min(chunk.length, length - done);
+            src.position(srcIndex + done);
+            src.get(chunk, 0, n);
+            dst.position(dstIndex + done);
+            dst.put(chunk, 0, n);
+            done += n;
+        }
+    }
+
+    /**
+     * opens an existing file-backed data set. The file is memory-mapped, ie. opening is independent of the file size
+     * and the data is paged in on demand.
+     *
+     * @param file the file to be opened
+     * @param readOnly {@code true}: maps the file read-only (modifications throw an {@link IllegalStateException})
+     * @return data set backed by the given file
+     * @throws IOException in case of file access errors or unknown file format
+     */
+    public static MappedDoubleDataSet open(final Path file, final boolean readOnly) throws IOException {
+        final FileChannel channel = readOnly ? FileChannel.open(file, StandardOpenOption.READ)
+                                             : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final String fileName = file.getFileName() == null ? file.toString() : file.getFileName().toString();
+            if (Files.size(file) < HEADER_SIZE) {
+                throw new IOException("file '" + file + "' is too short to contain a valid header");
+            }
+            return new MappedDoubleDataSet(fileName, channel, readOnly, -1);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package de.gsi.dataset.spi;
+
+import de.gsi.dataset.DataSet3D;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Read-only 2D view onto a single row (fixed y-index) or column (fixed x-index) of a {@link DataSet3D}. The view's
+ * x-coordinates correspond to the parent's free grid axis and the y-coordinates to the parent's z-values.
+ * <p>
+ * Use {@link DataSetView#row(DataSet3D, int)} or {@link DataSetView#column(DataSet3D, int)} to create instances.
+ */
+public class ProjectionDataSetView extends DataSetView {
+    private static final long serialVersionUID = -1794736425021834512L;
+    private final int gridIndex;
+    private final boolean column;
+
+    /**
+     * @param parent 3D source DataSet
+     * @param gridIndex the fixed x-index (column) or y-index (row)
+     * @param column {@code true}: project column at x-index, {@code false}: project row at y-index
+     */
+    protected ProjectionDataSetView(final DataSet3D parent, final int gridIndex, final boolean column) {
+        super(parent);
+        AssertUtils.gtEqThanZero("gridIndex", gridIndex);
+        this.gridIndex = gridIndex;
+        this.column = column;
+    }
+
+    @Override
+    public double get(final int dimIndex, final int index) {
+        if (dimIndex == DIM_X) {
+            return parent.get(column ? DIM_Y : DIM_X, index);
+        }
+        return column ? ((DataSet3D) parent).getZ(gridIndex, index) : ((DataSet3D) parent).getZ(index, gridIndex);
+    }
+
+    @Override
+    public int getDataCount(final int dimIndex) {
+        checkParentDataCount();
+        return parent.getDataCount(column ? DIM_Y : DIM_X);
+    }
+
+    /**
+     * @return the fixed x-index (column) or y-index (row) of the parent
+     */
+    public int getGridIndex() {
+        return gridIndex;
+    }
+
+    @Override
+    public String getName() {
+        return parent.getName() + (column ? ":column#" : ":row#") + gridIndex;
+    }
+
+    @Override
+    protected int getParentDimension(final int dimIndex) {
+        if (dimIndex == DIM_X) {
+            return column ? DIM_Y : DIM_X;
+        }
+        return DIM_Z;
+    }
+
+    @Override
+    protected int getParentIndex(final int index) {
+        // N.B. z-index convention: index = yIndex * nx + xIndex
+        final int nx = parent.getDataCount(DIM_X);
+        return column ? index * nx + gridIndex : gridIndex * nx + index;
+    }
+
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset) {
+        if (dimIndex == DIM_Y && !column && parent instanceof DoubleDataSet3D) {
+            // rows are stored contiguously
+            final int length = toIndex - fromIndex;
+            final double[] retValues = dst == null || dst.length < dstOffset + length ? new double[dstOffset + length]
+                                                                                     : dst;
+            System.arraycopy(((DoubleDataSet3D) parent).getZValues()[gridIndex], fromIndex, retValues, dstOffset,
+                    length);
+            return retValues;
+        }
+        return super.getValues(dimIndex, fromIndex, toIndex, dst, dstOffset);
+    }
+
+    /**
+     * @return {@code true}: projects a column at fixed x-index, {@code false}: projects a row at fixed y-index
+     */
+    public boolean isColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,101 @@
+package de.gsi.dataset.spi;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSet3D;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Read-only view onto an arbitrary, user-supplied sub-set of the parent's data points, e.g. the first/min/max/last
+ * envelope samples computed via a {@link de.gsi.dataset.utils.MinMaxPyramid}.
+ * <p>
+ * N.B. the index array is not copied: it must not be modified while the view is in use. Indices beyond the parent's
+ * data count are not checked.
+ * <p>
+ * Use {@link DataSetView#subset(DataSet, int[], int)} to create instances.
+ */
+public class SubsetDataSetView extends DataSetView {
+    private static final long serialVersionUID = -4406458936215062416L;
+    private final int[] indices;
+    private final int dataCount;
+
+    private SubsetDataSetView(final DataSet parent, final int[] indices, final int dataCount) {
+        super(parent);
+        if (parent instanceof DataSet3D) {
+            throw new IllegalArgumentException("DataSet3D '" + parent.getName()
+                                               + "' is not point-indexed - use DataSetView.row(..) or .column(..)");
+        }
+        AssertUtils.notNull("indices", indices);
+        if (dataCount < 0 || dataCount > indices.length) {
+            throw new IllegalArgumentException(
+                    "dataCount = " + dataCount + " out of range [0, " + indices.length + "]");
+        }
+        this.indices = indices;
+        this.dataCount = dataCount;
+    }
+
+    @Override
+    public double get(final int dimIndex, final int index) {
+        return parent.get(dimIndex, indices[index]);
+    }
+
+    @Override
+    public int getDataCount(final int dimIndex) {
+        return dataCount;
+    }
+
+    @Override
+    public String getName() {
+        return parent.getName() + ":subset[" + dataCount + "]";
+    }
+
+    @Override
+    protected int getParentIndex(final int index) {
+        return indices[index];
+    }
+
+    /**
+     * @param parent the source DataSet
+     * @param indices parent indices of the data points exposed by the view
+     * @param dataCount number of valid entries in 'indices'
+     * @return view onto the given parent data points
+     */
+    protected static SubsetDataSetView create(final DataSet parent, final int[] indices, final int dataCount) {
+        if (parent instanceof DataSetError) {
+            return new ErrorView((DataSetError) parent, indices, dataCount);
+        }
+        return new SubsetDataSetView(parent, indices, dataCount);
+    }
+
+    /**
+     * {@link DataSetError} variant of the view: errors are mapped onto the parent in the same way as the coordinates.
+     */
+    public static class ErrorView extends SubsetDataSetView implements DataSetError {
+        private static final long serialVersionUID = 8830658129839436127L;
+
+        private ErrorView(final DataSetError parent, final int[] indices, final int dataCount) {
+            super(parent, indices, dataCount);
+        }
+
+        @Override
+        protected void computeLimits(final int dimIndex, final AxisDescription range) {
+            DataSetViewErrorHelper.computeLimits(this, dimIndex, range);
+        }
+
+        @Override
+        public double getErrorNegative(final int dimIndex, final int index) {
+            return DataSetViewErrorHelper.getErrorNegative(this, dimIndex, index);
+        }
+
+        @Override
+        public double getErrorPositive(final int dimIndex, final int index) {
+            return DataSetViewErrorHelper.getErrorPositive(this, dimIndex, index);
+        }
+
+        @Override
+        public ErrorType getErrorType(final int dimIndex) {
+            return DataSetViewErrorHelper.getErrorType(this, dimIndex);
+        }
+    }
+}
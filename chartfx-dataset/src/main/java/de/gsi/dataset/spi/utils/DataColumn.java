@@ -0,0 +1,404 @@
+package de.gsi.dataset.spi.utils;
+
+import java.io.Serializable;
+
+import de.gsi.dataset.utils.AssertUtils;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+
+/**
+ * Growable primitive column storage with a selectable (float or double) precision that is accessed via a common
+ * double-based interface. N.B. values stored in {@link Precision#FLOAT32} columns are rounded to float precision.
+ */
+public abstract class DataColumn implements Serializable {
+    private static final long serialVersionUID = -1727390357128947164L;
+
+    /**
+     * storage precision of a {@link DataColumn}
+     */
+    public enum Precision {
+        FLOAT32(Float.BYTES),
+        FLOAT64(Double.BYTES);
+
+        private final int byteSize;
+
+        Precision(final int byteSize) {
+            this.byteSize = byteSize;
+        }
+
+        /**
+         * @return number of bytes required to store one value
+         */
+        public int getByteSize() {
+            return byteSize;
+        }
+    }
+
+    /**
+     * @param index position at which the value is inserted
+     * @param value value to be inserted
+     */
+    public abstract void add(final int index, final double value);
+
+    /**
+     * @param value value to be appended
+     */
+    public abstract void add(final double value);
+
+    /**
+     * @param index position at which the values are inserted
+     * @param src source values
+     * @param srcOffset first index within 'src'
+     * @param length number of values to be inserted
+     */
+    public abstract void addElements(final int index, final double[] src, final int srcOffset, final int length);
+
+    /**
+     * @return storage capacity of the column
+     */
+    public abstract int capacity();
+
+    /**
+     * removes all values (N.B. the capacity is retained)
+     */
+    public abstract void clear();
+
+    /**
+     * @return deep copy of this column
+     */
+    public abstract DataColumn copy();
+
+    /**
+     * @param other column to compare with
+     * @return {@code true} if both columns contain the same number of numerically identical values
+     */
+    public boolean contentEquals(final DataColumn other) {
+        if (other == this) {
+            return true;
+        }
+        if (other == null || other.size() != size()) {
+            return false;
+        }
+        for (int index = 0; index < size(); index++) {
+            if (Double.compare(get(index), other.get(index)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param index value index
+     * @return value at index
+     */
+    public abstract double get(final int index);
+
+    /**
+     * Bulk copy of the values in the index range [fromIndex, toIndex[ into a user-supplied storage array.
+     *
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @param dst storage container (N.B. a new array is allocated if {@code null} or too small)
+     * @param dstOffset offset within 'dst' at which the first value is written
+     * @return either 'dst' or newly allocated array containing the result
+     */
+    public abstract double[] getElements(final int fromIndex, final int toIndex, final double[] dst,
+            final int dstOffset);
+
+    /**
+     * @return storage precision of this column
+     */
+    public abstract Precision getPrecision();
+
+    /**
+     * @return {@code true} if all values are zero
+     */
+    public boolean isZero() {
+        for (int index = 0; index < size(); index++) {
+            if (get(index) != 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     */
+    public abstract void removeElements(final int fromIndex, final int toIndex);
+
+    /**
+     * @param index value index
+     * @param value new value
+     */
+    public abstract void set(final int index, final double value);
+
+    /**
+     * @param index position at which the values are overwritten
+     * @param src source values
+     * @param srcOffset first index within 'src'
+     * @param length number of values to be copied
+     */
+    public abstract void setElements(final int index, final double[] src, final int srcOffset, final int length);
+
+    /**
+     * @return number of stored values
+     */
+    public abstract int size();
+
+    /**
+     * @param newSize new number of values (N.B. new values are initialised with zero)
+     */
+    public abstract void size(final int newSize);
+
+    /**
+     * @return double representation of the values: the backing array for {@link Precision#FLOAT64} columns (N.B. its
+     *         length corresponds to the capacity), a widened copy of length {@link #size()} otherwise (N.B. cached
+     *         until the column is modified, ie. must not be modified by the caller)
+     */
+    public abstract double[] toDoubleArray();
+
+    /**
+     * trims the capacity to the present size
+     */
+    public abstract void trim();
+
+    /**
+     * @param precision storage precision
+     * @param initialCapacity initial capacity (N.B. size=0)
+     * @return new column with the given precision
+     */
+    public static DataColumn create(final Precision precision, final int initialCapacity) {
+        AssertUtils.notNull("precision", precision);
+        AssertUtils.gtEqThanZero("initialCapacity", initialCapacity);
+        return precision == Precision.FLOAT32 ? new FloatColumn(new FloatArrayList(initialCapacity))
+                                              : new DoubleColumn(new DoubleArrayList(initialCapacity));
+    }
+
+    private static double[] allocate(final double[] dst, final int dstOffset, final int length) {
+        return dst == null || dst.length < dstOffset + length ? new double[dstOffset + length] : dst;
+    }
+
+    private static class DoubleColumn extends DataColumn {
+        private static final long serialVersionUID = 3316462358283045307L;
+        private final DoubleArrayList values;
+
+        private DoubleColumn(final DoubleArrayList values) {
+            super();
+            this.values = values;
+        }
+
+        @Override
+        public void add(final double value) {
+            values.add(value);
+        }
+
+        @Override
+        public void add(final int index, final double value) {
+            values.add(index, value);
+        }
+
+        @Override
+        public void addElements(final int index, final double[] src, final int srcOffset, final int length) {
+            values.addElements(index, src, srcOffset, length);
+        }
+
+        @Override
+        public int capacity() {
+            return values.elements().length;
+        }
+
+        @Override
+        public void clear() {
+            values.clear();
+        }
+
+        @Override
+        public DataColumn copy() {
+            return new DoubleColumn(new DoubleArrayList(values));
+        }
+
+        @Override
+        public double get(final int index) {
+            return values.elements()[index];
+        }
+
+        @Override
+        public double[] getElements(final int fromIndex, final int toIndex, final double[] dst, final int dstOffset) {
+            final int length = toIndex - fromIndex;
+            final double[] retValues = allocate(dst, dstOffset, length);
+            System.arraycopy(values.elements(), fromIndex, retValues, dstOffset, length);
+            return retValues;
+        }
+
+        @Override
+        public Precision getPrecision() {
+            return Precision.FLOAT64;
+        }
+
+        @Override
+        public void removeElements(final int fromIndex, final int toIndex) {
+            values.removeElements(fromIndex, toIndex);
+        }
+
+        @Override
+        public void set(final int index, final double value) {
+            values.elements()[index] = value;
+        }
+
+        @Override
+        public void setElements(final int index, final double[] src, final int srcOffset, final int length) {
+            System.arraycopy(src, srcOffset, values.elements(), index, length);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public void size(final int newSize) {
+            values.size(newSize);
+        }
+
+        @Override
+        public double[] toDoubleArray() {
+            return values.elements();
+        }
+
+        @Override
+        public void trim() {
+            values.trim(0);
+        }
+    }
+
+    private static class FloatColumn extends DataColumn {
+        private static final long serialVersionUID = -4403916658466187307L;
+        private final FloatArrayList values;
+        private transient volatile double[] widened; // cached toDoubleArray() result, null: needs to be re-created
+
+        private FloatColumn(final FloatArrayList values) {
+            super();
+            this.values = values;
+        }
+
+        @Override
+        public void add(final double value) {
+            widened = null;
+            values.add((float) value);
+        }
+
+        @Override
+        public void add(final int index, final double value) {
+            widened = null;
+            values.add(index, (float) value);
+        }
+
+        @Override
+        public void addElements(final int index, final double[] src, final int srcOffset, final int length) {
+            widened = null;
+            final int oldSize = values.size();
+            values.size(oldSize + length);
+            final float[] elements = values.elements();
+            System.arraycopy(elements, index, elements, index + length, oldSize - index);
+            for (int i = 0; i < length; i++) {
+                elements[index + i] = (float) src[srcOffset + i];
+            }
+        }
+
+        @Override
+        public int capacity() {
+            return values.elements().length;
+        }
+
+        @Override
+        public void clear() {
+            widened = null;
+            values.clear();
+        }
+
+        @Override
+        public DataColumn copy() {
+            return new FloatColumn(new FloatArrayList(values));
+        }
+
+        @Override
+        public double get(final int index) {
+            return values.elements()[index];
+        }
+
+        @Override
+        public double[] getElements(final int fromIndex, final int toIndex, final double[] dst, final int dstOffset) {
+            final int length = toIndex - fromIndex;
+            final double[] retValues = allocate(dst, dstOffset, length);
+            // N.B. float to double widening requires an explicit (albeit virtual-call-free) loop
+            final float[] elements = values.elements();
+            for (int i = 0; i < length; i++) {
+                retValues[dstOffset + i] = elements[fromIndex + i];
+            }
+            return retValues;
+        }
+
+        @Override
+        public Precision getPrecision() {
+            return Precision.FLOAT32;
+        }
+
+        @Override
+        public void removeElements(final int fromIndex, final int toIndex) {
+            widened = null;
+            values.removeElements(fromIndex, toIndex);
+        }
+
+        @Override
+        public void set(final int index, final double value) {
+            values.elements()[index] = (float) value;
+            final double[] cached = widened;
+            if (cached != null) {
+                cached[index] = (float) value;
+            }
+        }
+
+        @Override
+        public void setElements(final int index, final double[] src, final int srcOffset, final int length) {
+            final float[] elements = values.elements();
+            for (int i = 0; i < length; i++) {
+                elements[index + i] = (float) src[srcOffset + i];
+            }
+            final double[] cached = widened;
+            if (cached != null) {
+                for (int i = 0; i < length; i++) {
+                    cached[index + i] = elements[index + i];
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public void size(final int newSize) {
+            widened = null;
+            values.size(newSize);
+        }
+
+        @Override
+        public double[] toDoubleArray() {
+            double[] cached = widened;
+            if (cached == null) {
+                cached = getElements(0, values.size(), null, 0);
+                widened = cached;
+            }
+            return cached;
+        }
+
+        @Override
+        public void trim() {
+            values.trim(0);
+        }
+    }
+}
@@ -1,67 +1,462 @@
 package de.gsi.dataset.spi.utils;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-public class StringHashMapList extends ConcurrentHashMap<Integer, String> {
-    private static final long serialVersionUID = 4588196035279167053L;
-    private static final long PARALLELISM_THRESHOLD = 1000;
+/**
+ * Sparse, run-length encoded map of data point indices to (label or style) strings.
+ * <p>
+ * Consecutive indices with equal values are stored as a single run [start, end[ in sorted primitive {@code int[]}
+ * arrays with a parallel {@code String[]} for the values, i.e. w/o boxed keys and hash nodes. Look-ups are O(log
+ * n_runs) binary searches, index shifts due to mid-array insertions or removals of data points are a single pass over
+ * the stored runs, and uniformly styled index ranges (see {@link #put(int, int, String)}) cost a single entry
+ * independent of their length. {@link #getValues(int, int, String[], int)} provides a bulk, run-wise copy.
+ * <p>
+ * Optionally, values are interned via a map-owned {@link StyleIdPool} (recommended for styles, not for unique labels):
+ * each run holds a reference to its value's style ID, so that values are released once no run refers to them.
+ * <p>
+ * N.B. {@code null} or empty values are not stored ({@code put} removes the key instead). The map itself is not
+ * thread-safe: accesses are guarded by the lock of the owning DataSet.
+ *
+ * @author rstein
+ */
+public class StringHashMapList extends AbstractMap<Integer, String> implements Serializable {
+    private static final long serialVersionUID = -3384393785617049406L;
+    private static final int DEFAULT_CAPACITY = 8;
+    private final StyleIdPool stylePool; // null if values are not interned
+    private int[] starts = new int[0];
+    private int[] ends = new int[0]; // exclusive
+    private String[] values = new String[0];
+    private int[] ids = new int[0]; // style IDs of the values (if interned)
+    private int nRuns;
+    private int size;
+    private transient int modCount;
+    private transient Set<Entry<Integer, String>> entrySet;
+
+    public StringHashMapList() {
+        this(false);
+    }
+
+    /**
+     * @param internValues {@code true}: values are interned via a {@link StyleIdPool}
+     */
+    public StringHashMapList(final boolean internValues) {
+        super();
+        stylePool = internValues ? new StyleIdPool() : null;
+    }
 
     /**
      * shift elements all keys from starting index until the last toIndex.
      *
      * @param fromIndex the start index (inclusive).
-     * @param toIndex the end index (exclusive).
+     * @param toIndex the end index (inclusive).
      * @param label label to be added
      */
     public void addValueAndShiftKeys(final int fromIndex, final int toIndex, final String label) {
-        for (int i = toIndex; i >= fromIndex; i--) {
-            final String oldData = remove(i);
-            if (oldData != null) {
-                put(i + 1, oldData);
-            }
-        }
+        shiftKeys(fromIndex, toIndex);
         if (label != null && !label.isEmpty()) {
             put(fromIndex, label);
         }
     }
 
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0, nRuns, null);
+        if (stylePool != null) {
+            stylePool.clear();
+        }
+        nRuns = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof Integer && findRun((Integer) key) >= 0;
+    }
+
+    @Override
+    public Set<Entry<Integer, String>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * @param key data point index
+     * @return value associated with the key or {@code null} if none is defined
+     */
+    public String get(final int key) {
+        final int run = findRun(key);
+        return run >= 0 ? values[run] : null;
+    }
+
+    @Override
+    public String get(final Object key) {
+        return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+    }
+
+    /**
+     * @return number of stored runs (N.B. less or equal to {@link #size()})
+     */
+    public int getRunCount() {
+        return nRuns;
+    }
+
+    /**
+     * @return the pool of the interned values, {@code null} if values are not interned
+     */
+    public StyleIdPool getStylePool() {
+        return stylePool;
+    }
+
+    /**
+     * Bulk copy of the values in the index range [fromIndex, toIndex[ into a user-supplied storage array. Undefined
+     * values are set to {@code null}.
+     *
+     * @param fromIndex first data point index (inclusive)
+     * @param toIndex last data point index (exclusive)
+     * @param dst storage container (N.B. a new array is allocated if {@code null} or too small)
+     * @param dstOffset offset within 'dst' at which the first value is written
+     * @return either 'dst' or newly allocated array containing the result
+     */
+    public String[] getValues(final int fromIndex, final int toIndex, final String[] dst, final int dstOffset) {
+        final int length = toIndex - fromIndex;
+        final String[] retValues = dst == null || dst.length < dstOffset + length ? new String[dstOffset + length]
+                                                                                 : dst;
+        Arrays.fill(retValues, dstOffset, dstOffset + length, null);
+        for (int run = lowerRun(fromIndex); run < nRuns && starts[run] < toIndex; run++) {
+            final int start = Math.max(starts[run], fromIndex);
+            final int end = Math.min(ends[run], toIndex);
+            Arrays.fill(retValues, dstOffset + start - fromIndex, dstOffset + end - fromIndex, values[run]);
+        }
+        return retValues;
+    }
+
+    /**
+     * N.B. {@code null} and empty values are equivalent: both remove the key (i.e. {@code put(key, "")} behaves like
+     * {@code remove(key)} and a subsequent {@code get(key)} returns {@code null}).
+     *
+     * @param key data point index
+     * @param value new value ({@code null} or empty: removes the key)
+     * @return previously associated value or {@code null} if none was defined
+     */
+    public String put(final int key, final String value) {
+        final String oldValue = get(key);
+        if (oldValue == null ? value == null || value.isEmpty() : oldValue.equals(value)) {
+            return oldValue;
+        }
+        put(key, key + 1, value);
+        return oldValue;
+    }
+
+    /**
+     * Sets the value for all indices in the range [fromIndex, toIndex[ (stored as a single run). As for
+     * {@link #put(int, String)}, a {@code null} or empty value removes the keys in the range.
+     *
+     * @param fromIndex the start index (inclusive).
+     * @param toIndex the end index (exclusive).
+     * @param value new value ({@code null} or empty: removes the keys)
+     */
+    public void put(final int fromIndex, final int toIndex, final String value) {
+        clearRange(fromIndex, toIndex);
+        if (value == null || value.isEmpty() || fromIndex >= toIndex) {
+            return;
+        }
+        final int run = lowerRun(fromIndex);
+        final boolean mergePrevious = run > 0 && ends[run - 1] == fromIndex && values[run - 1].equals(value);
+        final boolean mergeNext = run < nRuns && starts[run] == toIndex && values[run].equals(value);
+        if (mergePrevious && mergeNext) {
+            ends[run - 1] = ends[run];
+            deleteRuns(run, run + 1);
+        } else if (mergePrevious) {
+            ends[run - 1] = toIndex;
+        } else if (mergeNext) {
+            starts[run] = fromIndex;
+        } else {
+            insertRun(run, fromIndex, toIndex, value);
+        }
+        size += toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public String put(final Integer key, final String value) {
+        return put(key.intValue(), value);
+    }
+
+    /**
+     * @param key data point index
+     * @return previously associated value or {@code null} if none was defined
+     */
+    public String remove(final int key) {
+        final String oldValue = get(key);
+        if (oldValue != null) {
+            clearRange(key, key + 1);
+        }
+        return oldValue;
+    }
+
     /**
-     * Removes elements of this list using optimised system calls.
+     * Removes all keys in the index range [fromIndex, toIndex[ (N.B. the remaining keys are not shifted).
      *
      * @param fromIndex the start index (inclusive).
      * @param toIndex the end index (exclusive).
      */
     public void remove(final int fromIndex, final int toIndex) {
-        // remove old keys
-        final int diffLength = toIndex - fromIndex;
-        for (int i = 0; i < diffLength; i++) {
-            remove(toIndex + i);
+        clearRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public String remove(final Object key) {
+        return key instanceof Integer ? remove(((Integer) key).intValue()) : null;
+    }
+
+    /**
+     * Removes all keys in the index range [fromIndex, toIndex[ and shifts the keys beyond by {@code toIndex - fromIndex}
+     * towards lower indices, i.e. follows the removal of the corresponding data points.
+     *
+     * @param fromIndex the start index (inclusive).
+     * @param toIndex the end index (exclusive).
+     */
+    public void removeAndShiftKeys(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        clearRange(fromIndex, toIndex);
+        final int diff = toIndex - fromIndex;
+        final int first = lowerRun(fromIndex);
+        for (int run = first; run < nRuns; run++) {
+            starts[run] -= diff;
+            ends[run] -= diff;
         }
+        mergeWithNext(first - 1);
+        modCount++;
     }
 
     public void setAll(final StringHashMapList other) {
+        if (other == this) {
+            return;
+        }
         clear();
-        other.forEachEntry(PARALLELISM_THRESHOLD, kv -> {
-            String label = kv.getValue();
-            if (label != null && !label.isEmpty()) {
-                this.put(kv.getKey(), label);
+        starts = Arrays.copyOf(other.starts, other.nRuns);
+        ends = Arrays.copyOf(other.ends, other.nRuns);
+        values = Arrays.copyOf(other.values, other.nRuns);
+        ids = new int[other.nRuns];
+        nRuns = other.nRuns;
+        size = other.size;
+        if (stylePool != null) {
+            // N.B. IDs are specific to the pool of each map
+            for (int run = 0; run < nRuns; run++) {
+                ids[run] = stylePool.acquire(values[run]);
+                values[run] = stylePool.getStyle(ids[run]);
             }
-        });
+        }
+        modCount++;
     }
 
     /**
-     * shift elements all keys from starting index until the last toIndex.
+     * shift elements all keys from starting index until the last toIndex by one towards higher indices.
      *
      * @param fromIndex the start index (inclusive).
-     * @param toIndex the end index (exclusive).
+     * @param toIndex the end index (inclusive).
      */
     public void shiftKeys(final int fromIndex, final int toIndex) {
-        for (int i = toIndex; i >= fromIndex; i--) {
-            final String oldData = remove(i);
-            if (oldData != null) {
-                put(i + 1, oldData);
+        if (toIndex < fromIndex || nRuns == 0) {
+            return;
+        }
+        if (findRun(toIndex) >= 0) {
+            // shifted key 'toIndex' collides with existing key 'toIndex + 1' -- as before, the shifted value prevails
+            clearRange(toIndex + 1, toIndex + 2);
+        }
+        splitAt(fromIndex);
+        splitAt(toIndex + 1);
+        int last = lowerRun(fromIndex);
+        for (; last < nRuns && ends[last] <= toIndex + 1; last++) {
+            starts[last]++;
+            ends[last]++;
+        }
+        mergeWithNext(last - 1);
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void clearRange(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex || nRuns == 0) {
+            return;
+        }
+        splitAt(fromIndex);
+        splitAt(toIndex);
+        final int first = lowerRun(fromIndex);
+        int last = first;
+        while (last < nRuns && ends[last] <= toIndex) {
+            size -= ends[last] - starts[last];
+            last++;
+        }
+        deleteRuns(first, last);
+    }
+
+    private void deleteRuns(final int from, final int to) {
+        if (to <= from) {
+            return;
+        }
+        if (stylePool != null) {
+            for (int run = from; run < to; run++) {
+                stylePool.release(ids[run]);
             }
         }
+        System.arraycopy(starts, to, starts, from, nRuns - to);
+        System.arraycopy(ends, to, ends, from, nRuns - to);
+        System.arraycopy(values, to, values, from, nRuns - to);
+        System.arraycopy(ids, to, ids, from, nRuns - to);
+        Arrays.fill(values, nRuns - (to - from), nRuns, null);
+        nRuns -= to - from;
+        modCount++;
     }
 
+    /**
+     * @param key data point index
+     * @return index of the run containing the key or {@code -(insertion point) - 1}
+     */
+    private int findRun(final int key) {
+        int low = 0;
+        int high = nRuns - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (ends[mid] <= key) {
+                low = mid + 1;
+            } else if (starts[mid] > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertRun(final int run, final int start, final int end, final String value) {
+        if (nRuns == starts.length) {
+            final int newCapacity = Math.max(DEFAULT_CAPACITY, nRuns + (nRuns >> 1));
+            starts = Arrays.copyOf(starts, newCapacity);
+            ends = Arrays.copyOf(ends, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            ids = Arrays.copyOf(ids, newCapacity);
+        }
+        System.arraycopy(starts, run, starts, run + 1, nRuns - run);
+        System.arraycopy(ends, run, ends, run + 1, nRuns - run);
+        System.arraycopy(values, run, values, run + 1, nRuns - run);
+        System.arraycopy(ids, run, ids, run + 1, nRuns - run);
+        starts[run] = start;
+        ends[run] = end;
+        if (stylePool == null) {
+            values[run] = value;
+        } else {
+            // N.B. every run holds one reference
+            ids[run] = stylePool.acquire(value);
+            values[run] = stylePool.getStyle(ids[run]);
+        }
+        nRuns++;
+    }
+
+    /**
+     * @param key data point index
+     * @return index of the first run that contains the key or starts after it
+     */
+    private int lowerRun(final int key) {
+        final int run = findRun(key);
+        return run >= 0 ? run : -run - 1;
+    }
+
+    private void mergeWithNext(final int run) {
+        if (run >= 0 && run + 1 < nRuns && ends[run] == starts[run + 1] && values[run].equals(values[run + 1])) {
+            ends[run] = ends[run + 1];
+            deleteRuns(run + 1, run + 2);
+        }
+    }
+
+    /**
+     * splits the run containing 'key' (if any) such that a new run starts at 'key'
+     *
+     * @param key data point index
+     */
+    private void splitAt(final int key) {
+        final int run = findRun(key);
+        if (run >= 0 && starts[run] < key) {
+            insertRun(run + 1, key, ends[run], values[run]);
+            ends[run] = key;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Integer, String>> {
+        @Override
+        public void clear() {
+            StringHashMapList.this.clear();
+        }
+
+        @Override
+        public Iterator<Entry<Integer, String>> iterator() {
+            return new Iterator<>() {
+                private int run;
+                private int nextKey = nRuns > 0 ? starts[0] : 0;
+                private int lastKey = -1;
+                private boolean canRemove;
+                private int expectedModCount = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return run < nRuns;
+                }
+
+                @Override
+                public Entry<Integer, String> next() {
+                    if (expectedModCount != modCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (run >= nRuns) {
+                        throw new NoSuchElementException();
+                    }
+                    lastKey = nextKey;
+                    final Entry<Integer, String> entry = new SimpleImmutableEntry<>(lastKey, values[run]);
+                    advance(lastKey + 1);
+                    canRemove = true;
+                    return entry;
+                }
+
+                @Override
+                public void remove() {
+                    if (!canRemove) {
+                        throw new IllegalStateException("next() has not been called");
+                    }
+                    if (expectedModCount != modCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    StringHashMapList.this.remove(lastKey);
+                    advance(lastKey + 1);
+                    canRemove = false;
+                    expectedModCount = modCount;
+                }
+
+                private void advance(final int key) {
+                    run = lowerRun(key);
+                    nextKey = run < nRuns ? Math.max(key, starts[run]) : key;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
@@ -10,8 +10,14 @@ import java.util.Set;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 
+/**
+ * legacy (sorted) Integer-to-String map for data point labels and styles
+ *
+ * @deprecated superseded by {@link StringHashMapList} (primitive int-keyed, run-length encoded), kept for API
+ *             compatibility only and to be removed in a future release
+ */
+@Deprecated
 public class StringHashMapList2 implements Map<Integer, String> {
-    private static final long PARALLELISM_THRESHOLD = 1000;
     private final IntArrayList indices = new IntArrayList(10);
     private final List<String> data = new ArrayList<>();
 
@@ -168,10 +174,9 @@ public class StringHashMapList2 implements Map<Integer, String> {
 
     public void setAll(final StringHashMapList other) {
         clear();
-        other.forEachEntry(PARALLELISM_THRESHOLD, kv -> {
-            String label = kv.getValue();
+        other.forEach((key, label) -> {
             if (label != null && !label.isEmpty()) {
-                this.put(kv.getKey(), label);
+                this.put(key, label);
             }
         });
     }
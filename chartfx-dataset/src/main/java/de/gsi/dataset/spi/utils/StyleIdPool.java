@@ -0,0 +1,133 @@
+package de.gsi.dataset.spi.utils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reference-counted pool of interned (data point) style strings, owned by a single (style) {@link StringHashMapList}.
+ * <p>
+ * Each distinct style is assigned a small and dense integer ID. Identical styles thus share a single String instance
+ * and consumers (e.g. renderers) may cache derived information (e.g. parsed markers or colours) in arrays indexed by
+ * the style ID rather than re-parsing the strings. ID '0' is reserved for 'no style' ({@code null} or empty).
+ * <p>
+ * Styles are released once they are no longer referenced, and their IDs are recycled. The pool is thus bounded by the
+ * number of distinct styles in use and consumers caching per-ID information need to verify that the style of a given ID
+ * is still the one they cached (see {@link #getStyle(int)}).
+ * <p>
+ * N.B. the pool is not thread-safe: accesses are guarded by the lock of the owning DataSet.
+ */
+public class StyleIdPool implements Serializable {
+    private static final long serialVersionUID = 6051725331366418417L;
+    /** ID of the undefined ({@code null} or empty) style */
+    public static final int NO_STYLE = 0;
+    /** ID returned for styles that are not part of the pool */
+    public static final int UNKNOWN_STYLE = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+    private final Map<String, Integer> styleIds = new HashMap<>();
+    private String[] styles = new String[DEFAULT_CAPACITY];
+    private int[] references = new int[DEFAULT_CAPACITY];
+    private int[] freeIds = new int[DEFAULT_CAPACITY];
+    private int nFree;
+    private int idLimit = 1;
+
+    /**
+     * Interns the style and increments its reference count.
+     *
+     * @param style style string
+     * @return ID of the interned style ({@link #NO_STYLE} for {@code null} or empty styles)
+     */
+    public int acquire(final String style) {
+        if (style == null || style.isEmpty()) {
+            return NO_STYLE;
+        }
+        final Integer existing = styleIds.get(style);
+        final int id = existing == null ? register(style) : existing;
+        references[id]++;
+        return id;
+    }
+
+    /**
+     * Releases all styles (N.B. previously acquired IDs become invalid).
+     */
+    public void clear() {
+        styleIds.clear();
+        Arrays.fill(styles, null);
+        Arrays.fill(references, 0);
+        nFree = 0;
+        idLimit = 1;
+    }
+
+    /**
+     * @param style style string
+     * @return ID of the interned style, {@link #NO_STYLE} for {@code null} or empty styles, or {@link #UNKNOWN_STYLE}
+     *         for styles that are not part of the pool
+     */
+    public int getId(final String style) {
+        if (style == null || style.isEmpty()) {
+            return NO_STYLE;
+        }
+        final Integer id = styleIds.get(style);
+        return id == null ? UNKNOWN_STYLE : id;
+    }
+
+    /**
+     * @return upper (exclusive) bound of the presently assigned IDs
+     */
+    public int getIdLimit() {
+        return idLimit;
+    }
+
+    /**
+     * @param id style ID
+     * @return interned style for the given ID ({@code null} for {@link #NO_STYLE})
+     * @throws IllegalArgumentException for unknown or released IDs
+     */
+    public String getStyle(final int id) {
+        if (id < 0 || id >= idLimit || (id != NO_STYLE && styles[id] == null)) {
+            throw new IllegalArgumentException("unknown style id " + id);
+        }
+        return styles[id];
+    }
+
+    /**
+     * Decrements the reference count of the style and releases it (and its ID) once it is no longer referenced.
+     *
+     * @param id style ID as returned by {@link #acquire(String)}
+     * @throws IllegalArgumentException for unknown or released IDs
+     */
+    public void release(final int id) {
+        if (id == NO_STYLE) {
+            return;
+        }
+        final String style = getStyle(id);
+        if (--references[id] > 0) {
+            return;
+        }
+        styleIds.remove(style);
+        styles[id] = null;
+        if (nFree == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, 2 * nFree);
+        }
+        freeIds[nFree++] = id;
+    }
+
+    /**
+     * @return number of interned styles (excluding {@link #NO_STYLE})
+     */
+    public int size() {
+        return styleIds.size();
+    }
+
+    private int register(final String style) {
+        final int id = nFree > 0 ? freeIds[--nFree] : idLimit++;
+        if (id >= styles.length) {
+            styles = Arrays.copyOf(styles, 2 * styles.length);
+            references = Arrays.copyOf(references, styles.length);
+        }
+        styles[id] = style;
+        styleIds.put(style, id);
+        return id;
+    }
+}
@@ -23,8 +23,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * N.B. for other simple caching needs see @see Cache
  * 
  * @author rstein
- *
+ * @deprecated exact-size and name-keyed caching misses on every size change, use the size-classed {@link ArrayPool}
+ *             instead
  */
+@Deprecated
 public final class ArrayCache { // NOPMD nomen est omen
     private static ConcurrentHashMap<String, WeakHashMap<Integer, boolean[]>> booleanArrayCache = new ConcurrentHashMap<>();
     private static ConcurrentHashMap<String, WeakHashMap<Integer, byte[]>> byteArrayCache = new ConcurrentHashMap<>();
@@ -0,0 +1,349 @@
+package de.gsi.dataset.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Pool for large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays are needed
+ * but that are otherwise outside the function scope not needed.
+ * <p>
+ * Arrays are binned into power-of-two size classes: the returned arrays have a length of at least the requested size
+ * (ie. the requested size rounded up to the next power of two) so that moderate size changes (e.g. while resizing a
+ * chart) are served by the same pooled array. Each thread keeps at most one small array (up to 2^10 elements) per size
+ * class and type in a thread-local fast path, ie. less than 64 kB per thread in total. All further released arrays,
+ * notably all larger ones, are shared between threads up to a total of {@link #getMaxRetainedBytes()}.
+ * <p>
+ * usage example:
+ *
+ * <pre>
+ * final double[] localTempBuffer = ArrayPool.getDoubleArray(200); // N.B. length &gt;= 200
+ *
+ * [..] user code [..]
+ *
+ * ArrayPool.release(localTempBuffer);
+ * </pre>
+ *
+ * N.B. user code must rely on the explicitly requested size rather than the array length and must not use an array
+ * after it has been released. Arrays that have not been obtained from this pool (ie. whose length is not a size class)
+ * are silently dropped on release.
+ */
+public final class ArrayPool { // NOPMD nomen est omen
+    /** minimum size class: 2^4 = 16 elements */
+    private static final int MIN_CLASS_BITS = 4;
+    /** maximum size class: 2^30 elements, larger arrays are allocated on demand and not pooled */
+    private static final int MAX_CLASS_BITS = 30;
+    /**
+     * maximum size class kept in the thread-local fast path: 2^10 elements. N.B. kept small since the thread-local
+     * arrays are neither accounted for by nor bounded by {@link #getMaxRetainedBytes()}
+     */
+    private static final int MAX_LOCAL_CLASS_BITS = 10;
+    private static final long DEFAULT_MAX_RETAINED_BYTES = 64L << 20;
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final AtomicLong RETAINED_BYTES = new AtomicLong();
+    private static volatile long maxRetainedBytes = DEFAULT_MAX_RETAINED_BYTES;
+
+    private static final Pool<boolean[]> BOOLEAN_POOL = new Pool<>(boolean[]::new, a -> a.length, 1);
+    private static final Pool<byte[]> BYTE_POOL = new Pool<>(byte[]::new, a -> a.length, Byte.BYTES);
+    private static final Pool<double[]> DOUBLE_POOL = new Pool<>(double[]::new, a -> a.length, Double.BYTES);
+    private static final Pool<float[]> FLOAT_POOL = new Pool<>(float[]::new, a -> a.length, Float.BYTES);
+    private static final Pool<int[]> INT_POOL = new Pool<>(int[]::new, a -> a.length, Integer.BYTES);
+    private static final Pool<long[]> LONG_POOL = new Pool<>(long[]::new, a -> a.length, Long.BYTES);
+    private static final Pool<short[]> SHORT_POOL = new Pool<>(short[]::new, a -> a.length, Short.BYTES); // NOPMD
+    // N.B. references only, the Strings themselves are not accounted for
+    private static final Pool<String[]> STRING_POOL = new Pool<>(String[]::new, a -> a.length, Integer.BYTES);
+
+    private ArrayPool() {
+        // static helper class
+    }
+
+    /**
+     * removes all arrays shared between threads as well as the thread-local arrays of the calling thread (N.B. the
+     * small thread-local arrays of other threads are kept) and resets the hit/miss statistics
+     */
+    public static void clear() {
+        BOOLEAN_POOL.clear();
+        BYTE_POOL.clear();
+        DOUBLE_POOL.clear();
+        FLOAT_POOL.clear();
+        INT_POOL.clear();
+        LONG_POOL.clear();
+        SHORT_POOL.clear();
+        STRING_POOL.clear();
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    /**
+     * @param minSize minimum requested array size
+     * @return pooled or newly allocated array with a length of at least {@code minSize}
+     */
+    public static boolean[] getBooleanArray(final int minSize) {
+        return BOOLEAN_POOL.get(minSize);
+    }
+
+    /**
+     * @param minSize minimum requested array size
+     * @return pooled or newly allocated array with a length of at least {@code minSize}
+     */
+    public static byte[] getByteArray(final int minSize) {
+        return BYTE_POOL.get(minSize);
+    }
+
+    /**
+     * @param minSize minimum requested array size
+     * @return pooled or newly allocated array with a length of at least {@code minSize}
+     */
+    public static double[] getDoubleArray(final int minSize) {
+        return DOUBLE_POOL.get(minSize);
+    }
+
+    /**
+     * @param minSize minimum requested array size
+     * @return pooled or newly allocated array with a length of at least {@code minSize}
+     */
+    public static float[] getFloatArray(final int minSize) {
+        return FLOAT_POOL.get(minSize);
+    }
+
+    /**
+     * @return number of requests that have been served by a pooled array
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * @param minSize minimum requested array size
+     * @return pooled or newly allocated array with a length of at least {@code minSize}
+     */
+    public static int[] getIntArray(final int minSize) {
+        return INT_POOL.get(minSize);
+    }
+
+    /**
+     * @param minSize minimum requested array size
+     * @return pooled or newly allocated array with a length of at least {@code minSize}
+     */
+    public static long[] getLongArray(final int minSize) {
+        return LONG_POOL.get(minSize);
+    }
+
+    /**
+     * @return maximum number of bytes retained by arrays shared between threads
+     */
+    public static long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    /**
+     * @return number of requests that required a new allocation
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * @return number of bytes presently retained by arrays shared between threads (N.B. excludes thread-local arrays)
+     */
+    public static long getRetainedBytes() {
+        return RETAINED_BYTES.get();
+    }
+
+    /**
+     * @param minSize minimum requested array size
+     * @return pooled or newly allocated array with a length of at least {@code minSize}
+     */
+    public static short[] getShortArray(final int minSize) { // NOPMD
+        return SHORT_POOL.get(minSize);
+    }
+
+    /**
+     * @param minSize minimum requested array size
+     * @return pooled or newly allocated array with a length of at least {@code minSize} (N.B. entries are
+     *         {@code null})
+     */
+    public static String[] getStringArray(final int minSize) {
+        return STRING_POOL.get(minSize);
+    }
+
+    /**
+     * returns ownership of the array to the pool
+     *
+     * @param array array to be released, {@code null} is ignored
+     */
+    public static void release(final boolean[] array) {
+        BOOLEAN_POOL.release(array);
+    }
+
+    /**
+     * returns ownership of the array to the pool
+     *
+     * @param array array to be released, {@code null} is ignored
+     */
+    public static void release(final byte[] array) {
+        BYTE_POOL.release(array);
+    }
+
+    /**
+     * returns ownership of the array to the pool
+     *
+     * @param array array to be released, {@code null} is ignored
+     */
+    public static void release(final double[] array) {
+        DOUBLE_POOL.release(array);
+    }
+
+    /**
+     * returns ownership of the array to the pool
+     *
+     * @param array array to be released, {@code null} is ignored
+     */
+    public static void release(final float[] array) {
+        FLOAT_POOL.release(array);
+    }
+
+    /**
+     * returns ownership of the array to the pool
+     *
+     * @param array array to be released, {@code null} is ignored
+     */
+    public static void release(final int[] array) {
+        INT_POOL.release(array);
+    }
+
+    /**
+     * returns ownership of the array to the pool
+     *
+     * @param array array to be released, {@code null} is ignored
+     */
+    public static void release(final long[] array) {
+        LONG_POOL.release(array);
+    }
+
+    /**
+     * returns ownership of the array to the pool
+     *
+     * @param array array to be released, {@code null} is ignored
+     */
+    public static void release(final short[] array) { // NOPMD
+        SHORT_POOL.release(array);
+    }
+
+    /**
+     * returns ownership of the array to the pool (N.B. entries are cleared to release the referenced Strings)
+     *
+     * @param array array to be released, {@code null} is ignored
+     */
+    public static void release(final String[] array) {
+        if (array != null) {
+            Arrays.fill(array, null);
+        }
+        STRING_POOL.release(array);
+    }
+
+    /**
+     * @param maxBytes maximum number of bytes retained by arrays shared between threads, further released arrays are
+     *            left to the garbage collector
+     */
+    public static void setMaxRetainedBytes(final long maxBytes) {
+        AssertUtils.gtEqThanZero("maxBytes", maxBytes);
+        maxRetainedBytes = maxBytes;
+    }
+
+    /**
+     * @param size array size
+     * @return size class index, ie. the exponent of the smallest power of two being larger or equal than size
+     */
+    protected static int getSizeClass(final int size) {
+        return size <= 1 << MIN_CLASS_BITS ? MIN_CLASS_BITS : Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    private static final class Pool<A> {
+        private final IntFunction<A> allocator;
+        private final ToIntFunction<A> lengthFunction;
+        private final int elementBytes;
+        @SuppressWarnings("unchecked")
+        private final ConcurrentLinkedQueue<A>[] shared = new ConcurrentLinkedQueue[MAX_CLASS_BITS + 1];
+        private final ThreadLocal<Object[]> local = ThreadLocal.withInitial(() -> new Object[MAX_LOCAL_CLASS_BITS + 1]);
+
+        private Pool(final IntFunction<A> allocator, final ToIntFunction<A> lengthFunction, final int elementBytes) {
+            this.allocator = allocator;
+            this.lengthFunction = lengthFunction;
+            this.elementBytes = elementBytes;
+            for (int i = MIN_CLASS_BITS; i <= MAX_CLASS_BITS; i++) {
+                shared[i] = new ConcurrentLinkedQueue<>();
+            }
+        }
+
+        private void clear() {
+            local.remove();
+            for (int i = MIN_CLASS_BITS; i <= MAX_CLASS_BITS; i++) {
+                A array;
+                while ((array = shared[i].poll()) != null) {
+                    RETAINED_BYTES.addAndGet(-bytes(array));
+                }
+            }
+        }
+
+        private long bytes(final A array) {
+            return (long) lengthFunction.applyAsInt(array) * elementBytes;
+        }
+
+        @SuppressWarnings("unchecked")
+        private A get(final int minSize) {
+            AssertUtils.gtEqThanZero("minSize", minSize);
+            if (minSize > 1 << MAX_CLASS_BITS) {
+                MISSES.increment();
+                return allocator.apply(minSize);
+            }
+            final int sizeClass = getSizeClass(minSize);
+            if (sizeClass <= MAX_LOCAL_CLASS_BITS) {
+                final Object[] localArrays = local.get();
+                final A array = (A) localArrays[sizeClass];
+                if (array != null) {
+                    localArrays[sizeClass] = null;
+                    HITS.increment();
+                    return array;
+                }
+            }
+            final A array = shared[sizeClass].poll();
+            if (array != null) {
+                RETAINED_BYTES.addAndGet(-bytes(array));
+                HITS.increment();
+                return array;
+            }
+            MISSES.increment();
+            return allocator.apply(1 << sizeClass);
+        }
+
+        private void release(final A array) {
+            if (array == null) {
+                return;
+            }
+            final int length = lengthFunction.applyAsInt(array);
+            if (length < 1 << MIN_CLASS_BITS || length > 1 << MAX_CLASS_BITS || Integer.bitCount(length) != 1) {
+                // not a pooled size class
+                return;
+            }
+            final int sizeClass = Integer.numberOfTrailingZeros(length);
+            if (sizeClass <= MAX_LOCAL_CLASS_BITS) {
+                final Object[] localArrays = local.get();
+                if (localArrays[sizeClass] == null || localArrays[sizeClass] == array) {
+                    localArrays[sizeClass] = array;
+                    return;
+                }
+            }
+            final long bytes = bytes(array);
+            if (RETAINED_BYTES.addAndGet(bytes) > maxRetainedBytes) {
+                RETAINED_BYTES.addAndGet(-bytes);
+                return;
+            }
+            shared[sizeClass].offer(array);
+        }
+    }
+}
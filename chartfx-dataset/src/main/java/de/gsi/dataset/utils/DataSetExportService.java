@@ -0,0 +1,275 @@
+package de.gsi.dataset.utils;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSet2D;
+import de.gsi.dataset.DataSet3D;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.DataSetMetaData;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.dataset.utils.DataSetUtils.Compression;
+
+/**
+ * Asynchronous counterpart to {@link DataSetUtils#writeDataSetToFile(DataSet, Path, String, Compression, boolean)}.
+ * <p>
+ * The calling (e.g. UI) thread only takes a snapshot of the DataSet under its read lock. The formatting, compression
+ * and writing is performed in parallel on the given executor, streaming directly into the file without intermediate
+ * copies of the formatted or compressed data. N.B. DataSets for which no generic snapshot is available (ie. other than
+ * two-dimensional DataSets) are formatted on the executor under their read lock, ie. they are exported in the state
+ * they have at the time the export is processed.
+ * <p>
+ * The number of pending exports is bounded: once {@code maxPending} exports are in flight, further submissions are
+ * rejected with a {@link RejectedExecutionException} (back-pressure) rather than queuing an unbounded number of
+ * snapshots in memory. The current load can be queried via {@link #getPendingCount()} and
+ * {@link #getRemainingCapacity()}.
+ */
+public class DataSetExportService implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetExportService.class);
+    public static final int DEFAULT_MAX_PENDING = 128;
+    private static final DataSetExportService DEFAULT_SERVICE = new DataSetExportService(DEFAULT_MAX_PENDING,
+            CachedDaemonThreadFactory.getCommonPool());
+    private final ExecutorService executor;
+    private final int maxPending;
+    private final Semaphore permits;
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * @param maxPending maximum number of exports that may be in flight
+     * @param executor executor used for formatting and compressing the DataSets
+     */
+    public DataSetExportService(final int maxPending, final ExecutorService executor) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("maxPending must be positive: " + maxPending);
+        }
+        AssertUtils.notNull("executor", executor);
+        this.maxPending = maxPending;
+        this.executor = executor;
+        permits = new Semaphore(maxPending);
+    }
+
+    /**
+     * stops accepting new exports. Pending exports are completed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * @return number of exports that have been submitted but not yet completed
+     */
+    public int getPendingCount() {
+        return maxPending - permits.availablePermits();
+    }
+
+    /**
+     * @return number of submissions that have been rejected due to back-pressure
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return number of exports that can be submitted before back-pressure applies
+     */
+    public int getRemainingCapacity() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Export the DataSet as (auto-compressed) comma separated values, see
+     * {@link #submit(DataSet, Path, String, Compression, boolean)}.
+     *
+     * @param dataSet The DataSet to export
+     * @param path Path to the location of the file
+     * @param fileName Filename (with "{metadatafield;type;format}" placeholders for variables)
+     * @return future containing the actual name of the written file
+     */
+    public CompletableFuture<String> submit(final DataSet dataSet, final Path path, final String fileName) {
+        return submit(dataSet, path, fileName, Compression.AUTO, false);
+    }
+
+    /**
+     * Snapshots the DataSet and exports it asynchronously. The file name and format are the same as for
+     * {@link DataSetUtils#writeDataSetToFile(DataSet, Path, String, Compression, boolean)}, with the file name
+     * placeholders being resolved at submission time.
+     *
+     * @param dataSet The DataSet to export
+     * @param path Path to the location of the file
+     * @param fileName Filename (with "{metadatafield;type;format}" placeholders for variables)
+     * @param compression Compression of the file (GZIP, ZIP or NONE). Supply AUTO to use file extension.
+     * @param binary true: whether to store data as binary or string
+     * @return future containing the actual name of the written file, completed exceptionally in case of errors
+     * @throws RejectedExecutionException if the maximum number of pending exports is reached (back-pressure)
+     */
+    public CompletableFuture<String> submit(final DataSet dataSet, final Path path, final String fileName,
+            final Compression compression, final boolean binary) {
+        checkArguments(dataSet, path, fileName, compression);
+        acquire(1);
+        return submitSnapshot(dataSet, path, fileName, compression, binary);
+    }
+
+    /**
+     * Snapshots and exports all DataSets (e.g. all DataSets of a set of charts). The DataSets are either all accepted
+     * or -- in case of insufficient capacity -- all rejected.
+     *
+     * @param dataSets The DataSets to export
+     * @param path Path to the location of the files
+     * @param fileName Filename (with "{metadatafield;type;format}" placeholders for variables, N.B. these should
+     *        render the names unique, e.g. by using '{dataSetName}')
+     * @param compression Compression of the file (GZIP, ZIP or NONE). Supply AUTO to use file extension.
+     * @param binary true: whether to store data as binary or string
+     * @return future containing the actual names of the written files
+     * @throws RejectedExecutionException if the DataSets exceed the remaining capacity (back-pressure)
+     */
+    public CompletableFuture<List<String>> submitAll(final Collection<? extends DataSet> dataSets, final Path path,
+            final String fileName, final Compression compression, final boolean binary) {
+        AssertUtils.notNull("dataSets", dataSets);
+        for (final DataSet dataSet : dataSets) {
+            checkArguments(dataSet, path, fileName, compression);
+        }
+        acquire(dataSets.size());
+        final List<CompletableFuture<String>> futures = new ArrayList<>(dataSets.size());
+        try {
+            for (final DataSet dataSet : dataSets) {
+                futures.add(submitSnapshot(dataSet, path, fileName, compression, binary));
+            }
+        } catch (final RuntimeException e) { // NOPMD - permits of the not yet submitted DataSets need to be returned
+            permits.release(dataSets.size() - futures.size() - 1);
+            throw e;
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            final List<String> fileNames = new ArrayList<>(futures.size());
+            futures.forEach(future -> fileNames.add(future.join()));
+            return fileNames;
+        });
+    }
+
+    private void acquire(final int nPermits) {
+        if (closed) {
+            throw new RejectedExecutionException("export service has been closed");
+        }
+        if (!permits.tryAcquire(nPermits)) {
+            rejectedCount.addAndGet(nPermits);
+            throw new RejectedExecutionException("export back-pressure: " + getPendingCount() + " of " + maxPending
+                                                 + " exports pending, requested " + nPermits);
+        }
+    }
+
+    private CompletableFuture<String> submitSnapshot(final DataSet dataSet, final Path path, final String fileName,
+            final Compression compression, final boolean binary) {
+        final CompletableFuture<String> result;
+        try {
+            final DataSet snapshot = takeSnapshot(dataSet);
+            final String realFileName = DataSetUtils.getFileName(snapshot, fileName);
+            final Path file = path.resolve(realFileName);
+            final Compression realCompression = compression == Compression.AUTO
+                                                        ? DataSetUtils.evaluateAutoCompression(fileName)
+                                                        : compression;
+            result = CompletableFuture.supplyAsync(() -> write(snapshot, file, realCompression, binary), executor);
+        } catch (final RuntimeException e) { // NOPMD - permit needs to be returned in any case
+            permits.release();
+            throw e;
+        }
+        // N.B. returned stage completes only after the permit has been returned
+        return result.whenComplete((file, exception) -> {
+            permits.release();
+            if (exception != null) {
+                LOGGER.atError().setCause(exception).addArgument(fileName).log("could not export to file: '{}'");
+            } else if (LOGGER.isDebugEnabled()) {
+                LOGGER.atDebug().addArgument(dataSet.getName()).addArgument(file)
+                        .log("exported data set '{}' to {}");
+            }
+        });
+    }
+
+    private static void checkArguments(final DataSet dataSet, final Path path, final String fileName,
+            final Compression compression) {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.notNull("path", path);
+        AssertUtils.notNull("compression", compression);
+        if ((fileName == null) || fileName.isEmpty()) {
+            throw new IllegalArgumentException("fileName must not be null or empty");
+        }
+    }
+
+    /**
+     * @return the shared default service using the {@link CachedDaemonThreadFactory#getCommonPool() common pool}
+     */
+    public static DataSetExportService getDefault() {
+        return DEFAULT_SERVICE;
+    }
+
+    private static DataSet takeSnapshot(final DataSet dataSet) {
+        if (!(dataSet instanceof DataSet2D) || dataSet instanceof DataSet3D) {
+            // no generic deep-copy available -> formatted later on the executor under read lock
+            return dataSet;
+        }
+
+        return dataSet.lock().readLockGuard(() -> {
+            final int nSamples = dataSet.getDataCount();
+            final double[] yErrorsNeg;
+            final double[] yErrorsPos;
+            if (dataSet instanceof DataSetError) {
+                yErrorsNeg = ((DataSetError) dataSet).getErrorsNegative(DIM_Y);
+                yErrorsPos = ((DataSetError) dataSet).getErrorsPositive(DIM_Y);
+            } else {
+                yErrorsNeg = new double[nSamples];
+                yErrorsPos = yErrorsNeg;
+            }
+            final DoubleErrorDataSet copy = new DoubleErrorDataSet(dataSet.getName(), dataSet.getValues(DIM_X),
+                    dataSet.getValues(DIM_Y), yErrorsNeg, yErrorsPos, nSamples, true);
+            for (int dimIndex = 0; dimIndex < copy.getDimension(); dimIndex++) {
+                copy.getAxisDescription(dimIndex).set(dataSet.getAxisDescription(dimIndex));
+            }
+            if (dataSet instanceof DataSetMetaData) {
+                final DataSetMetaData metaData = (DataSetMetaData) dataSet;
+                copy.getInfoList().addAll(metaData.getInfoList());
+                copy.getWarningList().addAll(metaData.getWarningList());
+                copy.getErrorList().addAll(metaData.getErrorList());
+                copy.getMetaInfo().putAll(metaData.getMetaInfo());
+            }
+            return copy;
+        });
+    }
+
+    private static String write(final DataSet snapshot, final Path file, final Compression compression,
+            final boolean binary) {
+        try {
+            if (file.getParent() != null && !Files.isDirectory(file.getParent())) {
+                Files.createDirectories(file.getParent());
+                LOGGER.atInfo().addArgument(file).log("needed to create directory for file: {}");
+            }
+            try (OutputStream outputStream = DataSetUtils.openCompressedOutput(
+                         new BufferedOutputStream(Files.newOutputStream(file)), file.getFileName().toString(),
+                         compression)) {
+                DataSetUtils.writeDataSetToStream(snapshot, outputStream, binary,
+                        DataSetUtils.useFloat32BinaryStandard());
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file.toString();
+    }
+}
@@ -76,6 +76,7 @@ public class DataSetUtils extends DataSetUtilsHelper {
     private static final String DEFAULT_TIME_FORMAT = "yyyyMMdd_HHmmss";
     protected static boolean useFloat32BinaryStandard = true;
     protected static boolean exportMetaDataByDefault = true;
+    protected static boolean useParallelCompression;
     // prefix for axis specific Metadata representation
     private static final List<Character> AXIS_ID = Arrays.asList( //
             'x', 'y', 'z', 'u', 'v', 'w', 'r', 's', 't', 'o', //
@@ -219,7 +220,7 @@ public class DataSetUtils extends DataSetUtilsHelper {
      * @param fileName to be opened
      * @return Compression Enum for the extension of the supplied filename. Defaults to Compression.NONE
      */
-    private static Compression evaluateAutoCompression(final String fileName) {
+    protected static Compression evaluateAutoCompression(final String fileName) {
         if (fileName.toLowerCase(Locale.UK).endsWith(".gz")) {
             return Compression.GZIP;
         }
@@ -369,7 +370,8 @@ public class DataSetUtils extends DataSetUtilsHelper {
             istream = zipIStream;
             break;
         case GZIP:
-            istream = new GZIPInputStream(Files.newInputStream(file.toPath()));
+            istream = useParallelCompression ? new ParallelGZIPInputStream(Files.newInputStream(file.toPath()))
+                                             : new GZIPInputStream(Files.newInputStream(file.toPath()));
             break;
         case NONE:
             istream = Files.newInputStream(file.toPath());
@@ -390,17 +392,31 @@ public class DataSetUtils extends DataSetUtilsHelper {
      */
     private static OutputStream openDatasetFileOutput(final File file, final Compression compression)
             throws IOException {
+        return openCompressedOutput(Files.newOutputStream(file.toPath()), file.getName(), compression);
+    }
+
+    /**
+     * Wraps an OutputStream with the appropriate compression stream.
+     *
+     * @param outputStream the raw output stream
+     * @param fileName name of the file (used for the ZIP entry name)
+     * @param compression Compression method (N.B. AUTO needs to be resolved beforehand)
+     * @return A ready-to-go OutputStream that is agnostic to the underlying compression method
+     * @throws IOException in case of IO problems
+     */
+    protected static OutputStream openCompressedOutput(final OutputStream outputStream, final String fileName,
+            final Compression compression) throws IOException {
         switch (compression) {
         case NONE:
-            return Files.newOutputStream(file.toPath());
+            return outputStream;
         case GZIP:
-            return new GZIPOutputStream(Files.newOutputStream(file.toPath()));
+            return useParallelCompression ? new ParallelGZIPOutputStream(outputStream)
+                                          : new GZIPOutputStream(outputStream);
         case ZIP:
-            final ZipOutputStream zipOStream = new ZipOutputStream(Files.newOutputStream(file.toPath()));
-            final String filename = file.getName();
-            final String zipentryname = filename.toLowerCase(Locale.UK).endsWith(".zip")
-                                                ? filename.substring(0, filename.length() - 4)
-                                                : filename;
+            final ZipOutputStream zipOStream = new ZipOutputStream(outputStream);
+            final String zipentryname = fileName.toLowerCase(Locale.UK).endsWith(".zip")
+                                                ? fileName.substring(0, fileName.length() - 4)
+                                                : fileName;
             zipOStream.putNextEntry(new ZipEntry(zipentryname));
             return zipOStream;
         default:
@@ -738,57 +754,39 @@ public class DataSetUtils extends DataSetUtilsHelper {
             final boolean is3D, final int nSamplesGuessed) {
         DataSet result = null;
         try {
+            // columns: index, x, y, eyn, eyp (2D) or index, x, y, z (3D)
+            final NumericTextParser parser = new NumericTextParser(is3D ? 4 : 5, nSamplesGuessed).parse(inputFile);
+            final int nSamples = parser.getRowCount();
             if (is3D) {
-                int i = 0;
-                DoubleBuffer x = DoubleBuffer.allocate(nSamplesGuessed);
-                DoubleBuffer y = DoubleBuffer.allocate(nSamplesGuessed);
-                DoubleBuffer z = DoubleBuffer.allocate(nSamplesGuessed);
-
-                for (String line = inputFile.readLine(); line != null; line = inputFile.readLine()) {
-                    final String[] parse = line.split(",");
-                    if (parse.length == 0) {
-                        continue;
-                    }
-                    double yNew = Double.parseDouble(parse[2]);
-                    if (y.position() == 0 || yNew != y.get(y.position() - 1)) {
-                        y.put(yNew);
-                    }
-                    if (y.position() < 2) {
-                        x.put(Double.parseDouble(parse[1]));
-                    }
-                    z.put(Double.parseDouble(parse[3]));
-                    i++;
+                final double[] x = parser.getColumn(1);
+                final double[] y = parser.getColumn(2);
+                final double[] z = parser.getColumn(3);
+                // x varies fastest: the first y-row defines the x-grid
+                int nX = 0;
+                while (nX < nSamples && y[nX] == y[0]) {
+                    nX++;
                 }
-                double[] xArray = new double[x.position()];
-                x.position(0);
-                x.get(xArray);
-                double[] yArray = new double[y.position()];
-                y.position(0);
-                y.get(yArray);
-                double[][] zArray = new double[yArray.length][xArray.length];
-                z.position(0);
-                for (i = 0; i < zArray.length; i++) {
-                    z.get(zArray[i]);
+                final int nY = nX == 0 ? 0 : nSamples / nX;
+                if (nY * nX != nSamples) {
+                    throw new IllegalArgumentException("incomplete 3D data: " + nSamples
+                                                       + " samples are not a multiple of the row length " + nX);
+                }
+                final double[] xArray = Arrays.copyOf(x, nX);
+                final double[] yArray = new double[nY];
+                final double[][] zArray = new double[nY][];
+                for (int iY = 0; iY < nY; iY++) {
+                    yArray[iY] = y[iY * nX];
+                    zArray[iY] = Arrays.copyOfRange(z, iY * nX, (iY + 1) * nX);
                 }
                 result = new DoubleDataSet3D(dataSetName, xArray, yArray, zArray);
             } else {
-                result = new DoubleErrorDataSet(dataSetName);
-                for (String line = inputFile.readLine(); line != null; line = inputFile.readLine()) {
-                    final String[] parse = line.split(",");
-                    if (parse.length == 0) {
-                        continue;
-                    }
-
-                    final double x = Double.parseDouble(parse[1]);
-                    final double y = Double.parseDouble(parse[2]);
-                    final double eyn = parse.length < 5 ? 0.0 : Double.parseDouble(parse[3]);
-                    final double eyp = parse.length < 5 ? 0.0 : Double.parseDouble(parse[4]);
-                    ((DoubleErrorDataSet) result).add(x, y, eyn, eyp);
-                }
+                // N.B. the parsed columns are used as the DataSet's storage without copying
+                result = new DoubleErrorDataSet(dataSetName, parser.getColumn(1), parser.getColumn(2),
+                        parser.getColumn(3), parser.getColumn(4), nSamples, false);
             }
         } catch (final Exception e) {
             if (LOGGER.isErrorEnabled()) {
-                LOGGER.atError().setCause(e).addArgument(result == null ? "null" : result.getName()).log("readNumericDataFrom File could not parse numeric data for: '{}'");
+                LOGGER.atError().setCause(e).addArgument(dataSetName).log("readNumericDataFrom File could not parse numeric data for: '{}'");
             }
         }
         return result;
@@ -802,6 +800,15 @@ public class DataSetUtils extends DataSetUtilsHelper {
         useFloat32BinaryStandard = state;
     }
 
+    /**
+     * @param state {@code true}: GZIP files are compressed/decompressed in independent blocks on a dedicated thread
+     *        pool (see {@link ParallelGZIPOutputStream}), {@code false}: single-threaded standard GZIP streams
+     *        (default)
+     */
+    public static void setUseParallelCompression(final boolean state) {
+        useParallelCompression = state;
+    }
+
     public static boolean useExportMetaDataByDefault() {
         return exportMetaDataByDefault;
     }
@@ -810,6 +817,10 @@ public class DataSetUtils extends DataSetUtilsHelper {
         return useFloat32BinaryStandard;
     }
 
+    public static boolean useParallelCompression() {
+        return useParallelCompression;
+    }
+
     /**
      * Write data set into byte buffer.
      *
@@ -830,26 +841,12 @@ public class DataSetUtils extends DataSetUtilsHelper {
         }
 
         byteOutput.reset();
-        dataSet.lock().readLockGuard(() -> {
-            try {
-                byteOutput.write(("#file producer : " + DataSetUtils.class.getCanonicalName() + '\n').getBytes());
-
-                writeHeaderDataToStream(byteOutput, dataSet);
-
-                if (useExportMetaDataByDefault()) {
-                    writeMetaDataToStream(byteOutput, dataSet);
-                }
-
-                if (binary) {
-                    writeNumericBinaryDataToStream(byteOutput, dataSet, asFloat);
-                } else {
-                    writeNumericDataToStream(byteOutput, dataSet);
-                }
-            } catch (final IOException e) {
-                LOGGER.error("could not write to ByteArrayOutputStream", e);
-                byteOutput.reset();
-            }
-        });
+        try {
+            writeDataSetToStream(dataSet, byteOutput, binary, asFloat);
+        } catch (final IOException e) {
+            LOGGER.error("could not write to ByteArrayOutputStream", e);
+            byteOutput.reset();
+        }
     }
 
     /**
@@ -988,6 +985,39 @@ public class DataSetUtils extends DataSetUtilsHelper {
         }
     }
 
+    /**
+     * Write data set (under its read lock) into the given stream, N.B. the stream is neither flushed nor closed.
+     *
+     * @param dataSet The DataSet to export
+     * @param outputStream the (e.g. file) output stream
+     * @param binary {@code true}: encode data as binary (smaller size, performance), or {@code false} as string (human
+     *        readable, easier debugging)
+     * @param asFloat {@code true}: encode data as binary floats (smaller size, performance), or {@code false} as double
+     *        (better precision)
+     * @throws IOException in case the stream cannot be written
+     */
+    protected static void writeDataSetToStream(final DataSet dataSet, final OutputStream outputStream,
+            final boolean binary, final boolean asFloat) throws IOException {
+        dataSet.lock().readLock();
+        try {
+            outputStream.write(("#file producer : " + DataSetUtils.class.getCanonicalName() + '\n').getBytes());
+
+            writeHeaderDataToStream(outputStream, dataSet);
+
+            if (useExportMetaDataByDefault()) {
+                writeMetaDataToStream(outputStream, dataSet);
+            }
+
+            if (binary) {
+                writeNumericBinaryDataToStream(outputStream, dataSet, asFloat);
+            } else {
+                writeNumericDataToStream(outputStream, dataSet);
+            }
+        } finally {
+            dataSet.lock().readUnLock();
+        }
+    }
+
     protected static void writeHeaderDataToStream(final OutputStream outputStream, final DataSet dataSet) {
         try {
             // common header data
@@ -50,13 +50,42 @@ public class DoubleCircularBuffer {
      * @return either into or newly allocated array containing the result
      */
     public double[] get(final double[] into, final int readPos, final int length) {
-        final double[] retVal = into == null ? new double[length] : into;
-        // N.B. actually there seem to be no numerically more efficient
-        // implementation
-        // since the order of the indices for 'into' need to be reverse order
-        // w.r.t. 'elements'
-        for (int i = 0; i < length; i++) {
-            retVal[i] = get(i + readPos);
+        return get(into, 0, readPos, length);
+    }
+
+    /**
+     * 
+     * @param into storage container
+     * @param intoOffset offset within 'into' at which the first element is written
+     * @param readPos circular index (wraps around)
+     * @param length number of elements to be read, N.B. needs to be within [0, capacity]
+     * @return either into or -- if into is {@code null} -- newly allocated array containing the result
+     * @throws IllegalArgumentException if length or intoOffset are out of range or into is too small
+     */
+    public double[] get(final double[] into, final int intoOffset, final int readPos, final int length) {
+        if (length < 0 || length > capacity) {
+            throw new IllegalArgumentException("length = '" + length + "' is beyond circular buffer capacity limits = [0,"
+                    + capacity + "]");
+        }
+        if (intoOffset < 0 || (into != null && into.length < intoOffset + length)) {
+            throw new IllegalArgumentException("into.length = '" + (into == null ? 0 : into.length)
+                    + "' is too small for intoOffset = '" + intoOffset + "' and length = '" + length + "'");
+        }
+        final double[] retVal = into == null ? new double[intoOffset + length] : into;
+        if (length == 0) {
+            return retVal;
+        }
+        // the requested range maps to at most two contiguous sections of 'elements':
+        // 1) from the start index to capacity
+        // 2) from 0 onwards (wrap-around)
+        int start = (flipped ? writePos + readPos : readPos) % capacity;
+        if (start < 0) {
+            start += capacity;
+        }
+        final int lengthUpperHalf = Math.min(length, capacity - start);
+        System.arraycopy(elements, start, retVal, intoOffset, lengthUpperHalf);
+        if (lengthUpperHalf < length) {
+            System.arraycopy(elements, 0, retVal, intoOffset + lengthUpperHalf, length - lengthUpperHalf);
         }
 
         return retVal;
@@ -0,0 +1,311 @@
+package de.gsi.dataset.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.gsi.dataset.DataSet;
+
+/**
+ * Multi-resolution (level-of-detail) minimum/maximum index of one dimension of a DataSet, similar to the envelope
+ * memory of digital oscilloscopes.
+ * <p>
+ * Level '0' stores the minimum and maximum (and their indices) of consecutive bins of 'binSize' samples, each further
+ * level merges two adjacent bins of the level below. The extrema of an arbitrary index range [fromIndex, toIndex[ are
+ * thus available in O(log n) (plus at most 2 * binSize raw sample reads at the range edges), independent of the range
+ * length. {@link #getEnvelopeIndices(int[], int, int[])} uses this to compute a pixel-resolution first/min/max/last
+ * envelope in O(pixels * log n), e.g. for fully zoomed-out views of long recordings.
+ * <p>
+ * The index is updated lazily and incrementally: samples appended to the DataSet are aggregated on the next query,
+ * while modifications of existing samples need to be signalled via {@link #invalidate(int)} (done by the owning
+ * DataSet for its own modifications as well as for the update events it emits, see
+ * {@link de.gsi.dataset.MultiResolutionDataSet}). Non-finite values are ignored.
+ * <p>
+ * N.B. queries need to be guarded by the owning DataSet's read lock
+ */
+public class MinMaxPyramid {
+    /** default number of samples aggregated in a level '0' bin */
+    public static final int DEFAULT_BIN_SIZE = 32;
+    private static final int CHUNK_BINS = 64; // number of level '0' bins read via one bulk access
+    private final DataSet dataSet;
+    private final int dimIndex;
+    private final int binShift;
+    private final List<Level> levels = new ArrayList<>();
+    private int indexedCount; // number of samples aggregated in (complete) level '0' bins
+    private double[] buffer = new double[0];
+    // query result, guarded by 'this'
+    private int resultMinIndex;
+    private int resultMaxIndex;
+    private double resultMin;
+    private double resultMax;
+
+    /**
+     * @param dataSet the indexed DataSet
+     * @param dimIndex the indexed dimension
+     */
+    public MinMaxPyramid(final DataSet dataSet, final int dimIndex) {
+        this(dataSet, dimIndex, DEFAULT_BIN_SIZE);
+    }
+
+    /**
+     * @param dataSet the indexed DataSet
+     * @param dimIndex the indexed dimension
+     * @param binSize number of samples aggregated in a level '0' bin (needs to be a power of two &gt;= 2)
+     */
+    public MinMaxPyramid(final DataSet dataSet, final int dimIndex, final int binSize) {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.gtEqThanZero("dimIndex", dimIndex);
+        if (binSize < 2 || Integer.bitCount(binSize) != 1) {
+            throw new IllegalArgumentException("binSize = " + binSize + " must be a power of two >= 2");
+        }
+        this.dataSet = dataSet;
+        this.dimIndex = dimIndex;
+        this.binShift = Integer.numberOfTrailingZeros(binSize);
+        levels.add(new Level());
+    }
+
+    /**
+     * @return number of samples aggregated in a level '0' bin
+     */
+    public int getBinSize() {
+        return 1 << binShift;
+    }
+
+    /**
+     * Computes the pixel-resolution envelope of the index ranges [boundaries[i], boundaries[i + 1][ (i &lt; nColumns),
+     * i.e. the indices of the first, minimum, maximum and last sample of each range. Drawing only these samples (as
+     * polyline) yields the same pixel column extent as drawing all samples (M4 aggregation).
+     *
+     * @param boundaries ascending range boundaries (length &gt;= nColumns + 1)
+     * @param nColumns number of ranges (ie. pixel columns)
+     * @param dst storage for the ascending, unique sample indices (length &gt;= 4 * nColumns)
+     * @return number of indices written to 'dst'
+     */
+    public synchronized int getEnvelopeIndices(final int[] boundaries, final int nColumns, final int[] dst) {
+        AssertUtils.notNull("boundaries", boundaries);
+        AssertUtils.notNull("dst", dst);
+        AssertUtils.gtEqThanZero("nColumns", nColumns);
+        if (boundaries.length <= nColumns || dst.length < 4 * nColumns) {
+            throw new IllegalArgumentException("boundaries (" + boundaries.length + ") or dst (" + dst.length
+                                               + ") too small for nColumns = " + nColumns);
+        }
+        update();
+        int count = 0;
+        for (int column = 0; column < nColumns; column++) {
+            final int from = boundaries[column];
+            final int to = boundaries[column + 1];
+            if (to <= from) {
+                continue;
+            }
+            query(from, to);
+            dst[count++] = from;
+            if (resultMinIndex >= 0) {
+                final int lower = Math.min(resultMinIndex, resultMaxIndex);
+                final int upper = Math.max(resultMinIndex, resultMaxIndex);
+                if (lower > dst[count - 1]) {
+                    dst[count++] = lower;
+                }
+                if (upper > dst[count - 1]) {
+                    dst[count++] = upper;
+                }
+            }
+            if (to - 1 > dst[count - 1]) {
+                dst[count++] = to - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return number of levels
+     */
+    public synchronized int getLevelCount() {
+        update();
+        return levels.size();
+    }
+
+    /**
+     * @param fromIndex first sample index (inclusive)
+     * @param toIndex last sample index (exclusive)
+     * @return index of the maximum within [fromIndex, toIndex[ or '-1' if there are no finite values
+     */
+    public synchronized int getMaxIndex(final int fromIndex, final int toIndex) {
+        update();
+        query(fromIndex, toIndex);
+        return resultMaxIndex;
+    }
+
+    /**
+     * @param fromIndex first sample index (inclusive)
+     * @param toIndex last sample index (exclusive)
+     * @return index of the minimum within [fromIndex, toIndex[ or '-1' if there are no finite values
+     */
+    public synchronized int getMinIndex(final int fromIndex, final int toIndex) {
+        update();
+        query(fromIndex, toIndex);
+        return resultMinIndex;
+    }
+
+    /**
+     * Discards the aggregates of all samples at or beyond 'fromIndex'. They are recomputed on the next query.
+     *
+     * @param fromIndex the first modified sample index
+     */
+    public synchronized void invalidate(final int fromIndex) {
+        final int index = Math.max(0, fromIndex);
+        for (int level = 0; level < levels.size(); level++) {
+            final Level bins = levels.get(level);
+            bins.count = Math.min(bins.count, index >> (binShift + level));
+        }
+        indexedCount = Math.min(indexedCount, levels.get(0).count << binShift);
+    }
+
+    private void accumulate(final Level level, final int bin) {
+        if (level.minIndex[bin] >= 0 && level.min[bin] < resultMin) {
+            resultMin = level.min[bin];
+            resultMinIndex = level.minIndex[bin];
+        }
+        if (level.maxIndex[bin] >= 0 && level.max[bin] > resultMax) {
+            resultMax = level.max[bin];
+            resultMaxIndex = level.maxIndex[bin];
+        }
+    }
+
+    private void accumulateRaw(final int fromIndex, final int toIndex) {
+        for (int index = fromIndex; index < toIndex; index++) {
+            final double value = dataSet.get(dimIndex, index);
+            if (value < resultMin) { // N.B. false for NaN
+                resultMin = value;
+                resultMinIndex = index;
+            }
+            if (value > resultMax) {
+                resultMax = value;
+                resultMaxIndex = index;
+            }
+        }
+    }
+
+    private void aggregateLevel0(final int binCount) {
+        final Level level0 = levels.get(0);
+        final int binSize = 1 << binShift;
+        while (level0.count < binCount) {
+            final int nBins = Math.min(CHUNK_BINS, binCount - level0.count);
+            final int from = level0.count << binShift;
+            buffer = dataSet.getValues(dimIndex, from, from + (nBins << binShift), buffer, 0);
+            for (int bin = 0; bin < nBins; bin++) {
+                int minIndex = -1;
+                int maxIndex = -1;
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (int i = bin << binShift, end = i + binSize; i < end; i++) {
+                    final double value = buffer[i];
+                    if (!Double.isFinite(value)) {
+                        continue;
+                    }
+                    if (value < min) {
+                        min = value;
+                        minIndex = from + i;
+                    }
+                    if (value > max) {
+                        max = value;
+                        maxIndex = from + i;
+                    }
+                }
+                level0.add(min, minIndex, max, maxIndex);
+            }
+        }
+    }
+
+    private void query(final int fromIndex, final int toIndex) {
+        resultMin = Double.POSITIVE_INFINITY;
+        resultMax = Double.NEGATIVE_INFINITY;
+        resultMinIndex = -1;
+        resultMaxIndex = -1;
+        final int from = Math.max(0, fromIndex);
+        final int to = Math.min(toIndex, dataSet.getDataCount());
+        // complete level '0' bins within [from, to[
+        int low = (from + (1 << binShift) - 1) >> binShift;
+        int high = Math.min(to >> binShift, levels.get(0).count);
+        if (low >= high) {
+            accumulateRaw(from, to);
+            return;
+        }
+        accumulateRaw(from, low << binShift);
+        accumulateRaw(high << binShift, to);
+
+        // bottom-up segment walk: at most two partial bins per level
+        for (int level = 0; low < high; level++) {
+            final Level bins = levels.get(level);
+            if (level == levels.size() - 1) {
+                for (int bin = low; bin < high; bin++) {
+                    accumulate(bins, bin);
+                }
+                break;
+            }
+            if ((low & 1) != 0) {
+                accumulate(bins, low++);
+            }
+            if ((high & 1) != 0) {
+                accumulate(bins, --high);
+            }
+            low >>= 1;
+            high >>= 1;
+        }
+    }
+
+    private void update() {
+        final int dataCount = dataSet.getDataCount();
+        if (dataCount < indexedCount) {
+            invalidate(dataCount);
+        }
+        final int binCount = dataCount >> binShift;
+        if (binCount == levels.get(0).count) {
+            return;
+        }
+        aggregateLevel0(binCount);
+        for (int level = 1; levels.get(level - 1).count >= 2; level++) {
+            if (level == levels.size()) {
+                levels.add(new Level());
+            }
+            final Level children = levels.get(level - 1);
+            final Level parents = levels.get(level);
+            while (parents.count < children.count >> 1) {
+                final int left = 2 * parents.count;
+                final int right = left + 1;
+                final boolean leftMin = children.minIndex[right] < 0
+                                        || (children.minIndex[left] >= 0 && children.min[left] <= children.min[right]);
+                final boolean leftMax = children.maxIndex[right] < 0
+                                        || (children.maxIndex[left] >= 0 && children.max[left] >= children.max[right]);
+                final int minBin = leftMin ? left : right;
+                final int maxBin = leftMax ? left : right;
+                parents.add(children.min[minBin], children.minIndex[minBin], children.max[maxBin],
+                        children.maxIndex[maxBin]);
+            }
+        }
+        indexedCount = binCount << binShift;
+    }
+
+    private static class Level {
+        private double[] min = new double[0];
+        private double[] max = new double[0];
+        private int[] minIndex = new int[0];
+        private int[] maxIndex = new int[0];
+        private int count;
+
+        private void add(final double minValue, final int minValueIndex, final double maxValue,
+                final int maxValueIndex) {
+            if (count == min.length) {
+                final int newCapacity = Math.max(16, count + (count >> 1));
+                min = Arrays.copyOf(min, newCapacity);
+                max = Arrays.copyOf(max, newCapacity);
+                minIndex = Arrays.copyOf(minIndex, newCapacity);
+                maxIndex = Arrays.copyOf(maxIndex, newCapacity);
+            }
+            min[count] = minValue;
+            max[count] = maxValue;
+            minIndex[count] = minValueIndex;
+            maxIndex[count] = maxValueIndex;
+            count++;
+        }
+    }
+}
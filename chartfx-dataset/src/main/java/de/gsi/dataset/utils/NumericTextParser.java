@@ -0,0 +1,485 @@
+package de.gsi.dataset.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * High-throughput parser for comma-separated numeric text data (e.g. the numeric section of the DataSetUtils CSV
+ * format) into pre-sized column arrays.
+ * <p>
+ * In contrast to {@code String.split(..)} and {@code Double.parseDouble(..)}, numbers are scanned directly on the
+ * character buffer without per-line or per-token allocation (correctly rounded via the Clinger fast-path and the
+ * Eisel-Lemire algorithm, see D. Lemire, "Number Parsing at a Gigabyte per Second", Software: Practice and Experience
+ * 51(8), 2021). Large inputs are processed in blocks that are split at line boundaries into chunks which are parsed in
+ * parallel on a dedicated parser thread pool (N.B. not the {@link CachedDaemonThreadFactory#getCommonPool()}, so that
+ * parsing may be safely invoked from tasks running on the common pool).
+ * <p>
+ * usage example:
+ *
+ * <pre>
+ * final NumericTextParser parser = new NumericTextParser(5, nSamplesEstimate);
+ * parser.parse(reader);
+ * final double[] x = parser.getColumn(1); // N.B. length &gt;= parser.getRowCount()
+ * </pre>
+ *
+ * Blank lines are ignored, missing trailing columns are filled with '0.0', empty fields (e.g. "1,,3") are rejected.
+ */
+public class NumericTextParser {
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 22; // [chars]
+    private static final int MIN_CHUNK_SIZE = 1 << 16; // [chars]
+    private static final int MIN_EXP10 = -348;
+    private static final int MAX_EXP10 = 347;
+    private static final int MAX_MANTISSA_DIGITS = 19;
+    private static final ExecutorService PARSER_POOL = Executors.newFixedThreadPool(
+            CachedDaemonThreadFactory.getNumbersOfThreads(), CachedDaemonThreadFactory.getInstance());
+    private static final long[] POW10_HI = new long[MAX_EXP10 - MIN_EXP10 + 1];
+    private static final long[] POW10_LO = new long[MAX_EXP10 - MIN_EXP10 + 1];
+    private static final double[] EXACT_POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+        1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+    private final int nColumns;
+    private final int blockSize;
+    private double[][] columns;
+    private int rowCount;
+
+    static {
+        // 128-bit normalised mantissas (rounded down) of the powers of ten
+        final BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int exp10 = MIN_EXP10; exp10 <= MAX_EXP10; exp10++) {
+            BigInteger mantissa;
+            if (exp10 >= 0) {
+                final BigInteger pow10 = BigInteger.TEN.pow(exp10);
+                final int shift = pow10.bitLength() - 128;
+                mantissa = shift >= 0 ? pow10.shiftRight(shift) : pow10.shiftLeft(-shift);
+            } else {
+                final BigInteger pow10 = BigInteger.TEN.pow(-exp10);
+                mantissa = BigInteger.ONE.shiftLeft(pow10.bitLength() + 127).divide(pow10);
+            }
+            POW10_HI[exp10 - MIN_EXP10] = mantissa.shiftRight(64).longValue();
+            POW10_LO[exp10 - MIN_EXP10] = mantissa.and(mask64).longValue();
+        }
+    }
+
+    /**
+     * @param nColumns number of columns per line
+     * @param initialCapacity expected number of lines (pre-sizes the destination arrays)
+     */
+    public NumericTextParser(final int nColumns, final int initialCapacity) {
+        this(nColumns, initialCapacity, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param nColumns number of columns per line
+     * @param initialCapacity expected number of lines (pre-sizes the destination arrays)
+     * @param blockSize number of characters that are read and (in parallel) parsed at once
+     */
+    public NumericTextParser(final int nColumns, final int initialCapacity, final int blockSize) {
+        AssertUtils.gtThanZero("nColumns", nColumns);
+        AssertUtils.gtEqThanZero("initialCapacity", initialCapacity);
+        AssertUtils.gtThanZero("blockSize", blockSize);
+        this.nColumns = nColumns;
+        this.blockSize = blockSize;
+        columns = new double[nColumns][initialCapacity];
+    }
+
+    /**
+     * @param column column index
+     * @return internal column storage (N.B. length may exceed {@link #getRowCount()})
+     */
+    public double[] getColumn(final int column) {
+        return columns[column];
+    }
+
+    /**
+     * @return number of parsed (non-blank) lines
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * parses the numeric lines from the reader until its end and appends them to the columns
+     *
+     * @param reader source of comma-separated numeric lines
+     * @return this
+     * @throws IOException in case of IO problems
+     * @throws NumberFormatException in case of unparsable numbers
+     */
+    public NumericTextParser parse(final Reader reader) throws IOException {
+        char[] block = new char[blockSize];
+        int filled = 0;
+        boolean endOfStream = false;
+        while (!endOfStream) {
+            final int nRead = reader.read(block, filled, block.length - filled);
+            if (nRead < 0) {
+                endOfStream = true;
+            } else {
+                filled += nRead;
+                if (filled < block.length) {
+                    continue;
+                }
+            }
+            int end = filled;
+            if (!endOfStream) {
+                // process complete lines only
+                while (end > 0 && block[end - 1] != '\n') {
+                    end--;
+                }
+                if (end == 0) {
+                    // single line exceeds block size
+                    block = Arrays.copyOf(block, 2 * block.length);
+                    continue;
+                }
+            }
+            parseBlock(block, 0, end);
+            System.arraycopy(block, end, block, 0, filled - end);
+            filled -= end;
+        }
+        return this;
+    }
+
+    /**
+     * parses the numeric lines within the given range and appends them to the columns
+     *
+     * @param buffer character buffer
+     * @param from start index (inclusive), should coincide with the start of a line
+     * @param to end index (exclusive), should coincide with the end of a line
+     * @return this
+     */
+    public NumericTextParser parse(final char[] buffer, final int from, final int to) {
+        AssertUtils.indexOrder(from, "from", to, "to");
+        parseBlock(buffer, from, to);
+        return this;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (columns[0].length >= capacity) {
+            return;
+        }
+        final int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8L, Math.max(capacity, 3L * columns[0].length / 2));
+        for (int column = 0; column < nColumns; column++) {
+            columns[column] = Arrays.copyOf(columns[column], newCapacity);
+        }
+    }
+
+    private int parseLines(final char[] buffer, final int from, final int to, final int firstRow) {
+        int row = firstRow;
+        int pos = from;
+        while (pos < to) {
+            int lineEnd = pos;
+            while (lineEnd < to && buffer[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            if (!isBlank(buffer, pos, lineEnd)) {
+                int column = 0;
+                int fieldStart = pos;
+                for (int i = pos; i <= lineEnd && column < nColumns; i++) {
+                    if (i == lineEnd || buffer[i] == ',') {
+                        columns[column++][row] = parseDouble(buffer, fieldStart, i);
+                        fieldStart = i + 1;
+                    }
+                }
+                for (; column < nColumns; column++) {
+                    columns[column][row] = 0.0;
+                }
+                row++;
+            }
+            pos = lineEnd + 1;
+        }
+        return row - firstRow;
+    }
+
+    private void parseBlock(final char[] buffer, final int from, final int to) {
+        final int maxChunks = CachedDaemonThreadFactory.getNumbersOfThreads();
+        final int nChunks = Math.max(1, Math.min(maxChunks, (to - from) / MIN_CHUNK_SIZE));
+        if (nChunks == 1) {
+            ensureCapacity(rowCount + countLines(buffer, from, to));
+            rowCount += parseLines(buffer, from, to, rowCount);
+            return;
+        }
+        // split into chunks at line boundaries
+        final int[] bounds = new int[nChunks + 1];
+        bounds[0] = from;
+        bounds[nChunks] = to;
+        for (int chunk = 1; chunk < nChunks; chunk++) {
+            int pos = Math.max(bounds[chunk - 1], from + (int) ((long) (to - from) * chunk / nChunks));
+            while (pos < to && buffer[pos - 1] != '\n') {
+                pos++;
+            }
+            bounds[chunk] = pos;
+        }
+        final int[] counts = new int[nChunks];
+        invokeAll(nChunks, chunk -> counts[chunk] = countLines(buffer, bounds[chunk], bounds[chunk + 1]));
+
+        final int[] offsets = new int[nChunks];
+        int total = rowCount;
+        for (int chunk = 0; chunk < nChunks; chunk++) {
+            offsets[chunk] = total;
+            total += counts[chunk];
+        }
+        ensureCapacity(total);
+        invokeAll(nChunks, chunk -> parseLines(buffer, bounds[chunk], bounds[chunk + 1], offsets[chunk]));
+        rowCount = total;
+    }
+
+    /**
+     * @param buffer character buffer
+     * @param from start index (inclusive)
+     * @param to end index (exclusive)
+     * @return number of non-blank lines
+     */
+    protected static int countLines(final char[] buffer, final int from, final int to) {
+        int count = 0;
+        boolean blank = true;
+        for (int i = from; i < to; i++) {
+            final char c = buffer[i];
+            if (c == '\n') {
+                if (!blank) {
+                    count++;
+                }
+                blank = true;
+            } else if (c > ' ') {
+                blank = false;
+            }
+        }
+        return blank ? count : count + 1;
+    }
+
+    /**
+     * Parses a decimal floating-point number (as e.g. produced by {@link Double#toString(double)}) without allocation.
+     * Leading and trailing whitespace is ignored.
+     *
+     * @param buffer character buffer
+     * @param from start index (inclusive)
+     * @param to end index (exclusive)
+     * @return parsed value (bit-identical to {@link Double#parseDouble(String)})
+     * @throws NumberFormatException in case the field is empty or not a valid number
+     */
+    public static double parseDouble(final char[] buffer, final int from, final int to) {
+        int start = from;
+        int end = to;
+        while (start < end && buffer[start] <= ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            throw new NumberFormatException("empty field");
+        }
+        int pos = start;
+        final boolean negative = buffer[pos] == '-';
+        if (negative || buffer[pos] == '+') {
+            pos++;
+        }
+        if (pos < end && (buffer[pos] == 'N' || buffer[pos] == 'I')) {
+            return parseSpecial(buffer, start, end, negative, pos);
+        }
+
+        long mantissa = 0;
+        int nDigits = 0; // significant digits
+        int exp10 = 0;
+        boolean anyDigit = false;
+        boolean truncated = false;
+        for (; pos < end && isDigit(buffer[pos]); pos++) {
+            anyDigit = true;
+            if (nDigits < MAX_MANTISSA_DIGITS) {
+                mantissa = 10 * mantissa + (buffer[pos] - '0');
+                if (mantissa != 0) {
+                    nDigits++;
+                }
+            } else {
+                truncated |= buffer[pos] != '0';
+                exp10++;
+            }
+        }
+        if (pos < end && buffer[pos] == '.') {
+            pos++;
+            for (; pos < end && isDigit(buffer[pos]); pos++) {
+                anyDigit = true;
+                if (nDigits < MAX_MANTISSA_DIGITS) {
+                    mantissa = 10 * mantissa + (buffer[pos] - '0');
+                    exp10--;
+                    if (mantissa != 0) {
+                        nDigits++;
+                    }
+                } else {
+                    truncated |= buffer[pos] != '0';
+                }
+            }
+        }
+        if (!anyDigit) {
+            throw numberFormatException(buffer, start, end);
+        }
+        if (pos < end && (buffer[pos] == 'e' || buffer[pos] == 'E')) {
+            pos++;
+            final boolean negativeExponent = pos < end && buffer[pos] == '-';
+            if (pos < end && (negativeExponent || buffer[pos] == '+')) {
+                pos++;
+            }
+            if (pos == end) {
+                throw numberFormatException(buffer, start, end);
+            }
+            int exponent = 0;
+            for (; pos < end && isDigit(buffer[pos]); pos++) {
+                exponent = Math.min(10 * exponent + (buffer[pos] - '0'), 100_000);
+            }
+            exp10 += negativeExponent ? -exponent : exponent;
+        }
+        if (pos < end && (buffer[pos] == 'd' || buffer[pos] == 'D' || buffer[pos] == 'f' || buffer[pos] == 'F')) {
+            pos++; // Java type suffix
+        }
+        if (pos != end) {
+            throw numberFormatException(buffer, start, end);
+        }
+        if (!truncated) {
+            final double value = toDouble(mantissa, exp10, negative);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        // rare fall-back: more than 19 significant digits or ambiguous rounding
+        return Double.parseDouble(new String(buffer, start, end - start));
+    }
+
+    private static void invokeAll(final int nTasks, final IntConsumerTask task) {
+        final List<Callable<Void>> tasks = new ArrayList<>(nTasks);
+        for (int i = 0; i < nTasks; i++) {
+            final int index = i;
+            tasks.add(() -> {
+                task.accept(index);
+                return null;
+            });
+        }
+        try {
+            for (final Future<Void> future : PARSER_POOL.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while parsing", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("could not parse numeric data", e.getCause());
+        }
+    }
+
+    private static boolean isBlank(final char[] buffer, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static NumberFormatException numberFormatException(final char[] buffer, final int from, final int to) {
+        return new NumberFormatException("For input string: \"" + new String(buffer, from, to - from) + "\"");
+    }
+
+    private static double parseSpecial(final char[] buffer, final int start, final int end, final boolean negative,
+            final int pos) {
+        if (regionMatches(buffer, pos, end, "NaN")) {
+            return Double.NaN;
+        }
+        if (regionMatches(buffer, pos, end, "Infinity")) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        throw numberFormatException(buffer, start, end);
+    }
+
+    private static boolean regionMatches(final char[] buffer, final int from, final int to, final String str) {
+        if (to - from != str.length()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (buffer[from + i] != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param mantissa decimal mantissa (at most 19 digits, N.B. unsigned)
+     * @param exp10 decimal exponent
+     * @param negative sign
+     * @return correctly rounded double or NaN if the result could not be determined unambiguously
+     */
+    private static double toDouble(final long mantissa, final int exp10, final boolean negative) {
+        if (mantissa == 0 || exp10 < MIN_EXP10) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (exp10 > MAX_EXP10) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        // Clinger's fast path: exact mantissa and power of ten
+        if (exp10 >= -22 && exp10 <= 22 && Long.compareUnsigned(mantissa, 1L << 53) <= 0) {
+            final double value = exp10 < 0 ? mantissa / EXACT_POW10[-exp10] : mantissa * EXACT_POW10[exp10];
+            return negative ? -value : value;
+        }
+        // Eisel-Lemire
+        final int clz = Long.numberOfLeadingZeros(mantissa);
+        final long man = mantissa << clz;
+        long retExp2 = ((217_706L * exp10) >> 16) + 64 + 1023 - clz;
+        long xHi = unsignedMultiplyHigh(man, POW10_HI[exp10 - MIN_EXP10]);
+        long xLo = man * POW10_HI[exp10 - MIN_EXP10];
+        if ((xHi & 0x1FF) == 0x1FF && Long.compareUnsigned(xLo + man, man) < 0) {
+            // wider approximation
+            final long yHi = unsignedMultiplyHigh(man, POW10_LO[exp10 - MIN_EXP10]);
+            final long yLo = man * POW10_LO[exp10 - MIN_EXP10];
+            long mergedHi = xHi;
+            final long mergedLo = xLo + yHi;
+            if (Long.compareUnsigned(mergedLo, xLo) < 0) {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + man, man) < 0) {
+                return Double.NaN;
+            }
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+        final long msb = xHi >>> 63;
+        long retMantissa = xHi >>> (msb + 9);
+        retExp2 -= 1 ^ msb;
+        if (xLo == 0 && (xHi & 0x1FF) == 0 && (retMantissa & 3) == 1) {
+            // half-way ambiguity
+            return Double.NaN;
+        }
+        retMantissa += retMantissa & 1;
+        retMantissa >>>= 1;
+        if (retMantissa >>> 53 > 0) {
+            retMantissa >>>= 1;
+            retExp2++;
+        }
+        if (retExp2 <= 0 || retExp2 >= 0x7FF) {
+            // sub-normal or overflow
+            return Double.NaN;
+        }
+        final long bits = retExp2 << 52 | retMantissa & 0x000F_FFFF_FFFF_FFFFL | (negative ? 1L << 63 : 0L);
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static long unsignedMultiplyHigh(final long x, final long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    @FunctionalInterface
+    private interface IntConsumerTask {
+        void accept(int index);
+    }
+}
@@ -0,0 +1,194 @@
+package de.gsi.dataset.utils;
+
+import static de.gsi.dataset.utils.ParallelGZIPOutputStream.HEADER_SIZE;
+import static de.gsi.dataset.utils.ParallelGZIPOutputStream.TRAILER_SIZE;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * GZIP input stream that decompresses the members written by {@link ParallelGZIPOutputStream} in parallel.
+ * <p>
+ * Members carrying the 'CF' size sub-field are read ahead and inflated concurrently on the given executor while the
+ * decompressed blocks are returned in order. Once a member without this information is encountered (e.g. a stream
+ * written by {@link java.util.zip.GZIPOutputStream}), the remainder of the stream is transparently read sequentially
+ * via {@link GZIPInputStream}.
+ */
+public class ParallelGZIPInputStream extends InputStream {
+    // N.B. dedicated pool: the reading thread waits for the decompression tasks, see ParallelGZIPOutputStream
+    private static final ExecutorService INFLATE_POOL = Executors.newFixedThreadPool(
+            CachedDaemonThreadFactory.getNumbersOfThreads(), CachedDaemonThreadFactory.getInstance());
+    private final InputStream in;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private final byte[] header = new byte[HEADER_SIZE];
+    private final byte[] singleByte = new byte[1];
+    private byte[] current;
+    private int currentPosition;
+    private boolean endOfMembers;
+    private boolean sequentialRemainder;
+    private InputStream sequential;
+    private boolean closed;
+
+    /**
+     * @param in the compressed input stream, decompressed on a dedicated thread pool
+     */
+    public ParallelGZIPInputStream(final InputStream in) {
+        this(in, INFLATE_POOL);
+    }
+
+    /**
+     * @param in the compressed input stream
+     * @param executor executor used for decompressing the members (N.B. must not be the executor the stream is read
+     *        from, since the reading thread waits for the decompression tasks)
+     */
+    public ParallelGZIPInputStream(final InputStream in, final ExecutorService executor) {
+        super();
+        AssertUtils.notNull("in", in);
+        AssertUtils.notNull("executor", executor);
+        this.in = new BufferedInputStream(in, 1 << 16);
+        this.executor = executor;
+        maxInFlight = 2 * CachedDaemonThreadFactory.getNumbersOfThreads();
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkOpen();
+        if (current != null && currentPosition < current.length) {
+            return current.length - currentPosition;
+        }
+        return sequential == null ? 0 : sequential.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.forEach(future -> future.cancel(true));
+        pending.clear();
+        if (sequential == null) {
+            in.close();
+        } else {
+            sequential.close();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int nRead = read(singleByte, 0, 1);
+        return nRead < 0 ? -1 : singleByte[0] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        checkOpen();
+        if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException("off = " + off + " len = " + len + " length = " + b.length);
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (current == null || currentPosition >= current.length) {
+            if (sequential != null) {
+                return sequential.read(b, off, len);
+            }
+            readAhead();
+            if (pending.isEmpty()) {
+                if (!sequentialRemainder) {
+                    return -1;
+                }
+                sequential = new GZIPInputStream(in);
+                continue;
+            }
+            current = ParallelGZIPOutputStream.getResult(pending.poll());
+            currentPosition = 0;
+        }
+        final int nCopy = Math.min(len, current.length - currentPosition);
+        System.arraycopy(current, currentPosition, b, off, nCopy);
+        currentPosition += nCopy;
+        return nCopy;
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+    }
+
+    private void readAhead() throws IOException {
+        while (!endOfMembers && pending.size() < maxInFlight) {
+            in.mark(HEADER_SIZE);
+            final int nHeader = in.readNBytes(header, 0, HEADER_SIZE);
+            if (nHeader == 0) {
+                endOfMembers = true;
+                if (pending.isEmpty() && current == null) {
+                    throw new EOFException("empty gzip stream");
+                }
+                return;
+            }
+            final int memberSize = nHeader == HEADER_SIZE ? ParallelGZIPOutputStream.getMemberSize(header) : -1;
+            if (memberSize < 0) {
+                // not written by ParallelGZIPOutputStream -> continue sequentially from this member onwards
+                in.reset();
+                endOfMembers = true;
+                sequentialRemainder = true;
+                return;
+            }
+            final byte[] member = new byte[memberSize];
+            System.arraycopy(header, 0, member, 0, HEADER_SIZE);
+            if (in.readNBytes(member, HEADER_SIZE, memberSize - HEADER_SIZE) != memberSize - HEADER_SIZE) {
+                throw new EOFException("unexpected end of gzip member");
+            }
+            pending.add(executor.submit(() -> decompress(member)));
+        }
+    }
+
+    private static byte[] decompress(final byte[] member) throws ZipException {
+        final int expectedCrc = ParallelGZIPOutputStream.getInt(member, member.length - TRAILER_SIZE);
+        final int expectedSize = ParallelGZIPOutputStream.getInt(member, member.length - 4);
+        if (expectedSize < 0) {
+            throw new ZipException("unsupported gzip member size: " + Integer.toUnsignedString(expectedSize));
+        }
+        final byte[] data = new byte[expectedSize];
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(member, HEADER_SIZE, member.length - HEADER_SIZE - TRAILER_SIZE);
+            int position = 0;
+            while (!inflater.finished()) {
+                final int nInflated = inflater.inflate(data, position, data.length - position);
+                if (nInflated == 0 && (inflater.needsInput() || inflater.needsDictionary() || position == data.length)) {
+                    break;
+                }
+                position += nInflated;
+            }
+            if (!inflater.finished() || position != expectedSize) {
+                throw new ZipException("corrupt gzip member - size mismatch");
+            }
+        } catch (final DataFormatException e) {
+            throw new ZipException("corrupt gzip member: " + e.getMessage()); // NOPMD
+        } finally {
+            inflater.end();
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new ZipException("corrupt gzip member - CRC mismatch");
+        }
+        return data;
+    }
+}
@@ -0,0 +1,263 @@
+package de.gsi.dataset.utils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GZIP output stream that compresses independent blocks in parallel.
+ * <p>
+ * The input is split into blocks of {@code blockSize} bytes that are deflated concurrently on the given executor and
+ * written -- in order -- as individual gzip members. The result is a standard multi-member gzip stream (RFC 1952) that
+ * can be read by {@link java.util.zip.GZIPInputStream} or any other gzip-compatible tool. In addition, each member
+ * header carries its total compressed size in an 'CF' extra sub-field that allows {@link ParallelGZIPInputStream} to
+ * also decompress the members in parallel.
+ * <p>
+ * The number of blocks in flight is bounded to limit the memory footprint. N.B. because the blocks are compressed
+ * independently, the compression ratio is slightly lower than for a single-member stream.
+ */
+public class ParallelGZIPOutputStream extends FilterOutputStream {
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20; // 1 MiB
+    /** size of the member header: fixed gzip header + XLEN + 'CF' sub-field containing the member size */
+    protected static final int HEADER_SIZE = 10 + 2 + 8;
+    /** size of the member trailer: CRC32 + ISIZE */
+    protected static final int TRAILER_SIZE = 8;
+    protected static final byte SUBFIELD_ID1 = 'C';
+    protected static final byte SUBFIELD_ID2 = 'F';
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FLAG_EXTRA = 0x04;
+    // N.B. dedicated pool: streams are commonly used from tasks running on the common pool (e.g. exports), waiting
+    // there for the compression tasks may otherwise exhaust the pool
+    private static final ExecutorService DEFLATE_POOL = Executors.newFixedThreadPool(
+            CachedDaemonThreadFactory.getNumbersOfThreads(), CachedDaemonThreadFactory.getInstance());
+    private final ExecutorService executor;
+    private final int blockSize;
+    private final int maxInFlight;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private byte[] block;
+    private int blockFill;
+    private long nMembers;
+    private boolean closed;
+
+    /**
+     * @param out the output stream, compressed with {@link #DEFAULT_BLOCK_SIZE} blocks on a dedicated thread pool
+     */
+    public ParallelGZIPOutputStream(final OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE, DEFLATE_POOL);
+    }
+
+    /**
+     * @param out the output stream
+     * @param blockSize size of the independently compressed blocks in bytes
+     * @param executor executor used for compressing the blocks (N.B. must not be the executor the stream is written
+     *        from, since the writing thread waits for the compression tasks)
+     */
+    public ParallelGZIPOutputStream(final OutputStream out, final int blockSize, final ExecutorService executor) {
+        super(out);
+        AssertUtils.notNull("out", out);
+        AssertUtils.notNull("executor", executor);
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.executor = executor;
+        this.blockSize = blockSize;
+        maxInFlight = 2 * CachedDaemonThreadFactory.getNumbersOfThreads();
+        block = new byte[blockSize];
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (blockFill > 0 || nMembers == 0) {
+                // N.B. gzip streams need to contain at least one (possibly empty) member
+                submitBlock();
+            }
+            while (!pending.isEmpty()) {
+                writeNextMember();
+            }
+            out.flush();
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+            out.close();
+        }
+    }
+
+    /**
+     * Compresses and writes all buffered data. N.B. frequent flushing produces small members and deteriorates the
+     * compression ratio.
+     */
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        if (blockFill > 0) {
+            submitBlock();
+        }
+        while (!pending.isEmpty()) {
+            writeNextMember();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        checkOpen();
+        if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException("off = " + off + " len = " + len + " length = " + b.length);
+        }
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            final int nCopy = Math.min(remaining, blockSize - blockFill);
+            System.arraycopy(b, offset, block, blockFill, nCopy);
+            blockFill += nCopy;
+            offset += nCopy;
+            remaining -= nCopy;
+            if (blockFill == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        checkOpen();
+        block[blockFill++] = (byte) b;
+        if (blockFill == blockSize) {
+            submitBlock();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        final byte[] data = block;
+        final int length = blockFill;
+        pending.add(executor.submit(() -> compress(data, length)));
+        nMembers++;
+        block = new byte[blockSize];
+        blockFill = 0;
+        while (pending.size() >= maxInFlight) {
+            writeNextMember();
+        }
+    }
+
+    private void writeNextMember() throws IOException {
+        out.write(getResult(pending.poll()));
+    }
+
+    /**
+     * @param data uncompressed data
+     * @param length number of bytes to compress
+     * @return a complete gzip member including the 'CF' size sub-field
+     */
+    protected static byte[] compress(final byte[] data, final int length) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            byte[] member = new byte[HEADER_SIZE + length + (length >> 10) + 64 + TRAILER_SIZE];
+            int position = HEADER_SIZE;
+            while (!deflater.finished()) {
+                if (position == member.length - TRAILER_SIZE) {
+                    member = Arrays.copyOf(member, member.length + (member.length >> 1));
+                }
+                position += deflater.deflate(member, position, member.length - TRAILER_SIZE - position);
+            }
+            final int memberSize = position + TRAILER_SIZE;
+
+            // header
+            putShort(member, 0, GZIP_MAGIC);
+            member[2] = Deflater.DEFLATED;
+            member[3] = FLAG_EXTRA;
+            putInt(member, 4, 0); // MTIME - not available
+            member[8] = 0; // XFL
+            member[9] = (byte) 0xff; // OS - unknown
+            putShort(member, 10, 8); // XLEN
+            member[12] = SUBFIELD_ID1;
+            member[13] = SUBFIELD_ID2;
+            putShort(member, 14, 4); // sub-field length
+            putInt(member, 16, memberSize);
+
+            // trailer
+            final CRC32 crc = new CRC32();
+            crc.update(data, 0, length);
+            putInt(member, position, (int) crc.getValue());
+            putInt(member, position + 4, length);
+            return member.length == memberSize ? member : Arrays.copyOf(member, memberSize);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param future pending task result
+     * @param <T> result type
+     * @return task result
+     * @throws IOException in case the task failed or the thread has been interrupted
+     */
+    protected static <T> T getResult(final Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for (de-)compression task"); // NOPMD
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("(de-)compression task failed", e.getCause());
+        }
+    }
+
+    protected static int getInt(final byte[] buffer, final int offset) {
+        return (buffer[offset] & 0xff) | (buffer[offset + 1] & 0xff) << 8 | (buffer[offset + 2] & 0xff) << 16
+                | (buffer[offset + 3] & 0xff) << 24;
+    }
+
+    protected static int getShort(final byte[] buffer, final int offset) {
+        return (buffer[offset] & 0xff) | (buffer[offset + 1] & 0xff) << 8;
+    }
+
+    private static void putInt(final byte[] buffer, final int offset, final int value) {
+        putShort(buffer, offset, value);
+        putShort(buffer, offset + 2, value >>> 16);
+    }
+
+    private static void putShort(final byte[] buffer, final int offset, final int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >>> 8);
+    }
+
+    /**
+     * @param header member header bytes
+     * @return total member size if the header is a gzip header with a 'CF' size sub-field as written by this class,
+     *         -1 otherwise
+     */
+    protected static int getMemberSize(final byte[] header) {
+        if (getShort(header, 0) != GZIP_MAGIC || header[2] != Deflater.DEFLATED || header[3] != FLAG_EXTRA
+                || getShort(header, 10) != 8 || header[12] != SUBFIELD_ID1 || header[13] != SUBFIELD_ID2
+                || getShort(header, 14) != 4) {
+            return -1;
+        }
+        final int memberSize = getInt(header, 16);
+        return memberSize >= HEADER_SIZE + TRAILER_SIZE ? memberSize : -1;
+    }
+}
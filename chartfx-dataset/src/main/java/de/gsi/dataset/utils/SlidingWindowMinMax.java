@@ -0,0 +1,197 @@
+package de.gsi.dataset.utils;
+
+/**
+ * Incremental minimum/maximum tracking of the last 'capacity' samples of a stream, e.g. of the values contained in a
+ * circular buffer. Based on two monotonic (ascending/descending) deques: adding or expiring a sample is O(1) amortised
+ * and the present minimum and maximum are available in O(1) -- no full rescan of the buffer is needed when old samples
+ * drop out.
+ * <p>
+ * Each sample may contribute a different value to the minimum (lower) and maximum (upper), e.g. 'y - dyNeg' and 'y +
+ * dyPos' for error ranges. Non-finite values are ignored (but still count as samples).
+ * <p>
+ * N.B. not thread-safe -- to be guarded by the owning DataSet's lock
+ */
+public class SlidingWindowMinMax {
+    private final int capacity;
+    private final MonotonicDeque minDeque;
+    private final MonotonicDeque maxDeque;
+    private long firstSequence; // sequence number of the oldest sample within the window
+    private long nextSequence; // sequence number of the next sample to be added
+
+    /**
+     * @param capacity maximum number of (most recent) samples taken into account
+     */
+    public SlidingWindowMinMax(final int capacity) {
+        AssertUtils.gtThanZero("capacity", capacity);
+        this.capacity = capacity;
+        minDeque = new MonotonicDeque(capacity, true);
+        maxDeque = new MonotonicDeque(capacity, false);
+    }
+
+    /**
+     * adds a new sample -- the oldest sample is dropped if the window is full
+     *
+     * @param value the new value
+     */
+    public void add(final double value) {
+        add(value, value);
+    }
+
+    /**
+     * adds a new sample -- the oldest sample is dropped if the window is full
+     *
+     * @param lower value contributing to the minimum
+     * @param upper value contributing to the maximum
+     */
+    public void add(final double lower, final double upper) {
+        if (nextSequence - firstSequence == capacity) {
+            firstSequence++;
+        }
+        minDeque.add(nextSequence, lower, firstSequence);
+        maxDeque.add(nextSequence, upper, firstSequence);
+        nextSequence++;
+    }
+
+    /**
+     * adds new samples -- the oldest samples are dropped if the window is full
+     *
+     * @param values the new values
+     * @param offset index of the first value to be added
+     * @param length number of values to be added
+     */
+    public void add(final double[] values, final int offset, final int length) {
+        // N.B. only the last 'capacity' values can be part of the window
+        final int skip = Math.max(0, length - capacity);
+        if (skip > 0) {
+            removeOldest(size());
+            firstSequence += skip;
+            nextSequence += skip;
+        }
+        for (int i = offset + skip; i < offset + length; i++) {
+            add(values[i], values[i]);
+        }
+    }
+
+    /**
+     * @return maximum number of samples within the window
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return maximum of the samples within the window or {@code Double.NaN} if none is defined
+     */
+    public double getMax() {
+        return maxDeque.getFirst();
+    }
+
+    /**
+     * @return minimum of the samples within the window or {@code Double.NaN} if none is defined
+     */
+    public double getMin() {
+        return minDeque.getFirst();
+    }
+
+    /**
+     * @return {@code true} if at least one finite sample is within the window
+     */
+    public boolean isDefined() {
+        return !minDeque.isEmpty();
+    }
+
+    /**
+     * drops the given number of oldest samples from the window (e.g. after explicit removal from a FIFO buffer)
+     *
+     * @param nSamples number of samples to be dropped
+     */
+    public void removeOldest(final int nSamples) {
+        AssertUtils.gtEqThanZero("nSamples", nSamples);
+        firstSequence = Math.min(firstSequence + nSamples, nextSequence);
+        minDeque.expire(firstSequence);
+        maxDeque.expire(firstSequence);
+    }
+
+    /**
+     * removes all samples
+     */
+    public void reset() {
+        firstSequence = nextSequence;
+        minDeque.clear();
+        maxDeque.clear();
+    }
+
+    /**
+     * @return number of samples within the window
+     */
+    public int size() {
+        return (int) (nextSequence - firstSequence);
+    }
+
+    @Override
+    public String toString() {
+        return SlidingWindowMinMax.class.getSimpleName() + " [size=" + size() + ", min=" + getMin() + ", max="
+                + getMax() + ']';
+    }
+
+    /**
+     * circular deque of (sequence, value) pairs with monotonic values
+     */
+    private static class MonotonicDeque {
+        private final long[] sequences;
+        private final double[] values;
+        private final boolean ascending;
+        private int head;
+        private int size;
+
+        MonotonicDeque(final int capacity, final boolean ascending) {
+            sequences = new long[capacity];
+            values = new double[capacity];
+            this.ascending = ascending;
+        }
+
+        void add(final long sequence, final double value, final long firstSequence) {
+            expire(firstSequence);
+            if (!Double.isFinite(value)) {
+                return;
+            }
+            // drop all entries that can never become the min (max) again
+            while (size > 0) {
+                final double last = values[index(size - 1)];
+                if (ascending ? last < value : last > value) {
+                    break;
+                }
+                size--;
+            }
+            final int index = index(size);
+            sequences[index] = sequence;
+            values[index] = value;
+            size++;
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        void expire(final long firstSequence) {
+            while (size > 0 && sequences[head] < firstSequence) {
+                head = index(1);
+                size--;
+            }
+        }
+
+        double getFirst() {
+            return size == 0 ? Double.NaN : values[head];
+        }
+
+        private int index(final int offset) {
+            final int index = head + offset;
+            return index >= values.length ? index - values.length : index;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
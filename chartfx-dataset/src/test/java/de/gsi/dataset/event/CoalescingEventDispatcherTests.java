@@ -0,0 +1,109 @@
+package de.gsi.dataset.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Checks for batched and asynchronous event dispatch via the CoalescingEventDispatcher
+ */
+public class CoalescingEventDispatcherTests {
+    @Test
+    public void batchTests() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        final List<UpdateEvent> received = new CopyOnWriteArrayList<>();
+        dataSet.addListener(received::add);
+
+        dataSet.add(1.0, 2.0);
+        assertEquals(1, received.size(), "synchronous pass-through by default");
+
+        dataSet.beginBatch();
+        dataSet.beginBatch();
+        for (int i = 0; i < 100; i++) {
+            dataSet.add(i, i);
+        }
+        dataSet.setName("renamed");
+        dataSet.addDataLabel(0, "label");
+        dataSet.endBatch();
+        assertEquals(1, received.size(), "nested batch still open");
+        assertTrue(dataSet.eventDispatcher().isBatching());
+        dataSet.endBatch();
+        assertFalse(dataSet.eventDispatcher().isBatching());
+
+        // one coalesced data event and one meta-data event
+        assertEquals(3, received.size());
+        assertTrue(received.get(1) instanceof UpdatedDataEvent);
+        assertTrue(received.get(2) instanceof UpdatedMetaDataEvent);
+        assertEquals(101, dataSet.eventDispatcher().getSubmittedCount());
+        assertEquals(2, dataSet.eventDispatcher().getDispatchedCount());
+
+        assertThrows(IllegalStateException.class, dataSet::endBatch);
+    }
+
+    @Test
+    public void indexRangeMergeTests() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        for (int i = 0; i < 100; i++) {
+            dataSet.add(i, i);
+        }
+        final List<UpdateEvent> received = new CopyOnWriteArrayList<>();
+        dataSet.addListener(received::add);
+
+        dataSet.beginBatch();
+        dataSet.set(50, 50.0, -1.0);
+        dataSet.remove(0, 10);
+        dataSet.add(100.0, 100.0);
+        dataSet.endBatch();
+        assertEquals(1, received.size());
+        final UpdatedDataEvent merged = (UpdatedDataEvent) received.get(0);
+        assertTrue(merged.hasIndexRange());
+        assertEquals(10, merged.getRemovedFront());
+        assertEquals(40, merged.getFromIndex());
+        assertEquals(91, merged.getToIndex());
+        assertEquals(91, merged.getDataCount());
+
+        // events without index range dominate
+        dataSet.beginBatch();
+        dataSet.fireInvalidated(new UpdatedDataEvent(dataSet, "unspecified change"));
+        dataSet.set(0, 0.0, 0.0);
+        dataSet.endBatch();
+        assertEquals(2, received.size());
+        assertFalse(((UpdatedDataEvent) received.get(1)).hasIndexRange());
+
+        assertThrows(IllegalArgumentException.class, () -> new UpdatedDataEvent(dataSet, "invalid", 0, 2, 1, 3));
+    }
+
+    @Test
+    public void asyncTests() throws InterruptedException {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        final CoalescingEventDispatcher dispatcher = dataSet.eventDispatcher().setAsync(true).setMaxRate(20.0);
+        assertEquals(20.0, dispatcher.getMaxRate(), 1e-9);
+        final CountDownLatch firstEvent = new CountDownLatch(1);
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        dataSet.addListener(evt -> {
+            threads.add(Thread.currentThread());
+            firstEvent.countDown();
+        });
+
+        for (int i = 0; i < 10_000; i++) {
+            dataSet.add(i, i);
+        }
+        assertTrue(firstEvent.await(1, TimeUnit.SECONDS));
+        assertFalse(threads.contains(Thread.currentThread()), "not dispatched on producer thread");
+        assertTrue(dispatcher.getDispatchedCount() < 100, "events are coalesced");
+        assertEquals(10_000, dispatcher.getSubmittedCount());
+
+        dispatcher.setAsync(false).setMaxRate(0.0);
+        assertEquals(Double.POSITIVE_INFINITY, dispatcher.getMaxRate());
+    }
+}
@@ -312,6 +312,34 @@ public class DataSetLockTest {
         assertEquals(0, myLockImpl.getWriterCount());
     }
 
+    @Test
+    @DisplayName("Tests DefaultDataSetLock for read locks nested within the write lock of the same thread")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void testDataSetLockReadWithinWrite() {
+        DefaultDataSet dataSet = new DefaultDataSet("test");
+        DefaultDataSetLock<DefaultDataSet> myLockImpl = new DefaultDataSetLock<>(dataSet);
+
+        final int count = myLockImpl.writeLockGuard(() -> myLockImpl.readLockGuard(() -> {
+            final int nested = myLockImpl.readLockGuard(() -> dataSet.getDataCount());
+            assertEquals(1, myLockImpl.getWriterCount());
+            assertEquals(0, myLockImpl.getReaderCount());
+            return nested;
+        }));
+        assertEquals(0, count);
+        assertEquals(0, myLockImpl.getReaderCount());
+        assertEquals(0, myLockImpl.getWriterCount());
+
+        // lock is fully released, ie. other threads may write
+        Thread writer = new Thread(() -> myLockImpl.writeLockGuard(() -> dataSet.add(1, 2)));
+        writer.start();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            fail("WriterThread was interupted");
+        }
+        assertEquals(1, myLockImpl.readLockGuard(() -> dataSet.getDataCount()));
+    }
+
     @Test
     @Timeout(value = 4, unit = TimeUnit.SECONDS)
     public void testDataSetLockReadWriteContention() {
@@ -0,0 +1,155 @@
+package de.gsi.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSetError.ErrorType;
+import de.gsi.dataset.spi.utils.DataColumn;
+import de.gsi.dataset.spi.utils.DataColumn.Precision;
+
+/**
+ * Checks for ColumnarErrorDataSet precision handling and lazy error storage
+ */
+public class ColumnarErrorDataSetTests {
+    @Test
+    public void dataColumnTests() {
+        for (final Precision precision : Precision.values()) {
+            final DataColumn column = DataColumn.create(precision, 2);
+            assertEquals(precision, column.getPrecision());
+            column.addElements(0, new double[] { 1, 2, 5 }, 0, 3);
+            column.addElements(2, new double[] { 3, 4 }, 0, 2);
+            column.add(0, 0.0);
+            column.add(6);
+            assertArrayEquals(new double[] { 0, 1, 2, 3, 4, 5, 6 }, column.getElements(0, 7, null, 0));
+            column.removeElements(1, 3);
+            column.setElements(0, new double[] { 10, 11 }, 0, 2);
+            assertArrayEquals(new double[] { 10, 11, 4, 5, 6 }, column.getElements(0, 5, null, 0));
+            final DataColumn copy = column.copy();
+            assertEquals(true, copy.contentEquals(column));
+            copy.set(4, 0.5);
+            assertEquals(false, copy.contentEquals(column));
+            column.size(7);
+            assertEquals(0.0, column.get(6));
+            column.clear();
+            assertEquals(true, column.isZero());
+        }
+        assertEquals(0.1f, roundTrip(0.1));
+        assertThrows(IllegalArgumentException.class, () -> DataColumn.create(null, 1));
+    }
+
+    @Test
+    public void floatPrecisionTests() {
+        final ColumnarErrorDataSet dataSet = new ColumnarErrorDataSet("test", 10, Precision.FLOAT64, Precision.FLOAT32,
+                Precision.FLOAT32);
+        assertEquals(Precision.FLOAT64, dataSet.getPrecision(DIM_X));
+        assertEquals(Precision.FLOAT32, dataSet.getPrecision(DIM_Y));
+        assertEquals(Precision.FLOAT32, dataSet.getErrorPrecision());
+        for (int i = 0; i < 10; i++) {
+            dataSet.add(0.1 * i, 0.1 * i, 0.01, 0.02);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0.1 * i, dataSet.get(DIM_X, i));
+            assertEquals((float) (0.1 * i), dataSet.get(DIM_Y, i));
+            assertEquals((float) 0.01, dataSet.getErrorNegative(DIM_Y, i));
+            assertEquals((float) 0.02, dataSet.getErrorPositive(DIM_Y, i));
+        }
+        assertEquals(10, dataSet.getYValues().length);
+        // widened float column is cached until modified
+        assertSame(dataSet.getYValues(), dataSet.getValues(DIM_Y));
+        dataSet.set(9, 0.9, 0.8, 0.01, 0.02);
+        assertEquals((float) 0.8, dataSet.getYValues()[9]);
+        final double[] widened = dataSet.getYValues();
+        dataSet.add(1.0, 1.0, 0.01, 0.02);
+        assertNotSame(widened, dataSet.getYValues());
+        assertEquals(11, dataSet.getYValues().length);
+        dataSet.remove(10);
+        assertEquals((float) 0.8, dataSet.getValues(DIM_Y, 9, 10, null, 0)[0]);
+        assertEquals((float) 0.8 + (float) 0.02, dataSet.getAxisDescription(DIM_Y).getMax(), 1e-7);
+
+        final ColumnarErrorDataSet copy = new ColumnarErrorDataSet(dataSet);
+        assertEquals(dataSet, copy);
+        assertEquals(Precision.FLOAT64, copy.getPrecision(DIM_Y));
+    }
+
+    @Test
+    public void lazyErrorStorageTests() {
+        final ColumnarErrorDataSet dataSet = new ColumnarErrorDataSet("test");
+        dataSet.add(new double[] { 0, 1, 2 }, new double[] { 1, 2, 3 }, null, null);
+        assertEquals(ErrorType.NO_ERROR, dataSet.getErrorType(DIM_X));
+        assertEquals(ErrorType.NO_ERROR, dataSet.getErrorType(DIM_Y));
+        assertEquals(0.0, dataSet.getErrorNegative(DIM_Y, 1));
+        assertArrayEquals(new double[3], dataSet.getErrorsPositive(DIM_Y));
+        assertSame(dataSet.getErrorsPositive(DIM_Y), dataSet.getErrorsNegative(DIM_X), "shared zero errors");
+        assertArrayEquals(new double[] { 7, 0, 0 }, dataSet.getErrorsPositive(DIM_Y, 0, 2, new double[] { 7, 8, 9 }, 1));
+
+        dataSet.add(3, 4, 0.5, 0.5);
+        assertEquals(ErrorType.SYMMETRIC, dataSet.getErrorType(DIM_Y));
+        assertArrayEquals(new double[] { 0, 0, 0, 0.5 }, dataSet.getErrorsNegative(DIM_Y, 0, 4, null, 0));
+        assertEquals(4.5, dataSet.getAxisDescription(DIM_Y).getMax());
+
+        dataSet.add(0, -1, 0, 0.1, 0.2, "label");
+        assertEquals(ErrorType.ASYMMETRIC, dataSet.getErrorType(DIM_Y));
+        assertEquals(0.1, dataSet.getErrorNegative(DIM_Y, 0));
+        assertEquals(0.2, dataSet.getErrorPositive(DIM_Y, 0));
+        assertEquals(0.5, dataSet.getErrorNegative(DIM_Y, 4));
+        assertEquals("label", dataSet.getDataLabel(0));
+        assertEquals(-0.1, dataSet.getAxisDescription(DIM_Y).getMin());
+
+        // asymmetric point removed -> trim() re-shares the error column
+        dataSet.remove(0);
+        dataSet.trim();
+        assertEquals(ErrorType.SYMMETRIC, dataSet.getErrorType(DIM_Y));
+        assertEquals(4, dataSet.getCapacity());
+
+        // non-zero point replaced -> trim() releases the error column
+        dataSet.set(3, 3, 4, 0.0, 0.0);
+        dataSet.trim();
+        assertEquals(ErrorType.NO_ERROR, dataSet.getErrorType(DIM_Y));
+        assertEquals(4, dataSet.getDataCount());
+
+        dataSet.set(new double[] { 0, 1 }, new double[] { 0, 1 }, new double[] { 1, 1 }, new double[] { 1, 2 });
+        assertEquals(ErrorType.ASYMMETRIC, dataSet.getErrorType(DIM_Y));
+        assertEquals(3.0, dataSet.getAxisDescription(DIM_Y).getMax());
+        assertThrows(IllegalArgumentException.class,
+                () -> dataSet.set(new double[] { 0, 1 }, new double[] { 0 }, null, null));
+
+        dataSet.clearData();
+        assertEquals(0, dataSet.getDataCount());
+        assertEquals(ErrorType.NO_ERROR, dataSet.getErrorType(DIM_Y));
+    }
+
+    @Test
+    public void setErrorTypeTests() {
+        final ColumnarErrorDataSet dataSet = new ColumnarErrorDataSet("test");
+        dataSet.add(new double[] { 0, 1, 2 }, new double[] { 1, 2, 3 }, null, null);
+        dataSet.setErrorType(DIM_Y, ErrorType.SYMMETRIC);
+        assertEquals(ErrorType.SYMMETRIC, dataSet.getErrorType(DIM_Y));
+        dataSet.setErrorType(DIM_Y, ErrorType.ASYMMETRIC);
+        assertEquals(ErrorType.ASYMMETRIC, dataSet.getErrorType(DIM_Y));
+        dataSet.set(2, 2, 3, 0.1, 0.2);
+        assertThrows(UnsupportedOperationException.class, () -> dataSet.setErrorType(DIM_Y, ErrorType.SYMMETRIC));
+        assertEquals(3.2, dataSet.getAxisDescription(DIM_Y).getMax(), 1e-12);
+
+        dataSet.setErrorType(DIM_Y, ErrorType.NO_ERROR);
+        assertEquals(ErrorType.NO_ERROR, dataSet.getErrorType(DIM_Y));
+        assertEquals(0.0, dataSet.getErrorPositive(DIM_Y, 2));
+        assertEquals(3.0, dataSet.getAxisDescription(DIM_Y).getMax());
+
+        dataSet.setErrorType(DIM_X, ErrorType.NO_ERROR);
+        assertThrows(UnsupportedOperationException.class, () -> dataSet.setErrorType(DIM_X, ErrorType.SYMMETRIC));
+    }
+
+    private static float roundTrip(final double value) {
+        final DataColumn column = DataColumn.create(Precision.FLOAT32, 1);
+        column.add(value);
+        return (float) column.get(0);
+    }
+}
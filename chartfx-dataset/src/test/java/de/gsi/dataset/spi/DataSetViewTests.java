@@ -0,0 +1,110 @@
+package de.gsi.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.event.EventListener;
+
+/**
+ * Checks for the zero-copy DataSetView family.
+ */
+public class DataSetViewTests {
+    private static final double[] X = { 1.0, 2.0, 3.0, 4.0, 5.0, 6.0 };
+    private static final double[] Y = { 10.0, 20.0, 30.0, 40.0, 50.0, 60.0 };
+    private static final double[] EYN = { 0.1, 0.2, 0.3, 0.4, 0.5, 0.6 };
+    private static final double[] EYP = { 1.1, 1.2, 1.3, 1.4, 1.5, 1.6 };
+
+    @Test
+    public void sliceTests() {
+        final DoubleDataSet parent = new DoubleDataSet("test", X, Y, X.length, true);
+        final DataSetView view = DataSetView.slice(parent, 1, 4);
+
+        assertEquals(3, view.getDataCount());
+        assertEquals(2.0, view.get(DIM_X, 0));
+        assertEquals(40.0, view.get(DIM_Y, 2));
+        assertArrayEquals(new double[] { 20.0, 30.0, 40.0 }, view.getValues(DIM_Y, 0, 3, null, 0));
+        assertSame(parent.lock(), view.lock(), "shared lock");
+        assertEquals(2.0, view.getAxisDescription(DIM_X).getMin());
+        assertEquals(40.0, view.getAxisDescription(DIM_Y).getMax());
+        assertEquals(1, view.getIndex(DIM_X, 2.9));
+
+        // clamped to parent's data count
+        assertEquals(2, DataSetView.slice(parent, 4, 100).getDataCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> DataSetView.slice(parent, 4, 2));
+    }
+
+    @Test
+    public void windowAndDecimationTests() {
+        final DoubleErrorDataSet parent = new DoubleErrorDataSet("test", X, Y, EYN, EYP, X.length, true);
+        final DataSetView window = DataSetView.window(parent, 1.5, 4.0);
+        assertTrue(window instanceof DataSetError, "preserves DataSetError interface");
+        assertEquals(3, window.getDataCount());
+        assertEquals(2.0, window.get(DIM_X, 0));
+        assertEquals(0.4, ((DataSetError) window).getErrorNegative(DIM_Y, 2));
+        assertEquals(20.0 - 0.2, window.getAxisDescription(DIM_Y).getMin(), 1e-9);
+
+        // parent update is tracked and forwarded
+        final AtomicInteger counter = new AtomicInteger();
+        final EventListener listener = evt -> counter.incrementAndGet();
+        window.addListener(listener);
+        parent.set(1, 1.8, 18.0);
+        assertTrue(counter.get() >= 1, "forwarded update event");
+        assertEquals(1.8, window.get(DIM_X, 0));
+        assertEquals(3, window.getDataCount());
+        window.removeListener(listener);
+
+        final DataSetView decimated = DataSetView.decimate(parent, 2);
+        assertEquals(3, decimated.getDataCount());
+        assertArrayEquals(new double[] { 10.0, 30.0, 50.0 }, decimated.getValues(DIM_Y, 0, 3, null, 0));
+
+        // element access without prior getDataCount() and empty strided views
+        assertEquals(4.0, DataSetView.slice(parent, 2, 5).get(DIM_X, 1));
+        final IndexedDataSetView empty = (IndexedDataSetView) DataSetView.decimate(new DoubleDataSet("empty"), 3);
+        assertEquals(0, empty.getDataCount());
+        assertEquals(empty.getFromIndex(), empty.getToIndex());
+        final IndexedDataSetView stridedSlice = (IndexedDataSetView) DataSetView.decimate(parent, 2);
+        assertEquals(5, stridedSlice.getToIndex());
+    }
+
+    @Test
+    public void subsetTests() {
+        final DoubleErrorDataSet parent = new DoubleErrorDataSet("test", X, Y, EYN, EYP, X.length, true);
+        parent.addDataStyle(4, "color=red");
+        final DataSetView subset = DataSetView.subset(parent, new int[] { 0, 2, 4, 5 }, 3);
+        assertTrue(subset instanceof DataSetError, "preserves DataSetError interface");
+        assertEquals(3, subset.getDataCount());
+        assertArrayEquals(new double[] { 1.0, 3.0, 5.0 }, subset.getValues(DIM_X, 0, 3, null, 0));
+        assertEquals(0.3, ((DataSetError) subset).getErrorNegative(DIM_Y, 1));
+        assertEquals("color=red", subset.getStyle(2));
+        assertEquals(50.0 + 1.5, subset.getAxisDescription(DIM_Y).getMax(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> DataSetView.subset(parent, new int[2], 3));
+    }
+
+    @Test
+    public void projectionTests() {
+        final DoubleDataSet3D parent = new DoubleDataSet3D("test", new double[][] { { 1.0, 2.0, 3.0 }, { 4.0, 5.0, 6.0 } });
+
+        final DataSetView row = DataSetView.row(parent, 1);
+        assertEquals(3, row.getDataCount());
+        assertArrayEquals(new double[] { 4.0, 5.0, 6.0 }, row.getValues(DIM_Y, 0, 3, null, 0));
+        assertEquals(6.0, row.getAxisDescription(DIM_Y).getMax());
+
+        final DataSetView column = DataSetView.column(parent, 2);
+        assertEquals(2, column.getDataCount());
+        assertEquals(1.0, column.get(DIM_X, 1));
+        assertArrayEquals(new double[] { 3.0, 6.0 }, column.getValues(DIM_Y, 0, 2, null, 0));
+
+        assertThrows(IllegalArgumentException.class, () -> DataSetView.slice(parent, 0, 1));
+    }
+}
@@ -1,7 +1,9 @@
 package de.gsi.dataset.spi;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static de.gsi.dataset.DataSet.DIM_X;
@@ -202,6 +204,29 @@ public class DoubleErrorDataSetTests extends EditableDataSetTests {
         }
     }
 
+    @Test
+    public void bulkGetterTests() {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", testCoordinate[0], testCoordinate[1], testEYN,
+                testEYP, testEYN.length, true);
+
+        final double[] storage = new double[n + 1];
+        assertSame(storage, dataSet.getValues(DIM_Y, 1, n, storage, 2), "re-use user-supplied storage");
+        assertArrayEquals(new double[] { 0.0, 0.0, 4.0, 6.0 }, storage, "partial bulk copy of y-values");
+
+        assertArrayEquals(testCoordinate[0], dataSet.getValues(DIM_X, 0, n, null, 0), "allocate if null");
+        assertArrayEquals(testEYN, dataSet.getErrorsNegative(DIM_Y, 0, n, new double[1], 0), "allocate if too small");
+        assertArrayEquals(testEYP, dataSet.getErrorsPositive(DIM_Y, 0, n, null, 0), "positive y-errors");
+        assertArrayEquals(testEYZERO, dataSet.getErrorsPositive(DIM_X, 0, n, new double[] { 1.0, 1.0, 1.0 }, 0),
+                "x-errors are zero-filled");
+
+        // cross-check specialised against interface default implementation
+        final CircularDoubleErrorDataSet circular = new CircularDoubleErrorDataSet("test", 2);
+        circular.add(testCoordinate[0], testCoordinate[1], testEYN, testEYP);
+        assertArrayEquals(new double[] { 4.0, 6.0 }, circular.getValues(DIM_Y, 0, 2, null, 0), "wrapped circular");
+        assertArrayEquals(new double[] { 0.3, 0.4 }, circular.getErrorsNegative(DIM_Y, 0, 2, null, 0),
+                "wrapped circular errors");
+    }
+
     @Test
     public void mixedErrorNonErrorDataSetTests() {
         final DoubleDataSet dataSet1 = new DoubleDataSet("test", testCoordinate[0], testCoordinate[1],
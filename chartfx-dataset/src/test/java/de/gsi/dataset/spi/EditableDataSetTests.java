@@ -35,6 +35,7 @@ public class EditableDataSetTests {
         checkEditableDataSetInterface(new DoubleDataSet("default"));
         checkEditableDataSetInterface(new DoubleErrorDataSet("default"));
         checkEditableDataSetInterface(new FloatDataSet("default"));
+        checkEditableDataSetInterface(new ColumnarErrorDataSet("default"));
 
         checkEditableDataSetInterface(new DefaultDataSet("default"));
         checkEditableDataSetInterface(new DefaultErrorDataSet("default"));
@@ -0,0 +1,170 @@
+package de.gsi.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.AxisDescription;
+
+/**
+ * Checks for the lock-free single-writer/multi-reader LockFreeCircularDoubleErrorDataSet
+ */
+public class LockFreeCircularDoubleErrorDataSetTests {
+    @Test
+    public void defaultTests() {
+        final LockFreeCircularDoubleErrorDataSet dataSet = new LockFreeCircularDoubleErrorDataSet("test", 5);
+        assertEquals(5, dataSet.getCapacity());
+        assertEquals(0, dataSet.getDataCount());
+
+        dataSet.add(1.0, 2.0, 0.1, 0.2);
+        assertEquals(1, dataSet.getSequence());
+        // snapshot is only updated once a reader acquires the lock
+        assertEquals(0, dataSet.getDataCount());
+        assertEquals(1, (int) dataSet.lock().readLockGuard(() -> {
+            return dataSet.getDataCount();
+        }));
+        assertEquals(2.2, dataSet.getAxisDescription(DIM_Y).getMax(), 1e-12);
+
+        final double[] values = { 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0 };
+        final long sequence = dataSet.publish(values, values, new double[7], new double[7], values.length);
+        assertEquals(8, sequence);
+        assertEquals(8, dataSet.snapshot());
+        assertEquals(5, dataSet.getDataCount());
+        assertArrayEquals(new double[] { 4.0, 5.0, 6.0, 7.0, 8.0 }, dataSet.getValues(DIM_X, 0, 5, null, 0));
+        assertEquals(4.0, dataSet.getAxisDescription(DIM_Y).getMin());
+
+        dataSet.reset();
+        assertEquals(0, dataSet.getDataCount());
+        dataSet.add(9.0, 9.0);
+        assertEquals(1, (int) dataSet.lock().readLockGuard(() -> {
+            return dataSet.getDataCount();
+        }));
+        assertEquals(9.0, dataSet.get(DIM_Y, 0));
+    }
+
+    @Test
+    public void asyncNotificationTests() throws InterruptedException {
+        final LockFreeCircularDoubleErrorDataSet dataSet = new LockFreeCircularDoubleErrorDataSet("test", 100);
+        assertTrue(dataSet.eventDispatcher().isAsync());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch notified = new CountDownLatch(1);
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        dataSet.addListener(evt -> {
+            threads.add(Thread.currentThread());
+            notified.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // producer is neither blocked by nor running the (blocking) listener
+        for (int i = 0; i < 1000; i++) {
+            dataSet.add(i, i);
+        }
+        assertEquals(1000, dataSet.getSequence());
+        assertTrue(notified.await(1, TimeUnit.SECONDS));
+        release.countDown();
+        assertFalse(threads.contains(Thread.currentThread()), "not dispatched on producer thread");
+        assertEquals(1000, dataSet.eventDispatcher().getSubmittedCount());
+        assertTrue(dataSet.eventDispatcher().getDispatchedCount() < 1000, "events are coalesced");
+    }
+
+    @Test
+    public void notificationDuringSnapshotTests() throws InterruptedException {
+        final CountDownLatch refreshing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean blockRefresh = new AtomicBoolean();
+        final LockFreeCircularDoubleErrorDataSet dataSet = new LockFreeCircularDoubleErrorDataSet("test", 100) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public AxisDescription getAxisDescription(final int dim) {
+                // N.B. called while the snapshot is updated: keeps the reader within the update
+                if (blockRefresh.getAndSet(false)) {
+                    refreshing.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getAxisDescription(dim);
+            }
+        };
+        final double[] values = { 1.0 };
+        dataSet.publish(values, values, values, values, 1);
+        final CountDownLatch lastNotified = new CountDownLatch(1);
+        dataSet.addListener(evt -> {
+            if ("published #2".equals(evt.getMessage())) {
+                lastNotified.countDown();
+            }
+        });
+
+        blockRefresh.set(true);
+        final Thread reader = new Thread(() -> dataSet.lock().readLockGuard(dataSet::getSnapshotSequence));
+        reader.start();
+        assertTrue(refreshing.await(1, TimeUnit.SECONDS));
+        // producer publishes while the reader updates the snapshot
+        assertEquals(2, dataSet.publish(values, values, values, values, 1));
+        release.countDown();
+        reader.join();
+
+        assertTrue(lastNotified.await(1, TimeUnit.SECONDS), "last published sequence has been notified");
+        assertTrue(dataSet.autoNotification().get());
+    }
+
+    @Test
+    public void concurrentReadWriteTests() throws InterruptedException {
+        final int capacity = 1000;
+        final LockFreeCircularDoubleErrorDataSet dataSet = new LockFreeCircularDoubleErrorDataSet("test", capacity);
+        dataSet.autoNotification().set(false);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Thread producer = new Thread(() -> {
+            final double[] x = new double[37];
+            final double[] ey = new double[37];
+            long counter = 0;
+            while (running.get()) {
+                for (int i = 0; i < x.length; i++) {
+                    x[i] = counter++;
+                }
+                dataSet.publish(x, x, ey, ey, x.length);
+            }
+        });
+        producer.start();
+
+        try {
+            for (int iteration = 0; iteration < 200 || dataSet.getSequence() < 10 * capacity; iteration++) {
+                dataSet.lock().readLockGuard(() -> {
+                    final int count = dataSet.getDataCount();
+                    assertTrue(count <= capacity);
+                    for (int i = 0; i < count; i++) {
+                        // snapshot must be consistent and contiguous
+                        assertEquals(dataSet.get(DIM_X, i), dataSet.get(DIM_Y, i));
+                        if (i > 0) {
+                            assertEquals(dataSet.get(DIM_X, i - 1) + 1.0, dataSet.get(DIM_X, i));
+                        }
+                    }
+                });
+            }
+        } finally {
+            running.set(false);
+            producer.join();
+        }
+        dataSet.snapshot();
+        assertEquals(dataSet.getSequence() - 1.0, dataSet.get(DIM_X, dataSet.getDataCount() - 1));
+    }
+}
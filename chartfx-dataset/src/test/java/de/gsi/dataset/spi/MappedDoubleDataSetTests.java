@@ -0,0 +1,132 @@
+package de.gsi.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks for the off-heap/memory-mapped MappedDoubleDataSet
+ */
+public class MappedDoubleDataSetTests {
+    @Test
+    public void directMemoryTests() {
+        final MappedDoubleDataSet dataSet = new MappedDoubleDataSet("direct", 2);
+        assertFalse(dataSet.isMapped());
+        assertEquals(0, dataSet.getDataCount());
+
+        for (int i = 0; i < 10; i++) {
+            dataSet.add(i, 10.0 * i, 0.5, 1.0);
+        }
+        assertEquals(10, dataSet.getDataCount());
+        assertTrue(dataSet.getCapacity() >= 10, "buffer has grown");
+        assertEquals(3.0, dataSet.get(DIM_X, 3));
+        assertEquals(30.0, dataSet.get(DIM_Y, 3));
+        assertEquals(0.5, dataSet.getErrorNegative(DIM_Y, 3));
+        assertEquals(0.0, dataSet.getErrorPositive(DIM_X, 3));
+        assertEquals(-0.5, dataSet.getAxisDescription(DIM_Y).getMin());
+        assertEquals(91.0, dataSet.getAxisDescription(DIM_Y).getMax());
+
+        dataSet.add(0, -1.0, -10.0);
+        assertEquals(11, dataSet.getDataCount());
+        assertArrayEquals(new double[] { -1.0, 0.0, 1.0 }, dataSet.getValues(DIM_X, 0, 3, null, 0));
+        assertEquals(-10.0, dataSet.getAxisDescription(DIM_Y).getMin());
+
+        dataSet.remove(0, 2);
+        assertEquals(9, dataSet.getDataCount());
+        assertEquals(1.0, dataSet.get(DIM_X, 0));
+        // ranges are invalidated and recomputed on demand
+        assertFalse(dataSet.getAxisDescription(DIM_Y).isDefined());
+        dataSet.recomputeLimits(DIM_X);
+        assertEquals(9.5, dataSet.getAxisDescription(DIM_Y).getMin());
+
+        dataSet.set(4, 5.0, 42.0); // interior value -> range is updated in place
+        assertTrue(dataSet.getAxisDescription(DIM_Y).isDefined());
+        dataSet.set(8, 9.0, 500.0); // replaces the value defining the present range
+        assertFalse(dataSet.getAxisDescription(DIM_Y).isDefined());
+        dataSet.recomputeLimits(DIM_X);
+        assertEquals(500.0, dataSet.getAxisDescription(DIM_Y).getMax());
+
+        dataSet.clearData();
+        assertEquals(0, dataSet.getDataCount());
+        assertFalse(dataSet.getAxisDescription(DIM_X).isDefined());
+    }
+
+    @Test
+    public void rangeAfterRemoveAndAddTests() {
+        final MappedDoubleDataSet dataSet = new MappedDoubleDataSet("ranges", 10);
+        for (int i = 0; i < 10; i++) {
+            dataSet.add(i, 10.0 * i);
+        }
+        dataSet.remove(9);
+        // invalidated ranges must not be re-defined by the newly added points only
+        dataSet.add(2.5, 25.0);
+        dataSet.add(new double[] { 3.5 }, new double[] { 35.0 }, new double[] { 0.0 }, new double[] { 0.0 });
+        dataSet.add(0, 4.5, 45.0);
+        assertFalse(dataSet.getAxisDescription(DIM_X).isDefined());
+        assertFalse(dataSet.getAxisDescription(DIM_Y).isDefined());
+        dataSet.recomputeLimits(DIM_X);
+        assertEquals(0.0, dataSet.getAxisDescription(DIM_X).getMin());
+        assertEquals(8.0, dataSet.getAxisDescription(DIM_X).getMax());
+        assertEquals(80.0, dataSet.getAxisDescription(DIM_Y).getMax());
+
+        assertEquals(8.0, dataSet.get(DIM_X, 9));
+        dataSet.set(9, 8.0, -100.0); // replaces the value defining the present range
+        dataSet.add(5.5, 55.0);
+        assertFalse(dataSet.getAxisDescription(DIM_Y).isDefined());
+        dataSet.recomputeLimits(DIM_X);
+        assertEquals(-100.0, dataSet.getAxisDescription(DIM_Y).getMin());
+        assertEquals(70.0, dataSet.getAxisDescription(DIM_Y).getMax());
+
+        // defined ranges are still extended
+        dataSet.add(9.0, 200.0);
+        assertEquals(200.0, dataSet.getAxisDescription(DIM_Y).getMax());
+    }
+
+    @Test
+    public void fileMappedTests(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("trace.bin");
+        final MappedDoubleDataSet dataSet = MappedDoubleDataSet.create(file, "mapped", 4);
+        assertTrue(dataSet.isMapped());
+        final int nSamples = 20_000;
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        final double[] ey = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = i;
+            y[i] = Math.sin(0.01 * i);
+            ey[i] = 0.1;
+        }
+        dataSet.add(1.0, 2.0);
+        dataSet.add(x, y, ey, ey); // forces file re-layout
+        assertEquals(nSamples + 1, dataSet.getDataCount());
+        assertEquals(2.0, dataSet.get(DIM_Y, 0));
+        assertEquals(y[nSamples - 1], dataSet.get(DIM_Y, nSamples));
+        assertEquals(0.1, dataSet.getErrorPositive(DIM_Y, nSamples));
+        dataSet.close();
+
+        final MappedDoubleDataSet reopened = MappedDoubleDataSet.open(file, true);
+        assertEquals("trace.bin", reopened.getName());
+        assertEquals(nSamples + 1, reopened.getDataCount());
+        assertArrayEquals(dataSet.getValues(DIM_Y), reopened.getValues(DIM_Y));
+        assertEquals(nSamples - 1.0, reopened.getAxisDescription(DIM_X).getMax());
+        assertEquals(2.0, reopened.getAxisDescription(DIM_Y).getMax());
+        assertEquals(-1.1, reopened.getAxisDescription(DIM_Y).getMin(), 1e-3);
+        assertThrows(IllegalStateException.class, () -> reopened.add(1.0, 2.0));
+        reopened.close();
+
+        Files.write(file, new byte[] { 1, 2, 3 });
+        assertThrows(IOException.class, () -> MappedDoubleDataSet.open(file, false));
+    }
+}
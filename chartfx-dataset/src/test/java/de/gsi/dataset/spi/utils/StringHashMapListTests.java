@@ -0,0 +1,200 @@
+package de.gsi.dataset.spi.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Checks for the sparse run-length encoded label/style map and the style ID pool
+ */
+public class StringHashMapListTests {
+    @Test
+    public void mapInterfaceTests() {
+        final StringHashMapList map = new StringHashMapList();
+        final Map<Integer, String> reference = new HashMap<>();
+        for (int i = 100; i >= 0; i -= 3) {
+            assertNull(map.put(i, "label" + i));
+            reference.put(i, "label" + i);
+        }
+        assertEquals("label4", map.put(4, "new"));
+        reference.put(4, "new");
+        assertEquals(reference, map);
+        assertEquals(map, reference);
+        assertEquals(reference.hashCode(), map.hashCode());
+
+        assertEquals("new", map.get(4));
+        assertEquals("new", map.get((Object) 4));
+        assertNull(map.get(5));
+        assertNull(map.get("4"));
+        assertTrue(map.containsKey(7));
+        assertFalse(map.containsKey(8));
+
+        // null or empty values are not stored
+        assertEquals("label7", map.put(7, ""));
+        assertNull(map.put(8, null));
+        assertNull(map.get(7), "put(key, \"\") removes the key");
+        assertFalse(map.containsKey(7));
+        assertEquals(reference.size() - 1, map.size());
+        assertEquals("label10", map.remove((Object) 10));
+        assertNull(map.remove(11));
+
+        final StringHashMapList copy = new StringHashMapList();
+        copy.putAll(map);
+        assertEquals(map, copy);
+        copy.setAll(map);
+        assertEquals(map, copy);
+
+        final Iterator<Entry<Integer, String>> iterator = copy.entrySet().iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        final int first = iterator.next().getKey();
+        iterator.remove();
+        assertFalse(copy.containsKey(first));
+        assertEquals(map.size() - 1, copy.size());
+        copy.put(1000, "x");
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(4));
+    }
+
+    @Test
+    public void shiftTests() {
+        final StringHashMapList map = new StringHashMapList();
+        map.put(1, "a");
+        map.put(3, "b");
+        map.put(5, "c");
+
+        map.addValueAndShiftKeys(3, 6, "new");
+        assertEquals(Map.of(1, "a", 3, "new", 4, "b", 6, "c"), map);
+
+        map.shiftKeys(0, 3); // key 3 collides with 4 -> shifted value prevails
+        assertEquals(Map.of(2, "a", 4, "new", 6, "c"), map);
+
+        map.remove(2, 5); // no shift
+        assertEquals(Map.of(6, "c"), map);
+
+        map.put(0, "z");
+        map.put(3, "y");
+        map.removeAndShiftKeys(2, 5);
+        assertEquals(Map.of(0, "z", 3, "c"), map);
+    }
+
+    @Test
+    public void runLengthTests() {
+        final StringHashMapList map = new StringHashMapList(true);
+        map.put(0, 10, "a");
+        map.put(10, "a"); // merges with the preceding run
+        map.put(12, 20, "a");
+        assertEquals(2, map.getRunCount());
+        assertEquals(19, map.size());
+        map.put(11, "a"); // bridges both runs
+        assertEquals(1, map.getRunCount());
+        assertEquals(20, map.size());
+
+        map.put(5, "b"); // splits the run
+        assertEquals(3, map.getRunCount());
+        assertEquals("b", map.get(5));
+        assertEquals("a", map.get(4));
+        assertEquals("a", map.get(6));
+        map.remove(5);
+        assertEquals(2, map.getRunCount());
+        assertEquals(19, map.size());
+
+        final String[] values = map.getValues(3, 8, new String[7], 1);
+        assertArrayEquals(new String[] { null, "a", "a", null, "a", "a", null }, values);
+        assertArrayEquals(new String[] { "a", null }, map.getValues(19, 21, null, 0));
+        final StyleIdPool pool = map.getStylePool();
+        assertEquals(1, pool.size());
+        assertSame(pool.getStyle(pool.getId("a")), map.get(0));
+        assertSame(map.get(0), map.get(19));
+
+        map.removeAndShiftKeys(5, 6); // closes the gap -> runs merge
+        assertEquals(1, map.getRunCount());
+        assertEquals(19, map.size());
+        map.shiftKeys(10, 18); // opens a gap at 10
+        assertEquals(2, map.getRunCount());
+        assertNull(map.get(10));
+        assertEquals("a", map.get(19));
+        assertEquals(19, map.size());
+
+        map.put(0, 100, null);
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.getRunCount());
+        assertEquals(0, pool.size(), "styles are released with their last run");
+        assertEquals(StyleIdPool.UNKNOWN_STYLE, pool.getId("a"));
+    }
+
+    @Test
+    public void styleIdPoolTests() {
+        final StyleIdPool pool = new StyleIdPool();
+        assertEquals(StyleIdPool.NO_STYLE, pool.acquire(null));
+        assertEquals(StyleIdPool.NO_STYLE, pool.getId(""));
+        assertNull(pool.getStyle(StyleIdPool.NO_STYLE));
+        assertEquals(StyleIdPool.UNKNOWN_STYLE, pool.getId("markerType=circle;"));
+
+        final int id = pool.acquire("markerType=circle;");
+        assertTrue(id > StyleIdPool.NO_STYLE);
+        assertTrue(id < pool.getIdLimit());
+        assertEquals(id, pool.acquire(new String("markerType=circle;"))); // NOPMD - intentional new instance
+        assertEquals(id, pool.getId(new String("markerType=circle;"))); // NOPMD - intentional new instance
+        assertEquals(1, pool.size());
+        assertThrows(IllegalArgumentException.class, () -> pool.getStyle(-1));
+        assertThrows(IllegalArgumentException.class, () -> pool.getStyle(Integer.MAX_VALUE));
+
+        // reference counted: released with the last reference, ID is recycled
+        pool.release(id);
+        assertEquals(id, pool.getId("markerType=circle;"));
+        pool.release(id);
+        assertEquals(0, pool.size());
+        assertThrows(IllegalArgumentException.class, () -> pool.getStyle(id));
+        assertEquals(id, pool.acquire("markerColor=red;"));
+        assertEquals("markerColor=red;", pool.getStyle(id));
+
+        // the pool is bounded by the styles in use, not by the styles ever used
+        for (int i = 0; i < 1000; i++) {
+            pool.release(pool.acquire("markerSize=" + i + ';'));
+        }
+        assertEquals(1, pool.size());
+        assertTrue(pool.getIdLimit() <= 3);
+    }
+
+    @Test
+    public void dataSetTests() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        for (int i = 0; i < 10; i++) {
+            dataSet.add(i, i, "label" + i);
+        }
+        dataSet.addDataStyle(8, "style8");
+        dataSet.remove(2, 5);
+        assertEquals(7, dataSet.getDataCount());
+        assertEquals("label1", dataSet.getDataLabel(1));
+        assertEquals("label5", dataSet.getDataLabel(2));
+        assertEquals("label9", dataSet.getDataLabel(6));
+        assertEquals("style8", dataSet.getStyle(5));
+
+        dataSet.add(0, -1, -1, "front");
+        assertEquals("front", dataSet.getDataLabel(0));
+        assertEquals("label0", dataSet.getDataLabel(1));
+        assertEquals("style8", dataSet.getStyle(6));
+
+        dataSet.addDataStyle(0, dataSet.getDataCount(), "color=red");
+        assertEquals(1, dataSet.getDataStyleMap().getRunCount());
+        assertEquals("color=red", dataSet.getStyle(6));
+        assertEquals(1, dataSet.getDataStyleMap().getStylePool().size());
+    }
+}
@@ -0,0 +1,102 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Regression testing for @see ArrayPool
+ */
+public class ArrayPoolTests {
+    @Test
+    public void sizeClassTests() {
+        assertEquals(4, ArrayPool.getSizeClass(0));
+        assertEquals(4, ArrayPool.getSizeClass(16));
+        assertEquals(5, ArrayPool.getSizeClass(17));
+        assertEquals(10, ArrayPool.getSizeClass(1024));
+        assertEquals(11, ArrayPool.getSizeClass(1025));
+
+        assertEquals(16, ArrayPool.getBooleanArray(1).length);
+        assertEquals(128, ArrayPool.getByteArray(100).length);
+        assertEquals(128, ArrayPool.getDoubleArray(100).length);
+        assertEquals(128, ArrayPool.getFloatArray(100).length);
+        assertEquals(128, ArrayPool.getIntArray(100).length);
+        assertEquals(128, ArrayPool.getLongArray(100).length);
+        assertEquals(128, ArrayPool.getShortArray(100).length);
+        assertEquals(128, ArrayPool.getStringArray(100).length);
+        assertThrows(IllegalArgumentException.class, () -> ArrayPool.getDoubleArray(-1));
+    }
+
+    @Test
+    public void threadLocalTests() {
+        final double[] original = ArrayPool.getDoubleArray(1000);
+        ArrayPool.release(original);
+        assertDoesNotThrow(() -> ArrayPool.release((double[]) null));
+        ArrayPool.release(new double[1000]); // not a size class -> dropped
+
+        final long hits = ArrayPool.getHits();
+        // different requested size but same size class
+        final double[] copy = ArrayPool.getDoubleArray(600);
+        assertSame(original, copy);
+        assertEquals(hits + 1, ArrayPool.getHits());
+        final long misses = ArrayPool.getMisses();
+        assertNotSame(copy, ArrayPool.getDoubleArray(600));
+        assertEquals(misses + 1, ArrayPool.getMisses());
+
+        final String[] strings = ArrayPool.getStringArray(10);
+        strings[0] = "test";
+        ArrayPool.release(strings);
+        final String[] stringCopy = ArrayPool.getStringArray(10);
+        assertSame(strings, stringCopy);
+        assertNull(stringCopy[0]);
+    }
+
+    @Test
+    public void sharedPoolTests() throws InterruptedException {
+        ArrayPool.clear();
+        assertEquals(0, ArrayPool.getRetainedBytes());
+        final long maxBytes = ArrayPool.getMaxRetainedBytes();
+        try {
+            // fill thread-local slot and release the second array to the shared pool
+            final int[] first = ArrayPool.getIntArray(512);
+            final int[] second = ArrayPool.getIntArray(512);
+            ArrayPool.release(first);
+            ArrayPool.release(second);
+            assertEquals(512L * Integer.BYTES, ArrayPool.getRetainedBytes());
+
+            final AtomicReference<int[]> otherThread = new AtomicReference<>();
+            final Thread thread = new Thread(() -> otherThread.set(ArrayPool.getIntArray(300)));
+            thread.start();
+            thread.join();
+            assertSame(second, otherThread.get());
+            assertEquals(0, ArrayPool.getRetainedBytes());
+
+            // large arrays are never kept thread-local, ie. are always accounted for
+            ArrayPool.release(new double[4096]);
+            assertEquals(4096L * Double.BYTES, ArrayPool.getRetainedBytes());
+            ArrayPool.clear();
+            assertEquals(0, ArrayPool.getRetainedBytes());
+
+            // bounded retention
+            ArrayPool.setMaxRetainedBytes(1024);
+            assertEquals(1024, ArrayPool.getMaxRetainedBytes());
+            ArrayPool.release(new long[256]);
+            ArrayPool.release(new long[256]);
+            assertTrue(ArrayPool.getRetainedBytes() <= 1024);
+            assertThrows(IllegalArgumentException.class, () -> ArrayPool.setMaxRetainedBytes(-1));
+        } finally {
+            ArrayPool.setMaxRetainedBytes(maxBytes);
+            ArrayPool.clear();
+        }
+        assertEquals(0, ArrayPool.getRetainedBytes());
+        assertEquals(0, ArrayPool.getHits());
+    }
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -141,4 +142,24 @@ class CircluarBufferTest {
             }
         }
     }
+
+    @Test
+    public void testDoubleCircularBufferBulkGet() {
+        final DoubleCircularBuffer buffer = new DoubleCircularBuffer(bufferLength);
+        for (int i = 0; i < fillBufferLength; i++) {
+            buffer.put(i);
+        }
+        // wrapped-around read into caller-provided buffer at an offset
+        final double[] into = new double[bufferLength + 2];
+        assertSame(into, buffer.get(into, 2, 0, bufferLength));
+        for (int i = 0; i < bufferLength; i++) {
+            assertEquals(fillBufferLength - bufferLength + i, into[i + 2]);
+        }
+        assertArrayEquals(new double[] { 27.0, 28.0, 29.0 }, buffer.get(null, 2, 3));
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.get(null, 0, bufferLength + 1));
+        assertThrows(IllegalArgumentException.class, () -> buffer.get(null, 0, -1));
+        assertThrows(IllegalArgumentException.class, () -> buffer.get(new double[2], 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> buffer.get(into, -1, 0, 2));
+    }
 }
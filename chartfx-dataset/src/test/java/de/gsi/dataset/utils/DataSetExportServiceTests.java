@@ -0,0 +1,135 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.spi.DoubleDataSet3D;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.dataset.utils.DataSetUtils.Compression;
+
+/**
+ * Checks for the asynchronous DataSet export service
+ */
+public class DataSetExportServiceTests {
+    @Test
+    public void backPressureTests(@TempDir final Path tempDir) throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch blocker = new CountDownLatch(1);
+        try (DataSetExportService service = new DataSetExportService(2, executor)) {
+            executor.submit(() -> blocker.await(10, TimeUnit.SECONDS)); // stall the formatting stage
+            final CompletableFuture<String> first = service.submit(getTestDataSet("a", 10), tempDir, "a.csv");
+            assertEquals(1, service.getRemainingCapacity());
+            assertThrows(RejectedExecutionException.class,
+                    () -> service.submitAll(List.of(getTestDataSet("b", 10), getTestDataSet("c", 10)), tempDir,
+                            "{dataSetName}.csv", Compression.AUTO, false));
+            assertEquals(2, service.getRejectedCount());
+            final CompletableFuture<String> second = service.submit(getTestDataSet("b", 10), tempDir, "b.csv");
+            assertEquals(2, service.getPendingCount());
+            assertThrows(RejectedExecutionException.class,
+                    () -> service.submit(getTestDataSet("c", 10), tempDir, "c.csv"));
+            assertEquals(3, service.getRejectedCount());
+
+            blocker.countDown();
+            assertEquals(tempDir.resolve("a.csv").toString(), first.get(10, TimeUnit.SECONDS));
+            assertEquals(tempDir.resolve("b.csv").toString(), second.get(10, TimeUnit.SECONDS));
+            assertEquals(2, service.getRemainingCapacity());
+        } finally {
+            blocker.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void exportTests(@TempDir final Path tempDir) throws Exception {
+        assertSame(DataSetExportService.getDefault(), DataSetExportService.getDefault());
+        final DataSetExportService service = new DataSetExportService(64, CachedDaemonThreadFactory.getCommonPool());
+        final List<DataSet> dataSets = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            dataSets.add(getTestDataSet("dataSet" + i, 1000));
+        }
+        final CompletableFuture<List<String>> future = service.submitAll(dataSets, tempDir, "{dataSetName}.csv.gz",
+                Compression.AUTO, false);
+        final List<String> fileNames = future.get(10, TimeUnit.SECONDS);
+        assertEquals(dataSets.size(), fileNames.size());
+        assertEquals(0, service.getPendingCount());
+
+        for (int i = 0; i < dataSets.size(); i++) {
+            final DataSet original = dataSets.get(i);
+            final DataSet copy = DataSetUtils.readDataSetFromFile(fileNames.get(i));
+            assertEquals(original.getName(), copy.getName());
+            assertEquals(original.getDataCount(), copy.getDataCount());
+            for (int index = 0; index < original.getDataCount(); index++) {
+                assertEquals(original.get(DIM_X, index), copy.get(DIM_X, index), 1e-6);
+                assertEquals(original.get(DIM_Y, index), copy.get(DIM_Y, index), 1e-6);
+                assertEquals(((DataSetError) original).getErrorPositive(DIM_Y, index),
+                        ((DataSetError) copy).getErrorPositive(DIM_Y, index), 1e-6);
+            }
+        }
+
+        // binary format
+        final String binaryFile = service.submit(dataSets.get(0), tempDir, "binary.bin", Compression.NONE, true)
+                                          .get(10, TimeUnit.SECONDS);
+        assertEquals(dataSets.get(0).getDataCount(), DataSetUtils.readDataSetFromFile(binaryFile).getDataCount());
+
+        service.close();
+        assertThrows(RejectedExecutionException.class, () -> service.submit(dataSets.get(0), tempDir, "x.csv"));
+        assertThrows(IllegalArgumentException.class, () -> new DataSetExportService(0, null));
+    }
+
+    @Test
+    public void nonSnapshotDataSetTests(@TempDir final Path tempDir) throws Exception {
+        final DataSet dataSet = new DoubleDataSet3D("threeDim", new double[] { 1, 2 }, new double[] { 3, 4, 5 },
+                new double[][] { { 1, 2 }, { 3, 4 }, { 5, 6 } });
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread writer = new Thread(() -> dataSet.lock().writeLockGuard(() -> {
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        writer.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        // N.B. formatting takes place on the executor, ie. the caller does not wait for the DataSet lock
+        final DataSetExportService service = new DataSetExportService(4, CachedDaemonThreadFactory.getCommonPool());
+        final CompletableFuture<String> future = service.submit(dataSet, tempDir, "{dataSetName}.csv");
+        assertFalse(future.isDone());
+        release.countDown();
+        assertEquals(tempDir.resolve("threeDim.csv").toString(), future.get(10, TimeUnit.SECONDS));
+        writer.join();
+        assertEquals(dataSet.getDataCount(), DataSetUtils.readDataSetFromFile(future.get()).getDataCount());
+    }
+
+    private static DataSet getTestDataSet(final String name, final int nSamples) {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet(name, nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            dataSet.add(i, Math.sin(0.01 * i), 0.1, 0.2);
+        }
+        dataSet.getMetaInfo().put("key", "value");
+        return dataSet;
+    }
+}
@@ -2,9 +2,12 @@ package de.gsi.dataset.utils;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Map;
@@ -12,6 +15,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.slf4j.Logger;
@@ -32,6 +36,22 @@ public class DataSetUtilsTest {
     private static final Logger LOGGER = LoggerFactory.getLogger(DataSetUtilsTest.class);
     private static final double EPSILON = 1e-6;
 
+    @Test
+    @DisplayName("Reject incomplete 3D numeric data")
+    public void readIncomplete3DNumericData() {
+        final String grid = "0,1.0,10.0,1.0\n1,2.0,10.0,2.0\n2,1.0,20.0,3.0\n3,2.0,20.0,4.0\n";
+        final DataSet dataSet = DataSetUtils.readNumericDataFromFile(new BufferedReader(new StringReader(grid)),
+                "complete", true, 4);
+        assertTrue(dataSet instanceof DataSet3D);
+        assertEquals(2, dataSet.getDataCount(DataSet.DIM_X));
+        assertEquals(2, dataSet.getDataCount(DataSet.DIM_Y));
+
+        // trailing partial row
+        final String partial = grid + "4,1.0,30.0,5.0\n";
+        assertNull(DataSetUtils.readNumericDataFromFile(new BufferedReader(new StringReader(partial)), "partial", true,
+                5));
+    }
+
     @ParameterizedTest()
     @CsvSource({ //
             "test.csv,               test.csv               ", // plain filename
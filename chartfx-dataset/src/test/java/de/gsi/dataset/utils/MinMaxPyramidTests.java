@@ -0,0 +1,196 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.event.InvalidatedEvent;
+import de.gsi.dataset.event.UpdatedDataEvent;
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Checks for the multi-resolution min/max index and its incremental maintenance by DoubleDataSet
+ */
+public class MinMaxPyramidTests {
+    private static final int BIN_SIZE = 4;
+
+    @Test
+    public void basicTests() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxPyramid(dataSet, DIM_Y, 3));
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxPyramid(dataSet, DIM_Y, 1));
+
+        assertNull(dataSet.getMinMaxPyramid());
+        dataSet.setMinMaxPyramidEnabled(true);
+        final MinMaxPyramid pyramid = dataSet.getMinMaxPyramid();
+        assertNotNull(pyramid);
+        assertEquals(MinMaxPyramid.DEFAULT_BIN_SIZE, pyramid.getBinSize());
+        assertEquals(-1, pyramid.getMinIndex(0, 10));
+
+        for (int i = 0; i < 10; i++) {
+            dataSet.add(i, i == 3 || i == 4 ? Double.NaN : 5 - i);
+        }
+        assertEquals(9, pyramid.getMinIndex(0, 10));
+        assertEquals(0, pyramid.getMaxIndex(0, 10));
+        assertEquals(2, pyramid.getMinIndex(1, 5));
+        assertEquals(-1, pyramid.getMaxIndex(3, 5));
+        dataSet.setMinMaxPyramidEnabled(false);
+        assertNull(dataSet.getMinMaxPyramid());
+    }
+
+    @Test
+    public void incrementalTests() {
+        final Random random = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        final MinMaxPyramid pyramid = new MinMaxPyramid(dataSet, DIM_Y, BIN_SIZE);
+        for (int i = 0; i < 1000; i++) {
+            dataSet.add(i, random.nextGaussian());
+            if (i % 97 == 0) {
+                checkRanges(dataSet, pyramid, random);
+            }
+        }
+        assertTrue(pyramid.getLevelCount() > 5);
+
+        // modifications need to be signalled
+        dataSet.set(500, 500, 100.0);
+        pyramid.invalidate(500);
+        assertEquals(500, pyramid.getMaxIndex(0, 1000));
+        checkRanges(dataSet, pyramid, random);
+        dataSet.remove(100, 600);
+        pyramid.invalidate(100);
+        checkRanges(dataSet, pyramid, random);
+    }
+
+    @Test
+    public void dataSetTests() {
+        final Random random = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        dataSet.setMinMaxPyramidEnabled(true);
+        final MinMaxPyramid pyramid = dataSet.getMinMaxPyramid();
+        final double[] x = new double[5000];
+        final double[] y = new double[5000];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+            y[i] = random.nextGaussian();
+        }
+        dataSet.add(x, y);
+        checkRanges(dataSet, pyramid, random);
+
+        // the data set invalidates the index on all non-append modifications
+        dataSet.set(1234, 1234, 100.0);
+        assertEquals(1234, pyramid.getMaxIndex(0, dataSet.getDataCount()));
+        dataSet.set(1234, new double[] { 1234, 1235 }, new double[] { -100.0, 0.0 });
+        assertEquals(1234, pyramid.getMinIndex(0, dataSet.getDataCount()));
+        dataSet.add(10, 9.5, 200.0);
+        assertEquals(10, pyramid.getMaxIndex(0, dataSet.getDataCount()));
+        dataSet.remove(0, 1000);
+        checkRanges(dataSet, pyramid, random);
+        dataSet.set(x, y);
+        checkRanges(dataSet, pyramid, random);
+        dataSet.clearData();
+        assertEquals(-1, pyramid.getMaxIndex(0, 10));
+    }
+
+    @Test
+    public void externalModificationTests() {
+        final Random random = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        dataSet.setMinMaxPyramidEnabled(true);
+        final MinMaxPyramid pyramid = dataSet.getMinMaxPyramid();
+        for (int i = 0; i < 1000; i++) {
+            dataSet.add(i, random.nextGaussian());
+        }
+        checkRanges(dataSet, pyramid, random);
+
+        // in-place modification of the backing array, signalled via a range-less event: full invalidation
+        dataSet.getYValues()[700] = 100.0;
+        dataSet.fireInvalidated(new UpdatedDataEvent(dataSet, "external"));
+        assertEquals(700, pyramid.getMaxIndex(0, dataSet.getDataCount()));
+        checkRanges(dataSet, pyramid, random);
+
+        // signalled via an event with index range: invalidated from the first modified sample on
+        dataSet.getValues(DIM_Y)[300] = -100.0;
+        dataSet.fireInvalidated(new UpdatedDataEvent(dataSet, "external", 0, 300, 301, dataSet.getDataCount()));
+        assertEquals(300, pyramid.getMinIndex(0, dataSet.getDataCount()));
+
+        dataSet.getYValues()[10] = 200.0;
+        dataSet.fireInvalidated(new InvalidatedEvent(dataSet, "external"));
+        assertEquals(10, pyramid.getMaxIndex(0, dataSet.getDataCount()));
+        checkRanges(dataSet, pyramid, random);
+    }
+
+    @Test
+    public void envelopeTests() {
+        final Random random = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        for (int i = 0; i < 10_000; i++) {
+            dataSet.add(i, random.nextGaussian());
+        }
+        final MinMaxPyramid pyramid = new MinMaxPyramid(dataSet, DIM_Y, BIN_SIZE);
+        final int nColumns = 7;
+        final int[] boundaries = { 10, 11, 11, 500, 2001, 2003, 7777, 9999 };
+        final int[] envelope = new int[4 * nColumns];
+        assertThrows(IllegalArgumentException.class,
+                () -> pyramid.getEnvelopeIndices(boundaries, nColumns, new int[3]));
+        final int count = pyramid.getEnvelopeIndices(boundaries, nColumns, envelope);
+
+        int expectedCount = 0;
+        for (int column = 0; column < nColumns; column++) {
+            final int from = boundaries[column];
+            final int to = boundaries[column + 1];
+            if (to <= from) {
+                continue;
+            }
+            final int minIndex = bruteForce(dataSet, from, to, true);
+            final int maxIndex = bruteForce(dataSet, from, to, false);
+            final long distinct = IntStream.of(from, minIndex, maxIndex, to - 1).distinct().count();
+            expectedCount += (int) distinct;
+            for (final int index : new int[] { from, minIndex, maxIndex, to - 1 }) {
+                boolean found = false;
+                for (int i = 0; i < count; i++) {
+                    found |= envelope[i] == index;
+                }
+                assertTrue(found, "column " + column + " misses index " + index);
+            }
+        }
+        assertEquals(expectedCount, count);
+        for (int i = 1; i < count; i++) {
+            assertTrue(envelope[i] > envelope[i - 1], "ascending unique indices");
+        }
+    }
+
+    private static int bruteForce(final DoubleDataSet dataSet, final int from, final int to, final boolean min) {
+        int result = -1;
+        for (int i = from; i < to; i++) {
+            final double value = dataSet.get(DIM_Y, i);
+            if (!Double.isFinite(value)) {
+                continue;
+            }
+            if (result < 0 || (min ? value < dataSet.get(DIM_Y, result) : value > dataSet.get(DIM_Y, result))) {
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    private static void checkRanges(final DoubleDataSet dataSet, final MinMaxPyramid pyramid, final Random random) {
+        final int dataCount = dataSet.getDataCount();
+        for (int test = 0; test < 50; test++) {
+            final int from = random.nextInt(dataCount + 1);
+            final int to = from + random.nextInt(dataCount - from + 1);
+            assertEquals(bruteForce(dataSet, from, to, true), pyramid.getMinIndex(from, to),
+                    "min for [" + from + ", " + to + "[");
+            assertEquals(bruteForce(dataSet, from, to, false), pyramid.getMaxIndex(from, to),
+                    "max for [" + from + ", " + to + "[");
+        }
+    }
+}
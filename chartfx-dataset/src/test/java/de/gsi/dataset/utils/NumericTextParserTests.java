@@ -0,0 +1,86 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Regression testing for @see NumericTextParser
+ */
+public class NumericTextParserTests {
+    @Test
+    public void parseDoubleTests() {
+        final String[] samples = { "0", "-0", "0.0", "-0.0", "1", "+1", "1.0", "3.141592653589793", "1e10", "1E-10",
+            "1.7976931348623157E308", "4.9E-324", "2.2250738585072014E-308", "1e400", "-1e400", "1e-400", "NaN",
+            "Infinity", "-Infinity", "123456789012345678901234567890", "0.1234567890123456789012345",
+            "9007199254740993", "  42.5 ", "\t-7\r", "1.5d", ".5", "5.", "0.000001", "12345678901234567890" };
+        for (final String sample : samples) {
+            assertParsed(sample);
+        }
+
+        // random doubles in shortest and long representation
+        final Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            final double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            assertParsed(Double.toString(value));
+            assertParsed(String.format("%.18e", value));
+            assertParsed(Double.toString(random.nextGaussian()));
+            assertParsed(Long.toString(random.nextLong() >>> 1) + "e" + (random.nextInt(600) - 300));
+        }
+
+        for (final String invalid : new String[] { "", "  ", "abc", "1.2.3", "1e", "--1", ".", "1,0", "NaNa" }) {
+            assertThrows(NumberFormatException.class,
+                    () -> NumericTextParser.parseDouble(invalid.toCharArray(), 0, invalid.length()), invalid);
+        }
+    }
+
+    @Test
+    public void parseColumnTests() throws IOException {
+        final int nLines = 200_000;
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < nLines; i++) {
+            builder.append(i).append(',').append(0.1 * i).append(',').append(Math.sin(i));
+            if (i % 3 != 0) {
+                builder.append(",0.5,").append(1.5);
+            }
+            builder.append(i % 1000 == 0 ? "\r\n\n" : "\n");
+        }
+
+        // small block size: forces block carry-over, large: forces parallel chunks
+        for (final int blockSize : new int[] { 100, 1 << 20 }) {
+            final NumericTextParser parser = new NumericTextParser(5, 10, blockSize);
+            parser.parse(new StringReader(builder.toString()));
+            assertEquals(nLines, parser.getRowCount());
+            for (int i = 0; i < nLines; i++) {
+                assertEquals(i, parser.getColumn(0)[i]);
+                assertEquals(0.1 * i, parser.getColumn(1)[i]);
+                assertEquals(Math.sin(i), parser.getColumn(2)[i]);
+                assertEquals(i % 3 == 0 ? 0.0 : 0.5, parser.getColumn(3)[i]);
+                assertEquals(i % 3 == 0 ? 0.0 : 1.5, parser.getColumn(4)[i]);
+            }
+        }
+
+        final char[] chars = "1,2\n3,4,5,6\n".toCharArray();
+        final NumericTextParser parser = new NumericTextParser(3, 0).parse(chars, 0, chars.length);
+        assertEquals(2, parser.getRowCount());
+        assertEquals(5.0, parser.getColumn(2)[1]);
+        assertThrows(IllegalArgumentException.class, () -> new NumericTextParser(0, 10));
+        assertThrows(NumberFormatException.class, () -> new NumericTextParser(2, 10).parse(new StringReader("1,x\n")));
+        assertThrows(NumberFormatException.class, () -> new NumericTextParser(3, 10).parse(new StringReader("1,,3\n")));
+    }
+
+    private static void assertParsed(final String str) {
+        final char[] chars = ("," + str + ",").toCharArray();
+        final double expected = Double.parseDouble(str);
+        final double actual = NumericTextParser.parseDouble(chars, 1, chars.length - 1);
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual), str);
+    }
+}
@@ -0,0 +1,166 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+import static de.gsi.dataset.utils.CachedDaemonThreadFactory.getCommonPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Checks for the parallel block-compressing GZIP streams
+ */
+public class ParallelGZIPStreamTests {
+    private static final int BLOCK_SIZE = 1000;
+
+    @Test
+    public void compatibilityTests() throws IOException {
+        final byte[] data = getTestData(10_500);
+
+        // parallel writer -> standard reader
+        final byte[] parallel = compress(data, true);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(parallel))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+
+        // standard writer -> parallel reader (sequential fall-back)
+        final byte[] standard = compress(data, false);
+        try (InputStream in = new ParallelGZIPInputStream(new ByteArrayInputStream(standard))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+
+        // mixed: parallel members followed by a standard member
+        final ByteArrayOutputStream mixed = new ByteArrayOutputStream();
+        mixed.write(parallel);
+        mixed.write(standard);
+        try (InputStream in = new ParallelGZIPInputStream(new ByteArrayInputStream(mixed.toByteArray()))) {
+            final byte[] result = in.readAllBytes();
+            assertEquals(2 * data.length, result.length);
+            for (int i = 0; i < result.length; i++) {
+                assertEquals(data[i % data.length], result[i]);
+            }
+        }
+    }
+
+    @Test
+    public void dataSetFileTests(@TempDir final Path tempDir) {
+        final DoubleDataSet dataSet = new DoubleDataSet("test", 10_000);
+        for (int i = 0; i < 10_000; i++) {
+            dataSet.add(i, Math.sin(0.01 * i));
+        }
+        final boolean oldState = DataSetUtils.useParallelCompression();
+        try {
+            DataSetUtils.setUseParallelCompression(true);
+            assertTrue(DataSetUtils.useParallelCompression());
+            final String fileName = DataSetUtils.writeDataSetToFile(dataSet, tempDir, "test.csv.gz");
+            final DataSet copy = DataSetUtils.readDataSetFromFile(fileName);
+            assertEquals(dataSet.getDataCount(), copy.getDataCount());
+            for (int i = 0; i < dataSet.getDataCount(); i++) {
+                assertEquals(dataSet.get(DIM_X, i), copy.get(DIM_X, i), 1e-6);
+                assertEquals(dataSet.get(DIM_Y, i), copy.get(DIM_Y, i), 1e-6);
+            }
+        } finally {
+            DataSetUtils.setUseParallelCompression(oldState);
+        }
+    }
+
+    @Test
+    public void poolSaturationTests() throws Exception {
+        // N.B. streams used from all threads of the common pool (e.g. exports) must not wait for their own pool
+        final byte[] data = getTestData(3 * ParallelGZIPOutputStream.DEFAULT_BLOCK_SIZE + 13);
+        final List<Callable<byte[]>> tasks = new ArrayList<>();
+        for (int i = 0; i < CachedDaemonThreadFactory.getNumbersOfThreads(); i++) {
+            tasks.add(() -> {
+                final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                try (OutputStream out = new ParallelGZIPOutputStream(bos)) {
+                    out.write(data);
+                }
+                try (InputStream in = new ParallelGZIPInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+                    return in.readAllBytes();
+                }
+            });
+        }
+        for (final Future<byte[]> future : getCommonPool().invokeAll(tasks, 30, TimeUnit.SECONDS)) {
+            assertArrayEquals(data, future.get());
+        }
+    }
+
+    @Test
+    public void roundTripTests() throws IOException {
+        for (final int length : new int[] { 0, 1, BLOCK_SIZE - 1, BLOCK_SIZE, 37 * BLOCK_SIZE + 13 }) {
+            final byte[] data = getTestData(length);
+            final byte[] compressed = compress(data, true);
+            try (InputStream in = new ParallelGZIPInputStream(new ByteArrayInputStream(compressed))) {
+                assertArrayEquals(data, in.readAllBytes(), "length = " + length);
+                assertEquals(-1, in.read());
+            }
+        }
+
+        // single byte access and flush
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = new ParallelGZIPOutputStream(bos, BLOCK_SIZE, getCommonPool())) {
+            out.write(42);
+            out.flush();
+            out.write(43);
+        }
+        try (InputStream in = new ParallelGZIPInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            assertEquals(42, in.read());
+            assertEquals(43, in.read());
+            assertEquals(-1, in.read());
+            assertThrows(IndexOutOfBoundsException.class, () -> in.read(new byte[2], 1, 2));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelGZIPOutputStream(bos, 0, getCommonPool()));
+    }
+
+    @Test
+    public void corruptionTests() throws IOException {
+        final byte[] compressed = compress(getTestData(5 * BLOCK_SIZE), true);
+        compressed[compressed.length - 6] ^= 0x01; // flip a CRC bit of the last member
+        try (InputStream in = new ParallelGZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThrows(ZipException.class, in::readAllBytes);
+        }
+    }
+
+    private static byte[] compress(final byte[] data, final boolean parallel) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = parallel ? new ParallelGZIPOutputStream(bos, BLOCK_SIZE, getCommonPool())
+                                         : new GZIPOutputStream(bos)) {
+            out.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] getTestData(final int length) {
+        final Random random = new Random(42);
+        final byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i % 64 + random.nextInt(4));
+        }
+        return data;
+    }
+}
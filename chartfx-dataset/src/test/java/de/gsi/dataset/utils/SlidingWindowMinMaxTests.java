@@ -0,0 +1,106 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.spi.CircularDoubleErrorDataSet;
+import de.gsi.dataset.spi.FifoDoubleErrorDataSet;
+
+/**
+ * Checks for the incremental min/max tracking of SlidingWindowMinMax and the data sets using it
+ */
+public class SlidingWindowMinMaxTests {
+    @Test
+    public void basicTests() {
+        final SlidingWindowMinMax minMax = new SlidingWindowMinMax(3);
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowMinMax(0));
+        assertFalse(minMax.isDefined());
+        assertEquals(Double.NaN, minMax.getMin());
+
+        minMax.add(5.0);
+        minMax.add(1.0);
+        minMax.add(3.0);
+        assertEquals(3, minMax.size());
+        assertEquals(1.0, minMax.getMin());
+        assertEquals(5.0, minMax.getMax());
+
+        minMax.add(2.0); // drops 5.0
+        assertEquals(3, minMax.size());
+        assertEquals(3.0, minMax.getMax());
+        minMax.add(Double.NaN); // drops 1.0
+        assertEquals(2.0, minMax.getMin());
+
+        minMax.removeOldest(2);
+        assertEquals(1, minMax.size());
+        assertFalse(minMax.isDefined(), "only NaN left");
+
+        minMax.add(-1.0, 1.0);
+        assertEquals(-1.0, minMax.getMin());
+        assertEquals(1.0, minMax.getMax());
+
+        minMax.add(new double[] { 7.0, 8.0, 9.0, 10.0, 11.0 }, 1, 4);
+        assertEquals(3, minMax.size());
+        assertEquals(9.0, minMax.getMin());
+        assertEquals(11.0, minMax.getMax());
+
+        minMax.reset();
+        assertEquals(0, minMax.size());
+        assertFalse(minMax.isDefined());
+    }
+
+    @Test
+    public void randomWindowTests() {
+        final int capacity = 17;
+        final SlidingWindowMinMax minMax = new SlidingWindowMinMax(capacity);
+        final CircularBuffer<Double> reference = new CircularBuffer<>(capacity);
+        final Random rnd = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final double value = rnd.nextGaussian();
+            minMax.add(value);
+            reference.put(value);
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int j = 0; j < reference.available(); j++) {
+                min = Math.min(min, reference.get(j));
+                max = Math.max(max, reference.get(j));
+            }
+            assertEquals(min, minMax.getMin());
+            assertEquals(max, minMax.getMax());
+        }
+    }
+
+    @Test
+    public void dataSetRangeTests() {
+        final CircularDoubleErrorDataSet circular = new CircularDoubleErrorDataSet("circular", 3);
+        circular.add(0.0, 10.0, 1.0, 2.0);
+        circular.add(1.0, 1.0, 0.5, 0.5);
+        circular.add(2.0, 2.0, 0.5, 0.5);
+        assertEquals(12.0, circular.getAxisDescription(DIM_Y).getMax());
+        circular.add(3.0, 3.0, 0.5, 0.5); // expires first sample
+        assertEquals(1.0, circular.getAxisDescription(DIM_X).getMin());
+        assertEquals(3.5, circular.getAxisDescription(DIM_Y).getMax());
+        assertEquals(0.5, circular.getAxisDescription(DIM_Y).getMin());
+
+        final FifoDoubleErrorDataSet fifo = new FifoDoubleErrorDataSet("fifo", 10, 2.5);
+        for (int i = 0; i < 5; i++) {
+            fifo.add(i, 10.0 * i, 0.0, 0.0);
+        }
+        assertEquals(3, fifo.getDataCount());
+        assertEquals(2.0, fifo.getAxisDescription(DIM_X).getMin());
+        assertEquals(20.0, fifo.getAxisDescription(DIM_Y).getMin());
+        assertEquals(40.0, fifo.getAxisDescription(DIM_Y).getMax());
+        assertEquals(1, fifo.expire(5.0));
+        assertEquals(30.0, fifo.getAxisDescription(DIM_Y).getMin());
+        fifo.reset();
+        assertTrue(!fifo.getAxisDescription(DIM_Y).isDefined());
+    }
+}
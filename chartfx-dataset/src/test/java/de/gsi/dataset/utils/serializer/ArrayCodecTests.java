@@ -0,0 +1,173 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.serializer.ArrayCodec;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.BinarySerialiser.HeaderInfo;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.codec.DeltaOfDeltaCodec;
+import de.gsi.dataset.serializer.spi.codec.QuantisationCodec;
+import de.gsi.dataset.serializer.spi.codec.ShuffleLzCodec;
+import de.gsi.dataset.serializer.spi.codec.XorCodec;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetSerialiser;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Checks for the numeric array compression codecs
+ */
+public class ArrayCodecTests {
+    private static final int N_SAMPLES = 100_000;
+
+    @Test
+    public void losslessCodecTests() {
+        final Random random = new Random(42);
+        final double[] noise = new double[N_SAMPLES];
+        final double[] sine = new double[N_SAMPLES];
+        final double[] axis = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            noise[i] = random.nextGaussian();
+            sine[i] = Math.sin(0.001 * i);
+            axis[i] = 1.5e9 + 1e-3 * i;
+        }
+        final double[] special = { Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.MIN_VALUE, Double.MAX_VALUE, 1.0, 1.0, 1.0 };
+
+        final ArrayCodec[] codecs = { new DeltaOfDeltaCodec(), new XorCodec(), new ShuffleLzCodec() };
+        for (final ArrayCodec codec : codecs) {
+            assertTrue(codec.isLossless());
+            assertSame(codec.getClass(), BinarySerialiser.getCodec(codec.getId()).getClass());
+            for (final double[] values : new double[][] { noise, sine, axis, special, new double[0] }) {
+                final double[] decoded = codec.decode(codec.encode(values, values.length));
+                assertEquals(values.length, decoded.length);
+                for (int i = 0; i < values.length; i++) {
+                    assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(decoded[i]),
+                            codec.getClass().getSimpleName() + " - index " + i);
+                }
+            }
+            // partial array
+            assertArrayEquals(new double[] { 0.0, 1.0 }, codec.decode(codec.encode(new double[] { 0.0, 1.0, 2.0 }, 2)));
+        }
+    }
+
+    @Test
+    public void compressionRatioTests() {
+        final double[] equidistant = new double[N_SAMPLES];
+        final double[] constant = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            equidistant[i] = 1024.0 + 0.125 * i;
+            constant[i] = 42.0;
+        }
+        final long rawBytes = (long) Double.BYTES * N_SAMPLES;
+        assertTrue(new DeltaOfDeltaCodec().encode(equidistant, N_SAMPLES).length < 0.05 * rawBytes);
+        assertTrue(new XorCodec().encode(constant, N_SAMPLES).length < 0.05 * rawBytes);
+        assertTrue(new ShuffleLzCodec().encode(constant, N_SAMPLES).length < 0.05 * rawBytes);
+        assertTrue(new ShuffleLzCodec().encode(equidistant, N_SAMPLES).length < 0.5 * rawBytes);
+    }
+
+    @Test
+    public void quantisationCodecTests() {
+        final double maxError = 1e-4;
+        final QuantisationCodec codec = new QuantisationCodec(maxError);
+        assertFalse(codec.isLossless());
+        assertEquals(maxError, codec.getMaxError());
+        assertEquals(QuantisationCodec.DEFAULT_MAX_ERROR, new QuantisationCodec().getMaxError());
+        final double[] values = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            values[i] = 10.0 * Math.sin(0.001 * i);
+        }
+        values[3] = Double.NaN;
+        values[7] = Double.NEGATIVE_INFINITY;
+        final byte[] encoded = codec.encode(values, N_SAMPLES);
+        assertTrue(encoded.length < 0.25 * Double.BYTES * N_SAMPLES, "encoded length = " + encoded.length);
+        final double[] decoded = codec.decode(encoded);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            if (Double.isFinite(values[i])) {
+                assertEquals(values[i], decoded[i], maxError * (1 + 1e-9), "index " + i);
+            }
+        }
+        assertTrue(Double.isNaN(decoded[3]));
+        assertEquals(Double.NEGATIVE_INFINITY, decoded[7]);
+
+        assertThrows(IllegalArgumentException.class, () -> new QuantisationCodec(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new QuantisationCodec(Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+                () -> new QuantisationCodec(1e-300).encode(new double[] { -1e10, 1e10 }, 2));
+    }
+
+    @Test
+    public void serialiserTests() {
+        final double[] values = { 1.0, 2.0, 3.0, 4.0 };
+        final FastByteBuffer buffer = new FastByteBuffer();
+        BinarySerialiser.put(buffer, "compressed", values, new int[] { values.length }, new XorCodec());
+        BinarySerialiser.put(buffer, "plain", values, new int[] { values.length }, null);
+        buffer.reset();
+        FieldHeader header = BinarySerialiser.getFieldHeader(buffer);
+        assertEquals(XorCodec.ID, header.getCodec().getId());
+        assertArrayEquals(new int[] { values.length }, header.getDataDimensions());
+        buffer.position(header.getDataBufferPosition());
+        assertArrayEquals(values, BinarySerialiser.getDoubleArray(buffer, header));
+        header = BinarySerialiser.getFieldHeader(buffer);
+        assertNull(header.getCodec());
+        buffer.position(header.getDataBufferPosition());
+        assertArrayEquals(values, BinarySerialiser.getDoubleArray(buffer, header));
+
+        assertThrows(IllegalStateException.class, () -> BinarySerialiser.getCodec(100));
+        assertThrows(IllegalArgumentException.class, () -> BinarySerialiser.registerCodec(new XorCodec() {
+            @Override
+            public byte getId() {
+                return 0;
+            }
+        }));
+
+        // complete DataSet
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(0.5 * i, Math.sin(0.001 * i), 0.1, 0.1);
+        }
+        final FastByteBuffer dataSetBuffer = new FastByteBuffer();
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, dataSetBuffer, false);
+        final long uncompressedSize = dataSetBuffer.position();
+        dataSetBuffer.reset();
+        assertFalse(BinarySerialiser.checkHeaderInfo(dataSetBuffer).isCompressed(), "uncompressed stream version");
+        dataSetBuffer.reset();
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, dataSetBuffer, false, new DeltaOfDeltaCodec(),
+                new XorCodec());
+        assertTrue(dataSetBuffer.position() < uncompressedSize / 2,
+                "compressed " + dataSetBuffer.position() + " vs. " + uncompressedSize);
+        dataSetBuffer.reset();
+        final HeaderInfo headerInfo = BinarySerialiser.checkHeaderInfo(dataSetBuffer);
+        assertTrue(headerInfo.isCompressed());
+        assertEquals(BinarySerialiser.VERSION_MAJOR_COMPRESSION, headerInfo.getVersionMajor());
+        dataSetBuffer.reset();
+        final DataSet copy = DataSetSerialiser.readDataSetFromByteArray(dataSetBuffer);
+        assertEquals(N_SAMPLES, copy.getDataCount());
+        for (int i = 0; i < N_SAMPLES; i++) {
+            assertEquals(dataSet.get(DIM_X, i), copy.get(DIM_X, i));
+            assertEquals(dataSet.get(DIM_Y, i), copy.get(DIM_Y, i));
+        }
+
+        // compressed arrays are rejected in streams declared as uncompressed
+        dataSetBuffer.reset();
+        BinarySerialiser.putHeaderInfo(dataSetBuffer);
+        BinarySerialiser.put(dataSetBuffer, "x", dataSet.getXValues(), new int[] { N_SAMPLES }, new XorCodec());
+        BinarySerialiser.putEndMarker(dataSetBuffer, "OBJ_ROOT_END");
+        dataSetBuffer.reset();
+        assertThrows(IllegalStateException.class, () -> DataSetSerialiser.readDataSetFromByteArray(dataSetBuffer));
+    }
+}
@@ -0,0 +1,154 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.serializer.spi.archive.ArchiveChunk;
+import de.gsi.dataset.serializer.spi.archive.DataSetArchiveReader;
+import de.gsi.dataset.serializer.spi.archive.DataSetArchiveWriter;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Checks for the columnar, chunked DataSet archive format
+ */
+public class DataSetArchiveTests {
+    private static final int CHUNK_SIZE = 1000;
+
+    @Test
+    public void appendAndReopenTests(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("archive.bin");
+        try (DataSetArchiveWriter writer = new DataSetArchiveWriter(file, CHUNK_SIZE, true)) {
+            writer.append(getTestDataSet(0, 2500, false));
+        }
+        try (DataSetArchiveWriter writer = new DataSetArchiveWriter(file, CHUNK_SIZE, true)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.append(getTestDataSet(0, 10, false)));
+            assertThrows(IllegalArgumentException.class, () -> writer.append(getTestDataSet(3000, 10, true)));
+            writer.append(getTestDataSet(2500, 500, false));
+        }
+
+        // simulate crash while writing: incomplete trailing chunk
+        final long validLength = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] { 100, 0, 0, 0, 1, 2, 3 }));
+        }
+        try (DataSetArchiveReader reader = new DataSetArchiveReader(file)) {
+            assertEquals(validLength, reader.getValidByteLength());
+            assertEquals(4, reader.getChunks().size());
+            assertEquals(3000, reader.getDataCount());
+            final DataSet all = reader.readRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+            assertTrue(all instanceof DoubleDataSet);
+            assertEquals(3000, all.getDataCount());
+            for (int i = 0; i < all.getDataCount(); i++) {
+                assertEquals(i, all.get(DIM_X, i));
+                assertEquals((float) Math.sin(0.01 * i), all.get(DIM_Y, i));
+            }
+        }
+        try (DataSetArchiveWriter writer = new DataSetArchiveWriter(file, CHUNK_SIZE, true)) {
+            assertEquals(validLength, Files.size(file));
+        }
+    }
+
+    @Test
+    public void corruptChunkTests(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("archive.bin");
+        try (DataSetArchiveWriter writer = new DataSetArchiveWriter(file, CHUNK_SIZE, false)) {
+            writer.append(getTestDataSet(0, 2000, false));
+        }
+
+        // garbage trailing chunk with a plausible length: treated as torn
+        final long validLength = Files.size(file);
+        final java.nio.ByteBuffer garbage = java.nio.ByteBuffer.allocate(ArchiveChunk.PREFIX_SIZE + 16)
+                                                    .order(ByteOrder.nativeOrder());
+        garbage.putInt(16).putInt(42).put(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 }).flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(garbage);
+        }
+        try (DataSetArchiveReader reader = new DataSetArchiveReader(file)) {
+            assertEquals(validLength, reader.getValidByteLength());
+            assertEquals(2, reader.getChunks().size());
+            assertEquals(0, reader.refresh());
+        }
+        try (DataSetArchiveWriter writer = new DataSetArchiveWriter(file, CHUNK_SIZE, false)) {
+            assertEquals(validLength, Files.size(file));
+        }
+
+        // corrupt data within the first chunk fails the checksum, and is followed by valid data
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] { 0x7f }), validLength / 4);
+        }
+        assertThrows(IllegalStateException.class, () -> new DataSetArchiveReader(file).close());
+    }
+
+    @Test
+    public void readRangeTests(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("archive.bin");
+        try (DataSetArchiveWriter writer = new DataSetArchiveWriter(file, CHUNK_SIZE, false);
+                DataSetArchiveReader reader = new DataSetArchiveReader(file)) {
+            assertNull(reader.getName());
+            assertEquals(0, reader.readRange(0, 10).getDataCount());
+            for (int i = 0; i < 10; i++) {
+                writer.append(getTestDataSet(i * 950, 950, true));
+            }
+            assertEquals(500, writer.getPendingCount());
+            writer.flush();
+            assertEquals(10, reader.refresh());
+            assertEquals("test", reader.getName());
+            assertEquals(9500, reader.getDataCount());
+
+            final ArchiveChunk chunk = reader.getChunks().get(3);
+            assertEquals(CHUNK_SIZE, chunk.getDataCount());
+            assertEquals(3000, chunk.getXMin());
+            assertEquals(3999, chunk.getXMax());
+            assertEquals(0.1, chunk.getMin(ArchiveChunk.COLUMN_EYN));
+            assertThrows(IllegalArgumentException.class, () -> chunk.getMin("unknown"));
+
+            // only the chunks overlapping the range are touched
+            assertEquals(2, reader.getChunks(4500.5, 5200).size());
+            final DataSet range = reader.readRange(4500.5, 5200);
+            assertTrue(range instanceof DoubleErrorDataSet);
+            assertEquals(700, range.getDataCount());
+            for (int i = 0; i < range.getDataCount(); i++) {
+                final double x = 4501 + i;
+                assertEquals(x, range.get(DIM_X, i));
+                assertEquals(Math.sin(0.01 * x), range.get(DIM_Y, i));
+                assertEquals(0.2, ((DataSetError) range).getErrorPositive(DIM_Y, i));
+            }
+            assertEquals(1, reader.readRange(9499, 20_000).getDataCount());
+            assertEquals(0, reader.readRange(-10, -1).getDataCount());
+            assertThrows(IllegalArgumentException.class, () -> reader.readRange(1, 0));
+        }
+    }
+
+    private static DataSet getTestDataSet(final int xStart, final int nSamples, final boolean withErrors) {
+        if (withErrors) {
+            final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", nSamples);
+            for (int i = xStart; i < xStart + nSamples; i++) {
+                dataSet.add(i, Math.sin(0.01 * i), 0.1, 0.2);
+            }
+            return dataSet;
+        }
+        final DoubleDataSet dataSet = new DoubleDataSet("test", nSamples);
+        for (int i = xStart; i < xStart + nSamples; i++) {
+            dataSet.add(i, Math.sin(0.01 * i));
+        }
+        return dataSet;
+    }
+}
@@ -0,0 +1,200 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.event.UpdatedDataEvent;
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetDeltaSerialiser;
+import de.gsi.dataset.spi.CircularDoubleErrorDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Checks for the DataSetDeltaSerialiser
+ */
+public class DataSetDeltaSerialiserTests {
+    private static final int N_SAMPLES = 100_000;
+
+    @Test
+    public void eventRangeTests() {
+        final CircularDoubleErrorDataSet source = new CircularDoubleErrorDataSet("circular", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            source.add(i, Math.sin(0.01 * i), 0.1, 0.2);
+        }
+        final DataSetDeltaSerialiser sender = new DataSetDeltaSerialiser();
+        final DataSetDeltaSerialiser receiver = new DataSetDeltaSerialiser();
+        final DoubleErrorDataSet replica = new DoubleErrorDataSet("replica");
+        final IoBuffer buffer = new FastByteBuffer(2 * 4 * 8 * N_SAMPLES);
+        long sequence = transmit(sender, receiver, source, replica, buffer, 0);
+        final long fullSize = buffer.position();
+
+        // rolling circular buffer: the front shift is derived from the update events
+        for (int i = 0; i < 100; i++) {
+            source.add(N_SAMPLES + i, Math.cos(i), 0.1, 0.2);
+        }
+        sequence = transmit(sender, receiver, source, replica, buffer, sequence);
+        assertTrue(buffer.position() < fullSize / 100, "delta size " + buffer.position() + " vs. " + fullSize);
+        assertDataSetEquals(source, replica);
+
+        // in-place modification signalled without index range -> full update
+        final DoubleErrorDataSet modified = generateDataSet("modified", 1000);
+        sequence = transmit(sender, receiver, modified, replica, buffer, sequence);
+        assertDataSetEquals(modified, replica);
+        modified.getYValues()[500] = 42.0;
+        modified.fireInvalidated(new UpdatedDataEvent(modified, "in-place modification"));
+        sequence = transmit(sender, receiver, modified, replica, buffer, sequence);
+        assertDataSetEquals(modified, replica);
+        assertEquals(42.0, replica.getY(500));
+    }
+
+    @Test
+    public void fullUpdateTests() {
+        final DoubleErrorDataSet source = generateDataSet("source", N_SAMPLES);
+        final DataSetDeltaSerialiser sender = new DataSetDeltaSerialiser();
+        final DataSetDeltaSerialiser receiver = new DataSetDeltaSerialiser();
+        final DoubleErrorDataSet replica = new DoubleErrorDataSet("replica");
+        final IoBuffer buffer = new FastByteBuffer(2 * 4 * 8 * N_SAMPLES);
+
+        final long sequence = transmit(sender, receiver, source, replica, buffer, 0);
+        assertEquals(1, sequence);
+        assertEquals(sequence, receiver.getReplicaSequence());
+        assertDataSetEquals(source, replica);
+        assertEquals("x-axis", replica.getAxisDescription(DIM_X).getName());
+        assertEquals("s", replica.getAxisDescription(DIM_X).getUnit());
+        assertEquals(source.getAxisDescription(DIM_Y).getMax(), replica.getAxisDescription(DIM_Y).getMax());
+        assertEquals("label", replica.getDataLabel(42));
+        assertEquals("color=red", replica.getStyle(43));
+        assertEquals(Arrays.asList("info"), replica.getInfoList());
+        assertEquals("value", replica.getMetaInfo().get("key"));
+
+        // unknown base -> full update
+        assertEquals(2, transmit(sender, receiver, source, replica, buffer, 42));
+        assertDataSetEquals(source, replica);
+
+        assertThrows(IllegalArgumentException.class, () -> sender.setMinRangeGap(-1));
+    }
+
+    @Test
+    public void incrementalTests() {
+        final DoubleErrorDataSet source = generateDataSet("source", N_SAMPLES);
+        final DataSetDeltaSerialiser sender = new DataSetDeltaSerialiser();
+        final DataSetDeltaSerialiser receiver = new DataSetDeltaSerialiser();
+        final DoubleErrorDataSet replica = new DoubleErrorDataSet("replica");
+        final IoBuffer buffer = new FastByteBuffer(2 * 4 * 8 * N_SAMPLES);
+        long sequence = transmit(sender, receiver, source, replica, buffer, 0);
+        final long fullSize = buffer.position();
+
+        // modifications and appended samples
+        source.set(10, 10.0, -1.0, 0.5, 0.5);
+        source.set(12, 12.0, -2.0, 0.5, 0.5);
+        source.set(50_000, 50_000.0, -3.0, 0.5, 0.5);
+        source.add(N_SAMPLES, 1.0, 0.1, 0.2);
+        sequence = transmit(sender, receiver, source, replica, buffer, sequence);
+        assertTrue(buffer.position() < fullSize / 100, "delta size " + buffer.position() + " vs. " + fullSize);
+        assertDataSetEquals(source, replica);
+
+        // rolling buffer: drop front, append at the end (N.B. label and style keys follow the data points)
+        source.addDataStyle(142, "color=blue");
+        source.remove(0, 100);
+        for (int i = 0; i < 100; i++) {
+            source.add(N_SAMPLES + 1.0 + i, Math.cos(i), 0.1, 0.2);
+        }
+        sequence = transmit(sender, receiver, source, replica, buffer, sequence);
+        assertTrue(buffer.position() < fullSize / 100, "delta size " + buffer.position() + " vs. " + fullSize);
+        assertDataSetEquals(source, replica);
+
+        // truncation and meta data changes
+        source.resize(N_SAMPLES / 2);
+        source.getInfoList().clear();
+        source.getWarningList().add("warning");
+        source.getDataLabelMap().clear();
+        source.getAxisDescription(DIM_Y).set("y-axis", "V");
+        source.setName("renamed");
+        sequence = transmit(sender, receiver, source, replica, buffer, sequence);
+        assertDataSetEquals(source, replica);
+        assertEquals("renamed", replica.getName());
+        assertEquals("V", replica.getAxisDescription(DIM_Y).getUnit());
+        assertEquals(Collections.emptyList(), replica.getInfoList());
+        assertEquals(Arrays.asList("warning"), replica.getWarningList());
+        assertNull(replica.getDataLabel(42));
+        assertNull(replica.getStyle(43));
+        assertEquals("color=blue", replica.getStyle(42));
+        assertEquals(sequence, sender.getSequence());
+    }
+
+    @Test
+    public void outOfSyncTests() {
+        final DoubleErrorDataSet source = generateDataSet("source", 1000);
+        final DataSetDeltaSerialiser sender = new DataSetDeltaSerialiser();
+        final DataSetDeltaSerialiser receiver = new DataSetDeltaSerialiser();
+        final DoubleErrorDataSet replica = new DoubleErrorDataSet("replica");
+        final IoBuffer buffer = new FastByteBuffer(100_000);
+        final long sequence = transmit(sender, receiver, source, replica, buffer, 0);
+
+        // delta that is lost on the way
+        buffer.reset();
+        sender.writeDelta(source, buffer, sequence, false);
+
+        buffer.reset();
+        source.set(0, 0.0, 42.0);
+        sender.writeDelta(source, buffer, sequence + 1, false);
+        buffer.reset();
+        assertThrows(IllegalStateException.class, () -> receiver.applyDelta(buffer, replica));
+        assertEquals(sequence, receiver.getReplicaSequence());
+
+        // re-synchronisation via full update
+        transmit(sender, receiver, source, replica, buffer, 0);
+        assertDataSetEquals(source, replica);
+    }
+
+    private static void assertDataSetEquals(final DataSetError expected, final DoubleErrorDataSet actual) {
+        final int count = expected.getDataCount();
+        assertEquals(count, actual.getDataCount());
+        assertArrayEquals(Arrays.copyOf(expected.getValues(DIM_X), count), Arrays.copyOf(actual.getXValues(), count));
+        assertArrayEquals(Arrays.copyOf(expected.getValues(DIM_Y), count), Arrays.copyOf(actual.getYValues(), count));
+        assertArrayEquals(Arrays.copyOf(expected.getErrorsNegative(DIM_Y), count),
+                Arrays.copyOf(actual.getErrorsNegative(DIM_Y), count));
+        assertArrayEquals(Arrays.copyOf(expected.getErrorsPositive(DIM_Y), count),
+                Arrays.copyOf(actual.getErrorsPositive(DIM_Y), count));
+        assertEquals(expected.getAxisDescription(DIM_X).getMin(), actual.getAxisDescription(DIM_X).getMin());
+        assertEquals(expected.getAxisDescription(DIM_X).getMax(), actual.getAxisDescription(DIM_X).getMax());
+    }
+
+    private static DoubleErrorDataSet generateDataSet(final String name, final int nSamples) {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet(name, nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            dataSet.add(i, Math.sin(0.01 * i), 0.1, 0.2);
+        }
+        dataSet.getAxisDescription(DIM_X).set("x-axis", "s");
+        dataSet.addDataLabel(42, "label");
+        dataSet.addDataStyle(43, "color=red");
+        dataSet.getInfoList().add("info");
+        dataSet.getMetaInfo().put("key", "value");
+        return dataSet;
+    }
+
+    private static long transmit(final DataSetDeltaSerialiser sender, final DataSetDeltaSerialiser receiver,
+            final DataSetError source, final DoubleErrorDataSet replica, final IoBuffer buffer,
+            final long base) {
+        buffer.reset();
+        final long sequence = sender.writeDelta(source, buffer, base, false);
+        final long size = buffer.position();
+        buffer.reset();
+        assertEquals(sequence, receiver.applyDelta(buffer, replica));
+        buffer.position(size);
+        return sequence;
+    }
+}
@@ -0,0 +1,212 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.DataSetError.ErrorType;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetStreamSerialiser;
+import de.gsi.dataset.spi.CircularDoubleErrorDataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.dataset.spi.MappedDoubleDataSet;
+
+/**
+ * Checks for the NIO channel based DataSetStreamSerialiser
+ */
+public class DataSetStreamSerialiserTests {
+    private static final int N_SAMPLES = 100_000;
+
+    @Test
+    public void roundTripTests() throws IOException {
+        final DoubleErrorDataSet original = generateDataSet("original", N_SAMPLES);
+        final DataSetStreamSerialiser serialiser = new DataSetStreamSerialiser();
+        final byte[] bytes = write(serialiser, original, false);
+
+        final DoubleErrorDataSet copy = serialiser.read(toChannel(bytes));
+        assertDataSetEquals(original, copy, 0.0);
+        assertEquals("x-axis", copy.getAxisDescription(DIM_X).getName());
+        assertEquals("s", copy.getAxisDescription(DIM_X).getUnit());
+        assertEquals(original.getAxisDescription(DIM_Y).getMax(), copy.getAxisDescription(DIM_Y).getMax());
+        assertEquals("label", copy.getDataLabel(42));
+        assertEquals("color=red", copy.getStyle(43));
+        assertEquals(Arrays.asList("info"), copy.getInfoList());
+        assertEquals("value", copy.getMetaInfo().get("key"));
+
+        // float encoding
+        final DataSetStreamSerialiser floatSerialiser = new DataSetStreamSerialiser(1024);
+        final byte[] floatBytes = write(floatSerialiser, original, true);
+        assertEquals(bytes.length - 4L * 4 * N_SAMPLES, floatBytes.length, "half size for the four columns");
+        assertDataSetEquals(original, floatSerialiser.read(toChannel(floatBytes)), 1e-3);
+
+        assertThrows(IllegalArgumentException.class, () -> new DataSetStreamSerialiser(10));
+    }
+
+    @Test
+    public void inPlaceTests() throws IOException {
+        final DataSetStreamSerialiser serialiser = new DataSetStreamSerialiser(4096);
+        final DoubleErrorDataSet first = generateDataSet("first", 1000);
+        final DoubleErrorDataSet second = generateDataSet("second", 500);
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(byteStream)) {
+            serialiser.write(first, channel, false);
+            serialiser.write(second, channel, false);
+        }
+
+        final DoubleErrorDataSet target = new DoubleErrorDataSet("target", 2000);
+        target.add(0.0, 1.0).addDataLabel(0, "stale label");
+        final double[] xArray = target.getXValues();
+        final ReadableByteChannel channel = toChannel(byteStream.toByteArray());
+        assertSame(target, serialiser.read(channel, target));
+        assertSame(xArray, target.getXValues(), "internal arrays are reused");
+        assertDataSetEquals(first, target, 0.0);
+        assertEquals("label", target.getDataLabel(42));
+        assertEquals(null, target.getDataLabel(0));
+
+        // second data set on the same channel (partially read-ahead)
+        serialiser.read(channel, target);
+        assertDataSetEquals(second, target, 0.0);
+        assertSame(xArray, target.getXValues(), "internal arrays are reused");
+        assertThrows(EOFException.class, () -> serialiser.read(channel, target));
+
+        // DataSet without errors
+        final DoubleDataSet noErrors = serialiser.read(toChannel(write(serialiser, first, false)),
+                new DoubleDataSet("noErrors"));
+        assertArrayEquals(first.getValues(DIM_Y), Arrays.copyOf(noErrors.getValues(DIM_Y), first.getDataCount()));
+
+        // generic editable data set
+        final MappedDoubleDataSet generic = new MappedDoubleDataSet("generic", 10);
+        generic.add(1.0, 2.0);
+        serialiser.read(toChannel(write(serialiser, second, false)), generic);
+        assertDataSetEquals(second, generic, 0.0);
+    }
+
+    @Test
+    public void chunkedAndLockTests() throws IOException, InterruptedException, ExecutionException {
+        // non-array-backed (wrapped-around) source is written chunk by chunk via the ranged accessors
+        final CircularDoubleErrorDataSet circular = new CircularDoubleErrorDataSet("circular", 3000);
+        for (int i = 0; i < 5000; i++) {
+            circular.add(i, Math.sin(0.01 * i), 0.1, 0.2);
+        }
+        final DataSetStreamSerialiser serialiser = new DataSetStreamSerialiser(1024);
+        final byte[] bytes = write(serialiser, circular, false);
+        final DoubleErrorDataSet copy = serialiser.read(toChannel(bytes));
+        assertEquals(3000, copy.getDataCount());
+        assertArrayEquals(circular.getValues(DIM_X, 0, 3000, null, 0), Arrays.copyOf(copy.getXValues(), 3000));
+        assertArrayEquals(circular.getErrorsPositive(DIM_Y, 0, 3000, null, 0),
+                Arrays.copyOf(copy.getErrorsPositive(DIM_Y), 3000));
+
+        // the target's lock is not held while waiting for the (blocking) channel
+        final Pipe pipe = Pipe.open();
+        final DoubleErrorDataSet target = new DoubleErrorDataSet("target", 10);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<DoubleErrorDataSet> result = executor.submit(() -> serialiser.read(pipe.source(), target));
+            writeFully(pipe.sink(), ByteBuffer.wrap(bytes, 0, bytes.length / 2));
+            Thread.sleep(100);
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                target.lock().writeLockGuard(() -> target.getDataCount());
+            });
+            writeFully(pipe.sink(), ByteBuffer.wrap(bytes, bytes.length / 2, bytes.length - bytes.length / 2));
+            assertSame(target, result.get());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(3000, target.getDataCount());
+        assertEquals(circular.get(DIM_Y, 2999), target.get(DIM_Y, 2999));
+    }
+
+    @Test
+    public void truncatedStreamTests() throws IOException {
+        final DataSetStreamSerialiser serialiser = new DataSetStreamSerialiser();
+        final byte[] bytes = write(serialiser, generateDataSet("test", 100), false);
+        assertThrows(EOFException.class, () -> serialiser.read(toChannel(Arrays.copyOf(bytes, bytes.length - 10))));
+        final byte[] corrupted = bytes.clone();
+        corrupted[0] = 0;
+        assertThrows(IllegalStateException.class, () -> serialiser.read(toChannel(corrupted)));
+
+        // header: magic, version, flags, name, nDims, 2 x (axis name, unit, min, max), count, 2 x error type
+        final DoubleErrorDataSet dataSet = generateDataSet("test", 100);
+        dataSet.getAxisDescription(DIM_Y).set("y-axis", "V");
+        final byte[] valid = write(serialiser, dataSet, false);
+        final int errorTypeOffset = 4 + 2 + (4 + 4) + 4 + 2 * (4 + 6 + 4 + 1 + 2 * Double.BYTES) + 4;
+        assertEquals(ErrorType.ASYMMETRIC.ordinal(), valid[errorTypeOffset + DIM_Y]);
+        for (final byte invalid : new byte[] { (byte) ErrorType.values().length, -1 }) {
+            final byte[] invalidErrorType = valid.clone();
+            invalidErrorType[errorTypeOffset + DIM_Y] = invalid;
+            final IOException exception = assertThrows(IOException.class,
+                    () -> serialiser.read(toChannel(invalidErrorType)));
+            assertTrue(exception.getMessage().contains("invalid error type " + invalid), exception.getMessage());
+        }
+    }
+
+    private static void assertDataSetEquals(final DoubleErrorDataSet expected, final DataSetError actual,
+            final double delta) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getDataCount(), actual.getDataCount());
+        for (int i = 0; i < expected.getDataCount(); i++) {
+            assertEquals(expected.get(DIM_X, i), actual.get(DIM_X, i), delta * Math.abs(expected.get(DIM_X, i)));
+            assertEquals(expected.get(DIM_Y, i), actual.get(DIM_Y, i), delta);
+            assertEquals(expected.getErrorNegative(DIM_Y, i), actual.getErrorNegative(DIM_Y, i), delta);
+            assertEquals(expected.getErrorPositive(DIM_Y, i), actual.getErrorPositive(DIM_Y, i), delta);
+        }
+    }
+
+    private static DoubleErrorDataSet generateDataSet(final String name, final int nSamples) {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet(name, nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            dataSet.add(i, Math.sin(0.01 * i), 0.1, 0.2);
+        }
+        dataSet.getAxisDescription(DIM_X).set("x-axis", "s");
+        dataSet.addDataLabel(42, "label");
+        dataSet.addDataStyle(43, "color=red");
+        dataSet.getInfoList().add("info");
+        dataSet.getMetaInfo().put("key", "value");
+        return dataSet;
+    }
+
+    private static ReadableByteChannel toChannel(final byte[] bytes) {
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+
+    private static byte[] write(final DataSetStreamSerialiser serialiser, final DataSet dataSet,
+            final boolean asFloat) throws IOException {
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(byteStream)) {
+            serialiser.write(dataSet, channel, asFloat);
+        }
+        return byteStream.toByteArray();
+    }
+
+    private static void writeFully(final WritableByteChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -11,7 +11,9 @@ import org.slf4j.LoggerFactory;
 
 import de.gsi.dataset.serializer.IoBuffer;
 import de.gsi.dataset.serializer.spi.ByteBuffer;
+import de.gsi.dataset.serializer.spi.DirectBufferPool;
 import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.SegmentedByteBuffer;
 
 /**
  * @author rstein
@@ -161,6 +163,28 @@ public class FastByteBufferTests {
         }
     }
 
+    @Test
+    public void testSegmentedByteBufferMixed() {
+        // N.B. small segments to force primitives and arrays to straddle segment boundaries
+        try (SegmentedByteBuffer buffer = new SegmentedByteBuffer(new DirectBufferPool(16, 1024), 0)) {
+            assertTrue(testPrimitivesMixed(buffer));
+        }
+    }
+
+    @Test
+    public void testSegmentedByteBufferPrimitiveArrays() {
+        try (SegmentedByteBuffer buffer = new SegmentedByteBuffer(new DirectBufferPool(64, 1024), 0)) {
+            assertTrue(testPrimitivesArrays(buffer));
+        }
+    }
+
+    @Test
+    public void testSegmentedByteBufferPrimitives() {
+        try (SegmentedByteBuffer buffer = new SegmentedByteBuffer(new DirectBufferPool(16, 1024), 0)) {
+            assertTrue(testPrimitivesSimple(buffer));
+        }
+    }
+
     private static boolean testPrimitivesArrays(IoBuffer buffer) {
 
         {
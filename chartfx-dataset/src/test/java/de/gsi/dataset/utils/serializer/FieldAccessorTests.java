@@ -0,0 +1,127 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.serializer.spi.ClassDescriptions;
+import de.gsi.dataset.serializer.spi.ClassFieldDescription;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.FieldAccessor;
+import de.gsi.dataset.serializer.spi.iobuffer.IoBufferSerialiser;
+
+/**
+ * Checks for the non-reflective class field accessors used by the IoBuffer object serialiser
+ */
+public class FieldAccessorTests {
+    @Test
+    public void accessorTests() throws IllegalAccessException, NoSuchFieldException {
+        final ClassFieldDescription description = ClassDescriptions.get(TestClass.class);
+        assertSame(description, ClassDescriptions.get(TestClass.class));
+        assertNull(description.getFieldAccessor());
+        final FieldAccessor accessor = description.getFieldMap().get("doubleValue").getFieldAccessor();
+        assertNotNull(accessor);
+        assertSame(accessor, ClassDescriptions.get(TestClass.class).getFieldMap().get("doubleValue").getFieldAccessor());
+        assertEquals("doubleValue", accessor.getField().getName());
+        assertTrue(accessor.isWritable());
+
+        final TestClass obj = new TestClass();
+        accessor.setDouble(obj, 42.0);
+        assertEquals(42.0, obj.doubleValue);
+        assertEquals(42.0, accessor.getDouble(obj));
+        assertEquals(42.0, accessor.get(obj));
+        accessor.set(obj, 3.0);
+        assertEquals(3.0, obj.doubleValue);
+
+        final FieldAccessor intAccessor = description.getFieldMap().get("intValue").getFieldAccessor();
+        intAccessor.setInt(obj, 7);
+        assertEquals(7, intAccessor.getInt(obj));
+        final FieldAccessor stringAccessor = description.getFieldMap().get("stringValue").getFieldAccessor();
+        stringAccessor.set(obj, "Hello");
+        assertEquals("Hello", stringAccessor.get(obj));
+        assertThrows(ClassCastException.class, () -> stringAccessor.set(obj, 1.0));
+
+        // final fields that have not been made accessible are read-only
+        final FieldAccessor finalAccessor = new FieldAccessor(TestClass.class.getDeclaredField("finalValue"));
+        assertFalse(finalAccessor.isWritable());
+        assertEquals(-1, finalAccessor.getInt(obj));
+        assertThrows(IllegalAccessException.class, () -> finalAccessor.setInt(obj, 2));
+        assertThrows(IllegalAccessException.class, () -> finalAccessor.set(obj, 2));
+
+        // non-accessible fields fall back to reflective access (checked on use)
+        final Field privateField = TestClass.class.getDeclaredField("intValue");
+        final FieldAccessor reflectiveAccessor = new FieldAccessor(privateField);
+        assertTrue(reflectiveAccessor.isWritable());
+        assertThrows(IllegalAccessException.class, () -> reflectiveAccessor.getInt(obj));
+        privateField.setAccessible(true); // NOPMD - test
+        reflectiveAccessor.setInt(obj, 11);
+        assertEquals(11, reflectiveAccessor.getInt(obj));
+        assertEquals(11, reflectiveAccessor.get(obj));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new FieldAccessor(TestClass.class.getDeclaredField("STATIC_VALUE")));
+        assertThrows(IllegalArgumentException.class, () -> new FieldAccessor(null));
+    }
+
+    @Test
+    public void serialiserTests() throws IllegalAccessException {
+        final TestClass input = new TestClass();
+        input.modifyValues();
+        final FastByteBuffer buffer = new FastByteBuffer();
+        final IoBufferSerialiser serialiser = new IoBufferSerialiser(buffer);
+        serialiser.serialiseObject(input);
+
+        buffer.reset();
+        final TestClass output = (TestClass) serialiser.deserialiseObject(new TestClass());
+        assertEquals(input.boolValue, output.boolValue);
+        assertEquals(input.byteValue, output.byteValue);
+        assertEquals(input.shortValue, output.shortValue);
+        assertEquals(input.intValue, output.intValue);
+        assertEquals(input.longValue, output.longValue);
+        assertEquals(input.floatValue, output.floatValue);
+        assertEquals(input.doubleValue, output.doubleValue);
+        assertEquals(input.stringValue, output.stringValue);
+        assertArrayEquals(input.intArray, output.intArray);
+        assertArrayEquals(input.doubleArray, output.doubleArray);
+        assertEquals(input.boxedValue, output.boxedValue);
+    }
+
+    public static class TestClass {
+        private static final int STATIC_VALUE = 1;
+        public final int finalValue = -1; // NOPMD - test field
+        private boolean boolValue;
+        private byte byteValue;
+        private short shortValue;
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+        private String stringValue = "";
+        private int[] intArray = new int[0];
+        private double[] doubleArray = new double[0];
+        private Double boxedValue = 0.0;
+
+        public void modifyValues() {
+            boolValue = true;
+            byteValue = 1;
+            shortValue = 2;
+            intValue = 3 + STATIC_VALUE;
+            longValue = 4;
+            floatValue = 5.0f;
+            doubleValue = 6.0;
+            stringValue = "test";
+            intArray = new int[] { 1, 2, 3 };
+            doubleArray = new double[] { 4.0, 5.0, Double.NaN };
+            boxedValue = 7.0;
+        }
+    }
+}
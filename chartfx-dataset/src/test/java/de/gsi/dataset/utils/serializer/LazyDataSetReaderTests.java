@@ -0,0 +1,130 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Collections;
+import java.util.InputMismatchException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.FieldIndex;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetSerialiser;
+import de.gsi.dataset.serializer.spi.iobuffer.LazyDataSetReader;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Checks for the optional serialised field index and the lazy partial DataSet reader
+ */
+public class LazyDataSetReaderTests {
+    private static final int N_SAMPLES = 1000;
+
+    @Test
+    public void duplicateFieldTests() {
+        // N.B. long field names: the index' string payload exceeds the initial buffer capacity
+        final String name = "duplicateField".repeat(20);
+        for (final boolean indexed : new boolean[] { true, false }) {
+            final FastByteBuffer buffer = new FastByteBuffer(100);
+            BinarySerialiser.putHeaderInfo(buffer);
+            final long fieldIndexPosition = indexed ? FieldIndex.putPlaceholder(buffer) : -1;
+            BinarySerialiser.put(buffer, name, new double[] { 1.0 });
+            BinarySerialiser.put(buffer, name, new double[] { 2.0 });
+            if (indexed) {
+                FieldIndex.put(buffer, 0, fieldIndexPosition);
+            }
+            BinarySerialiser.putEndMarker(buffer, "OBJ_ROOT_END");
+
+            buffer.reset();
+            final LazyDataSetReader reader = new LazyDataSetReader(buffer);
+            assertEquals(indexed, reader.getFieldIndex().isIndexed());
+            assertEquals(1, Collections.frequency(reader.getFieldIndex().getFieldNames(), name));
+            assertArrayEquals(new double[] { 1.0 }, reader.getDoubleArray(name).orElseThrow(), "first occurrence");
+        }
+    }
+
+    @Test
+    public void indexedStreamTests() {
+        final DoubleErrorDataSet dataSet = getTestDataSet();
+        final FastByteBuffer buffer = new FastByteBuffer();
+        try {
+            DataSetSerialiser.setFieldIndexSerialised(true);
+            assertTrue(DataSetSerialiser.isFieldIndexSerialised());
+            DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, false);
+        } finally {
+            DataSetSerialiser.setFieldIndexSerialised(false);
+        }
+
+        // full (eager) read remains compatible
+        buffer.reset();
+        final DataSet copy = DataSetSerialiser.readDataSetFromByteArray(buffer);
+        assertEquals(N_SAMPLES, copy.getDataCount());
+        for (int i = 0; i < N_SAMPLES; i++) {
+            assertEquals(dataSet.get(DIM_Y, i), copy.get(DIM_Y, i));
+        }
+
+        // generic parser unaware of the index walks the stream as before
+        buffer.reset();
+        BinarySerialiser.checkHeaderInfo(buffer);
+        final List<FieldHeader> headers = BinarySerialiser.parseIoStream(buffer).getChildren();
+        assertTrue(headers.stream().anyMatch(h -> FieldIndex.FIELD_INDEX.equals(h.getFieldName())));
+        assertTrue(headers.stream().anyMatch(h -> FieldIndex.FIELD_INDEX_NAMES.equals(h.getFieldName())));
+
+        buffer.reset();
+        final LazyDataSetReader reader = new LazyDataSetReader(buffer);
+        assertTrue(reader.getFieldIndex().isIndexed());
+        checkLazyReader(reader, dataSet);
+    }
+
+    @Test
+    public void unindexedStreamTests() {
+        final DoubleErrorDataSet dataSet = getTestDataSet();
+        final FastByteBuffer buffer = new FastByteBuffer();
+        assertFalse(DataSetSerialiser.isFieldIndexSerialised());
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, false);
+
+        buffer.reset();
+        final LazyDataSetReader reader = new LazyDataSetReader(buffer);
+        assertFalse(reader.getFieldIndex().isIndexed());
+        checkLazyReader(reader, dataSet);
+    }
+
+    private static void checkLazyReader(final LazyDataSetReader reader, final DoubleErrorDataSet dataSet) {
+        assertTrue(reader.getFieldIndex().getFieldNames().contains("y"));
+        assertFalse(reader.getFieldIndex().getFieldNames().contains(FieldIndex.FIELD_INDEX_NAMES));
+
+        // random access order independent of stream order
+        assertEquals("value", reader.getMetaInfo().get("key"));
+        assertArrayEquals(dataSet.getValues(DIM_Y), reader.getValues(DIM_Y).orElseThrow());
+        assertEquals("test", reader.getName());
+        assertArrayEquals(dataSet.getValues(DIM_X), reader.getValues(DIM_X).orElseThrow());
+        assertArrayEquals(dataSet.getErrorsPositive(DIM_Y), reader.getErrorsPositive(DIM_Y).orElseThrow());
+        assertArrayEquals(dataSet.getErrorsNegative(DIM_Y), reader.getErrorsNegative(DIM_Y).orElseThrow());
+        assertEquals(List.of("info"), reader.getMetaList("infoList"));
+        assertTrue(reader.getDoubleArray("unknown").isEmpty());
+        assertTrue(reader.getFieldHeader("y").isPresent());
+
+        assertThrows(InputMismatchException.class, () -> reader.getDoubleArray("dataSetName"));
+        assertThrows(IllegalArgumentException.class, () -> reader.getValues(2));
+    }
+
+    private static DoubleErrorDataSet getTestDataSet() {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, Math.cos(0.01 * i), 0.1, 0.2);
+        }
+        dataSet.getMetaInfo().put("key", "value");
+        dataSet.getInfoList().add("info");
+        return dataSet;
+    }
+}
@@ -0,0 +1,118 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.serializer.spi.DirectBufferPool;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.SegmentedByteBuffer;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetSerialiser;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Checks for the segmented off-heap IoBuffer implementation and its segment pool
+ */
+public class SegmentedByteBufferTests {
+    private static final int N_SAMPLES = 10_000;
+
+    @Test
+    public void dataSetSerialiserTests() throws IOException {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, Math.sin(0.01 * i), 0.1, 0.2);
+        }
+        final FastByteBuffer reference = new FastByteBuffer();
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, reference, false);
+
+        final DirectBufferPool pool = new DirectBufferPool(4096, 1 << 20);
+        try (SegmentedByteBuffer buffer = new SegmentedByteBuffer(pool, 0)) {
+            DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, false);
+            assertEquals(reference.position(), buffer.position());
+            assertEquals((reference.position() + 4095) / 4096, buffer.getSegmentCount(), "no over-allocation");
+
+            // binary compatible with FastByteBuffer and transferable via channels
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            assertEquals(buffer.position(), buffer.writeTo(Channels.newChannel(outputStream)));
+            assertArrayEquals(Arrays.copyOf(reference.elements(), (int) reference.position()),
+                    outputStream.toByteArray());
+
+            try (SegmentedByteBuffer received = new SegmentedByteBuffer(pool, 0)) {
+                final long nBytes = outputStream.size();
+                assertEquals(nBytes, received.readFrom(
+                        Channels.newChannel(new ByteArrayInputStream(outputStream.toByteArray())), nBytes));
+                assertEquals(nBytes, received.limit());
+                final DataSet copy = DataSetSerialiser.readDataSetFromByteArray(received);
+                assertEquals(N_SAMPLES, copy.getDataCount());
+                for (int i = 0; i < N_SAMPLES; i++) {
+                    assertEquals(dataSet.get(DIM_X, i), copy.get(DIM_X, i));
+                    assertEquals(dataSet.get(DIM_Y, i), copy.get(DIM_Y, i));
+                    assertEquals(dataSet.getErrorPositive(DIM_Y, i),
+                            ((DataSetError) copy).getErrorPositive(DIM_Y, i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void poolTests() {
+        final DirectBufferPool pool = new DirectBufferPool(64, 4 * 64);
+        assertEquals(64, pool.getSegmentSize());
+        final SegmentedByteBuffer buffer = new SegmentedByteBuffer(pool, 200);
+        assertEquals(4, buffer.getSegmentCount());
+        assertEquals(256, buffer.capacity());
+        assertEquals(4, pool.getAllocatedSegmentCount());
+
+        // growth by chaining further segments, content is preserved
+        for (int i = 0; i < 100; i++) {
+            buffer.putLong(i);
+        }
+        assertEquals(13, buffer.getSegmentCount());
+        buffer.trim();
+        assertEquals(13, buffer.getSegmentCount());
+        buffer.forceCapacity(128, 0);
+        assertEquals(2, buffer.getSegmentCount());
+        assertEquals(128, buffer.position());
+        buffer.reset();
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i, buffer.getLong());
+        }
+        assertEquals(4, pool.getPooledSegmentCount(), "pool is bounded");
+
+        // growth keeps an explicitly set limit, a limit at capacity grows with the buffer
+        buffer.limit(100);
+        buffer.ensureCapacity(4 * 64);
+        assertEquals(100, buffer.limit());
+        buffer.limit((int) buffer.capacity());
+        buffer.ensureCapacity(6 * 64);
+        assertEquals(6 * 64, buffer.limit());
+
+        buffer.close();
+        assertEquals(0, buffer.getSegmentCount());
+        assertEquals(4, pool.getPooledSegmentCount());
+        final long allocated = pool.getAllocatedSegmentCount();
+        try (SegmentedByteBuffer recycled = new SegmentedByteBuffer(pool, 4 * 64)) {
+            assertEquals(allocated, pool.getAllocatedSegmentCount());
+            assertEquals(0, pool.getPooledSegmentCount());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferPool(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferPool(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> pool.release(java.nio.ByteBuffer.allocate(64)));
+        assertThrows(IllegalArgumentException.class, () -> buffer.position(1));
+        assertThrows(IllegalArgumentException.class, () -> buffer.asByteBuffers(1, 0));
+    }
+}
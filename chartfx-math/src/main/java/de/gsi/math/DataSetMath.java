@@ -1031,14 +1031,10 @@ public final class DataSetMath { // NOPMD - nomen est omen
         if (dataSet instanceof DataSet2D) {
             return ((DataSet2D) dataSet).getValues(dimIndex);
         }
-        // less performing fall-back for non-array-based datasets -> need to loop through indices
+        // less performing fall-back for non-array-based datasets -> need to copy via bulk accessor
         return dataSet.lock().readLockGuard(() -> {
             final int count = dataSet.getDataCount(dimIndex);
-            final double[] retValues = new double[count];
-            for (int index = 0; index < count; index++) {
-                retValues[index] = dataSet.get(dimIndex, index);
-            }
-            return retValues;
+            return dataSet.getValues(dimIndex, 0, count, new double[count], 0);
         });
     }
 